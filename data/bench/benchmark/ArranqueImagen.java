@@ -0,0 +1,154 @@
+package benchmark;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.lang.management.ManagementFactory;
+import java.lang.ref.Reference;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+import data.Empleado;
+import data.Empleado.tipoEmpleado;
+import data.GestorEmpleado;
+import data.ImagenRegistro;
+import data.ServicioEmpleados;
+
+/**
+ * Compara el arranque del sistema recuperando los empleados del directorio de datos
+ * (se vuelve a crear cada empleado y se reconstruyen los índices) con el arranque desde una
+ * imagen del registro ({@link ImagenRegistro}).
+ *
+ * Cada arranque se mide en una JVM nueva: el tiempo hasta aceptar el primer log in (desde
+ * que inicia la JVM y solo la apertura), el costo de los log in siguientes y la memoria usada.
+ *
+ * Uso: {@code java -cp <clases> benchmark.ArranqueImagen [empleados] [repeticiones]}
+ * (por defecto 1000000 empleados y 3 repeticiones; se muestra la mediana).
+ */
+public class ArranqueImagen {
+
+    private static final int LOGINS = 100_000;
+
+    public static void main(String[] args) throws Exception {
+        if (args.length > 0 && args[0].equals("--medir")) {
+            medir(args[1], Paths.get(args[2]), Integer.parseInt(args[3]));
+            return;
+        }
+        int empleados = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int repeticiones = args.length > 1 ? Integer.parseInt(args[1]) : 3;
+
+        Path base = Files.createTempDirectory("arranque-imagen");
+        try {
+            Path directorio = base.resolve("datos");
+            Path imagen = base.resolve("registro.img");
+            long t0 = System.nanoTime();
+            try (GestorEmpleado gestor = new GestorEmpleado(directorio)) {
+                List<Empleado> lote = new ArrayList<>();
+                Empleado[] todos = BenchNomina.crearEmpleados(empleados, tipoEmpleado.values());
+                for (int i = 0; i < todos.length; i++) {
+                    todos[i].setSalarioBase(400 + i % 5000);
+                    lote.add(todos[i]);
+                    if (lote.size() == 10_000 || i == todos.length - 1) {
+                        gestor.agregarEmpleados(lote);
+                        lote.clear();
+                    }
+                }
+                long t1 = System.nanoTime();
+                gestor.exportarImagen(imagen);
+                long t2 = System.nanoTime();
+                System.out.printf("Preparación: %d empleados registrados en %.1f s, imagen creada en %.1f s (%d MB)%n",
+                        gestor.getCantidad(), (t1 - t0) / 1e9, (t2 - t1) / 1e9, Files.size(imagen) >> 20);
+            }
+
+            String[][] casos = { { "directorio", directorio.toString() }, { "imagen", imagen.toString() } };
+            for (String[] caso : casos) {
+                double[][] medidas = new double[repeticiones][];
+                for (int r = 0; r < repeticiones; r++) {
+                    medidas[r] = ejecutar(caso[0], caso[1], empleados);
+                }
+                double[] mediana = new double[medidas[0].length];
+                for (int m = 0; m < mediana.length; m++) {
+                    double[] valores = new double[repeticiones];
+                    for (int r = 0; r < repeticiones; r++) {
+                        valores[r] = medidas[r][m];
+                    }
+                    Arrays.sort(valores);
+                    mediana[m] = valores[repeticiones / 2];
+                }
+                System.out.printf("%-10s  listo en %6.0f ms desde que inicia la JVM (apertura %6.0f ms), "
+                        + "log in %5.0f ns, memoria %5.0f MB%n", caso[0], mediana[0], mediana[1], mediana[2], mediana[3]);
+            }
+        } finally {
+            try (var archivos = Files.walk(base)) {
+                archivos.sorted((a, b) -> b.compareTo(a)).forEach(p -> p.toFile().delete());
+            }
+        }
+    }
+
+    /**
+     * Ejecuta un arranque en una JVM nueva y retorna sus medidas.
+     */
+    private static double[] ejecutar(String modo, String ruta, int empleados) throws Exception {
+        String java = Paths.get(System.getProperty("java.home"), "bin", "java").toString();
+        Process proceso = new ProcessBuilder(java, "-cp", System.getProperty("java.class.path"),
+                ArranqueImagen.class.getName(), "--medir", modo, ruta, Integer.toString(empleados))
+                .redirectErrorStream(true).start();
+        try (BufferedReader lector = new BufferedReader(new InputStreamReader(proceso.getInputStream(), StandardCharsets.UTF_8))) {
+            String linea;
+            while ((linea = lector.readLine()) != null) {
+                if (linea.startsWith("medidas ")) {
+                    return Arrays.stream(linea.substring(8).split(" ")).mapToDouble(Double::parseDouble).toArray();
+                }
+                if (linea.startsWith("error ")) {
+                    throw new IllegalStateException(modo + ": " + linea);
+                }
+            }
+        } finally {
+            proceso.waitFor();
+        }
+        throw new IllegalStateException(modo + ": el proceso terminó sin medidas");
+    }
+
+    /**
+     * Arranque medido (en la JVM nueva): abre el registro, hace el primer log in y luego
+     * muchos log in aleatorios.
+     */
+    private static void medir(String modo, Path ruta, int empleados) throws Exception {
+        long t0 = System.nanoTime();
+        ServicioEmpleados servicio;
+        if (modo.equals("imagen")) {
+            servicio = ImagenRegistro.abrir(ruta, new GestorEmpleado(Paths.get(ruta + "-altas"), false));
+        } else {
+            servicio = new GestorEmpleado(ruta);
+        }
+        Empleado primero = servicio.buscar("usuario" + (empleados / 2));
+        long t1 = System.nanoTime();
+        if (primero == null || !primero.getClave().equals("clave")) {
+            System.out.println("error primer log in");
+            return;
+        }
+        double listo = ManagementFactory.getRuntimeMXBean().getUptime();
+
+        Random aleatorio = new Random(42);
+        long t2 = System.nanoTime();
+        for (int i = 0; i < LOGINS; i++) {
+            Empleado emp = servicio.buscar("usuario" + aleatorio.nextInt(empleados));
+            if (emp == null || !emp.getClave().equals("clave")) {
+                System.out.println("error log in");
+                return;
+            }
+        }
+        long t3 = System.nanoTime();
+        System.gc();
+        Runtime runtime = Runtime.getRuntime();
+        double memoria = (runtime.totalMemory() - runtime.freeMemory()) / (1024.0 * 1024.0);
+        Reference.reachabilityFence(servicio);  // El registro debe seguir en memoria al medirla
+        System.out.printf(Locale.ROOT, "medidas %.1f %.1f %.1f %.1f%n", listo, (t1 - t0) / 1e6, (t3 - t2) / (double) LOGINS, memoria);
+    }
+}
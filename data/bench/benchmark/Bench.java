@@ -0,0 +1,111 @@
+package benchmark;
+
+import java.util.Locale;
+
+/**
+ * Arnés mínimo de medición para los benchmarks del sistema.
+ *
+ * Cada benchmark se ejecuta primero durante varias iteraciones de calentamiento (para que
+ * el JIT compile el código medido) y luego durante varias iteraciones de medición. En cada
+ * iteración la tarea se ejecuta repetidamente durante un tiempo fijo y se reporta el tiempo
+ * promedio por operación. El resultado de cada ejecución se acumula en un sumidero volátil
+ * para que el JIT no elimine el código medido.
+ *
+ * Como todos los benchmarks comparten la misma JVM, el perfil de tipos de un sitio de
+ * llamada puede verse afectado por los benchmarks anteriores; para medir un caso aislado
+ * se puede ejecutar la JVM indicando solo ese benchmark.
+ */
+public final class Bench {
+
+    private static final int ITERACIONES_CALENTAMIENTO = 5;
+    private static final int ITERACIONES_MEDICION = 5;
+    private static final long NANOS_POR_ITERACION = 200_000_000L;
+
+    // Sumidero de resultados (evita que el JIT descarte el trabajo medido)
+    private static volatile double sumidero;
+
+    /**
+     * Tarea medida. Cada llamada realiza `operaciones` operaciones y retorna un valor
+     * que depende del trabajo realizado.
+     */
+    @FunctionalInterface
+    public interface Tarea {
+        double ejecutar();
+    }
+
+    private final String[] filtros;
+
+    /**
+     * Constructor del arnés.
+     *
+     * @param filtros Prefijos de los nombres de benchmark a ejecutar (vacío para ejecutar todos).
+     */
+    public Bench(String[] filtros) {
+        this.filtros = filtros;
+    }
+
+    /**
+     * Método para saber si un benchmark debe ejecutarse según los filtros.
+     *
+     * @param nombre El nombre del benchmark.
+     * @return `true` si no hay filtros o el nombre comienza con alguno de ellos.
+     */
+    public boolean activo(String nombre) {
+        if (filtros.length == 0) {
+            return true;
+        }
+        for (String filtro : filtros) {
+            if (nombre.startsWith(filtro)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Método para medir una tarea e imprimir el resultado.
+     *
+     * @param nombre El nombre del benchmark.
+     * @param operaciones Las operaciones que realiza cada llamada a la tarea.
+     * @param tarea La tarea a medir.
+     */
+    public void medir(String nombre, long operaciones, Tarea tarea) {
+        if (!activo(nombre)) {
+            return;
+        }
+        for (int i = 0; i < ITERACIONES_CALENTAMIENTO; i++) {
+            iteracion(operaciones, tarea);
+        }
+        double minimo = Double.MAX_VALUE;
+        double maximo = 0;
+        double suma = 0;
+        for (int i = 0; i < ITERACIONES_MEDICION; i++) {
+            double nanosPorOperacion = iteracion(operaciones, tarea);
+            minimo = Math.min(minimo, nanosPorOperacion);
+            maximo = Math.max(maximo, nanosPorOperacion);
+            suma += nanosPorOperacion;
+        }
+        double promedio = suma / ITERACIONES_MEDICION;
+        System.out.println(String.format(Locale.ROOT, "%-48s %14.3f ns/op  [%.3f .. %.3f]  %,16.0f ops/s",
+                nombre, promedio, minimo, maximo, 1e9 / promedio));
+    }
+
+    /**
+     * Ejecuta la tarea durante el tiempo de una iteración.
+     *
+     * @return El tiempo promedio por operación en nanosegundos.
+     */
+    private static double iteracion(long operaciones, Tarea tarea) {
+        long llamadas = 0;
+        double acumulado = 0;
+        long inicio = System.nanoTime();
+        long transcurrido;
+        do {
+            acumulado += tarea.ejecutar();
+            llamadas++;
+            transcurrido = System.nanoTime() - inicio;
+        } while (transcurrido < NANOS_POR_ITERACION);
+        sumidero += acumulado;
+        return (double) transcurrido / (llamadas * operaciones);
+    }
+}
@@ -0,0 +1,104 @@
+package benchmark;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import data.AjusteSalario;
+import data.Empleado;
+import data.Empleado.tipoEmpleado;
+import data.GestorEmpleado;
+
+/**
+ * Mide el ajuste masivo de salarios ({@link GestorEmpleado#ajustarSalariosBase(tipoEmpleado, AjusteSalario)})
+ * y verifica que los reportes concurrentes no vean una mezcla de salarios:
+ * <ul>
+ *   <li>subir un 4 % a los gerentes cambiando a cada empleado con {@code setSalarioBase};</li>
+ *   <li>el mismo ajuste con {@code ajustarSalariosBase}, para un tipo y para todos;</li>
+ *   <li>un hilo que pide el total de la nómina sin parar mientras otro fija el salario de los
+ *       administrativos en 400 y 500 alternadamente: cada total debe ser el de una de las dos
+ *       versiones. Se muestran las lecturas, la latencia del total y las mezclas encontradas.</li>
+ * </ul>
+ *
+ * Uso: {@code java -cp <clases> benchmark.BenchAjuste [empleados] [ajustes]}
+ * (por defecto 2000000 empleados y 50 ajustes en la prueba concurrente).
+ */
+public class BenchAjuste {
+
+    public static void main(String[] args) throws Exception {
+        int empleados = args.length > 0 ? Integer.parseInt(args[0]) : 2_000_000;
+        int ajustes = args.length > 1 ? Integer.parseInt(args[1]) : 50;
+
+        long t0 = System.nanoTime();
+        GestorEmpleado gestor = BenchNomina.crearGestor(empleados);
+        System.out.printf("%d empleados registrados en %.2f s%n", gestor.getCantidad(), (System.nanoTime() - t0) / 1e9);
+        List<Empleado> gerentes = gestor.buscarPorTipo(tipoEmpleado.GERENTE);
+        AjusteSalario cuatroPorCiento = AjusteSalario.porcentaje(4);
+
+        for (int ronda = 0; ronda < 3; ronda++) {  // Las primeras rondas son de calentamiento
+            boolean mostrar = ronda == 2;
+            t0 = System.nanoTime();
+            for (Empleado emp : gerentes) {
+                emp.setSalarioBaseCentavos(cuatroPorCiento.aplicar(emp.getSalarioBaseCentavos()));
+            }
+            gestor.getTotalNominaCentavos();  // Incluye recalcular la caché del reporte
+            mostrar(mostrar, "uno por uno (gerentes)", gerentes.size(), System.nanoTime() - t0);
+
+            t0 = System.nanoTime();
+            int cambiados = gestor.ajustarSalariosBase(tipoEmpleado.GERENTE, cuatroPorCiento);
+            gestor.getTotalNominaCentavos();
+            mostrar(mostrar, "ajuste masivo (gerentes)", cambiados, System.nanoTime() - t0);
+
+            t0 = System.nanoTime();
+            cambiados = gestor.ajustarSalariosBase(null, cuatroPorCiento);
+            gestor.getTotalNominaCentavos();
+            mostrar(mostrar, "ajuste masivo (todos)", cambiados, System.nanoTime() - t0);
+        }
+
+        // Totales de las dos versiones que alterna la prueba concurrente
+        gestor.ajustarSalariosBase(tipoEmpleado.ADMINISTRATIVO, AjusteSalario.fijar(500));
+        long totalQuinientos = gestor.getTotalNominaCentavos();
+        gestor.ajustarSalariosBase(tipoEmpleado.ADMINISTRATIVO, AjusteSalario.fijar(400));
+        long totalCuatrocientos = gestor.getTotalNominaCentavos();
+
+        AtomicBoolean fin = new AtomicBoolean();
+        long[] latencias = new long[1 << 20];
+        long[] lecturasYMezclas = new long[2];
+        Thread lector = new Thread(() -> {
+            int n = 0;
+            long mezclas = 0;
+            while (!fin.get()) {
+                long inicio = System.nanoTime();
+                long total = gestor.getTotalNominaCentavos();
+                latencias[n++ & (latencias.length - 1)] = System.nanoTime() - inicio;
+                if (total != totalQuinientos && total != totalCuatrocientos) {
+                    mezclas++;
+                }
+            }
+            lecturasYMezclas[0] = n;
+            lecturasYMezclas[1] = mezclas;
+        });
+        lector.start();
+        t0 = System.nanoTime();
+        for (int i = 0; i < ajustes; i++) {
+            gestor.ajustarSalariosBase(tipoEmpleado.ADMINISTRATIVO, AjusteSalario.fijar(i % 2 == 0 ? 500 : 400));
+        }
+        long duracion = System.nanoTime() - t0;
+        fin.set(true);
+        lector.join();
+
+        int medidas = (int) Math.max(1, Math.min(lecturasYMezclas[0], latencias.length));
+        long[] ordenadas = Arrays.copyOf(latencias, medidas);
+        Arrays.sort(ordenadas);
+        System.out.printf("%d ajustes concurrentes en %.2f s; %d totales leídos (p50 %.1f ms, p99 %.1f ms), %d mezclas: %s%n",
+                ajustes, duracion / 1e9, lecturasYMezclas[0], ordenadas[medidas / 2] / 1e6,
+                ordenadas[(int) (medidas * 0.99)] / 1e6, lecturasYMezclas[1], lecturasYMezclas[1] == 0 ? "OK" : "ERROR");
+    }
+
+    private static void mostrar(boolean mostrar, String caso, int cambiados, long nanos) {
+        if (mostrar) {
+            System.out.printf("%-26s %8d cambiados en %8.1f ms (%5.1f ns por empleado)%n", caso, cambiados,
+                    nanos / 1e6, nanos / (double) Math.max(1, cambiados));
+        }
+    }
+}
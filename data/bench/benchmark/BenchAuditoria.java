@@ -0,0 +1,136 @@
+package benchmark;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.concurrent.CountDownLatch;
+
+import data.BitacoraAuditoria;
+import data.Empleado;
+import data.Empleado.tipoEmpleado;
+import data.RolPagos;
+
+/**
+ * Mide cuánto agrega la auditoría al cálculo del rol de pagos cuando varios hilos calculan
+ * a la vez (como en el servicio HTTP):
+ * <ul>
+ *   <li>sin auditoría;</li>
+ *   <li>con la {@link BitacoraAuditoria} (anillo sin candados y escritura en otro hilo);</li>
+ *   <li>con un registro síncrono: cada evento se escribe en el archivo con un candado, dentro
+ *       del cálculo.</li>
+ * </ul>
+ *
+ * Para cada caso se muestra el tiempo por cálculo (con todos los hilos) y los percentiles
+ * de la latencia de cada cálculo.
+ *
+ * Uso: {@code java -cp <clases> benchmark.BenchAuditoria [hilos] [calculosPorHilo]}
+ * (por defecto 8 hilos y 500000 cálculos por hilo).
+ */
+public class BenchAuditoria {
+
+    /**
+     * Forma de auditar un cálculo.
+     */
+    private interface Auditoria {
+        void registrar(Empleado emp, RolPagos rol);
+    }
+
+    public static void main(String[] args) throws Exception {
+        int hilos = args.length > 0 ? Integer.parseInt(args[0]) : 8;
+        int porHilo = args.length > 1 ? Integer.parseInt(args[1]) : 500_000;
+
+        Empleado[] empleados = BenchNomina.crearEmpleados(1024, tipoEmpleado.values());
+        Path directorio = Files.createTempDirectory("bench-auditoria");
+        try {
+            for (int ronda = 0; ronda < 2; ronda++) {  // La primera ronda es de calentamiento
+                boolean mostrar = ronda == 1;
+                medir("sin auditoría", empleados, hilos, porHilo, (emp, rol) -> { }, mostrar);
+
+                BitacoraAuditoria bitacora = new BitacoraAuditoria(directorio.resolve("anillo" + ronda));
+                try {
+                    medir("bitácora (anillo)", empleados, hilos, porHilo, (emp, rol) -> bitacora.registrarRolPagos(
+                            emp, 2026, 1, 160, 25, 10, 12, 4, rol), mostrar);
+                } finally {
+                    bitacora.close();  // Espera a que se escriban todos los eventos
+                }
+                if (mostrar) {
+                    System.out.printf("%-20s %d eventos escritos, %d esperas con el anillo lleno%n", "",
+                            bitacora.getEscritos(), bitacora.getEsperas());
+                }
+
+                try (FileChannel archivo = FileChannel.open(directorio.resolve("sincrono" + ronda),
+                        StandardOpenOption.CREATE, StandardOpenOption.WRITE)) {
+                    ByteBuffer evento = ByteBuffer.allocateDirect(BitacoraAuditoria.BYTES_EVENTO);
+                    medir("registro síncrono", empleados, hilos, porHilo, (emp, rol) -> {
+                        synchronized (archivo) {
+                            evento.clear();
+                            evento.putLong(System.currentTimeMillis()).putLong(emp.getSalarioBaseCentavos())
+                                    .putLong(rol.getSalarioMensualCentavos()).putLong(rol.getFondosReservaCentavos());
+                            evento.position(evento.capacity()).flip();
+                            try {
+                                while (evento.hasRemaining()) {
+                                    archivo.write(evento);
+                                }
+                            } catch (IOException e) {
+                                throw new UncheckedIOException(e);
+                            }
+                        }
+                    }, mostrar);
+                }
+            }
+        } finally {
+            try (var archivos = Files.walk(directorio)) {
+                archivos.sorted((a, b) -> b.compareTo(a)).forEach(p -> p.toFile().delete());
+            }
+        }
+    }
+
+    /**
+     * Hace los cálculos de un caso con todos los hilos y muestra el tiempo por cálculo y
+     * los percentiles de la latencia.
+     */
+    private static void medir(String caso, Empleado[] empleados, int hilos, int porHilo, Auditoria auditoria,
+            boolean mostrar) throws InterruptedException {
+        long[][] latencias = new long[hilos][porHilo];
+        CountDownLatch inicio = new CountDownLatch(1);
+        Thread[] trabajadores = new Thread[hilos];
+        for (int h = 0; h < hilos; h++) {
+            long[] propias = latencias[h];
+            int desplazamiento = h * 131;
+            trabajadores[h] = new Thread(() -> {
+                RolPagos rol = new RolPagos();
+                try {
+                    inicio.await();
+                } catch (InterruptedException e) {
+                    return;
+                }
+                for (int i = 0; i < porHilo; i++) {
+                    Empleado emp = empleados[(i + desplazamiento) & (empleados.length - 1)];
+                    long t0 = System.nanoTime();
+                    emp.calcularRolPagos(160, 25, 10, 12, 4, rol);
+                    auditoria.registrar(emp, rol);
+                    propias[i] = System.nanoTime() - t0;
+                }
+            });
+            trabajadores[h].start();
+        }
+        long t0 = System.nanoTime();
+        inicio.countDown();
+        for (Thread trabajador : trabajadores) {
+            trabajador.join();
+        }
+        long total = System.nanoTime() - t0;
+        if (!mostrar) {
+            return;
+        }
+        long[] todas = Arrays.stream(latencias).flatMapToLong(Arrays::stream).sorted().toArray();
+        System.out.printf("%-20s %6.1f ns/cálculo | p50 %6.0f ns | p99 %7.0f ns | p99.9 %8.0f ns%n", caso,
+                total / (double) todas.length, (double) todas[todas.length / 2],
+                (double) todas[(int) (todas.length * 0.99)], (double) todas[(int) (todas.length * 0.999)]);
+    }
+}
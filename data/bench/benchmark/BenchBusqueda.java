@@ -0,0 +1,152 @@
+package benchmark;
+
+import java.io.IOException;
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Function;
+
+import data.Empleado;
+import data.Empleado.tipoEmpleado;
+import data.GestorEmpleado;
+
+/**
+ * Mide la búsqueda por nombre y usuario ({@link GestorEmpleado#buscarPorNombre(String, int)})
+ * sobre un registro con nombres realistas (dos nombres y dos apellidos, con tildes).
+ *
+ * Para cada clase de consulta se hacen consultas armadas con empleados al azar y se muestran
+ * los percentiles de la latencia:
+ * <ul>
+ *   <li>comienzo de un nombre o apellido (1 a 4 letras);</li>
+ *   <li>nombre y comienzo de apellido, como se escribe en un buscador;</li>
+ *   <li>nombre completo (cuatro palabras);</li>
+ *   <li>apellido con un error de tipeo;</li>
+ *   <li>comienzo del usuario.</li>
+ * </ul>
+ *
+ * Uso: {@code java -cp <clases> benchmark.BenchBusqueda [empleados] [consultas] [limite]}
+ * (por defecto 1000000 empleados, 20000 consultas por clase y los 10 mejores resultados).
+ */
+public class BenchBusqueda {
+
+    private static final String[] NOMBRES = { "María", "José", "Juan", "Ana", "Luis", "Carlos", "Andrés", "Sofía",
+        "Valentina", "Camila", "Diego", "Daniel", "Gabriela", "Fernanda", "Jorge", "Ricardo", "Patricio", "Verónica",
+        "Mónica", "Lucía", "Javier", "Marco", "Paúl", "Esteban", "Cristina", "Alejandra", "Santiago", "Sebastián",
+        "Mateo", "Martín", "Isabel", "Paola", "Rosa", "Pedro", "Miguel", "Ángel", "Francisco", "Fernando", "Jéssica",
+        "Karla", "Mariana", "Mariano", "Nicolás", "Óscar", "Raúl", "Ramiro", "Susana", "Tatiana", "Víctor", "Ximena" };
+    private static final String[] APELLIDOS = { "González", "Rodríguez", "Pérez", "López", "García", "Martínez",
+        "Sánchez", "Ramírez", "Torres", "Flores", "Rivera", "Gómez", "Díaz", "Cruz", "Morales", "Reyes", "Gutiérrez",
+        "Ortiz", "Chávez", "Ruiz", "Vásquez", "Castillo", "Jiménez", "Moreno", "Romero", "Herrera", "Medina",
+        "Aguilar", "Vargas", "Castro", "Guzmán", "Mendoza", "Salazar", "Cevallos", "Andrade", "Zambrano", "Villacís",
+        "Espinoza", "Paredes", "Benítez", "Carrión", "Cárdenas", "Delgado", "Egas", "Freire", "Granda", "Jaramillo",
+        "Larrea", "Montalvo", "Naranjo", "Ordóñez", "Proaño", "Quintero", "Sarmiento", "Tapia", "Uquillas",
+        "Valdivieso", "Yépez", "Zurita", "Arévalo" };
+
+    public static void main(String[] args) {
+        int empleados = args.length > 0 ? Integer.parseInt(args[0]) : 1_000_000;
+        int consultas = args.length > 1 ? Integer.parseInt(args[1]) : 20_000;
+        int limite = args.length > 2 ? Integer.parseInt(args[2]) : 10;
+
+        Random aleatorio = new Random(42);
+        String[][] nombres = new String[empleados][];
+        List<Empleado> lote = new ArrayList<>(empleados);
+        for (int i = 0; i < empleados; i++) {
+            String[] partes = { elegir(NOMBRES, aleatorio), elegir(NOMBRES, aleatorio),
+                elegir(APELLIDOS, aleatorio), elegir(APELLIDOS, aleatorio) };
+            nombres[i] = partes;
+            String usuario = sinTildes(partes[0].charAt(0) + partes[2]).toLowerCase() + i;
+            lote.add(Empleado.crear(String.join(" ", partes), "17" + i, usuario, "clave",
+                    tipoEmpleado.values()[i % tipoEmpleado.values().length]));
+        }
+
+        Runtime runtime = Runtime.getRuntime();
+        System.gc();
+        long memoriaAntes = runtime.totalMemory() - runtime.freeMemory();
+        long t0 = System.nanoTime();
+        GestorEmpleado gestor = new GestorEmpleado(empleados);
+        try {
+            gestor.agregarEmpleados(lote);
+        } catch (IOException e) {
+            throw new IllegalStateException(e);  // No ocurre: el gestor es solo en memoria
+        }
+        long t1 = System.nanoTime();
+        System.gc();
+        long memoria = runtime.totalMemory() - runtime.freeMemory() - memoriaAntes;
+        System.out.printf("%d empleados registrados (con índices) en %.2f s; registro e índices: %d MB%n",
+                gestor.getCantidad(), (t1 - t0) / 1e9, memoria >> 20);
+
+        medir(gestor, nombres, "comienzo de nombre o apellido", consultas, limite, aleatorio, partes -> {
+            String palabra = partes[aleatorio.nextInt(4)];
+            return palabra.substring(0, 1 + aleatorio.nextInt(Math.min(4, palabra.length())));
+        });
+        medir(gestor, nombres, "nombre y comienzo de apellido", consultas, limite, aleatorio,
+                partes -> partes[0] + " " + partes[2].substring(0, 1 + aleatorio.nextInt(3)));
+        medir(gestor, nombres, "nombre completo", consultas, limite, aleatorio, partes -> String.join(" ", partes));
+        medir(gestor, nombres, "apellido con error de tipeo", consultas, limite, aleatorio,
+                partes -> conError(sinTildes(partes[2]).toLowerCase(), aleatorio));
+        medir(gestor, nombres, "nombre y apellido con error", consultas, limite, aleatorio,
+                partes -> partes[0] + " " + conError(sinTildes(partes[3]).toLowerCase(), aleatorio));
+        medir(gestor, nombres, "comienzo del usuario", consultas, limite, aleatorio,
+                partes -> sinTildes(partes[0].charAt(0) + partes[2]).toLowerCase() + (1 + aleatorio.nextInt(99)));
+    }
+
+    /**
+     * Hace las consultas de una clase (primero una ronda de calentamiento) y muestra los
+     * percentiles de la latencia y el promedio de resultados.
+     */
+    private static void medir(GestorEmpleado gestor, String[][] nombres, String clase, int consultas, int limite,
+            Random aleatorio, Function<String[], String> armar) {
+        String[] textos = new String[consultas];
+        for (int i = 0; i < consultas; i++) {
+            textos[i] = armar.apply(nombres[aleatorio.nextInt(nombres.length)]);
+        }
+        long resultados = 0;
+        for (int ronda = 0; ronda < 2; ronda++) {
+            long[] latencias = new long[consultas];
+            int lenta = 0;
+            resultados = 0;
+            for (int i = 0; i < consultas; i++) {
+                long t0 = System.nanoTime();
+                resultados += gestor.buscarPorNombre(textos[i], limite).size();
+                latencias[i] = System.nanoTime() - t0;
+                if (latencias[i] > latencias[lenta]) {
+                    lenta = i;
+                }
+            }
+            if (ronda == 1) {
+                String masLenta = textos[lenta];
+                Arrays.sort(latencias);
+                System.out.printf("%-30s p50 %6.1f µs | p99 %7.1f µs | p99.9 %7.1f µs | máx %7.1f µs (\"%s\") | %.1f resultados%n",
+                        clase, latencias[consultas / 2] / 1e3, latencias[consultas * 99 / 100] / 1e3,
+                        latencias[consultas * 999 / 1000] / 1e3, latencias[consultas - 1] / 1e3, masLenta,
+                        resultados / (double) consultas);
+            }
+        }
+    }
+
+    /**
+     * Cambia, quita o agrega una letra al azar (sin tocar la primera).
+     */
+    private static String conError(String palabra, Random aleatorio) {
+        int i = 1 + aleatorio.nextInt(palabra.length() - 1);
+        char letra = (char) ('a' + aleatorio.nextInt(26));
+        switch (aleatorio.nextInt(3)) {
+            case 0:
+                return palabra.substring(0, i) + letra + palabra.substring(i + 1);
+            case 1:
+                return palabra.substring(0, i) + palabra.substring(i + 1);
+            default:
+                return palabra.substring(0, i) + letra + palabra.substring(i);
+        }
+    }
+
+    private static String sinTildes(String texto) {
+        return Normalizer.normalize(texto, Normalizer.Form.NFD).replaceAll("\\p{M}", "");
+    }
+
+    private static String elegir(String[] opciones, Random aleatorio) {
+        return opciones[aleatorio.nextInt(opciones.length)];
+    }
+}
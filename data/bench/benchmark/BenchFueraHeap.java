@@ -0,0 +1,154 @@
+package benchmark;
+
+import java.io.BufferedReader;
+import java.io.InputStreamReader;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.lang.ref.Reference;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+import javax.management.NotificationEmitter;
+import javax.management.openmbean.CompositeData;
+
+import com.sun.management.GarbageCollectionNotificationInfo;
+
+import data.Empleado;
+import data.Empleado.tipoEmpleado;
+import data.GestorEmpleado;
+import data.RegistroFueraHeap;
+import data.RolPagos;
+import data.ServicioEmpleados;
+
+/**
+ * Compara el uso del heap y las pausas del recolector de basura con los empleados en el heap
+ * ({@link GestorEmpleado}) y fuera del heap ({@link RegistroFueraHeap}).
+ *
+ * Cada caso se ejecuta en una JVM nueva con el mismo tamaño máximo de heap y el recolector G1:
+ * se cargan los empleados, se mide el heap ocupado y la pausa de una recolección completa, y
+ * luego se hace una carga de trabajo (log in y rol de pagos) midiendo las pausas de las
+ * recolecciones que ocurren mientras tanto.
+ *
+ * Uso: {@code java -cp <clases> benchmark.BenchFueraHeap [empleados] [heap]}
+ * (por defecto 10000000 empleados y un heap de 4g).
+ */
+public class BenchFueraHeap {
+
+    private static final int OPERACIONES = 20_000_000;
+
+    public static void main(String[] args) throws Exception {
+        if (args.length > 0 && args[0].equals("--medir")) {
+            medir(args[1], Integer.parseInt(args[2]));
+            return;
+        }
+        int empleados = args.length > 0 ? Integer.parseInt(args[0]) : 10_000_000;
+        String heap = args.length > 1 ? args[1] : "4g";
+        System.out.printf("%d empleados, heap máximo %s, G1%n", empleados, heap);
+        for (String modo : new String[] { "heap", "fuera" }) {
+            String java = Paths.get(System.getProperty("java.home"), "bin", "java").toString();
+            Process proceso = new ProcessBuilder(java, "-Xmx" + heap, "-Xms" + heap, "-XX:+UseG1GC",
+                    "-XX:MaxDirectMemorySize=8g", "-cp", System.getProperty("java.class.path"),
+                    BenchFueraHeap.class.getName(), "--medir", modo, Integer.toString(empleados))
+                    .redirectErrorStream(true).start();
+            try (BufferedReader lector = new BufferedReader(new InputStreamReader(proceso.getInputStream(), StandardCharsets.UTF_8))) {
+                String linea;
+                while ((linea = lector.readLine()) != null) {
+                    System.out.println(linea);
+                }
+            }
+            proceso.waitFor();
+        }
+    }
+
+    /**
+     * Caso medido (en la JVM nueva).
+     */
+    private static void medir(String modo, int empleados) throws Exception {
+        List<Long> pausas = new ArrayList<>();
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            ((NotificationEmitter) gc).addNotificationListener((notificacion, contexto) -> {
+                if (notificacion.getType().equals(GarbageCollectionNotificationInfo.GARBAGE_COLLECTION_NOTIFICATION)) {
+                    GarbageCollectionNotificationInfo info = GarbageCollectionNotificationInfo
+                            .from((CompositeData) notificacion.getUserData());
+                    synchronized (pausas) {
+                        pausas.add(info.getGcInfo().getDuration());
+                    }
+                }
+            }, null, null);
+        }
+
+        long t0 = System.nanoTime();
+        ServicioEmpleados servicio;
+        GestorEmpleado gestor = null;
+        RegistroFueraHeap registro = null;
+        if (modo.equals("heap")) {
+            servicio = gestor = new GestorEmpleado(empleados + 3);
+        } else {
+            servicio = registro = new RegistroFueraHeap(empleados + 3);
+        }
+        List<Empleado> lote = new ArrayList<>(10_000);
+        tipoEmpleado[] tipos = tipoEmpleado.values();
+        for (int i = 0; i < empleados; i++) {
+            lote.add(Empleado.crear("Empleado " + i, "17" + i, "usuario" + i, "clave", tipos[i % tipos.length]));
+            if (lote.size() == 10_000 || i == empleados - 1) {
+                if (gestor != null) {
+                    gestor.agregarEmpleados(lote);
+                } else {
+                    registro.agregarEmpleados(lote);
+                }
+                lote = new ArrayList<>(10_000);
+            }
+        }
+        double carga = (System.nanoTime() - t0) / 1e9;
+
+        // Heap ocupado y pausa de una recolección completa (la mediana de 3)
+        long[] completas = new long[3];
+        for (int k = 0; k < completas.length; k++) {
+            long inicio = System.nanoTime();
+            System.gc();
+            completas[k] = (System.nanoTime() - inicio) / 1_000_000;
+        }
+        Arrays.sort(completas);
+        long heapUsado = ManagementFactory.getMemoryMXBean().getHeapMemoryUsage().getUsed();
+        Thread.sleep(200);  // Las notificaciones se entregan en otro hilo
+        synchronized (pausas) {
+            pausas.clear();
+        }
+
+        // Carga de trabajo: log in y rol de pagos de empleados al azar
+        Random aleatorio = new Random(42);
+        RolPagos rol = new RolPagos();
+        long suma = 0;
+        long t1 = System.nanoTime();
+        for (int k = 0; k < OPERACIONES; k++) {
+            Empleado emp = servicio.buscar("usuario" + aleatorio.nextInt(empleados));
+            if (emp.getClave().equals("clave")) {
+                emp.calcularRolPagosCentavos(16_000, 0, 0, 12, 0, rol);
+                suma += rol.getSalarioMensualCentavos();
+            }
+        }
+        double trabajo = (System.nanoTime() - t1) / 1e9;
+        Thread.sleep(200);
+        long[] durante;
+        synchronized (pausas) {
+            durante = pausas.stream().mapToLong(Long::longValue).sorted().toArray();
+        }
+        long total = Arrays.stream(durante).sum();
+        Reference.reachabilityFence(servicio);
+        if (suma == Long.MIN_VALUE) {
+            System.out.println("");  // Evita que el JIT elimine la carga de trabajo
+        }
+
+        System.out.printf(Locale.ROOT, "%-6s carga %.1f s | heap tras GC %5d MB%s | GC completo %5d ms | "
+                + "trabajo %.1f s (%.0f ns/op): %d pausas, total %d ms, máxima %d ms%n",
+                modo, carga, heapUsado >> 20,
+                registro != null ? String.format(" + %d MB nativos", registro.getBytesFueraHeap() >> 20) : "",
+                completas[1], trabajo, trabajo * 1e9 / OPERACIONES, durante.length, total,
+                durante.length == 0 ? 0 : durante[durante.length - 1]);
+    }
+}
@@ -0,0 +1,342 @@
+package benchmark;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Locale;
+import java.util.Random;
+
+import data.Empleado;
+import data.Empleado.tipoEmpleado;
+import data.GestorEmpleado;
+import data.HistorialNomina;
+import data.HistorialNomina.Campo;
+import data.NominaColumnar;
+import data.RolPagos;
+import data.RolesPagos;
+import data.Salario;
+import data.SalidaReporte;
+
+/**
+ * Benchmarks de los cálculos de salario, la búsqueda de empleados y el reporte de rol de pagos.
+ *
+ * Uso: {@code java -cp <clases> benchmark.BenchNomina [prefijo ...]}, donde los prefijos
+ * filtran los benchmarks a ejecutar (por ejemplo {@code salario.megamorfico} o {@code buscar}).
+ */
+public class BenchNomina {
+
+    private static final int LOTE = 1024;  // Operaciones por llamada en los benchmarks de cálculo
+
+    public static void main(String[] args) throws Exception {
+        Bench bench = new Bench(args);
+
+        benchSalarios(bench);
+        benchSalario(bench);
+        benchBuscar(bench);
+        benchReporte(bench);
+        benchRolesPagos(bench);
+        benchColumnar(bench);
+        benchHistorial(bench);
+    }
+
+    /**
+     * Empleado.calcularSalario con sitios de llamada monomórficos, bimórficos y megamórficos.
+     */
+    private static void benchSalarios(Bench bench) {
+        Empleado[] mono = crearEmpleados(LOTE, tipoEmpleado.GERENTE);
+        Empleado[] bi = crearEmpleados(LOTE, tipoEmpleado.GERENTE, tipoEmpleado.ADMINISTRATIVO);
+        Empleado[] mega = crearEmpleados(LOTE, tipoEmpleado.GERENTE, tipoEmpleado.ADMINISTRATIVO, tipoEmpleado.EMPLEADO);
+
+        bench.medir("salario.monomorfico", LOTE, () -> sumarSalarios(mono));
+        bench.medir("salario.bimorfico", LOTE, () -> sumarSalarios(bi));
+        bench.medir("salario.megamorfico", LOTE, () -> sumarSalarios(mega));
+    }
+
+    private static long sumarSalarios(Empleado[] empleados) {
+        long total = 0;
+        for (Empleado emp : empleados) {
+            total += emp.calcularSalarioCentavos(Salario.JORNADA_MENSUAL_CENTESIMAS, 25_00, 10_00);
+        }
+        return total;
+    }
+
+    /**
+     * Cada método de la clase Salario.
+     */
+    private static void benchSalario(Bench bench) {
+        Salario salario = new Salario();
+        double[] bases = new double[LOTE];
+        Random aleatorio = new Random(42);
+        for (int i = 0; i < LOTE; i++) {
+            bases[i] = 300 + aleatorio.nextInt(700);
+        }
+
+        bench.medir("salario.calcularRolPagos", LOTE, () -> {
+            double total = 0;
+            for (double base : bases) {
+                total += salario.calcularRolPagos(base, 160, 25, 10);
+            }
+            return total;
+        });
+        bench.medir("salario.calcularDecimoTercerSueldo", LOTE, () -> {
+            double total = 0;
+            for (double base : bases) {
+                total += salario.calcularDecimoTercerSueldo(base);
+            }
+            return total;
+        });
+        bench.medir("salario.calcularUtilidades", LOTE, () -> {
+            double total = 0;
+            for (double base : bases) {
+                total += salario.calcularUtilidades(base, 9);
+            }
+            return total;
+        });
+        bench.medir("salario.calcularHorasExtras", LOTE, () -> {
+            double total = 0;
+            for (double base : bases) {
+                total += salario.calcularHorasExtras(base, 12);
+            }
+            return total;
+        });
+        bench.medir("salario.calcularFondosReserva", LOTE, () -> {
+            double total = 0;
+            for (double base : bases) {
+                total += salario.calcularFondosReserva(base);
+            }
+            return total;
+        });
+    }
+
+    /**
+     * GestorEmpleado.buscar con registros de distintos tamaños (incluye búsquedas fallidas).
+     */
+    private static void benchBuscar(Bench bench) throws Exception {
+        for (int tamano : new int[] { 10_000, 100_000, 1_000_000 }) {
+            String nombre = "buscar." + tamano;
+            if (!bench.activo(nombre)) {
+                continue;
+            }
+            GestorEmpleado gestor = crearGestor(tamano);
+            String[] claves = new String[LOTE];
+            Random aleatorio = new Random(7);
+            for (int i = 0; i < LOTE; i++) {
+                // Una de cada 8 búsquedas es de un usuario inexistente
+                claves[i] = i % 8 == 0 ? "ausente" + i : "usuario" + aleatorio.nextInt(tamano);
+            }
+            bench.medir(nombre, LOTE, () -> {
+                int encontrados = 0;
+                for (String clave : claves) {
+                    if (gestor.buscar(clave) != null) {
+                        encontrados++;
+                    }
+                }
+                return encontrados;
+            });
+        }
+    }
+
+    /**
+     * GestorEmpleado.generarReporteRolPagos escribiendo en una salida que descarta los bytes:
+     * con la caché sin cambios, con un empleado modificado antes de cada reporte y sin caché
+     * (generarReporteRolPagosParalelo recalcula a todos los empleados).
+     */
+    private static void benchReporte(Bench bench) throws Exception {
+        for (int tamano : new int[] { 10_000, 100_000 }) {
+            String nombre = "reporte." + tamano;
+            if (!bench.activo(nombre)) {
+                continue;
+            }
+            GestorEmpleado gestor = crearGestor(tamano);
+            CanalNulo canal = new CanalNulo();
+            bench.medir(nombre + ".cache", tamano, () -> {
+                SalidaReporte salida = new SalidaReporte(canal, StandardCharsets.UTF_8, false);
+                gestor.generarReporteRolPagos(salida, SalidaReporte.Formato.TEXTO);
+                salida.close();
+                return canal.bytes;
+            });
+            Random aleatorio = new Random(7);
+            bench.medir(nombre + ".unCambio", tamano, () -> {
+                gestor.buscar("usuario" + aleatorio.nextInt(tamano)).setSalarioBase(300 + aleatorio.nextInt(1000));
+                SalidaReporte salida = new SalidaReporte(canal, StandardCharsets.UTF_8, false);
+                gestor.generarReporteRolPagos(salida, SalidaReporte.Formato.TEXTO);
+                salida.close();
+                return canal.bytes;
+            });
+            bench.medir(nombre + ".sinCache", tamano, () -> {
+                SalidaReporte salida = new SalidaReporte(canal, StandardCharsets.UTF_8, false);
+                gestor.generarReporteRolPagosParalelo(salida, SalidaReporte.Formato.TEXTO);
+                salida.close();
+                return canal.bytes;
+            });
+        }
+    }
+
+    /**
+     * GestorEmpleado.calcularRolesPagos (rol de pagos completo en una sola pasada) comparado
+     * con llamar por separado a los cinco métodos de cada empleado.
+     */
+    private static void benchRolesPagos(Bench bench) throws Exception {
+        int tamano = 100_000;
+        if (!bench.activo("rolesPagos")) {
+            return;
+        }
+        GestorEmpleado gestor = crearGestor(tamano);
+        Empleado[] empleados = new Empleado[gestor.getCantidad()];
+        for (int i = 0; i < empleados.length; i++) {
+            empleados[i] = gestor.buscar(i < 3 ? new String[] { "admin", "ventas", "gerente" }[i] : "usuario" + (i - 3));
+        }
+        RolesPagos roles = new RolesPagos();
+        bench.medir("rolesPagos.unaPasada", empleados.length, () -> {
+            gestor.calcularRolesPagos(160, 20, 5, 12, 4, roles);
+            return roles.getSalarioMensual(roles.getCantidad() - 1);
+        });
+        bench.medir("rolesPagos.estadisticas", empleados.length,
+                () -> gestor.calcularEstadisticasNomina(160, 20, 5).getGeneral().getPercentilCentavos(99));
+        bench.medir("rolesPagos.cincoLlamadas", empleados.length, () -> {
+            double total = 0;
+            for (Empleado emp : empleados) {
+                total += emp.calcularSalario(160, 20, 5) + emp.calcularDecimoTercerSueldo() + emp.calcularUtilidades(12)
+                        + emp.calcularHorasExtras(4) + emp.calcularFondosReserva();
+            }
+            return total;
+        });
+    }
+
+    /**
+     * Nómina en columnas (ciclos por tipo) comparada con recorrer los objetos Empleado
+     * (sitio de llamada megamórfico), con 1 millón de empleados.
+     */
+    private static void benchColumnar(Bench bench) throws Exception {
+        int tamano = 1_000_000;
+        if (!bench.activo("columnar")) {
+            return;
+        }
+        Empleado[] empleados = crearEmpleados(tamano, tipoEmpleado.values());
+        NominaColumnar columnas = new NominaColumnar(Arrays.asList(empleados));
+        long[] salarios = new long[tamano];
+        bench.medir("columnar.objetos", tamano, () -> {
+            for (int i = 0; i < empleados.length; i++) {
+                salarios[i] = empleados[i].calcularSalarioCentavos(Salario.JORNADA_MENSUAL_CENTESIMAS, 0, 0);
+            }
+            return salarios[tamano - 1];
+        });
+        bench.medir("columnar.columnas", tamano, () -> {
+            columnas.calcularSalarios(salarios);
+            return salarios[tamano - 1];
+        });
+    }
+
+    /**
+     * Historial mensual: registrar un mes de toda la empresa (10 mil empleados, las mismas
+     * entradas cada mes) y consultar acumulados y totales con años de historial. Muestra
+     * además los bytes por mes de las series.
+     */
+    private static void benchHistorial(Bench bench) throws Exception {
+        int tamano = 10_000;
+        if (!bench.activo("historial")) {
+            return;
+        }
+        GestorEmpleado gestor = crearGestor(tamano);
+        Empleado[] empleados = new Empleado[tamano];
+        for (int i = 0; i < tamano; i++) {
+            empleados[i] = gestor.buscar("usuario" + i);
+        }
+        RolPagos rol = new RolPagos();
+        int[] periodo = { HistorialNomina.periodo(2000, 1) };
+        bench.medir("historial.registrarMes", tamano, () -> {
+            int p = periodo[0]++;
+            for (Empleado emp : empleados) {
+                gestor.registrarRolMensual(emp, p / 12, p % 12 + 1, 160, 0, 0, 12, 0, rol);
+            }
+            return rol.getSalarioMensualCentavos();
+        });
+        HistorialNomina historial = gestor.getHistorial();
+        long meses = historial.getMesesTrabajados(empleados[0]);
+        System.out.printf(Locale.ROOT, "historial: %d meses por empleado, %.2f bytes por mes%n", meses,
+                (double) historial.getBytesSeries() / (meses * tamano));
+
+        int ultimoAño = (periodo[0] - 1) / 12;
+        int años = (int) Math.min(10, meses / 12);
+        Random aleatorio = new Random(7);
+        int[] consultas = new int[LOTE];
+        for (int i = 0; i < LOTE; i++) {
+            consultas[i] = aleatorio.nextInt(tamano);
+        }
+        bench.medir("historial.acumulado", LOTE, () -> {
+            long total = 0;
+            for (int i = 0; i < LOTE; i++) {
+                // Acumulado hasta junio: se leen los meses de ese año
+                total += historial.getAcumulado(empleados[consultas[i]], ultimoAño - 1 - i % años, 6, Campo.SALARIO_MENSUAL);
+            }
+            return total;
+        });
+        bench.medir("historial.totalAnual", LOTE, () -> {
+            long total = 0;
+            for (int i = 0; i < LOTE; i++) {
+                total += historial.getTotalAnual(empleados[consultas[i]], ultimoAño - 1 - i % años, Campo.SALARIO_MENSUAL)
+                        + historial.getMesesTrabajados(empleados[consultas[i]], ultimoAño - 1 - i % años);
+            }
+            return total;
+        });
+        bench.medir("historial.totalPeriodo", LOTE, () -> {
+            long total = 0;
+            for (int i = 0; i < LOTE; i++) {
+                total += historial.getTotalPeriodo(ultimoAño - 1 - i % años, i % 12 + 1, Campo.SALARIO_MENSUAL);
+            }
+            return total;
+        });
+    }
+
+    /**
+     * Crea empleados alternando los tipos indicados.
+     */
+    static Empleado[] crearEmpleados(int cantidad, tipoEmpleado... tipos) {
+        Empleado[] empleados = new Empleado[cantidad];
+        for (int i = 0; i < cantidad; i++) {
+            tipoEmpleado tipo = tipos[i % tipos.length];
+            empleados[i] = Empleado.crear("Empleado " + i, "17" + i, "usuario" + i, "clave", tipo);
+        }
+        return empleados;
+    }
+
+    /**
+     * Crea un gestor con la cantidad de empleados indicada (además de los usuarios por defecto).
+     */
+    static GestorEmpleado crearGestor(int cantidad) throws Exception {
+        GestorEmpleado gestor = new GestorEmpleado(cantidad + 3);
+        List<Empleado> lote = new ArrayList<>(cantidad);
+        for (Empleado emp : crearEmpleados(cantidad, tipoEmpleado.values())) {
+            lote.add(emp);
+        }
+        gestor.agregarEmpleados(lote);
+        return gestor;
+    }
+
+    /**
+     * Canal de salida que descarta los bytes (solo cuenta cuántos recibe).
+     */
+    static final class CanalNulo implements WritableByteChannel {
+        long bytes;
+
+        @Override
+        public int write(ByteBuffer origen) {
+            int n = origen.remaining();
+            origen.position(origen.limit());
+            bytes += n;
+            return n;
+        }
+
+        @Override
+        public boolean isOpen() {
+            return true;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package benchmark;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+
+import data.ConsultaNomina;
+import data.CursorNomina;
+import data.Empleado;
+import data.Empleado.tipoEmpleado;
+import data.GestorEmpleado;
+import data.PaginaNomina;
+import data.Salario;
+import data.SalidaReporte;
+
+/**
+ * Mide las páginas de la nómina ({@link GestorEmpleado#abrirCursor(ConsultaNomina, int)})
+ * contra el reporte completo:
+ * <ul>
+ *   <li>el reporte de rol de pagos completo, desde la caché y recalculado (hacia un canal que
+ *       descarta los bytes);</li>
+ *   <li>la primera página y una página a mitad de la nómina (continuando desde la posición
+ *       de la página anterior) con cada orden;</li>
+ *   <li>los 100 mejores pagados: con el índice por salario, con el montículo acotado (otras
+ *       horas de trabajo) y calculando y ordenando toda la nómina.</li>
+ * </ul>
+ *
+ * Uso: {@code java -cp <clases> benchmark.BenchPaginas [empleados] [tamanoPagina]}
+ * (por defecto 2000000 empleados y páginas de 50).
+ */
+public class BenchPaginas {
+
+    private static final int REPETICIONES = 200;  // Páginas medidas por caso
+
+    public static void main(String[] args) throws Exception {
+        int empleados = args.length > 0 ? Integer.parseInt(args[0]) : 2_000_000;
+        int tamanoPagina = args.length > 1 ? Integer.parseInt(args[1]) : 50;
+
+        long t0 = System.nanoTime();
+        GestorEmpleado gestor = new GestorEmpleado(empleados + 3);
+        Random aleatorio = new Random(42);
+        List<Empleado> lote = new ArrayList<>(empleados);
+        for (Empleado emp : BenchNomina.crearEmpleados(empleados, tipoEmpleado.values())) {
+            emp.setSalarioBaseCentavos(emp.getTipo() == tipoEmpleado.EMPLEADO ? 2_00 + aleatorio.nextInt(8_00)
+                    : 300_00 + aleatorio.nextInt(900_00));
+            lote.add(emp);
+        }
+        gestor.agregarEmpleados(lote);
+        System.out.printf("%d empleados registrados en %.2f s%n", gestor.getCantidad(), (System.nanoTime() - t0) / 1e9);
+
+        BenchNomina.CanalNulo canal = new BenchNomina.CanalNulo();
+        for (int ronda = 0; ronda < 3; ronda++) {  // Las primeras rondas son de calentamiento
+            boolean mostrar = ronda == 2;
+            t0 = System.nanoTime();
+            SalidaReporte salida = new SalidaReporte(canal, StandardCharsets.UTF_8, false);
+            gestor.generarReporteRolPagos(salida, SalidaReporte.Formato.TEXTO);
+            salida.close();
+            mostrar(mostrar, "reporte completo (caché)", System.nanoTime() - t0);
+
+            t0 = System.nanoTime();
+            salida = new SalidaReporte(canal, StandardCharsets.UTF_8, false);
+            gestor.generarReporteRolPagosParalelo(salida, SalidaReporte.Formato.TEXTO);
+            salida.close();
+            mostrar(mostrar, "reporte completo (sin caché)", System.nanoTime() - t0);
+
+            for (ConsultaNomina consulta : new ConsultaNomina[] { ConsultaNomina.porRegistro(),
+                    ConsultaNomina.porSalario().descendente(), ConsultaNomina.porNombre(), ConsultaNomina.porTipo(),
+                    ConsultaNomina.porNombre().nombreComienzaCon("Empleado 17"),
+                    ConsultaNomina.porSalario().soloTipo(tipoEmpleado.GERENTE).salarioEntre(500, 600) }) {
+                t0 = System.nanoTime();
+                for (int i = 0; i < REPETICIONES; i++) {
+                    gestor.abrirCursor(consulta, tamanoPagina).next();
+                }
+                mostrar(mostrar, "primera página, " + consulta, (System.nanoTime() - t0) / REPETICIONES);
+
+                // Posición a mitad de la nómina: se avanza con páginas grandes y se mide la siguiente
+                CursorNomina cursor = gestor.abrirCursor(consulta, Math.max(1, gestor.getCantidad() / 2));
+                String mitad = cursor.next().getSiguiente();
+                if (mitad != null) {
+                    t0 = System.nanoTime();
+                    for (int i = 0; i < REPETICIONES; i++) {
+                        gestor.abrirCursor(consulta, tamanoPagina, mitad).next();
+                    }
+                    mostrar(mostrar, "página a la mitad, " + consulta, (System.nanoTime() - t0) / REPETICIONES);
+                }
+            }
+
+            t0 = System.nanoTime();
+            PaginaNomina indice = gestor.mejorPagados(100);
+            mostrar(mostrar, "100 mejores (índice)", System.nanoTime() - t0);
+
+            t0 = System.nanoTime();
+            PaginaNomina monticulo = gestor.mejorPagados(100, ConsultaNomina.porRegistro(), 160, 0, 0);
+            mostrar(mostrar, "100 mejores (montículo)", System.nanoTime() - t0);
+
+            t0 = System.nanoTime();
+            List<Empleado> todos = new ArrayList<>(gestor.getCantidad());
+            for (tipoEmpleado tipo : tipoEmpleado.values()) {
+                todos.addAll(gestor.buscarPorTipo(tipo));
+            }
+            todos.sort(Comparator.comparingLong(
+                    (Empleado emp) -> emp.calcularSalarioCentavos(Salario.JORNADA_MENSUAL_CENTESIMAS, 0, 0)).reversed());
+            mostrar(mostrar, "100 mejores (ordenar todo)", System.nanoTime() - t0);
+
+            if (mostrar && !indice.getEmpleados().equals(monticulo.getEmpleados())) {
+                System.out.println("ERROR: el índice y el montículo no coinciden");
+            }
+        }
+    }
+
+    private static void mostrar(boolean mostrar, String caso, long nanos) {
+        if (mostrar) {
+            System.out.printf("%-70s %10.3f ms%n", caso, nanos / 1e6);
+        }
+    }
+}
@@ -0,0 +1,118 @@
+package benchmark;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import data.Empleado;
+import data.Empleado.tipoEmpleado;
+import data.MotorNomina;
+import data.MotorNominaEscalar;
+import data.NominaColumnar;
+import data.Salario;
+
+/**
+ * Verificación y benchmark del motor de nómina vectorial (SIMD) frente al escalar.
+ *
+ * Primero comprueba que ambos motores producen exactamente los mismos valores que
+ * {@link Salario} y `calcularSalarioCentavos` para salarios base y entradas aleatorias (incluidos
+ * algunos salarios muy altos, que el motor vectorial delega al escalar); luego mide
+ * los dos motores sobre varios millones de filas.
+ *
+ * Uso: {@code java --add-modules jdk.incubator.vector -cp <clases> benchmark.BenchVectorial [filas]}
+ */
+public class BenchVectorial {
+
+    public static void main(String[] args) {
+        int filas = args.length > 0 ? Integer.parseInt(args[0]) : 4_000_000;
+        MotorNomina escalar = new MotorNominaEscalar();
+        MotorNomina vectorial = MotorNomina.vectorial();
+        if (vectorial == null) {
+            System.out.println("Motor vectorial no disponible (faltan las clases de data/simd o --add-modules jdk.incubator.vector).");
+        }
+
+        // Empleados con salario base y entradas aleatorias (incluye decimales)
+        Random aleatorio = new Random(2024);
+        Empleado[] empleados = new Empleado[10_003];
+        for (int i = 0; i < empleados.length; i++) {
+            empleados[i] = Empleado.crear("E" + i, "C" + i, "u" + i, "k", tipoEmpleado.values()[aleatorio.nextInt(3)]);
+            empleados[i].setSalarioBase(200 + aleatorio.nextInt(200_000) / 100.0);
+        }
+        for (int i = 0; i < empleados.length; i += 997) {
+            empleados[i].setSalarioBaseCentavos(1L << 45);  // Fuera del rango exacto del motor vectorial
+        }
+        NominaColumnar columnas = new NominaColumnar(Arrays.asList(empleados));
+        long[] horas = new long[empleados.length];
+        long[] bonos = new long[empleados.length];
+        long[] descuentos = new long[empleados.length];
+        for (int r = 0; r < empleados.length; r++) {
+            horas[r] = 12_000 + aleatorio.nextInt(8000);
+            bonos[r] = aleatorio.nextInt(50_000);
+            descuentos[r] = aleatorio.nextInt(20_000);
+            columnas.setEntradas(columnas.fila(r), horas[r], bonos[r], descuentos[r]);
+        }
+
+        verificar(escalar, columnas, empleados, horas, bonos, descuentos);
+        if (vectorial != null) {
+            verificar(vectorial, columnas, empleados, horas, bonos, descuentos);
+        }
+
+        // Benchmark sobre muchas filas
+        Bench bench = new Bench(new String[0]);
+        Empleado[] grandes = BenchNomina.crearEmpleados(filas, tipoEmpleado.values());
+        NominaColumnar nomina = new NominaColumnar(Arrays.asList(grandes));
+        long[] destino = new long[filas];
+        for (MotorNomina motor : new MotorNomina[] { escalar, vectorial }) {
+            if (motor == null) {
+                continue;
+            }
+            bench.medir("vectorial.salarios." + motor.nombre(), filas, () -> {
+                nomina.calcularSalarios(destino, motor);
+                return destino[filas - 1];
+            });
+            bench.medir("vectorial.horasExtras." + motor.nombre(), filas, () -> {
+                nomina.calcularHorasExtras(750, destino, motor);
+                return destino[filas - 1];
+            });
+        }
+    }
+
+    /**
+     * Compara cada componente calculado por el motor con el valor de las clases del sistema.
+     */
+    private static void verificar(MotorNomina motor, NominaColumnar columnas, Empleado[] empleados,
+            long[] horas, long[] bonos, long[] descuentos) {
+        Salario salario = new Salario();
+        int n = empleados.length;
+        long[] salarios = new long[n];
+        long[] decimos = new long[n];
+        long[] utilidades = new long[n];
+        long[] extras = new long[n];
+        long[] fondos = new long[n];
+        columnas.calcularSalarios(salarios, motor);
+        columnas.calcularDecimoTercerSueldo(decimos, motor);
+        columnas.calcularUtilidades(7, utilidades, motor);
+        columnas.calcularHorasExtras(925, extras, motor);
+        columnas.calcularFondosReserva(fondos, motor);
+
+        int diferencias = 0;
+        for (int r = 0; r < n; r++) {
+            Empleado emp = empleados[r];
+            int f = columnas.fila(r);
+            long base = emp.getSalarioBaseCentavos();
+            diferencias += distinto(salarios[f], emp.calcularSalarioCentavos(horas[r], bonos[r], descuentos[r]));
+            diferencias += distinto(decimos[f], salario.decimoTercerSueldoCentavos(base));
+            diferencias += distinto(utilidades[f], salario.utilidadesCentavos(base, 7));
+            diferencias += distinto(extras[f], salario.horasExtrasCentavos(base, 925));
+            diferencias += distinto(fondos[f], salario.fondosReservaCentavos(base));
+        }
+        System.out.println("Verificación motor " + motor.nombre() + ": "
+                + (diferencias == 0 ? "resultados idénticos" : diferencias + " diferencias"));
+        if (diferencias != 0) {
+            throw new AssertionError("El motor " + motor.nombre() + " no coincide con Salario");
+        }
+    }
+
+    private static int distinto(long a, long b) {
+        return a == b ? 0 : 1;
+    }
+}
@@ -0,0 +1,111 @@
+package benchmark;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+
+import Interfaz.ServidorHttp;
+import data.GestorEmpleado;
+
+/**
+ * Prueba de carga local del servicio HTTP.
+ *
+ * Inicia el servidor en un puerto libre con un registro de empleados y lanza muchos
+ * clientes concurrentes que alternan solicitudes de log in y de rol de pagos durante
+ * un tiempo fijo. Al final muestra las solicitudes por segundo y los percentiles de latencia.
+ *
+ * Uso: {@code java -cp <clases> benchmark.CargaHttp [clientes] [segundos] [empleados]}
+ * (por defecto 2000 clientes, 20 segundos y 100000 empleados).
+ */
+public class CargaHttp {
+
+    public static void main(String[] args) throws Exception {
+        int clientes = args.length > 0 ? Integer.parseInt(args[0]) : 2000;
+        int segundos = args.length > 1 ? Integer.parseInt(args[1]) : 20;
+        int empleados = args.length > 2 ? Integer.parseInt(args[2]) : 100_000;
+
+        GestorEmpleado gestor = BenchNomina.crearGestor(empleados);
+        ServidorHttp servidor = new ServidorHttp(gestor, 0);
+        servidor.iniciar();
+        String base = "http://127.0.0.1:" + servidor.getPuerto();
+
+        HttpClient cliente = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(10)).build();
+        long fin = System.nanoTime() + segundos * 1_000_000_000L;
+        long[][] latencias = new long[clientes][];
+        int[] cantidades = new int[clientes];
+        AtomicLong errores = new AtomicLong();
+        CountDownLatch terminado = new CountDownLatch(clientes);
+
+        long inicio = System.nanoTime();
+        for (int c = 0; c < clientes; c++) {
+            final int id = c;
+            Thread hilo = new Thread(() -> {
+                long[] propias = new long[1024];
+                int n = 0;
+                int i = id;
+                while (System.nanoTime() < fin) {
+                    String usuario = "usuario" + (i++ % empleados);
+                    HttpRequest solicitud = (i & 1) == 0
+                            ? HttpRequest.newBuilder(URI.create(base + "/login"))
+                                    .header("Content-Type", "application/x-www-form-urlencoded")
+                                    .POST(HttpRequest.BodyPublishers.ofString("usuario=" + usuario + "&clave=clave")).build()
+                            : HttpRequest.newBuilder(URI.create(base + "/rol?horas=160&bonos=20&descuentos=5&meses=12&horasExtras=4"))
+                                    .header("Content-Type", "application/x-www-form-urlencoded")
+                                    .POST(HttpRequest.BodyPublishers.ofString("usuario=" + usuario + "&clave=clave")).build();
+                    long t0 = System.nanoTime();
+                    try {
+                        HttpResponse<Void> respuesta = cliente.send(solicitud, HttpResponse.BodyHandlers.discarding());
+                        if (respuesta.statusCode() != 200) {
+                            errores.incrementAndGet();
+                        }
+                    } catch (Exception e) {
+                        errores.incrementAndGet();
+                        continue;
+                    }
+                    if (n == propias.length) {
+                        propias = Arrays.copyOf(propias, n * 2);
+                    }
+                    propias[n++] = System.nanoTime() - t0;
+                }
+                latencias[id] = propias;
+                cantidades[id] = n;
+                terminado.countDown();
+            });
+            hilo.setDaemon(true);
+            hilo.start();
+        }
+        terminado.await();
+        double transcurrido = (System.nanoTime() - inicio) / 1e9;
+        servidor.detener(1);
+
+        int total = 0;
+        for (int n : cantidades) {
+            total += n;
+        }
+        long[] todas = new long[total];
+        int pos = 0;
+        for (int c = 0; c < clientes; c++) {
+            System.arraycopy(latencias[c], 0, todas, pos, cantidades[c]);
+            pos += cantidades[c];
+        }
+        Arrays.sort(todas);
+        System.out.println(String.format(Locale.ROOT,
+                "clientes=%d solicitudes=%d errores=%d  %.0f sol/s  p50=%.2f ms  p99=%.2f ms  max=%.2f ms",
+                clientes, total, errores.get(), total / transcurrido,
+                percentil(todas, 0.50), percentil(todas, 0.99), total == 0 ? 0 : todas[total - 1] / 1e6));
+    }
+
+    private static double percentil(long[] ordenadas, double p) {
+        if (ordenadas.length == 0) {
+            return 0;
+        }
+        int indice = (int) Math.min(ordenadas.length - 1, Math.ceil(p * ordenadas.length) - 1);
+        return ordenadas[Math.max(0, indice)] / 1e6;
+    }
+}
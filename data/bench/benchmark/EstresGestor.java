@@ -0,0 +1,268 @@
+package benchmark;
+
+import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+
+import data.Empleado;
+import data.Empleado.tipoEmpleado;
+import data.GestorEmpleado;
+import data.Salario;
+import data.SalidaReporte;
+
+/**
+ * Prueba de estrés del GestorEmpleado con muchos hilos a la vez.
+ *
+ * Varios hilos registran empleados (uno por uno y en lotes, con algunos usuarios repetidos),
+ * otros hacen log in (buscar) y cambian salarios, y otros generan reportes mientras tanto.
+ * Al final se verifica que:
+ * <ul>
+ *   <li>se registraron exactamente los usuarios distintos y todos se encuentran;</li>
+ *   <li>cada reporte tuvo tantas filas como empleados había al empezar (nunca menos que el anterior);</li>
+ *   <li>los índices por tipo cuentan a todos los empleados;</li>
+ *   <li>el total de la caché coincide con recalcular la nómina;</li>
+ *   <li>con persistencia, al reabrir el gestor se recuperan los mismos salarios.</li>
+ * </ul>
+ *
+ * Uso: {@code java -cp <clases> benchmark.EstresGestor [hilos] [empleadosPorHilo]}
+ * (por defecto 16 hilos y 20000 empleados por hilo).
+ */
+public class EstresGestor {
+
+    public static void main(String[] args) throws Exception {
+        int hilos = args.length > 0 ? Integer.parseInt(args[0]) : 16;
+        int porHilo = args.length > 1 ? Integer.parseInt(args[1]) : 20_000;
+
+        List<String> errores = new ArrayList<>();
+        errores.addAll(probar(new GestorEmpleado(), hilos, porHilo, null));
+
+        Path directorio = Files.createTempDirectory("estres-gestor");
+        try {
+            errores.addAll(probar(new GestorEmpleado(directorio), hilos, porHilo / 4, directorio));
+        } finally {
+            borrar(directorio);
+        }
+
+        if (errores.isEmpty()) {
+            System.out.println("OK");
+        } else {
+            errores.forEach(System.out::println);
+            System.exit(1);
+        }
+    }
+
+    private static List<String> probar(GestorEmpleado gestor, int hilos, int porHilo, Path directorio) throws Exception {
+        List<String> errores = new ArrayList<>();
+        int iniciales = gestor.getCantidad();
+        ConcurrentHashMap<String, Long> salarios = new ConcurrentHashMap<>();  // Último salario asignado por usuario
+        AtomicBoolean terminado = new AtomicBoolean();
+        AtomicLong reportes = new AtomicLong();
+        AtomicLong logins = new AtomicLong();
+        CountDownLatch inicio = new CountDownLatch(1);
+        List<Thread> escritores = new ArrayList<>();
+        List<Thread> lectores = new ArrayList<>();
+
+        for (int h = 0; h < hilos; h++) {
+            int hilo = h;
+            escritores.add(new Thread(() -> {
+                esperar(inicio);
+                List<Empleado> lote = new ArrayList<>();
+                for (int i = 0; i < porHilo; i++) {
+                    // Los usuarios se reparten entre pares de hilos: cada usuario se intenta registrar dos veces
+                    String usuario = "u" + (hilo / 2) + "_" + i;
+                    Empleado emp = Empleado.crear("Empleado " + usuario, "17" + i, usuario, "clave",
+                            tipoEmpleado.values()[i % tipoEmpleado.values().length]);
+                    if (i % 2 == 0) {
+                        gestor.agregarEmpleado(emp);
+                    } else {
+                        lote.add(emp);
+                        if (lote.size() == 64) {
+                            agregarLote(gestor, lote);
+                        }
+                    }
+                    if (i % 16 == 0) {
+                        cambiarSalario(gestor, salarios, "u" + (hilo / 2) + "_" + ThreadLocalRandom.current().nextInt(i + 1));
+                    }
+                }
+                agregarLote(gestor, lote);
+            }));
+        }
+        for (int h = 0; h < Math.max(2, hilos / 4); h++) {
+            int hilo = h;
+            lectores.add(new Thread(() -> {
+                esperar(inicio);
+                int anterior = 0;
+                while (!terminado.get()) {
+                    if (hilo % 2 == 0) {
+                        CanalLineas canal = new CanalLineas();
+                        SalidaReporte salida = new SalidaReporte(canal, StandardCharsets.UTF_8, false);
+                        gestor.generarReporteRolPagos(salida, SalidaReporte.Formato.CSV);
+                        salida.close();
+                        int filas = (int) canal.lineas - 1;  // Sin el encabezado del CSV
+                        int despues = gestor.getCantidad();
+                        if (filas > despues) {
+                            sincronizado(errores, "El reporte tiene " + filas + " filas y solo hay " + despues + " empleados");
+                        }
+                        if (filas < anterior) {
+                            sincronizado(errores, "El reporte retrocedió de " + anterior + " a " + filas + " empleados");
+                        }
+                        anterior = filas;
+                        reportes.incrementAndGet();
+                    } else {
+                        ThreadLocalRandom aleatorio = ThreadLocalRandom.current();
+                        String usuario = "u" + aleatorio.nextInt(Math.max(1, hilos / 2)) + "_" + aleatorio.nextInt(porHilo);
+                        Empleado emp = gestor.buscar(usuario);
+                        if (emp != null && !emp.getClave().equals("clave")) {
+                            sincronizado(errores, "Clave incorrecta para " + usuario);
+                        }
+                        logins.incrementAndGet();
+                    }
+                }
+            }));
+        }
+
+        long t0 = System.nanoTime();
+        escritores.forEach(Thread::start);
+        lectores.forEach(Thread::start);
+        inicio.countDown();
+        for (Thread t : escritores) {
+            t.join();
+        }
+        terminado.set(true);
+        for (Thread t : lectores) {
+            t.join();
+        }
+        double segundos = (System.nanoTime() - t0) / 1e9;
+
+        int distintos = ((hilos + 1) / 2) * porHilo;
+        if (gestor.getCantidad() != iniciales + distintos) {
+            errores.add("Cantidad " + gestor.getCantidad() + ", se esperaba " + (iniciales + distintos));
+        }
+        for (int g = 0; g < (hilos + 1) / 2; g++) {
+            for (int i = 0; i < porHilo; i++) {
+                String usuario = "u" + g + "_" + i;
+                Empleado emp = gestor.buscar(usuario);
+                if (emp == null) {
+                    errores.add("No se encuentra " + usuario);
+                } else if (salarios.containsKey(usuario) && emp.getSalarioBaseCentavos() != salarios.get(usuario)) {
+                    errores.add("Salario de " + usuario + " " + emp.getSalarioBaseCentavos() + ", se esperaba " + salarios.get(usuario));
+                }
+            }
+        }
+        int porTipo = 0;
+        for (tipoEmpleado tipo : tipoEmpleado.values()) {
+            porTipo += gestor.contarPorTipo(tipo);
+        }
+        if (porTipo != gestor.getCantidad()) {
+            errores.add("Los índices por tipo cuentan " + porTipo + " empleados de " + gestor.getCantidad());
+        }
+        long esperado = 0;
+        for (Empleado emp : gestor.buscarPorSalarioBase(-1e12, 1e12)) {
+            esperado += emp.calcularSalarioCentavos(Salario.JORNADA_MENSUAL_CENTESIMAS, 0, 0);
+        }
+        if (gestor.getTotalNominaCentavos() != esperado) {
+            errores.add("Total de la caché " + gestor.getTotalNominaCentavos() + ", se esperaba " + esperado);
+        }
+
+        if (directorio != null) {
+            gestor.close();
+            try (GestorEmpleado reabierto = new GestorEmpleado(directorio)) {
+                if (reabierto.getCantidad() != iniciales + distintos) {
+                    errores.add("Al reabrir hay " + reabierto.getCantidad() + " empleados");
+                }
+                for (var entrada : salarios.entrySet()) {
+                    Empleado emp = reabierto.buscar(entrada.getKey());
+                    if (emp == null || emp.getSalarioBaseCentavos() != entrada.getValue()) {
+                        errores.add("Al reabrir, salario de " + entrada.getKey() + " distinto");
+                    }
+                }
+            }
+        }
+
+        System.out.printf("%s: %d empleados, %d reportes y %d log in en %.2f s (%d hilos)%n",
+                directorio == null ? "memoria" : "persistencia", distintos, reportes.get(), logins.get(), segundos,
+                escritores.size() + lectores.size());
+        return errores;
+    }
+
+    private static void agregarLote(GestorEmpleado gestor, List<Empleado> lote) {
+        try {
+            gestor.agregarEmpleados(lote);
+        } catch (Exception e) {
+            throw new RuntimeException(e);
+        }
+        lote.clear();
+    }
+
+    /**
+     * Cambia el salario de un usuario ya registrado y recuerda el último valor asignado.
+     * El cambio y el registro del valor se hacen bajo el mismo candado para conocer el orden.
+     */
+    private static void cambiarSalario(GestorEmpleado gestor, ConcurrentHashMap<String, Long> salarios, String usuario) {
+        Empleado emp = gestor.buscar(usuario);
+        if (emp == null) {
+            return;
+        }
+        long salario = 300_00 + ThreadLocalRandom.current().nextInt(100_000);
+        salarios.compute(usuario, (u, anterior) -> {
+            emp.setSalarioBaseCentavos(salario);
+            return salario;
+        });
+    }
+
+    /**
+     * Canal de salida que descarta los bytes y cuenta los saltos de línea.
+     */
+    private static final class CanalLineas implements WritableByteChannel {
+        long lineas;
+
+        @Override
+        public int write(ByteBuffer origen) {
+            int n = origen.remaining();
+            while (origen.hasRemaining()) {
+                if (origen.get() == '\n') {
+                    lineas++;
+                }
+            }
+            return n;
+        }
+
+        @Override
+        public boolean isOpen() {
+            return true;
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+    private static void esperar(CountDownLatch inicio) {
+        try {
+            inicio.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void sincronizado(List<String> errores, String error) {
+        synchronized (errores) {
+            errores.add(error);
+        }
+    }
+
+    private static void borrar(Path directorio) throws Exception {
+        try (var archivos = Files.walk(directorio)) {
+            archivos.sorted((a, b) -> b.compareTo(a)).forEach(p -> p.toFile().delete());
+        }
+    }
+}
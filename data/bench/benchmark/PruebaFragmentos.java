@@ -0,0 +1,223 @@
+package benchmark;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.InputStreamReader;
+import java.net.InetSocketAddress;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import data.Empleado;
+import data.Empleado.tipoEmpleado;
+import data.EstadisticasNomina;
+import data.GestorEmpleado;
+import data.GestorFragmentado;
+import data.SalidaReporte;
+
+/**
+ * Prueba del registro fragmentado: inicia varios fragmentos en procesos aparte
+ * ({@code main.Main --fragmento i/N}), registra empleados a través del coordinador y
+ * compara los resultados con un solo GestorEmpleado local con los mismos empleados:
+ * <ul>
+ *   <li>todos los empleados se encuentran, con su salario;</li>
+ *   <li>la cantidad, el total de la nómina y las estadísticas coinciden;</li>
+ *   <li>el reporte tiene todas las filas, ordenadas por usuario;</li>
+ *   <li>al reiniciar los fragmentos se recuperan los mismos datos.</li>
+ * </ul>
+ *
+ * Uso: {@code java -cp <clases> benchmark.PruebaFragmentos [fragmentos] [empleados]}
+ * (por defecto 3 fragmentos y 100000 empleados). Las clases de {@code src} deben estar en
+ * el mismo classpath, porque los fragmentos se inician con él.
+ */
+public class PruebaFragmentos {
+
+    public static void main(String[] args) throws Exception {
+        int cantidadFragmentos = args.length > 0 ? Integer.parseInt(args[0]) : 3;
+        int empleados = args.length > 1 ? Integer.parseInt(args[1]) : 100_000;
+
+        List<String> errores = new ArrayList<>();
+        Path base = Files.createTempDirectory("prueba-fragmentos");
+        Process[] procesos = new Process[cantidadFragmentos];
+        try {
+            List<InetSocketAddress> direcciones = iniciar(procesos, base);
+            GestorEmpleado local = new GestorEmpleado();
+            List<Empleado> lote = new ArrayList<>(empleados);
+            for (int i = 0; i < empleados; i++) {
+                lote.add(Empleado.crear("Empleado " + i, "17" + i, "usuario" + i, "clave",
+                        tipoEmpleado.values()[i % tipoEmpleado.values().length]));
+            }
+
+            long t0 = System.nanoTime();
+            try (GestorFragmentado gestor = new GestorFragmentado(direcciones)) {
+                boolean[] registrados = gestor.agregarEmpleados(lote);
+                long t1 = System.nanoTime();
+                local.agregarEmpleados(lote);
+                for (int i = 0; i < registrados.length; i++) {
+                    if (!registrados[i]) {
+                        errores.add("No se registró usuario" + i);
+                    }
+                }
+                for (int i = 0; i < empleados; i += 7) {
+                    double salario = 500 + i % 1000;
+                    gestor.cambiarSalarioBase("usuario" + i, salario);
+                    local.buscar("usuario" + i).setSalarioBase(salario);
+                }
+                System.out.printf("Registro de %d empleados en %d fragmentos: %.2f s%n",
+                        empleados, cantidadFragmentos, (t1 - t0) / 1e9);
+                comparar(gestor, local, errores);
+            }
+
+            // Reinicia los fragmentos: los datos deben seguir ahí
+            detener(procesos);
+            direcciones = iniciar(procesos, base);
+            try (GestorFragmentado gestor = new GestorFragmentado(direcciones)) {
+                comparar(gestor, local, errores);
+            }
+        } finally {
+            detener(procesos);
+            borrar(base);
+        }
+
+        if (errores.isEmpty()) {
+            System.out.println("OK");
+        } else {
+            errores.stream().limit(20).forEach(System.out::println);
+            System.exit(1);
+        }
+    }
+
+    private static void comparar(GestorFragmentado gestor, GestorEmpleado local, List<String> errores) throws Exception {
+        long t0 = System.nanoTime();
+        int encontrados = 0;
+        for (int i = 0; i < local.getCantidad() - 3; i++) {
+            Empleado emp = gestor.buscar("usuario" + i);
+            Empleado esperado = local.buscar("usuario" + i);
+            if (emp == null) {
+                errores.add("No se encuentra usuario" + i);
+            } else if (emp.getSalarioBaseCentavos() != esperado.getSalarioBaseCentavos()
+                    || emp.getTipo() != esperado.getTipo() || !emp.getClave().equals(esperado.getClave())) {
+                errores.add("usuario" + i + " distinto");
+            } else {
+                encontrados++;
+            }
+        }
+        long t1 = System.nanoTime();
+        System.out.printf("Log in de %d empleados: %.0f ns por búsqueda%n", encontrados, (t1 - t0) / (double) encontrados);
+
+        if (gestor.getCantidad() != local.getCantidad()) {
+            errores.add("Cantidad " + gestor.getCantidad() + ", se esperaba " + local.getCantidad());
+        }
+        if (gestor.getTotalNominaCentavos() != local.getTotalNominaCentavos()) {
+            errores.add("Total " + gestor.getTotalNominaCentavos() + ", se esperaba " + local.getTotalNominaCentavos());
+        }
+        EstadisticasNomina estadisticas = gestor.calcularEstadisticasNomina(160, 50, 10);
+        EstadisticasNomina esperadas = local.calcularEstadisticasNomina(160, 50, 10);
+        if (!texto(estadisticas).equals(texto(esperadas))) {
+            errores.add("Estadísticas distintas:\n" + texto(estadisticas) + "se esperaba:\n" + texto(esperadas));
+        }
+
+        long t2 = System.nanoTime();
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (SalidaReporte salida = new SalidaReporte(Channels.newChannel(bytes), StandardCharsets.UTF_8, false)) {
+            gestor.generarReporteRolPagos(salida, SalidaReporte.Formato.CSV);
+        }
+        long t3 = System.nanoTime();
+        String[] lineas = bytes.toString(StandardCharsets.UTF_8).split("\n");
+        if (lineas.length - 1 != local.getCantidad()) {
+            errores.add("El reporte tiene " + (lineas.length - 1) + " filas, se esperaban " + local.getCantidad());
+        }
+        String anterior = "";
+        for (int i = 1; i < lineas.length; i++) {
+            String usuario = usuarioDeFila(lineas[i]);
+            if (usuario.compareTo(anterior) < 0) {
+                errores.add("Reporte fuera de orden en la fila " + i);
+                break;
+            }
+            anterior = usuario;
+        }
+        System.out.printf("Reporte de %d filas: %.2f s%n", lineas.length - 1, (t3 - t2) / 1e9);
+    }
+
+    /**
+     * Obtiene el usuario de una fila del reporte CSV a partir del nombre del empleado.
+     */
+    private static String usuarioDeFila(String fila) {
+        String nombre = fila.substring(0, fila.indexOf(','));
+        switch (nombre) {
+            case "Admin":
+                return "admin";
+            case "Vendedor":
+                return "ventas";
+            case "Gerente":
+                return "gerente";
+            default:
+                return "usuario" + nombre.substring("Empleado ".length());
+        }
+    }
+
+    private static String texto(EstadisticasNomina estadisticas) throws Exception {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (SalidaReporte salida = new SalidaReporte(Channels.newChannel(bytes), StandardCharsets.UTF_8, false)) {
+            estadisticas.escribir(salida);
+        }
+        return bytes.toString(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Inicia los procesos de los fragmentos y lee el puerto de cada uno.
+     */
+    private static List<InetSocketAddress> iniciar(Process[] procesos, Path base) throws Exception {
+        String java = Paths.get(System.getProperty("java.home"), "bin", "java").toString();
+        String classpath = System.getProperty("java.class.path");
+        List<InetSocketAddress> direcciones = new ArrayList<>();
+        for (int f = 0; f < procesos.length; f++) {
+            procesos[f] = new ProcessBuilder(java, "-cp", classpath, "main.Main",
+                    base.resolve("fragmento" + f).toString(), "--fragmento", f + "/" + procesos.length, "0")
+                    .redirectErrorStream(true).start();
+            BufferedReader lector = new BufferedReader(new InputStreamReader(procesos[f].getInputStream(), StandardCharsets.UTF_8));
+            String linea;
+            int puerto = -1;
+            while (puerto < 0 && (linea = lector.readLine()) != null) {
+                if (linea.contains("escuchando en el puerto ")) {
+                    puerto = Integer.parseInt(linea.substring(linea.lastIndexOf(' ') + 1));
+                }
+            }
+            if (puerto < 0) {
+                throw new IllegalStateException("El fragmento " + f + " no se inició");
+            }
+            direcciones.add(new InetSocketAddress("127.0.0.1", puerto));
+            Thread descarte = new Thread(() -> lector.lines().forEach(l -> { }));  // Evita que se llene la salida
+            descarte.setDaemon(true);
+            descarte.start();
+        }
+        return direcciones;
+    }
+
+    /**
+     * Detiene los fragmentos (con la señal normal, para que guarden sus datos).
+     */
+    private static void detener(Process[] procesos) throws Exception {
+        for (Process proceso : procesos) {
+            if (proceso != null) {
+                proceso.destroy();
+            }
+        }
+        for (Process proceso : procesos) {
+            if (proceso != null && !proceso.waitFor(10, TimeUnit.SECONDS)) {
+                proceso.destroyForcibly();
+            }
+        }
+    }
+
+    private static void borrar(Path directorio) throws Exception {
+        try (var archivos = Files.walk(directorio)) {
+            archivos.sorted((a, b) -> b.compareTo(a)).forEach(p -> p.toFile().delete());
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package simd;
+
+import data.Empleado.tipoEmpleado;
+import data.MotorNomina;
+import data.MotorNominaEscalar;
+import jdk.incubator.vector.DoubleVector;
+import jdk.incubator.vector.LongVector;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Motor de nómina vectorial (SIMD) basado en la API de vectores de la JDK
+ * (`jdk.incubator.vector`).
+ *
+ * Cada operación procesa tantos empleados a la vez como carriles tenga el vector preferido
+ * de la plataforma. Los montos son centavos en `long`: las sumas, restas y productos son
+ * exactos en cada carril. Como los procesadores no tienen división entera vectorial, la
+ * división con redondeo a la mitad hacia arriba se calcula como `(2n + d) / 2d` en `double`
+ * y se trunca, lo que es exacto mientras el numerador sea no negativo y menor que
+ * {@link #LIMITE_EXACTO}. Los grupos de carriles fuera de ese rango, y las posiciones
+ * finales que no completan un vector, se calculan con {@link MotorNominaEscalar}, por lo
+ * que los resultados son siempre idénticos a los escalares.
+ *
+ * Compilar y ejecutar con `--add-modules jdk.incubator.vector` y activar con `-Dgestion.simd=true`.
+ */
+public class MotorNominaVectorial implements MotorNomina {
+
+    private static final VectorSpecies<Long> ESPECIE = LongVector.SPECIES_PREFERRED;
+    private static final VectorSpecies<Double> ESPECIE_DOUBLE = DoubleVector.SPECIES_PREFERRED;
+
+    // Numerador máximo para el que la división en double es exacta
+    private static final long LIMITE_EXACTO = 1L << 50;
+
+    private final MotorNominaEscalar escalar = new MotorNominaEscalar();
+
+    @Override
+    public void salarios(tipoEmpleado tipo, long[] salarioBase, long[] horas, long[] bonos, long[] descuentos,
+            int desde, int hasta, long[] destino) {
+        int i = desde;
+        int limite = desde + ESPECIE.loopBound(hasta - desde);
+        switch (tipo) {
+            case EMPLEADO:
+                // (base * horas) / 100 + bonos - descuentos
+                for (; i < limite; i += ESPECIE.length()) {
+                    LongVector producto = LongVector.fromArray(ESPECIE, salarioBase, i)
+                            .mul(LongVector.fromArray(ESPECIE, horas, i));
+                    if (!exacto(producto)) {
+                        escalar.salarios(tipo, salarioBase, horas, bonos, descuentos, i, i + ESPECIE.length(), destino);
+                        continue;
+                    }
+                    dividir(producto, 100)
+                            .add(LongVector.fromArray(ESPECIE, bonos, i))
+                            .sub(LongVector.fromArray(ESPECIE, descuentos, i))
+                            .intoArray(destino, i);
+                }
+                break;
+            case ADMINISTRATIVO:
+                // base + bonos - descuentos
+                for (; i < limite; i += ESPECIE.length()) {
+                    LongVector.fromArray(ESPECIE, salarioBase, i)
+                            .add(LongVector.fromArray(ESPECIE, bonos, i))
+                            .sub(LongVector.fromArray(ESPECIE, descuentos, i))
+                            .intoArray(destino, i);
+                }
+                break;
+            case GERENTE:
+            default:
+                // base + (base * 15) / 100 + bonos - descuentos
+                for (; i < limite; i += ESPECIE.length()) {
+                    LongVector base = LongVector.fromArray(ESPECIE, salarioBase, i);
+                    LongVector producto = base.mul(15);
+                    if (!exacto(producto)) {
+                        escalar.salarios(tipo, salarioBase, horas, bonos, descuentos, i, i + ESPECIE.length(), destino);
+                        continue;
+                    }
+                    base.add(dividir(producto, 100))
+                            .add(LongVector.fromArray(ESPECIE, bonos, i))
+                            .sub(LongVector.fromArray(ESPECIE, descuentos, i))
+                            .intoArray(destino, i);
+                }
+        }
+        escalar.salarios(tipo, salarioBase, horas, bonos, descuentos, i, hasta, destino);
+    }
+
+    @Override
+    public void decimoTercerSueldo(long[] salarioBase, int desde, int hasta, long[] destino) {
+        int i = desde;
+        int limite = desde + ESPECIE.loopBound(hasta - desde);
+        for (; i < limite; i += ESPECIE.length()) {
+            LongVector base = LongVector.fromArray(ESPECIE, salarioBase, i);
+            if (!exacto(base)) {
+                escalar.decimoTercerSueldo(salarioBase, i, i + ESPECIE.length(), destino);
+                continue;
+            }
+            dividir(base, 12).intoArray(destino, i);
+        }
+        escalar.decimoTercerSueldo(salarioBase, i, hasta, destino);
+    }
+
+    @Override
+    public void utilidades(long[] salarioBase, int mesesTrabajados, int desde, int hasta, long[] destino) {
+        int i = desde;
+        int limite = desde + ESPECIE.loopBound(hasta - desde);
+        for (; i < limite; i += ESPECIE.length()) {
+            // (base * meses) / 12
+            LongVector producto = LongVector.fromArray(ESPECIE, salarioBase, i).mul(mesesTrabajados);
+            if (!exacto(producto)) {
+                escalar.utilidades(salarioBase, mesesTrabajados, i, i + ESPECIE.length(), destino);
+                continue;
+            }
+            dividir(producto, 12).intoArray(destino, i);
+        }
+        escalar.utilidades(salarioBase, mesesTrabajados, i, hasta, destino);
+    }
+
+    @Override
+    public void horasExtras(long[] salarioBase, long horasExtras, int desde, int hasta, long[] destino) {
+        int i = desde;
+        int limite = desde + ESPECIE.loopBound(hasta - desde);
+        for (; i < limite; i += ESPECIE.length()) {
+            // (base * 3 * horasExtras) / (2 * 16000)
+            LongVector producto = LongVector.fromArray(ESPECIE, salarioBase, i).mul(3).mul(horasExtras);
+            if (!exacto(producto)) {
+                escalar.horasExtras(salarioBase, horasExtras, i, i + ESPECIE.length(), destino);
+                continue;
+            }
+            dividir(producto, 2 * 16000).intoArray(destino, i);
+        }
+        escalar.horasExtras(salarioBase, horasExtras, i, hasta, destino);
+    }
+
+    @Override
+    public void fondosReserva(long[] salarioBase, int desde, int hasta, long[] destino) {
+        int i = desde;
+        int limite = desde + ESPECIE.loopBound(hasta - desde);
+        for (; i < limite; i += ESPECIE.length()) {
+            LongVector base = LongVector.fromArray(ESPECIE, salarioBase, i);
+            if (!exacto(base)) {
+                escalar.fondosReserva(salarioBase, i, i + ESPECIE.length(), destino);
+                continue;
+            }
+            dividir(base, 12).intoArray(destino, i);
+        }
+        escalar.fondosReserva(salarioBase, i, hasta, destino);
+    }
+
+    @Override
+    public String nombre() {
+        return "vectorial (" + ESPECIE.length() + " carriles)";
+    }
+
+    /**
+     * Indica si todos los carriles están en el rango donde {@link #dividir(LongVector, long)} es exacta.
+     */
+    private static boolean exacto(LongVector numerador) {
+        return !numerador.compare(VectorOperators.LT, 0)
+                .or(numerador.compare(VectorOperators.GE, LIMITE_EXACTO)).anyTrue();
+    }
+
+    /**
+     * Divide cada carril redondeando la mitad hacia arriba: floor((2n + d) / 2d).
+     * Requiere numeradores en [0, {@link #LIMITE_EXACTO}).
+     */
+    private static LongVector dividir(LongVector numerador, long divisor) {
+        DoubleVector cociente = ((DoubleVector) numerador.mul(2).add(divisor)
+                .convertShape(VectorOperators.L2D, ESPECIE_DOUBLE, 0)).div(2.0 * divisor);
+        return (LongVector) cociente.convertShape(VectorOperators.D2L, ESPECIE, 0);
+    }
+}
@@ -1,13 +1,30 @@
 package Interfaz;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Paths;
+import java.util.InputMismatchException;
+import java.util.List;
 import java.util.Scanner;
 
-import data.Administrativo;
+import data.AjusteSalario;
+import data.BitacoraAuditoria;
+import data.BitacoraAuditoria.Accion;
+import data.ConsultaNomina;
+import data.CursorNomina;
+import data.Dinero;
 import data.Empleado;
 import data.Empleado.tipoEmpleado;
-import data.EmpleadoRegular;
-import data.Gerente;
 import data.GestorEmpleado;
+import data.HistorialNomina;
+import data.HistorialNomina.Campo;
+import data.RolPagos;
+import data.ImportadorEmpleados;
+import data.Metricas;
+import data.PaginaNomina;
+import data.SalidaReporte;
+import data.SalidaReporte.Formato;
 
 /**
  * Clase que representa el menú de interacción con el sistema de gestión de empleados.
@@ -19,25 +36,57 @@ public class Menu {
     // Atributos para manejar la entrada de datos y gestionar empleados
     private Scanner sc;  // Objeto Scanner para la entrada de datos desde consola
     private GestorEmpleado gestor;  // Objeto que gestiona a los empleados del sistema
+    private BitacoraAuditoria bitacora;  // Registro de los log in y los cálculos de salarios
+    private RolPagos rol = new RolPagos();  // Rol de pagos reutilizable del menú de salarios
+
+    // Cantidad máxima de empleados que se muestran en una búsqueda
+    private static final int MAXIMO_RESULTADOS = 20;
 
     /**
      * Constructor de la clase Menu.
      * Inicializa el objeto Scanner para la entrada de datos y el GestorEmpleado para gestionar empleados.
      */
     public Menu() {
-        sc = new Scanner(System.in);
-        gestor = new GestorEmpleado();
+        this(new GestorEmpleado());
+    }
+
+    /**
+     * Constructor de la clase Menu que utiliza un gestor ya creado
+     * (por ejemplo, un gestor con persistencia en disco).
+     * 
+     * @param gestor El gestor de empleados del sistema.
+     */
+    public Menu(GestorEmpleado gestor) {
+        this(gestor, BitacoraAuditoria.inactiva());
+    }
+
+    /**
+     * Constructor de la clase Menu que registra los log in y los cálculos de salarios
+     * en una bitácora de auditoría.
+     * 
+     * @param gestor El gestor de empleados del sistema.
+     * @param bitacora La bitácora de auditoría.
+     */
+    public Menu(GestorEmpleado gestor, BitacoraAuditoria bitacora) {
+        this.sc = new Scanner(System.in);
+        this.gestor = gestor;
+        this.bitacora = bitacora;
     }
 
     /**
      * Método para mostrar el menú de salarios y gestionar las opciones del menú.
      * Permite realizar cálculos y obtener información relacionada con el salario del empleado.
+     * Cada cálculo se registra en la bitácora de auditoría con sus entradas y su resultado.
      * 
      * @param empleado El objeto Empleado cuyo salario se va a gestionar.
      */
     private void mostrarMenuSalarios(Empleado empleado) {
         // Solicitar los datos necesarios
-        System.out.print("\n>>Ingrese las horas trabajadas: ");
+        System.out.print("\n>>Ingrese el año del rol de pagos: ");
+        int año = sc.nextInt();
+        System.out.print(">>Ingrese el mes del rol de pagos (1-12): ");
+        int mes = sc.nextInt();
+        System.out.print(">>Ingrese las horas trabajadas: ");
         double horas = sc.nextDouble();
         System.out.print(">>Ingrese los bonos: ");
         double bonos = sc.nextDouble();
@@ -54,7 +103,8 @@ public class Menu {
                             "Calcular Utilidades",
                             "Calcular Horas Extras",
                             "Calcular Fondos de Reserva",
-                            "Imprimir Rol de Pagos Personal", 
+                            "Imprimir y Registrar Rol de Pagos Personal", 
+                            "Ver Historial del Año",
                             "Salir" };
 
         int opcion;
@@ -64,47 +114,70 @@ public class Menu {
                 case 1:
                     // Calcular salario mensual
                     double salario = empleado.calcularSalario(horas, bonos, descuentos);
+                    bitacora.registrarCalculo(Accion.SALARIO_MENSUAL, empleado, año, mes, horas, bonos, descuentos,
+                            meses, horasExtras, salario);
                     System.out.printf("Salario mensual: $%.2f\n", salario);
                     break;
 
                 case 2:
                     // Calcular décimo tercer sueldo
                     double decimoTercer = empleado.calcularDecimoTercerSueldo();
+                    bitacora.registrarCalculo(Accion.DECIMO_TERCER_SUELDO, empleado, año, mes, horas, bonos,
+                            descuentos, meses, horasExtras, decimoTercer);
                     System.out.printf("Décimo tercer sueldo: $%.2f\n", decimoTercer);
                     break;
 
                 case 3:
                     // Calcular utilidades
                     double utilidades = empleado.calcularUtilidades(meses);
+                    bitacora.registrarCalculo(Accion.UTILIDADES, empleado, año, mes, horas, bonos, descuentos,
+                            meses, horasExtras, utilidades);
                     System.out.printf("Utilidades: $%.2f\n", utilidades);
                     break;
 
                 case 4:
                     // Calcular horas extras
                     double pagoHorasExtras = empleado.calcularHorasExtras(horasExtras);
+                    bitacora.registrarCalculo(Accion.HORAS_EXTRAS, empleado, año, mes, horas, bonos, descuentos,
+                            meses, horasExtras, pagoHorasExtras);
                     System.out.printf("Pago por horas extras: $%.2f\n", pagoHorasExtras);
                     break;
 
                 case 5:
                     // Calcular fondos de reserva
                     double fondosReserva = empleado.calcularFondosReserva();
+                    bitacora.registrarCalculo(Accion.FONDOS_RESERVA, empleado, año, mes, horas, bonos, descuentos,
+                            meses, horasExtras, fondosReserva);
                     System.out.printf("Fondos de reserva: $%.2f\n", fondosReserva);
                     break;
 
                 case 6:
-                    // Imprimir rol de pagos personal
-                    System.out.println("\n************************************** ROL DE PAGOS PERSONAL **************************************");
-                    System.out.println(empleado.toString());
-                    System.out.printf("\n\t*Salario Mensual: $%.2f\n",
-                            empleado.calcularSalario(horas, bonos, descuentos));
-                    System.out.printf("\t*Décimo Tercer Sueldo: $%.2f\n", empleado.calcularDecimoTercerSueldo());
-                    System.out.printf("\t*Utilidades: $%.2f\n", empleado.calcularUtilidades(meses));
-                    System.out.printf("\t*Pago por Horas Extras: $%.2f\n", empleado.calcularHorasExtras(horasExtras));
-                    System.out.printf("\t*Fondos de Reserva: $%.2f\n", empleado.calcularFondosReserva());
-                    System.out.println("****************************************************************************************************");
+                    // Imprimir rol de pagos personal (todos los componentes en una sola pasada)
+                    // y guardarlo en el historial del mes
+                    boolean registrado = gestor.registrarRolMensual(empleado, año, mes, horas, bonos, descuentos,
+                            meses, horasExtras, rol);
+                    bitacora.registrarRolPagos(empleado, año, mes, horas, bonos, descuentos, meses, horasExtras, rol);
+                    try (SalidaReporte salida = SalidaReporte.consola()) {
+                        StringBuilder sb = salida.bufer();
+                        sb.append("\n************************************** ROL DE PAGOS PERSONAL **************************************\n");
+                        sb.append(empleado.toString()).append('\n');
+                        Dinero.agregar(sb.append("\n\t*Salario Mensual: $"), rol.getSalarioMensualCentavos()).append('\n');
+                        Dinero.agregar(sb.append("\t*Décimo Tercer Sueldo: $"), rol.getDecimoTercerSueldoCentavos()).append('\n');
+                        Dinero.agregar(sb.append("\t*Utilidades: $"), rol.getUtilidadesCentavos()).append('\n');
+                        Dinero.agregar(sb.append("\t*Pago por Horas Extras: $"), rol.getHorasExtrasCentavos()).append('\n');
+                        Dinero.agregar(sb.append("\t*Fondos de Reserva: $"), rol.getFondosReservaCentavos()).append('\n');
+                        sb.append("****************************************************************************************************\n");
+                    }
+                    if (registrado) {
+                        System.out.printf("Rol de pagos de %d-%02d registrado en el historial.%n", año, mes);
+                    }
                     break;
 
                 case 7:
+                    mostrarHistorial(empleado, año);  // Meses registrados y acumulados del año
+                    break;
+
+                case 8:
                     // Salir del menú de salarios
                     System.out.println("Saliendo del menú de salarios...");
                     break;
@@ -112,13 +185,66 @@ public class Menu {
                 default:
                     System.out.println("Opción no válida.");
             }
-        } while (opcion != 7);  // Continúa hasta que se elija la opción "Salir"
+        } while (opcion != 8);  // Continúa hasta que se elija la opción "Salir"
+    }
+
+    /**
+     * Método para mostrar el historial del rol de pagos de un empleado en un año: cada mes
+     * registrado, los acumulados del año y los meses trabajados.
+     * 
+     * @param empleado El empleado.
+     * @param año El año.
+     */
+    private void mostrarHistorial(Empleado empleado, int año) {
+        HistorialNomina historial = gestor.getHistorial();
+        try (SalidaReporte salida = SalidaReporte.consola()) {
+            StringBuilder sb = salida.bufer();
+            sb.append("\n*************************************** HISTORIAL ").append(año)
+              .append(" ***************************************\n");
+            for (HistorialNomina.RegistroMensual registro : historial.getRegistros(empleado, año)) {
+                sb.append(String.format("\t%d-%02d", registro.getAño(), registro.getMes()));
+                Dinero.agregar(sb.append(" | Horas: "), registro.get(Campo.HORAS_TRABAJADAS));
+                Dinero.agregar(sb.append(" | Salario Mensual: $"), registro.get(Campo.SALARIO_MENSUAL));
+                Dinero.agregar(sb.append(" | Horas Extras: $"), registro.get(Campo.PAGO_HORAS_EXTRAS)).append('\n');
+            }
+            sb.append("\t*Meses trabajados: ").append(historial.getMesesTrabajados(empleado, año)).append('\n');
+            Dinero.agregar(sb.append("\t*Salario acumulado: $"), historial.getTotalAnual(empleado, año, Campo.SALARIO_MENSUAL)).append('\n');
+            Dinero.agregar(sb.append("\t*Horas extras acumuladas: $"), historial.getTotalAnual(empleado, año, Campo.PAGO_HORAS_EXTRAS)).append('\n');
+            Dinero.agregar(sb.append("\t*Bonos acumulados: $"), historial.getTotalAnual(empleado, año, Campo.BONOS)).append('\n');
+            Dinero.agregar(sb.append("\t*Descuentos acumulados: $"), historial.getTotalAnual(empleado, año, Campo.DESCUENTOS)).append('\n');
+            sb.append("****************************************************************************************************\n");
+        }
+    }
+
+    /**
+     * Método para mostrar el reporte del rol de pagos registrado de un mes.
+     * Solicita el año y el mes.
+     */
+    private void reportePeriodo() {
+        try {
+            System.out.print(">>Ingrese el año: ");
+            int año = sc.nextInt();
+            System.out.print(">>Ingrese el mes (1-12): ");
+            int mes = sc.nextInt();
+            sc.nextLine();
+            if (mes < 1 || mes > 12) {
+                System.out.println("Ingrese un mes entre [1-12]");
+                return;
+            }
+            try (SalidaReporte salida = SalidaReporte.consola()) {
+                gestor.generarReportePeriodo(salida, año, mes);
+            }
+        } catch (InputMismatchException e) {
+            System.out.println("Ingrese un año y un mes válidos.");
+            sc.nextLine();
+        }
     }
 
     /**
      * Método para realizar el log in en el sistema.
      * Permite a los empleados ingresar su usuario y contraseña, y luego acceder al menú principal.
      * Si los intentos son incorrectos más de 3 veces, el sistema se cierra.
+     * Cada intento se registra en la bitácora de auditoría.
      */
     public void logIn() {
         System.out.println("\nLOG IN");
@@ -134,9 +260,22 @@ public class Menu {
             System.out.print(">>Ingrese su contraseña: ");
             String claveIngresada = this.sc.nextLine();
 
+            // Se mide solo la verificación de las credenciales
+            long inicio = Metricas.LOGIN.inicio();
+            Metricas.EventoLogin evento = new Metricas.EventoLogin();
+            evento.begin();
             Empleado empEncontrado = gestor.buscar(usuarioIngresado);
+            boolean valido = empEncontrado != null && empEncontrado.getClave().equals(claveIngresada);
+            evento.end();
+            Metricas.LOGIN.registrar(inicio);
+            if (evento.shouldCommit()) {
+                evento.usuario = usuarioIngresado;
+                evento.exitoso = valido;
+                evento.commit();
+            }
+            bitacora.registrarLogin(usuarioIngresado, valido);
 
-            if (empEncontrado != null && empEncontrado.getClave().equals(claveIngresada)) {
+            if (valido) {
                 System.out.println("\nBIENVENIDO " + empEncontrado.getNombre().toUpperCase());
                 mostrarMenuPrincipal(empEncontrado);
                 logueado = true;
@@ -159,7 +298,9 @@ public class Menu {
      * @param empleado El empleado logueado que interactúa con el menú.
      */
     private void mostrarMenuPrincipal(Empleado empleado) {
-        String[] opciones = { "Generar Reporte de Rol de Pagos", "Menú Salarios", "Salir" };
+        String[] opciones = { "Generar Reporte de Rol de Pagos", "Menú Salarios", "Exportar Rol de Pagos a Archivo",
+                "Importar Empleados desde CSV", "Buscar Empleados", "Ver Métricas", "Reporte de un Mes", "Ajuste Masivo de Salarios",
+                "Reporte por Páginas", "Salir" };
 
         int opcion;
         do {
@@ -167,6 +308,9 @@ public class Menu {
             switch (opcion) {
                 case 1:
                     gestor.generarReporteRolPagos();  // Mostrar reporte de rol de pagos
+                    try (SalidaReporte salida = SalidaReporte.consola()) {
+                        gestor.calcularEstadisticasNomina().escribir(salida);  // Resumen por tipo de empleado
+                    }
                     break;
 
                 case 2:
@@ -174,6 +318,36 @@ public class Menu {
                     break;
 
                 case 3:
+                    exportarRolPagos();  // Exportar el reporte a un archivo CSV o de ancho fijo
+                    break;
+
+                case 4:
+                    importarEmpleados();  // Registrar empleados de forma masiva
+                    break;
+
+                case 5:
+                    buscarEmpleados();  // Consultar empleados por nombre, cédula, tipo o salario
+                    break;
+
+                case 6:
+                    try (SalidaReporte salida = SalidaReporte.consola()) {
+                        Metricas.escribir(salida);  // Operaciones por segundo y latencias
+                    }
+                    break;
+
+                case 7:
+                    reportePeriodo();  // Rol de pagos registrado de un mes
+                    break;
+
+                case 8:
+                    ajustarSalarios(empleado);  // Subir o fijar el salario base de un tipo de empleado
+                    break;
+
+                case 9:
+                    reportePorPaginas();  // Nómina ordenada, de a una página
+                    break;
+
+                case 10:
                     System.out.println("Saliendo del sistema...");
                     menuInicio();  // Salir del sistema
                     break;
@@ -181,7 +355,183 @@ public class Menu {
                 default:
                     System.out.println("Opción no válida.");
             }
-        } while (opcion != 3);  // Continuar hasta que se elija salir
+        } while (opcion != 10);  // Continuar hasta que se elija salir
+    }
+
+    /**
+     * Método para buscar empleados por nombre o usuario, cédula, tipo de empleado o rango de
+     * salario base.
+     * Muestra la cantidad de resultados y los primeros {@link #MAXIMO_RESULTADOS}.
+     */
+    private void buscarEmpleados() {
+        String[] opcionesBusqueda = { "Nombre o usuario", "Cédula", "Tipo de empleado", "Rango de salario base" };
+        int opcionBusqueda = print("\nBuscar por:", opcionesBusqueda);
+
+        List<Empleado> resultados;
+        switch (opcionBusqueda) {
+            case 1:
+                System.out.print(">>Ingrese el nombre o usuario (puede ser parcial): ");
+                resultados = gestor.buscarPorNombre(sc.nextLine(), MAXIMO_RESULTADOS);
+                break;
+            case 2:
+                System.out.print(">>Ingrese la cédula: ");
+                resultados = gestor.buscarPorCedula(sc.nextLine().trim());
+                break;
+            case 3:
+                String[] opcionesPuesto = { "Empleado", "Administrativo", "Gerente" };
+                tipoEmpleado tipo = tipoEmpleado.values()[print("\nSeleccione el puesto:", opcionesPuesto) - 1];
+                resultados = gestor.buscarPorTipo(tipo);
+                break;
+            default:
+                try {
+                    System.out.print(">>Ingrese el salario base mínimo: ");
+                    double minimo = sc.nextDouble();
+                    System.out.print(">>Ingrese el salario base máximo: ");
+                    double maximo = sc.nextDouble();
+                    sc.nextLine();
+                    resultados = gestor.buscarPorSalarioBase(minimo, maximo);
+                } catch (InputMismatchException | ArithmeticException e) {
+                    System.out.println("Ingrese montos numéricos.");
+                    sc.nextLine();
+                    return;
+                }
+        }
+
+        int total = resultados.size();
+        System.out.println("Empleados encontrados: " + total);
+        for (int i = 0; i < Math.min(total, MAXIMO_RESULTADOS); i++) {
+            System.out.println("  " + resultados.get(i));
+        }
+        if (total > MAXIMO_RESULTADOS) {
+            System.out.println("  ... y " + (total - MAXIMO_RESULTADOS) + " más.");
+        }
+    }
+
+    /**
+     * Método para mostrar la nómina por páginas de {@link #MAXIMO_RESULTADOS} empleados, en el
+     * orden elegido. Cada página se lee recién cuando el usuario la pide.
+     */
+    private void reportePorPaginas() {
+        String[] opcionesOrden = { "Orden de registro", "Mayor salario", "Menor salario", "Nombre", "Tipo de empleado" };
+        int opcionOrden = print("\nOrdenar por:", opcionesOrden);
+        ConsultaNomina consulta;
+        switch (opcionOrden) {
+            case 2:
+                consulta = ConsultaNomina.porSalario().descendente();
+                break;
+            case 3:
+                consulta = ConsultaNomina.porSalario();
+                break;
+            case 4:
+                consulta = ConsultaNomina.porNombre();
+                break;
+            case 5:
+                consulta = ConsultaNomina.porTipo();
+                break;
+            default:
+                consulta = ConsultaNomina.porRegistro();
+        }
+
+        CursorNomina cursor = gestor.abrirCursor(consulta, MAXIMO_RESULTADOS);
+        int numero = 1;
+        while (cursor.hasNext()) {
+            PaginaNomina pagina = cursor.next();
+            System.out.println("\n--- Página " + numero++ + " (" + consulta + ") ---");
+            try (SalidaReporte salida = SalidaReporte.consola()) {
+                pagina.escribir(salida, Formato.TEXTO);
+            }
+            if (!cursor.hasNext()) {
+                break;
+            }
+            System.out.print(">>Enter para la siguiente página, 's' para terminar: ");
+            if (sc.nextLine().trim().equalsIgnoreCase("s")) {
+                break;
+            }
+        }
+    }
+
+    /**
+     * Método para ajustar el salario base de todos los empleados de un tipo (o de todos):
+     * por porcentaje, sumando un monto o fijando un monto. Solo un gerente puede hacerlo.
+     * 
+     * @param empleado El empleado logueado.
+     */
+    private void ajustarSalarios(Empleado empleado) {
+        if (empleado.getTipo() != tipoEmpleado.GERENTE) {
+            System.out.println("Solo un gerente puede ajustar los salarios.");
+            return;
+        }
+        String[] opcionesPuesto = { "Empleado", "Administrativo", "Gerente", "Todos" };
+        int opcionPuesto = print("\nSeleccione a quiénes ajustar:", opcionesPuesto);
+        tipoEmpleado tipo = opcionPuesto <= 3 ? tipoEmpleado.values()[opcionPuesto - 1] : null;
+
+        String[] opcionesAjuste = { "Porcentaje", "Sumar un monto", "Fijar un monto" };
+        int opcionAjuste = print("\nSeleccione el ajuste:", opcionesAjuste);
+        AjusteSalario ajuste;
+        try {
+            System.out.print(opcionAjuste == 1 ? ">>Ingrese el porcentaje (negativo para bajar): "
+                    : ">>Ingrese el monto: ");
+            double valor = sc.nextDouble();
+            sc.nextLine();
+            ajuste = opcionAjuste == 1 ? AjusteSalario.porcentaje(valor)
+                    : opcionAjuste == 2 ? AjusteSalario.sumar(valor) : AjusteSalario.fijar(valor);
+        } catch (InputMismatchException | ArithmeticException e) {
+            System.out.println("Ingrese un valor numérico.");
+            sc.nextLine();
+            return;
+        } catch (IllegalArgumentException e) {
+            System.out.println(e.getMessage());
+            return;
+        }
+
+        try {
+            int cambiados = gestor.ajustarSalariosBase(tipo, ajuste);
+            System.out.println("Ajuste " + ajuste + " aplicado: " + cambiados + " empleados cambiaron de salario base.");
+        } catch (IOException e) {
+            System.out.println("No se pudo guardar el ajuste: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Método para exportar el reporte de rol de pagos a un archivo.
+     * Solicita la ruta del archivo y el formato (CSV o ancho fijo).
+     */
+    private void exportarRolPagos() {
+        System.out.print(">>Ingrese la ruta del archivo: ");
+        String ruta = sc.nextLine();
+
+        String[] opcionesFormato = { "CSV", "Ancho fijo" };
+        int opcionFormato = print("\nSeleccione el formato:", opcionesFormato);
+        Formato formato = opcionFormato == 1 ? Formato.CSV : Formato.ANCHO_FIJO;
+
+        try {
+            gestor.exportarRolPagos(Paths.get(ruta), formato);
+            System.out.println("Rol de pagos exportado en: " + ruta);
+        } catch (IOException | UncheckedIOException | InvalidPathException e) {
+            System.out.println("No se pudo exportar el rol de pagos: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Método para importar empleados desde un archivo CSV.
+     * Muestra el resumen de la importación y las filas con errores.
+     */
+    private void importarEmpleados() {
+        System.out.print(">>Ingrese la ruta del archivo CSV: ");
+        String ruta = sc.nextLine();
+
+        try {
+            ImportadorEmpleados.Resultado resultado = new ImportadorEmpleados(gestor).importar(Paths.get(ruta));
+            System.out.println(resultado);
+            for (String error : resultado.getErrores()) {
+                System.out.println("  " + error);
+            }
+            if (resultado.getFilasConError() > resultado.getErrores().size()) {
+                System.out.println("  ... y " + (resultado.getFilasConError() - resultado.getErrores().size()) + " errores más.");
+            }
+        } catch (IOException | InvalidPathException e) {
+            System.out.println("No se pudo importar el archivo: " + e.getMessage());
+        }
     }
 
     /**
@@ -264,26 +614,16 @@ public class Menu {
         }
 
         // Crear el empleado según el puesto seleccionado
-        Empleado nuevoEmpleado;
-        switch (puesto) {
-            case EMPLEADO:
-                nuevoEmpleado = new EmpleadoRegular(nombre, cedula, usuario, clave, puesto);
-                break;
-            case ADMINISTRATIVO:
-                nuevoEmpleado = new Administrativo(nombre, cedula, usuario, clave, puesto);
-                break;
-            case GERENTE:
-                nuevoEmpleado = new Gerente(nombre, cedula, usuario, clave, puesto);
-                break;
-            default:
-                nuevoEmpleado = new EmpleadoRegular(nombre, cedula, usuario, clave, puesto);
+        Empleado nuevoEmpleado = Empleado.crear(nombre, cedula, usuario, clave, puesto);
+
+        // Agregar el empleado al gestor (el usuario debe ser único)
+        if (gestor.agregarEmpleado(nuevoEmpleado)) {
+            System.out.println("Empleado registrado exitosamente. Redirigiendo al menú de inicio...");
+            logIn();
+        } else {
+            System.out.println("No se pudo registrar el empleado. Redirigiendo al menú de inicio...");
+            menuInicio();
         }
-
-        // Agregar el empleado al gestor
-        gestor.agregarEmpleado(nuevoEmpleado);
-
-        System.out.println("Empleado registrado exitosamente. Redirigiendo al menú de inicio...");
-        logIn();
     }
 
     /**
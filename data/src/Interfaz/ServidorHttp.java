@@ -0,0 +1,446 @@
+package Interfaz;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpHandler;
+import com.sun.net.httpserver.HttpServer;
+
+import data.BitacoraAuditoria;
+import data.Dinero;
+import data.Empleado;
+import data.Empleado.tipoEmpleado;
+import data.RolPagos;
+import data.SalidaReporte;
+import data.SalidaReporte.Formato;
+import data.ServicioEmpleados;
+
+/**
+ * Clase que expone el sistema de gestión de empleados como un servicio HTTP, para que
+ * muchos usuarios puedan usarlo al mismo tiempo (a diferencia del {@link Menu} de consola).
+ *
+ * Rutas disponibles (los parámetros se envían en la URL o como formulario en el cuerpo; los
+ * usuarios y las claves solo en el cuerpo, para que no queden en las URL ni en los registros
+ * de acceso):
+ * <ul>
+ *   <li>`POST /login` (usuario, clave): verifica las credenciales.</li>
+ *   <li>`POST /empleados` (gerente, claveGerente, nombre, cedula, usuario, clave, puesto):
+ *       un gerente registra un empleado.</li>
+ *   <li>`POST /rol` (usuario, clave, horas, bonos, descuentos, meses, horasExtras):
+ *       rol de pagos personal del empleado.</li>
+ *   <li>`POST /reporte` (usuario, clave, formato = texto, csv o ancho_fijo): reporte de rol de
+ *       pagos, solo para gerentes.</li>
+ * </ul>
+ * Las rutas responden 405 a cualquier otro método y 413 si el cuerpo supera los 8 KB.
+ * Las credenciales incorrectas se responden con 401 y las de un empleado que no es gerente,
+ * en las rutas de gerentes, con 403 (igual que en el {@link Menu}, donde esas opciones solo
+ * se alcanzan después del log in).
+ *
+ * El servidor solo escucha en la interfaz local (127.0.0.1), igual que los fragmentos; para
+ * atender otras máquinas se publica detrás de un proxy.
+ *
+ * Los log in (también las credenciales incorrectas en `/rol`) y los roles de pagos calculados
+ * se registran en la bitácora de auditoría, si el servidor tiene una.
+ *
+ * Cada solicitud se atiende en un hilo virtual cuando la JVM los ofrece (Java 21 o superior);
+ * en versiones anteriores se usa un grupo de hilos de tamaño fijo.
+ */
+public class ServidorHttp {
+
+    private static final int HILOS_SIN_VIRTUALES = 256;  // Tamaño del grupo de hilos si no hay hilos virtuales
+    private static final int MAXIMO_CUERPO = 8 * 1024;   // Bytes del formulario más grande que se acepta
+    // Parámetros que solo se leen del cuerpo (nunca de la URL)
+    private static final Set<String> CREDENCIALES = Set.of("usuario", "clave", "gerente", "claveGerente");
+
+    private final ServicioEmpleados gestor;
+    private final BitacoraAuditoria bitacora;
+    private final HttpServer servidor;
+    private final ExecutorService ejecutor;
+
+    /**
+     * Constructor de la clase ServidorHttp.
+     *
+     * @param gestor El gestor de empleados que atiende las solicitudes (local o fragmentado).
+     * @param puerto El puerto donde escucha el servidor (0 para elegir uno libre).
+     * @throws IOException Si el puerto no se puede abrir.
+     */
+    public ServidorHttp(ServicioEmpleados gestor, int puerto) throws IOException {
+        this(gestor, puerto, BitacoraAuditoria.inactiva());
+    }
+
+    /**
+     * Constructor de la clase ServidorHttp con bitácora de auditoría.
+     *
+     * @param gestor El gestor de empleados que atiende las solicitudes (local o fragmentado).
+     * @param puerto El puerto donde escucha el servidor (0 para elegir uno libre).
+     * @param bitacora La bitácora donde se registran los log in y los roles de pagos.
+     * @throws IOException Si el puerto no se puede abrir.
+     */
+    public ServidorHttp(ServicioEmpleados gestor, int puerto, BitacoraAuditoria bitacora) throws IOException {
+        this.gestor = gestor;
+        this.bitacora = bitacora;
+        this.servidor = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), puerto), 4096);
+        this.ejecutor = crearEjecutor();
+        servidor.setExecutor(ejecutor);
+        servidor.createContext("/login", manejador(this::login));
+        servidor.createContext("/empleados", manejador(this::registrar));
+        servidor.createContext("/rol", manejador(this::rolPagos));
+        servidor.createContext("/reporte", manejador(this::reporte));
+    }
+
+    /**
+     * Método para iniciar el servidor.
+     */
+    public void iniciar() {
+        servidor.start();
+    }
+
+    /**
+     * Método para detener el servidor, esperando como máximo el tiempo indicado
+     * a que terminen las solicitudes en curso.
+     *
+     * @param segundos El tiempo máximo de espera.
+     */
+    public void detener(int segundos) {
+        servidor.stop(segundos);
+        ejecutor.shutdown();
+        try {
+            ejecutor.awaitTermination(segundos, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Método para obtener el puerto donde escucha el servidor.
+     *
+     * @return El puerto.
+     */
+    public int getPuerto() {
+        return servidor.getAddress().getPort();
+    }
+
+    /**
+     * Crea el ejecutor de las solicitudes: un hilo virtual por solicitud si la JVM los
+     * ofrece, o un grupo de hilos de tamaño fijo en caso contrario.
+     *
+     * @return El ejecutor.
+     */
+    static ExecutorService crearEjecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newFixedThreadPool(HILOS_SIN_VIRTUALES);
+        }
+    }
+
+    // ------------------------------------------------------------------ Rutas
+
+    /**
+     * POST /login: verifica usuario y clave (búsqueda en el gestor más comparación de la clave).
+     */
+    private void login(HttpExchange intercambio, Map<String, String> parametros) throws IOException {
+        if (!esPost(intercambio)) {
+            return;
+        }
+        Empleado emp = autenticar(parametros);
+        if (emp == null) {
+            responder(intercambio, 401, "{\"error\":\"Usuario o contraseña incorrectos\"}");
+            return;
+        }
+        bitacora.registrarLogin(emp.getUsuario(), true);
+        responder(intercambio, 200, "{\"usuario\":" + json(emp.getUsuario()) + ",\"nombre\":" + json(emp.getNombre())
+                + ",\"tipo\":" + json(emp.getTipo().name()) + "}");
+    }
+
+    /**
+     * POST /empleados: un gerente (gerente, claveGerente) registra un nuevo empleado.
+     */
+    private void registrar(HttpExchange intercambio, Map<String, String> parametros) throws IOException {
+        if (!esPost(intercambio)) {
+            return;
+        }
+        if (autenticarGerente(intercambio, parametros, "gerente", "claveGerente") == null) {
+            return;
+        }
+        String nombre = parametros.get("nombre");
+        String cedula = parametros.getOrDefault("cedula", "");
+        String usuario = parametros.get("usuario");
+        String clave = parametros.get("clave");
+        tipoEmpleado puesto = convertirPuesto(parametros.getOrDefault("puesto", "EMPLEADO"));
+        if (nombre == null || usuario == null || clave == null || puesto == null) {
+            responder(intercambio, 400, "{\"error\":\"Se requieren nombre, usuario, clave y un puesto válido\"}");
+            return;
+        }
+
+        boolean registrado = gestor.agregarEmpleado(Empleado.crear(nombre, cedula, usuario, clave, puesto));
+        if (registrado) {
+            responder(intercambio, 201, "{\"usuario\":" + json(usuario) + "}");
+        } else {
+            responder(intercambio, 409, "{\"error\":\"No se pudo registrar el usuario\"}");
+        }
+    }
+
+    /**
+     * POST /rol: calcula el rol de pagos personal del empleado autenticado.
+     */
+    private void rolPagos(HttpExchange intercambio, Map<String, String> parametros) throws IOException {
+        if (!esPost(intercambio)) {
+            return;
+        }
+        Empleado emp = autenticar(parametros);
+        if (emp == null) {
+            responder(intercambio, 401, "{\"error\":\"Usuario o contraseña incorrectos\"}");
+            return;
+        }
+        double horas;
+        double bonos;
+        double descuentos;
+        int meses;
+        double horasExtras;
+        try {
+            horas = Double.parseDouble(parametros.getOrDefault("horas", "160"));
+            bonos = Double.parseDouble(parametros.getOrDefault("bonos", "0"));
+            descuentos = Double.parseDouble(parametros.getOrDefault("descuentos", "0"));
+            meses = Integer.parseInt(parametros.getOrDefault("meses", "12"));
+            horasExtras = Double.parseDouble(parametros.getOrDefault("horasExtras", "0"));
+        } catch (NumberFormatException e) {
+            responder(intercambio, 400, "{\"error\":\"Parámetros numéricos no válidos\"}");
+            return;
+        }
+
+        RolPagos rol = new RolPagos();
+        try {
+            emp.calcularRolPagos(horas, bonos, descuentos, meses, horasExtras, rol);
+        } catch (ArithmeticException e) {
+            responder(intercambio, 400, "{\"error\":\"Parámetros numéricos no válidos\"}");
+            return;
+        }
+        bitacora.registrarRolPagos(emp, 0, 0, horas, bonos, descuentos, meses, horasExtras, rol);
+
+        StringBuilder sb = new StringBuilder(256);
+        sb.append("{\"usuario\":").append(json(emp.getUsuario()));
+        Dinero.agregar(sb.append(",\"salarioMensual\":"), rol.getSalarioMensualCentavos());
+        Dinero.agregar(sb.append(",\"decimoTercerSueldo\":"), rol.getDecimoTercerSueldoCentavos());
+        Dinero.agregar(sb.append(",\"utilidades\":"), rol.getUtilidadesCentavos());
+        Dinero.agregar(sb.append(",\"horasExtras\":"), rol.getHorasExtrasCentavos());
+        Dinero.agregar(sb.append(",\"fondosReserva\":"), rol.getFondosReservaCentavos());
+        sb.append('}');
+        responder(intercambio, 200, sb.toString());
+    }
+
+    /**
+     * POST /reporte: escribe el reporte de rol de pagos completo en la respuesta (solo gerentes).
+     */
+    private void reporte(HttpExchange intercambio, Map<String, String> parametros) throws IOException {
+        if (!esPost(intercambio) || autenticarGerente(intercambio, parametros, "usuario", "clave") == null) {
+            return;
+        }
+        Formato formato;
+        try {
+            formato = Formato.valueOf(parametros.getOrDefault("formato", "texto").toUpperCase());
+        } catch (IllegalArgumentException e) {
+            responder(intercambio, 400, "{\"error\":\"Formato no válido (texto, csv o ancho_fijo)\"}");
+            return;
+        }
+        intercambio.getResponseHeaders().set("Content-Type",
+                formato == Formato.CSV ? "text/csv; charset=utf-8" : "text/plain; charset=utf-8");
+        intercambio.sendResponseHeaders(200, 0);  // Longitud desconocida: respuesta por partes
+        // Sin try-with-resources: si el reporte falla, la respuesta no se termina (ver manejador)
+        OutputStream cuerpo = intercambio.getResponseBody();
+        SalidaReporte salida = new SalidaReporte(Channels.newChannel(cuerpo), StandardCharsets.UTF_8, false);
+        gestor.generarReporteRolPagos(salida, formato);
+        salida.close();
+        cuerpo.close();  // Última parte: fin de la respuesta
+    }
+
+    // ------------------------------------------------------------------ Utilidades
+
+    /**
+     * Interfaz de una ruta del servidor.
+     */
+    @FunctionalInterface
+    private interface Ruta {
+        void atender(HttpExchange intercambio, Map<String, String> parametros) throws IOException;
+    }
+
+    /**
+     * Crea el manejador HTTP de una ruta: lee los parámetros y responde 500 ante errores inesperados.
+     *
+     * Si el error ocurre cuando los encabezados ya se enviaron (un reporte por partes a medio
+     * escribir), ya no se puede responder 500: el error se propaga sin cerrar el intercambio,
+     * el servidor HTTP corta la conexión y el cliente recibe una respuesta incompleta en lugar
+     * de un 200 truncado que parece completo.
+     */
+    private static HttpHandler manejador(Ruta ruta) {
+        return intercambio -> {
+            boolean cortar = false;  // La respuesta comenzó y no se terminó
+            try {
+                Map<String, String> parametros = leerParametros(intercambio);
+                if (parametros == null) {
+                    responder(intercambio, 413, "{\"error\":\"El cuerpo de la solicitud es demasiado grande\"}");
+                } else {
+                    ruta.atender(intercambio, parametros);
+                }
+            } catch (RuntimeException e) {
+                if (intercambio.getResponseCode() != -1) {  // -1: aún no se enviaron los encabezados
+                    cortar = true;
+                    throw e;
+                }
+                responder(intercambio, 500, "{\"error\":" + json(String.valueOf(e.getMessage())) + "}");
+            } catch (IOException e) {
+                cortar = intercambio.getResponseCode() != -1;
+                throw e;
+            } finally {
+                if (!cortar) {
+                    intercambio.close();
+                }
+            }
+        };
+    }
+
+    /**
+     * Busca el empleado y verifica su clave. Las credenciales incorrectas se registran en la
+     * bitácora como log in fallidos.
+     *
+     * @return El empleado si las credenciales son correctas, o `null` en caso contrario.
+     */
+    private Empleado autenticar(Map<String, String> parametros) {
+        return autenticar(parametros, "usuario", "clave");
+    }
+
+    /**
+     * Busca el empleado y verifica su clave, con los nombres de parámetro indicados.
+     *
+     * @return El empleado si las credenciales son correctas, o `null` en caso contrario.
+     */
+    private Empleado autenticar(Map<String, String> parametros, String campoUsuario, String campoClave) {
+        String usuario = parametros.get(campoUsuario);
+        String clave = parametros.get(campoClave);
+        if (usuario == null || clave == null) {
+            return null;
+        }
+        Empleado emp = gestor.buscar(usuario);
+        if (emp == null || !emp.getClave().equals(clave)) {
+            bitacora.registrarLogin(usuario, false);
+            return null;
+        }
+        return emp;
+    }
+
+    /**
+     * Verifica que las credenciales sean las de un gerente; si no lo son, responde 401
+     * (credenciales incorrectas) o 403 (el empleado no es gerente).
+     *
+     * @return El gerente, o `null` si ya se respondió a la solicitud.
+     */
+    private Empleado autenticarGerente(HttpExchange intercambio, Map<String, String> parametros,
+            String campoUsuario, String campoClave) throws IOException {
+        Empleado emp = autenticar(parametros, campoUsuario, campoClave);
+        if (emp == null) {
+            responder(intercambio, 401, "{\"error\":\"Usuario o contraseña incorrectos\"}");
+            return null;
+        }
+        if (emp.getTipo() != tipoEmpleado.GERENTE) {
+            responder(intercambio, 403, "{\"error\":\"Solo un gerente puede realizar esta operación\"}");
+            return null;
+        }
+        return emp;
+    }
+
+    /**
+     * Verifica que la solicitud use POST; si no, responde 405.
+     *
+     * @return `true` si la solicitud usa POST.
+     */
+    private static boolean esPost(HttpExchange intercambio) throws IOException {
+        if ("POST".equals(intercambio.getRequestMethod())) {
+            return true;
+        }
+        responder(intercambio, 405, "{\"error\":\"Use POST\"}");
+        return false;
+    }
+
+    /**
+     * Lee los parámetros de la URL (salvo los de {@link #CREDENCIALES}, que se ignoran) y, si
+     * existe, del cuerpo en formato de formulario.
+     *
+     * @return Los parámetros, o `null` si el cuerpo supera {@link #MAXIMO_CUERPO} bytes (no
+     *         se lee más allá de ese límite).
+     */
+    private static Map<String, String> leerParametros(HttpExchange intercambio) throws IOException {
+        Map<String, String> parametros = new HashMap<>();
+        agregarParametros(intercambio.getRequestURI().getRawQuery(), parametros);
+        parametros.keySet().removeAll(CREDENCIALES);
+        try (InputStream entrada = intercambio.getRequestBody()) {
+            byte[] cuerpo = entrada.readNBytes(MAXIMO_CUERPO + 1);
+            if (cuerpo.length > MAXIMO_CUERPO) {
+                return null;
+            }
+            if (cuerpo.length > 0) {
+                agregarParametros(new String(cuerpo, StandardCharsets.UTF_8), parametros);
+            }
+        }
+        return parametros;
+    }
+
+    private static void agregarParametros(String texto, Map<String, String> parametros) {
+        if (texto == null || texto.isEmpty()) {
+            return;
+        }
+        for (String par : texto.split("&")) {
+            int igual = par.indexOf('=');
+            String clave = igual < 0 ? par : par.substring(0, igual);
+            String valor = igual < 0 ? "" : par.substring(igual + 1);
+            parametros.put(URLDecoder.decode(clave, StandardCharsets.UTF_8), URLDecoder.decode(valor, StandardCharsets.UTF_8));
+        }
+    }
+
+    private static tipoEmpleado convertirPuesto(String puesto) {
+        try {
+            return tipoEmpleado.valueOf(puesto.trim().toUpperCase());
+        } catch (IllegalArgumentException e) {
+            return null;
+        }
+    }
+
+    private static void responder(HttpExchange intercambio, int estado, String cuerpo) throws IOException {
+        byte[] bytes = cuerpo.getBytes(StandardCharsets.UTF_8);
+        intercambio.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        intercambio.sendResponseHeaders(estado, bytes.length);
+        try (OutputStream salida = intercambio.getResponseBody()) {
+            salida.write(bytes);
+        }
+    }
+
+    /**
+     * Convierte un texto en una cadena JSON (entre comillas y con los caracteres especiales escapados).
+     */
+    private static String json(String texto) {
+        StringBuilder sb = new StringBuilder(texto.length() + 2).append('"');
+        for (int i = 0; i < texto.length(); i++) {
+            char c = texto.charAt(i);
+            if (c == '"' || c == '\\') {
+                sb.append('\\').append(c);
+            } else if (c < 0x20) {
+                sb.append(String.format("\\u%04x", (int) c));
+            } else {
+                sb.append(c);
+            }
+        }
+        return sb.append('"').toString();
+    }
+}
@@ -26,14 +26,29 @@ public class Administrativo extends Empleado {
      * El salario se calcula sumando el salario base con los bonos y restando los descuentos.
      * El salario base es el valor definido en la clase {@link Empleado}.
      *
-     * @param horasTrabajadas La cantidad de horas trabajadas por el empleado (no se utiliza en este caso, ya que es un salario fijo).
-     * @param bonos Los bonos adicionales que recibe el empleado.
-     * @param descuentos Los descuentos aplicados al salario.
-     * @return El salario neto calculado para el empleado Administrativo.
+     * @param horasTrabajadas La cantidad de horas trabajadas por el empleado (no se utiliza en este caso, ya que es un salario fijo), en centésimas de hora.
+     * @param bonos Los bonos adicionales que recibe el empleado, en centavos.
+     * @param descuentos Los descuentos aplicados al salario, en centavos.
+     * @return El salario neto calculado para el empleado Administrativo, en centavos.
      */
     @Override
-    public double calcularSalario(double horasTrabajadas, double bonos, double descuentos) {
-        return  getSalarioBase() + bonos - descuentos; 
+    public long calcularSalarioCentavos(long horasTrabajadas, long bonos, long descuentos) {
+        return salarioMensual(getSalarioBaseCentavos(), horasTrabajadas, bonos, descuentos);
+    }
+
+    /**
+     * Fórmula del salario mensual de un empleado Administrativo a partir del salario base.
+     * Permite calcular el salario sin tener un objeto Administrativo (por ejemplo,
+     * al recorrer un archivo de empleados).
+     *
+     * @param salarioBase El salario base del empleado, en centavos.
+     * @param horasTrabajadas El número de horas trabajadas durante el mes, en centésimas de hora.
+     * @param bonos El monto de los bonos adicionales, en centavos.
+     * @param descuentos El monto de los descuentos aplicados, en centavos.
+     * @return El salario mensual calculado, en centavos.
+     */
+    public static long salarioMensual(long salarioBase, long horasTrabajadas, long bonos, long descuentos) {
         // Salario fijo + bonos - descuentos
+        return salarioBase + bonos - descuentos;
     }
 }
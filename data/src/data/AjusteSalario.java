@@ -0,0 +1,125 @@
+package data;
+
+/**
+ * Clase que representa un ajuste masivo del salario base, por ejemplo "subir 4 %" o "fijar
+ * en 500". Se aplica con {@link GestorEmpleado#ajustarSalariosBase(Empleado.tipoEmpleado, AjusteSalario)}.
+ *
+ * El ajuste se guarda en punto fijo (centésimas de porcentaje o centavos), de modo que
+ * aplicarlo da el mismo resultado al recuperarlo del log. Los porcentajes se redondean la
+ * mitad hacia arriba con {@link Dinero#dividir(long, long)}.
+ */
+public final class AjusteSalario {
+
+    /**
+     * Operaciones posibles de un ajuste.
+     */
+    public enum Operacion {
+        PORCENTAJE,  // Sube (o baja) el salario base en un porcentaje
+        SUMAR,       // Suma (o resta) un monto al salario base
+        FIJAR        // Reemplaza el salario base por un monto
+    }
+
+    private final Operacion operacion;
+    private final long valor;  // Centésimas de porcentaje (PORCENTAJE) o centavos (SUMAR, FIJAR)
+
+    private AjusteSalario(Operacion operacion, long valor) {
+        this.operacion = operacion;
+        this.valor = valor;
+    }
+
+    /**
+     * Método para crear un ajuste por porcentaje (por ejemplo, 4 para subir un 4 % o -2.5
+     * para bajar un 2.5 %).
+     *
+     * @param porcentaje El porcentaje, con hasta dos decimales.
+     * @return El ajuste.
+     * @throws IllegalArgumentException Si el porcentaje es menor a -100.
+     */
+    public static AjusteSalario porcentaje(double porcentaje) {
+        return crear(Operacion.PORCENTAJE, Dinero.centesimas(porcentaje));
+    }
+
+    /**
+     * Método para crear un ajuste que suma un monto al salario base (negativo para restar).
+     * El salario base resultante nunca es menor a cero.
+     *
+     * @param monto El monto a sumar.
+     * @return El ajuste.
+     */
+    public static AjusteSalario sumar(double monto) {
+        return crear(Operacion.SUMAR, Dinero.centavos(monto));
+    }
+
+    /**
+     * Método para crear un ajuste que fija el salario base en un monto.
+     *
+     * @param monto El nuevo salario base.
+     * @return El ajuste.
+     * @throws IllegalArgumentException Si el monto es negativo.
+     */
+    public static AjusteSalario fijar(double monto) {
+        return crear(Operacion.FIJAR, Dinero.centavos(monto));
+    }
+
+    /**
+     * Método para crear un ajuste a partir de su forma en punto fijo (la que se guarda en el log).
+     *
+     * @param operacion La operación.
+     * @param valor Centésimas de porcentaje o centavos, según la operación.
+     * @return El ajuste.
+     * @throws IllegalArgumentException Si el valor no es válido para la operación.
+     */
+    public static AjusteSalario crear(Operacion operacion, long valor) {
+        if (operacion == Operacion.PORCENTAJE && valor < -100_00) {
+            throw new IllegalArgumentException("El porcentaje no puede ser menor a -100: " + Dinero.aDouble(valor));
+        }
+        if (operacion == Operacion.FIJAR && valor < 0) {
+            throw new IllegalArgumentException("El salario base no puede ser negativo: " + Dinero.aDouble(valor));
+        }
+        return new AjusteSalario(operacion, valor);
+    }
+
+    /**
+     * Método para calcular el salario base ajustado.
+     *
+     * @param salarioBase El salario base actual, en centavos.
+     * @return El salario base ajustado, en centavos.
+     */
+    public long aplicar(long salarioBase) {
+        switch (operacion) {
+            case PORCENTAJE:
+                return salarioBase + Dinero.dividir(salarioBase * valor, 100_00);
+            case SUMAR:
+                return Math.max(0, salarioBase + valor);
+            case FIJAR:
+            default:
+                return valor;
+        }
+    }
+
+    public Operacion getOperacion() {
+        return operacion;
+    }
+
+    /**
+     * Método para obtener el valor del ajuste en punto fijo.
+     *
+     * @return Centésimas de porcentaje (PORCENTAJE) o centavos (SUMAR, FIJAR).
+     */
+    public long getValor() {
+        return valor;
+    }
+
+    @Override
+    public String toString() {
+        switch (operacion) {
+            case PORCENTAJE:
+                return String.format("%+.2f %%", Dinero.aDouble(valor));
+            case SUMAR:
+                return String.format("%+.2f", Dinero.aDouble(valor));
+            case FIJAR:
+            default:
+                return String.format("= %.2f", Dinero.aDouble(valor));
+        }
+    }
+}
@@ -0,0 +1,283 @@
+package data;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import data.Empleado.tipoEmpleado;
+
+/**
+ * Clase que representa un archivo binario de empleados con registros de ancho fijo
+ * (ver {@link FormatoRegistro}), leído a través de memoria mapeada ({@link MappedByteBuffer}).
+ *
+ * Los campos de cada registro se leen directamente del archivo mapeado, por lo que
+ * una nómina puede recorrer todos los empleados sin crear objetos. El objeto
+ * {@link Empleado} de un registro solo se crea cuando se pide con {@link #empleado(long)},
+ * de modo que el uso de memoria no crece con el tamaño del archivo.
+ *
+ * Estructura del archivo: encabezado de {@link #TAMANO_ENCABEZADO} bytes
+ * (mágico, versión, tamaño de registro y cantidad) seguido de los registros.
+ */
+public class ArchivoEmpleados implements Closeable {
+
+    public static final int TAMANO_ENCABEZADO = 32;
+
+    private static final int MAGICO = 0x47454D46;  // "GEMF"
+    private static final int VERSION = 2;  // 2: salario base en centavos
+
+    // Registros por cada región mapeada (una región no puede superar 2 GB)
+    private static final int REGISTROS_POR_REGION = Integer.MAX_VALUE / FormatoRegistro.TAMANO;
+
+    private final FileChannel canal;
+    private final MappedByteBuffer[] regiones;
+    private final long cantidad;
+
+    /**
+     * Constructor privado: usar {@link #abrir(Path)}.
+     */
+    private ArchivoEmpleados(FileChannel canal, MappedByteBuffer[] regiones, long cantidad) {
+        this.canal = canal;
+        this.regiones = regiones;
+        this.cantidad = cantidad;
+    }
+
+    /**
+     * Método para escribir un archivo binario con los empleados indicados.
+     *
+     * @param ruta La ruta del archivo (se reemplaza si existe).
+     * @param empleados Los empleados a escribir, en orden.
+     * @throws IOException Si el archivo no se puede escribir.
+     * @throws IllegalArgumentException Si algún texto no cabe en su campo.
+     */
+    public static void escribir(Path ruta, Iterable<? extends Empleado> empleados) throws IOException {
+        try (FileChannel salida = FileChannel.open(ruta, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer bloque = ByteBuffer.allocateDirect(FormatoRegistro.TAMANO * 4096).order(ByteOrder.LITTLE_ENDIAN);
+            salida.position(TAMANO_ENCABEZADO);
+            long total = 0;
+            for (Empleado emp : empleados) {
+                if (bloque.position() == bloque.capacity()) {
+                    escribirBloque(salida, bloque);
+                }
+                FormatoRegistro.escribir(bloque, bloque.position(), emp);
+                bloque.position(bloque.position() + FormatoRegistro.TAMANO);
+                total++;
+            }
+            escribirBloque(salida, bloque);
+
+            // El encabezado se escribe al final, cuando se conoce la cantidad
+            ByteBuffer encabezado = ByteBuffer.allocate(TAMANO_ENCABEZADO).order(ByteOrder.LITTLE_ENDIAN);
+            encabezado.putInt(MAGICO).putInt(VERSION).putInt(FormatoRegistro.TAMANO).putInt(0).putLong(total).flip();
+            encabezado.limit(TAMANO_ENCABEZADO);
+            salida.write(encabezado, 0);
+            salida.force(true);
+        }
+    }
+
+    /**
+     * Método para abrir un archivo binario de empleados en modo de solo lectura.
+     *
+     * @param ruta La ruta del archivo.
+     * @return El archivo abierto y mapeado en memoria.
+     * @throws IOException Si el archivo no existe o no tiene el formato esperado.
+     */
+    public static ArchivoEmpleados abrir(Path ruta) throws IOException {
+        FileChannel canal = FileChannel.open(ruta, StandardOpenOption.READ);
+        try {
+            ByteBuffer encabezado = ByteBuffer.allocate(TAMANO_ENCABEZADO).order(ByteOrder.LITTLE_ENDIAN);
+            while (encabezado.hasRemaining() && canal.read(encabezado, encabezado.position()) > 0) {
+                // Leer el encabezado completo
+            }
+            encabezado.flip();
+            if (encabezado.remaining() < TAMANO_ENCABEZADO || encabezado.getInt() != MAGICO
+                    || encabezado.getInt() != VERSION || encabezado.getInt() != FormatoRegistro.TAMANO) {
+                throw new IOException("El archivo no es un archivo de empleados válido: " + ruta);
+            }
+            encabezado.getInt();
+            long cantidad = encabezado.getLong();
+            if (canal.size() < TAMANO_ENCABEZADO + cantidad * FormatoRegistro.TAMANO) {
+                throw new IOException("El archivo de empleados está incompleto: " + ruta);
+            }
+
+            int numRegiones = (int) ((cantidad + REGISTROS_POR_REGION - 1) / REGISTROS_POR_REGION);
+            MappedByteBuffer[] regiones = new MappedByteBuffer[numRegiones];
+            for (int r = 0; r < numRegiones; r++) {
+                long primero = (long) r * REGISTROS_POR_REGION;
+                long registros = Math.min(REGISTROS_POR_REGION, cantidad - primero);
+                regiones[r] = canal.map(FileChannel.MapMode.READ_ONLY,
+                        TAMANO_ENCABEZADO + primero * FormatoRegistro.TAMANO, registros * FormatoRegistro.TAMANO);
+                regiones[r].order(ByteOrder.LITTLE_ENDIAN);
+            }
+            return new ArchivoEmpleados(canal, regiones, cantidad);
+        } catch (IOException | RuntimeException e) {
+            canal.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Método para obtener la cantidad de empleados del archivo.
+     *
+     * @return La cantidad de registros.
+     */
+    public long getCantidad() {
+        return cantidad;
+    }
+
+    /**
+     * Método para obtener el salario base de un registro sin crear objetos.
+     *
+     * @param i El índice del registro.
+     * @return El salario base, en centavos.
+     */
+    public long salarioBase(long i) {
+        return FormatoRegistro.salarioBase(region(i), posicion(i));
+    }
+
+    /**
+     * Método para obtener el tipo de empleado de un registro sin crear objetos.
+     *
+     * @param i El índice del registro.
+     * @return El tipo de empleado.
+     */
+    public tipoEmpleado tipo(long i) {
+        return FormatoRegistro.tipo(region(i), posicion(i));
+    }
+
+    /**
+     * Método para obtener el nombre de usuario de un registro.
+     *
+     * @param i El índice del registro.
+     * @return El nombre de usuario.
+     */
+    public String usuario(long i) {
+        return FormatoRegistro.texto(region(i), posicion(i) + FormatoRegistro.USUARIO);
+    }
+
+    /**
+     * Obtiene el nombre de un registro.
+     */
+    String nombre(long i) {
+        return FormatoRegistro.texto(region(i), posicion(i) + FormatoRegistro.NOMBRE);
+    }
+
+    /**
+     * Obtiene la cédula de un registro.
+     */
+    String cedula(long i) {
+        return FormatoRegistro.texto(region(i), posicion(i) + FormatoRegistro.CEDULA);
+    }
+
+    /**
+     * Compara el usuario de un registro con un usuario ya codificado en UTF-8, sin crear objetos.
+     */
+    boolean usuarioIgual(long i, byte[] utf8) {
+        return FormatoRegistro.textoIgual(region(i), posicion(i) + FormatoRegistro.USUARIO, utf8);
+    }
+
+    /**
+     * Compara la cédula de un registro con una cédula ya codificada en UTF-8, sin crear objetos.
+     */
+    boolean cedulaIgual(long i, byte[] utf8) {
+        return FormatoRegistro.textoIgual(region(i), posicion(i) + FormatoRegistro.CEDULA, utf8);
+    }
+
+    /**
+     * Método para calcular el salario mensual de un registro sin crear el objeto Empleado.
+     *
+     * @param i El índice del registro.
+     * @param horasTrabajadas Las horas trabajadas en el mes, en centésimas de hora.
+     * @param bonos Los bonos del mes, en centavos.
+     * @param descuentos Los descuentos del mes, en centavos.
+     * @return El salario mensual en centavos, igual al de `calcularSalarioCentavos` del empleado.
+     */
+    public long salarioMensual(long i, long horasTrabajadas, long bonos, long descuentos) {
+        ByteBuffer region = region(i);
+        int posicion = posicion(i);
+        return Empleado.salarioMensual(FormatoRegistro.tipo(region, posicion),
+                FormatoRegistro.salarioBase(region, posicion), horasTrabajadas, bonos, descuentos);
+    }
+
+    /**
+     * Método para calcular la suma de los salarios mensuales de todos los registros
+     * recorriendo el archivo mapeado, sin crear objetos.
+     *
+     * @param horasTrabajadas Las horas trabajadas en el mes, en centésimas de hora.
+     * @param bonos Los bonos del mes, en centavos.
+     * @param descuentos Los descuentos del mes, en centavos.
+     * @return El total de la nómina, en centavos (exacto).
+     */
+    public long totalSalarioMensual(long horasTrabajadas, long bonos, long descuentos) {
+        long total = 0;
+        for (int r = 0; r < regiones.length; r++) {
+            MappedByteBuffer region = regiones[r];
+            int limite = region.capacity();
+            for (int posicion = 0; posicion < limite; posicion += FormatoRegistro.TAMANO) {
+                total += Empleado.salarioMensual(FormatoRegistro.tipo(region, posicion),
+                        FormatoRegistro.salarioBase(region, posicion), horasTrabajadas, bonos, descuentos);
+            }
+        }
+        return total;
+    }
+
+    /**
+     * Método para buscar el índice del registro con el nombre de usuario indicado.
+     * Compara los bytes del archivo directamente, sin crear cadenas.
+     *
+     * @param usuario El nombre de usuario a buscar.
+     * @return El índice del registro, o -1 si no existe.
+     */
+    public long indiceDe(String usuario) {
+        byte[] utf8 = usuario.getBytes(StandardCharsets.UTF_8);
+        for (long i = 0; i < cantidad; i++) {
+            if (FormatoRegistro.textoIgual(region(i), posicion(i) + FormatoRegistro.USUARIO, utf8)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Método para obtener el empleado de un registro. El objeto se crea en cada llamada,
+     * solo cuando se necesita (por ejemplo, para mostrarlo en el menú).
+     *
+     * @param i El índice del registro.
+     * @return El empleado del registro.
+     */
+    public Empleado empleado(long i) {
+        return FormatoRegistro.materializar(region(i), posicion(i));
+    }
+
+    /**
+     * Método para cerrar el archivo.
+     */
+    @Override
+    public void close() throws IOException {
+        canal.close();
+    }
+
+    private ByteBuffer region(long i) {
+        if (i < 0 || i >= cantidad) {
+            throw new IndexOutOfBoundsException("Registro fuera de rango: " + i);
+        }
+        return regiones[(int) (i / REGISTROS_POR_REGION)];
+    }
+
+    private static int posicion(long i) {
+        return (int) (i % REGISTROS_POR_REGION) * FormatoRegistro.TAMANO;
+    }
+
+    private static void escribirBloque(FileChannel salida, ByteBuffer bloque) throws IOException {
+        bloque.flip();
+        while (bloque.hasRemaining()) {
+            salida.write(bloque);
+        }
+        bloque.clear();
+    }
+}
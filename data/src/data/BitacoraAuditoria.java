@@ -0,0 +1,687 @@
+package data;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.LongBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+
+import data.HistorialNomina.Campo;
+
+/**
+ * Clase que guarda la bitácora de auditoría del sistema: quién inició sesión (o lo intentó)
+ * y quién calculó qué parte del rol de pagos, con qué entradas y qué resultados.
+ *
+ * Registrar un evento no espera al disco:
+ * <ul>
+ *   <li>Los eventos son de tamaño fijo ({@value #BYTES_EVENTO} bytes) y se escriben en un
+ *       anillo de `long` creado al inicio, sin crear objetos.</li>
+ *   <li>Cada hilo reserva su lugar con un solo incremento atómico de la secuencia, llena el
+ *       evento y lo publica escribiendo su secuencia al final (con semántica de liberación),
+ *       así que varios hilos registran eventos a la vez sin candados.</li>
+ *   <li>Un hilo consumidor lee los eventos publicados en orden, los copia a un bloque y
+ *       libera su lugar en el anillo antes de escribir el bloque en el archivo (y forzarlo
+ *       a disco). Si el anillo se llena porque el disco no alcanza, los hilos esperan a que
+ *       el consumidor libere lugar en lugar de perder eventos.</li>
+ * </ul>
+ *
+ * Los archivos se llaman `auditoria-NNNNNN.bin` y cada ejecución empieza uno nuevo, que se
+ * rota al llegar al tamaño máximo. Cada archivo tiene un encabezado y luego los eventos tal
+ * como estaban en el anillo, en little-endian (secuencia, hora, acción, usuario, año y mes y
+ * los campos de {@link Campo} que usó el cálculo), así que el consumidor copia tramos enteros
+ * del anillo y, si el disco se atrasa, escribe y fuerza bloques más grandes. Un evento que
+ * quedó a medias al terminar el proceso se descarta al leerlo ({@link #leer(Path)}).
+ */
+public final class BitacoraAuditoria implements Closeable {
+
+    /**
+     * Acciones que se registran en la bitácora, con los campos que usa cada cálculo
+     * (el resultado va al final).
+     */
+    public enum Accion {
+        LOGIN_EXITOSO,
+        LOGIN_FALLIDO,
+        SALARIO_MENSUAL(Campo.SALARIO_BASE, Campo.HORAS_TRABAJADAS, Campo.BONOS, Campo.DESCUENTOS,
+                Campo.SALARIO_MENSUAL),
+        DECIMO_TERCER_SUELDO(Campo.SALARIO_BASE, Campo.DECIMO_TERCER_SUELDO),
+        UTILIDADES(Campo.SALARIO_BASE, Campo.MESES_TRABAJADOS, Campo.UTILIDADES),
+        HORAS_EXTRAS(Campo.SALARIO_BASE, Campo.HORAS_EXTRAS, Campo.PAGO_HORAS_EXTRAS),
+        FONDOS_RESERVA(Campo.SALARIO_BASE, Campo.FONDOS_RESERVA),
+        ROL_PAGOS(Campo.values());
+
+        private final int mascara;     // Campos del evento
+        private final Campo resultado; // Campo donde va el resultado (null si no es un cálculo)
+
+        Accion(Campo... campos) {
+            int m = 0;
+            for (Campo campo : campos) {
+                m |= 1 << campo.ordinal();
+            }
+            mascara = m;
+            resultado = campos.length > 0 ? campos[campos.length - 1] : null;
+        }
+    }
+
+    private static final Accion[] ACCIONES = Accion.values();
+    private static final Campo[] CAMPOS = Campo.values();
+
+    private static final int MAGICO = 0x47415544;  // "GAUD"
+    private static final int VERSION = 1;
+    private static final int BYTES_ENCABEZADO = 16;
+
+    // Posición de cada dato dentro de un evento (en `long`)
+    private static final int SECUENCIA = 0;   // Secuencia + 1 (0: lugar aún no usado)
+    private static final int HORA = 1;        // Milisegundos desde 1970
+    private static final int DATOS = 2;       // Acción (8 bits), largo del usuario (16 bits) y máscara de campos (16 bits)
+    private static final int PERIODO = 3;     // Año (32 bits) y mes (32 bits); 0 si no aplica
+    private static final int USUARIO = 4;     // Primeros caracteres del usuario, 4 por `long`
+    private static final int VALORES = 12;    // Un valor por campo, en el orden de Campo
+    private static final int HILO = 23;       // Identificador del hilo que registró el evento
+    private static final int LONGS_EVENTO = 24;
+
+    /** Bytes de cada evento, en el anillo y en el archivo. */
+    public static final int BYTES_EVENTO = LONGS_EVENTO * 8;
+
+    private static final int CARACTERES_USUARIO = (VALORES - USUARIO) * 4;
+
+    private static final int CAPACIDAD_POR_DEFECTO = 1 << 14;           // Eventos del anillo (3 MB)
+    private static final long TAMANO_ARCHIVO_POR_DEFECTO = 64L << 20;   // Bytes por archivo antes de rotar
+    private static final int EVENTOS_POR_BLOQUE = 4096;                 // Máximo de eventos por escritura (768 KB)
+    private static final long ESPERA_CONSUMIDOR = TimeUnit.MILLISECONDS.toNanos(1);  // Sin eventos, revisa cada 1 ms
+    private static final long ESPERA_PRODUCTOR = TimeUnit.MICROSECONDS.toNanos(50);  // Con el anillo lleno
+    private static final long ESPERA_CIERRE = TimeUnit.MILLISECONDS.toNanos(200);    // Por eventos reservados sin publicar
+
+    private static final VarHandle ELEMENTO = MethodHandles.arrayElementVarHandle(long[].class);
+
+    private final long[] anillo;             // Eventos, LONGS_EVENTO por lugar (null si la bitácora está inactiva)
+    private final int mascaraAnillo;         // Lugares del anillo - 1
+    private final AtomicLong siguiente = new AtomicLong();  // Próxima secuencia a reservar
+    private volatile long consumido;         // Eventos ya copiados por el consumidor
+    private volatile boolean cerrada;
+    private final LongAdder esperas = new LongAdder();  // Veces que un hilo esperó con el anillo lleno
+
+    private final Path directorio;
+    private final long tamanoArchivo;
+    private FileChannel archivo;             // Solo lo usa el consumidor
+    private int numeroArchivo;
+    private long bytesArchivo;
+    private volatile long escritos;          // Eventos escritos en disco (solo los suma el consumidor)
+    private final Thread consumidor;
+
+    /**
+     * Constructor de la clase BitacoraAuditoria con la capacidad y el tamaño de archivo
+     * por defecto. Crea el directorio si no existe.
+     *
+     * @param directorio El directorio de los archivos de la bitácora.
+     * @throws IOException Si el directorio o el primer archivo no se pueden crear.
+     */
+    public BitacoraAuditoria(Path directorio) throws IOException {
+        this(directorio, CAPACIDAD_POR_DEFECTO, TAMANO_ARCHIVO_POR_DEFECTO);
+    }
+
+    /**
+     * Constructor de la clase BitacoraAuditoria.
+     *
+     * @param directorio El directorio de los archivos de la bitácora.
+     * @param capacidad Los eventos que caben en el anillo (se redondea a una potencia de 2).
+     * @param tamanoArchivo Los bytes de cada archivo antes de pasar al siguiente.
+     * @throws IOException Si el directorio o el primer archivo no se pueden crear.
+     */
+    public BitacoraAuditoria(Path directorio, int capacidad, long tamanoArchivo) throws IOException {
+        if (capacidad < 2 || capacidad > 1 << 24) {
+            throw new IllegalArgumentException("Capacidad no válida: " + capacidad);
+        }
+        int lugares = Integer.highestOneBit(capacidad - 1) << 1;
+        this.anillo = new long[lugares * LONGS_EVENTO];
+        this.mascaraAnillo = lugares - 1;
+        this.directorio = directorio;
+        this.tamanoArchivo = Math.max(tamanoArchivo, BYTES_ENCABEZADO + BYTES_EVENTO);
+        Files.createDirectories(directorio);
+        numeroArchivo = ultimoArchivo(directorio);
+        abrirSiguienteArchivo();
+        consumidor = new Thread(this::consumir, "bitacora-auditoria");
+        consumidor.setDaemon(true);
+        consumidor.start();
+    }
+
+    /**
+     * Constructor de una bitácora inactiva (descarta los eventos).
+     */
+    private BitacoraAuditoria() {
+        anillo = null;
+        mascaraAnillo = 0;
+        directorio = null;
+        tamanoArchivo = 0;
+        consumidor = null;
+    }
+
+    /**
+     * Método para obtener una bitácora que no guarda nada, para cuando no hay dónde guardarla.
+     *
+     * @return Una bitácora inactiva.
+     */
+    public static BitacoraAuditoria inactiva() {
+        return new BitacoraAuditoria();
+    }
+
+    /**
+     * Método para registrar un intento de log in.
+     *
+     * @param usuario El usuario ingresado.
+     * @param exitoso `true` si las credenciales eran correctas.
+     */
+    public void registrarLogin(String usuario, boolean exitoso) {
+        if (anillo == null || cerrada) {
+            return;
+        }
+        long s = reservar();
+        int base = lugar(s);
+        escribirEncabezado(base, exitoso ? Accion.LOGIN_EXITOSO : Accion.LOGIN_FALLIDO, usuario, 0, 0);
+        for (int i = VALORES; i < VALORES + CAMPOS.length; i++) {
+            anillo[base + i] = 0;
+        }
+        publicar(base, s);
+    }
+
+    /**
+     * Método para registrar uno de los cálculos individuales del rol de pagos (todas las
+     * acciones menos los log in y {@link Accion#ROL_PAGOS}). Solo se guardan los datos que
+     * usa el cálculo; los montos y las horas se guardan en centésimas.
+     *
+     * @param accion El cálculo realizado.
+     * @param emp El empleado.
+     * @param año El año del rol de pagos.
+     * @param mes El mes del rol de pagos.
+     * @param horasTrabajadas Las horas trabajadas.
+     * @param bonos Los bonos.
+     * @param descuentos Los descuentos.
+     * @param mesesTrabajados Los meses trabajados.
+     * @param horasExtras Las horas extras.
+     * @param resultado El resultado del cálculo.
+     */
+    public void registrarCalculo(Accion accion, Empleado emp, int año, int mes, double horasTrabajadas,
+            double bonos, double descuentos, int mesesTrabajados, double horasExtras, double resultado) {
+        if (anillo == null || cerrada) {
+            return;
+        }
+        if (accion.resultado == null || accion == Accion.ROL_PAGOS) {
+            throw new IllegalArgumentException("No es un cálculo individual: " + accion);
+        }
+        long s = reservar();
+        int base = lugar(s);
+        escribirEncabezado(base, accion, emp.getUsuario(), año, mes);
+        int valores = base + VALORES;
+        for (int i = 0; i < CAMPOS.length; i++) {
+            anillo[valores + i] = 0;
+        }
+        int m = accion.mascara;
+        anillo[valores + Campo.SALARIO_BASE.ordinal()] = emp.getSalarioBaseCentavos();
+        if ((m & 1 << Campo.HORAS_TRABAJADAS.ordinal()) != 0) {
+            anillo[valores + Campo.HORAS_TRABAJADAS.ordinal()] = Dinero.centesimas(horasTrabajadas);
+            anillo[valores + Campo.BONOS.ordinal()] = Dinero.centavos(bonos);
+            anillo[valores + Campo.DESCUENTOS.ordinal()] = Dinero.centavos(descuentos);
+        }
+        if ((m & 1 << Campo.MESES_TRABAJADOS.ordinal()) != 0) {
+            anillo[valores + Campo.MESES_TRABAJADOS.ordinal()] = mesesTrabajados;
+        }
+        if ((m & 1 << Campo.HORAS_EXTRAS.ordinal()) != 0) {
+            anillo[valores + Campo.HORAS_EXTRAS.ordinal()] = Dinero.centesimas(horasExtras);
+        }
+        anillo[valores + accion.resultado.ordinal()] = Dinero.centavos(resultado);
+        publicar(base, s);
+    }
+
+    /**
+     * Método para registrar el cálculo del rol de pagos completo de un empleado.
+     *
+     * @param emp El empleado.
+     * @param año El año del rol de pagos (0 si no aplica).
+     * @param mes El mes del rol de pagos (0 si no aplica).
+     * @param horasTrabajadas Las horas trabajadas.
+     * @param bonos Los bonos.
+     * @param descuentos Los descuentos.
+     * @param mesesTrabajados Los meses trabajados.
+     * @param horasExtras Las horas extras.
+     * @param rol El rol de pagos calculado.
+     */
+    public void registrarRolPagos(Empleado emp, int año, int mes, double horasTrabajadas, double bonos,
+            double descuentos, int mesesTrabajados, double horasExtras, RolPagos rol) {
+        if (anillo == null || cerrada) {
+            return;
+        }
+        long s = reservar();
+        int base = lugar(s);
+        escribirEncabezado(base, Accion.ROL_PAGOS, emp.getUsuario(), año, mes);
+        int valores = base + VALORES;
+        anillo[valores + Campo.SALARIO_BASE.ordinal()] = emp.getSalarioBaseCentavos();
+        anillo[valores + Campo.HORAS_TRABAJADAS.ordinal()] = Dinero.centesimas(horasTrabajadas);
+        anillo[valores + Campo.BONOS.ordinal()] = Dinero.centavos(bonos);
+        anillo[valores + Campo.DESCUENTOS.ordinal()] = Dinero.centavos(descuentos);
+        anillo[valores + Campo.MESES_TRABAJADOS.ordinal()] = mesesTrabajados;
+        anillo[valores + Campo.HORAS_EXTRAS.ordinal()] = Dinero.centesimas(horasExtras);
+        anillo[valores + Campo.SALARIO_MENSUAL.ordinal()] = rol.salarioMensual;
+        anillo[valores + Campo.DECIMO_TERCER_SUELDO.ordinal()] = rol.decimoTercerSueldo;
+        anillo[valores + Campo.UTILIDADES.ordinal()] = rol.utilidades;
+        anillo[valores + Campo.PAGO_HORAS_EXTRAS.ordinal()] = rol.horasExtras;
+        anillo[valores + Campo.FONDOS_RESERVA.ordinal()] = rol.fondosReserva;
+        publicar(base, s);
+    }
+
+    /**
+     * Método para obtener la cantidad de eventos registrados.
+     *
+     * @return Los eventos registrados (publicados o por publicar).
+     */
+    public long getRegistrados() {
+        return siguiente.get();
+    }
+
+    /**
+     * Método para obtener la cantidad de eventos ya escritos en disco.
+     *
+     * @return Los eventos escritos.
+     */
+    public long getEscritos() {
+        return escritos;
+    }
+
+    /**
+     * Método para obtener las veces que un hilo tuvo que esperar porque el anillo estaba lleno.
+     *
+     * @return La cantidad de esperas.
+     */
+    public long getEsperas() {
+        return esperas.sum();
+    }
+
+    /**
+     * Método para cerrar la bitácora: deja de aceptar eventos, escribe los pendientes y
+     * cierra el archivo.
+     */
+    @Override
+    public void close() {
+        if (anillo == null || cerrada) {
+            return;
+        }
+        cerrada = true;
+        LockSupport.unpark(consumidor);
+        boolean interrumpido = false;
+        while (consumidor.isAlive()) {
+            try {
+                consumidor.join();
+            } catch (InterruptedException e) {
+                interrumpido = true;
+            }
+        }
+        if (interrumpido) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Método para leer los eventos de todos los archivos de una bitácora, en orden.
+     *
+     * @param directorio El directorio de la bitácora.
+     * @return Los eventos (lista vacía si el directorio no tiene archivos).
+     * @throws IOException Si un archivo no se puede leer o no es de una bitácora.
+     */
+    public static List<Evento> leer(Path directorio) throws IOException {
+        List<Path> rutas = new ArrayList<>();
+        if (Files.isDirectory(directorio)) {
+            try (DirectoryStream<Path> archivos = Files.newDirectoryStream(directorio, "auditoria-*.bin")) {
+                archivos.forEach(rutas::add);
+            }
+        }
+        Collections.sort(rutas);
+        List<Evento> eventos = new ArrayList<>();
+        long[] evento = new long[LONGS_EVENTO];
+        for (Path ruta : rutas) {
+            ByteBuffer datos = ByteBuffer.wrap(Files.readAllBytes(ruta)).order(ByteOrder.LITTLE_ENDIAN);
+            if (datos.remaining() < BYTES_ENCABEZADO || datos.getInt() != MAGICO || datos.getInt() != VERSION
+                    || datos.getInt() != BYTES_EVENTO) {
+                throw new IOException("El archivo '" + ruta + "' no es de una bitácora de auditoría.");
+            }
+            datos.position(BYTES_ENCABEZADO);
+            while (datos.remaining() >= BYTES_EVENTO) {  // Un evento a medias al final se descarta
+                datos.asLongBuffer().get(evento);
+                datos.position(datos.position() + BYTES_EVENTO);
+                eventos.add(new Evento(evento));
+            }
+        }
+        return eventos;
+    }
+
+    // ------------------------------------------------------------------ Productores
+
+    /**
+     * Reserva la siguiente secuencia; si su lugar aún no fue copiado por el consumidor
+     * (anillo lleno), espera a que lo libere.
+     */
+    private long reservar() {
+        long s = siguiente.getAndIncrement();
+        if (s - consumido > mascaraAnillo) {
+            esperas.increment();
+            do {
+                LockSupport.unpark(consumidor);
+                LockSupport.parkNanos(ESPERA_PRODUCTOR);
+            } while (s - consumido > mascaraAnillo && consumidor.isAlive());
+        }
+        return s;
+    }
+
+    private int lugar(long secuencia) {
+        return (int) (secuencia & mascaraAnillo) * LONGS_EVENTO;
+    }
+
+    private void escribirEncabezado(int base, Accion accion, String usuario, int año, int mes) {
+        anillo[base + HORA] = System.currentTimeMillis();
+        anillo[base + DATOS] = (long) accion.ordinal() << 32 | (long) Math.min(usuario.length(), 0xFFFF) << 16
+                | accion.mascara;
+        anillo[base + PERIODO] = (long) año << 32 | (mes & 0xFFFFFFFFL);
+        int largo = Math.min(usuario.length(), CARACTERES_USUARIO);
+        for (int i = 0, c = 0; i < VALORES - USUARIO; i++) {
+            long cuatro = 0;
+            for (int j = 0; j < 4; j++, c++) {
+                cuatro = cuatro << 16 | (c < largo ? usuario.charAt(c) : 0);
+            }
+            anillo[base + USUARIO + i] = cuatro;
+        }
+        anillo[base + HILO] = Thread.currentThread().getId();
+    }
+
+    /**
+     * Publica el evento: la secuencia se escribe al final, así que el consumidor que la ve
+     * también ve el resto del evento.
+     */
+    private void publicar(int base, long secuencia) {
+        ELEMENTO.setRelease(anillo, base + SECUENCIA, secuencia + 1);
+    }
+
+    // ------------------------------------------------------------------ Consumidor
+
+    /**
+     * Ciclo del hilo consumidor: copia los eventos publicados en orden, por tramos seguidos
+     * del anillo, libera su lugar y escribe el bloque cuando no hay más eventos o se llena.
+     * Al cerrarse la bitácora escribe los que falten y cierra el archivo.
+     */
+    private void consumir() {
+        ByteBuffer bloque = ByteBuffer.allocateDirect(EVENTOS_POR_BLOQUE * BYTES_EVENTO).order(ByteOrder.LITTLE_ENDIAN);
+        LongBuffer largos = bloque.asLongBuffer();
+        long s = 0;
+        long limiteCierre = 0;  // Hasta cuándo esperar, al cerrar, eventos reservados sin publicar
+        while (true) {
+            // Eventos publicados desde s, sin pasar del final del anillo ni del bloque
+            int primero = (int) (s & mascaraAnillo);
+            int maximo = Math.min(mascaraAnillo + 1 - primero, largos.remaining() / LONGS_EVENTO);
+            int n = 0;
+            while (n < maximo && (long) ELEMENTO.getAcquire(anillo, (primero + n) * LONGS_EVENTO + SECUENCIA) == s + n + 1) {
+                n++;
+            }
+            if (n > 0) {
+                largos.put(anillo, primero * LONGS_EVENTO, n * LONGS_EVENTO);
+                s += n;
+                consumido = s;  // El lugar ya se puede reutilizar
+                if (!largos.hasRemaining()) {
+                    escribir(bloque, largos);
+                }
+                continue;
+            }
+            // No hay más eventos publicados por ahora
+            if (largos.position() > 0) {
+                escribir(bloque, largos);
+                continue;
+            }
+            if (cerrada) {
+                if (s == siguiente.get()) {
+                    break;
+                }
+                if (limiteCierre == 0) {
+                    limiteCierre = System.nanoTime() + ESPERA_CIERRE;
+                } else if (System.nanoTime() - limiteCierre > 0) {
+                    System.out.println("Se descartaron " + (siguiente.get() - s)
+                            + " eventos de auditoría que no se terminaron de registrar.");
+                    break;
+                }
+                Thread.yield();
+            } else {
+                LockSupport.parkNanos(ESPERA_CONSUMIDOR);
+            }
+        }
+        cerrarArchivo();
+    }
+
+    /**
+     * Escribe los eventos del bloque en el archivo actual (o en uno nuevo si el actual llegó
+     * a su tamaño máximo) y lo fuerza a disco. Si falla, los eventos se pierden y se
+     * muestra un mensaje, pero el consumidor sigue liberando el anillo.
+     */
+    private void escribir(ByteBuffer bloque, LongBuffer largos) {
+        int eventos = largos.position() / LONGS_EVENTO;
+        bloque.limit(largos.position() * 8).position(0);
+        try {
+            if (archivo == null || bytesArchivo + bloque.remaining() > tamanoArchivo) {
+                cerrarArchivo();
+                abrirSiguienteArchivo();
+            }
+            while (bloque.hasRemaining()) {
+                archivo.write(bloque);
+            }
+            archivo.force(false);
+            bytesArchivo += (long) eventos * BYTES_EVENTO;
+            escritos += eventos;
+        } catch (IOException e) {
+            System.out.println("No se pudieron escribir " + eventos + " eventos de auditoría: " + e.getMessage());
+            cerrarArchivo();
+        }
+        bloque.clear();
+        largos.clear();
+    }
+
+    private void abrirSiguienteArchivo() throws IOException {
+        numeroArchivo++;
+        Path ruta = directorio.resolve(String.format("auditoria-%06d.bin", numeroArchivo));
+        FileChannel canal = FileChannel.open(ruta, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+        try {
+            ByteBuffer encabezado = ByteBuffer.allocate(BYTES_ENCABEZADO).order(ByteOrder.LITTLE_ENDIAN).putInt(MAGICO).putInt(VERSION)
+                    .putInt(BYTES_EVENTO).putInt(0).flip();
+            while (encabezado.hasRemaining()) {
+                canal.write(encabezado);
+            }
+        } catch (IOException e) {
+            canal.close();
+            throw e;
+        }
+        archivo = canal;
+        bytesArchivo = BYTES_ENCABEZADO;
+    }
+
+    private void cerrarArchivo() {
+        if (archivo == null) {
+            return;
+        }
+        try {
+            archivo.force(true);
+            archivo.close();
+        } catch (IOException e) {
+            System.out.println("No se pudo cerrar el archivo de auditoría: " + e.getMessage());
+        }
+        archivo = null;
+    }
+
+    /**
+     * Número del último archivo de la bitácora en el directorio (0 si no hay).
+     */
+    private static int ultimoArchivo(Path directorio) throws IOException {
+        int ultimo = 0;
+        try (DirectoryStream<Path> archivos = Files.newDirectoryStream(directorio, "auditoria-*.bin")) {
+            for (Path ruta : archivos) {
+                String nombre = ruta.getFileName().toString();
+                String numero = nombre.substring("auditoria-".length(), nombre.length() - ".bin".length());
+                if (numero.matches("\\d+")) {
+                    ultimo = Math.max(ultimo, Integer.parseInt(numero));
+                }
+            }
+        }
+        return ultimo;
+    }
+
+    /**
+     * Clase que representa un evento leído de la bitácora.
+     */
+    public static final class Evento {
+
+        private final long secuencia;
+        private final long hora;
+        private final Accion accion;
+        private final String usuario;
+        private final int largoUsuario;
+        private final int año;
+        private final int mes;
+        private final int mascara;
+        private final long[] valores;
+        private final long hilo;
+
+        private Evento(long[] evento) {
+            secuencia = evento[SECUENCIA] - 1;
+            hora = evento[HORA];
+            long datos = evento[DATOS];
+            int numeroAccion = (int) (datos >>> 32) & 0xFF;
+            accion = numeroAccion < ACCIONES.length ? ACCIONES[numeroAccion] : null;
+            largoUsuario = (int) (datos >>> 16) & 0xFFFF;
+            mascara = (int) datos & 0xFFFF;
+            año = (int) (evento[PERIODO] >>> 32);
+            mes = (int) evento[PERIODO];
+            StringBuilder sb = new StringBuilder(CARACTERES_USUARIO);
+            for (int c = 0; c < Math.min(largoUsuario, CARACTERES_USUARIO); c++) {
+                sb.append((char) (evento[USUARIO + c / 4] >>> (48 - 16 * (c % 4))));
+            }
+            usuario = sb.toString();
+            valores = new long[CAMPOS.length];
+            System.arraycopy(evento, VALORES, valores, 0, CAMPOS.length);
+            hilo = evento[HILO];
+        }
+
+        /**
+         * Método para obtener la secuencia del evento (empieza en 0 en cada ejecución).
+         *
+         * @return La secuencia.
+         */
+        public long getSecuencia() {
+            return secuencia;
+        }
+
+        /**
+         * Método para obtener la hora en que se registró el evento.
+         *
+         * @return La hora.
+         */
+        public Instant getHora() {
+            return Instant.ofEpochMilli(hora);
+        }
+
+        /**
+         * Método para obtener la acción del evento.
+         *
+         * @return La acción (null si el archivo es de una versión con más acciones).
+         */
+        public Accion getAccion() {
+            return accion;
+        }
+
+        /**
+         * Método para obtener el usuario del evento (solo sus primeros 32 caracteres si es
+         * más largo).
+         *
+         * @return El usuario.
+         */
+        public String getUsuario() {
+            return usuario;
+        }
+
+        /**
+         * Método para obtener el año del rol de pagos.
+         *
+         * @return El año (0 si no aplica).
+         */
+        public int getAño() {
+            return año;
+        }
+
+        /**
+         * Método para obtener el mes del rol de pagos.
+         *
+         * @return El mes (0 si no aplica).
+         */
+        public int getMes() {
+            return mes;
+        }
+
+        /**
+         * Método para obtener el identificador del hilo que registró el evento.
+         *
+         * @return El identificador del hilo.
+         */
+        public long getHilo() {
+            return hilo;
+        }
+
+        /**
+         * Método para saber si el evento guarda un campo.
+         *
+         * @param campo El campo.
+         * @return `true` si el cálculo del evento usa el campo.
+         */
+        public boolean tiene(Campo campo) {
+            return (mascara & 1 << campo.ordinal()) != 0;
+        }
+
+        /**
+         * Método para obtener el valor de un campo del evento.
+         *
+         * @param campo El campo.
+         * @return El valor en centésimas (o en meses), o 0 si el evento no lo guarda.
+         */
+        public long getValor(Campo campo) {
+            return valores[campo.ordinal()];
+        }
+
+        @Override
+        public String toString() {
+            StringBuilder sb = new StringBuilder(160);
+            sb.append('#').append(secuencia).append(' ').append(getHora()).append(' ').append(accion)
+                    .append(" usuario=").append(usuario);
+            if (largoUsuario > usuario.length()) {
+                sb.append("...");
+            }
+            if (mes != 0) {
+                sb.append(" periodo=").append(año).append('-').append(mes < 10 ? "0" : "").append(mes);
+            }
+            for (Campo campo : CAMPOS) {
+                if (tiene(campo)) {
+                    sb.append(' ').append(campo).append('=');
+                    if (campo == Campo.MESES_TRABAJADOS) {
+                        sb.append(valores[campo.ordinal()]);
+                    } else {
+                        Dinero.agregar(sb, valores[campo.ordinal()]);
+                    }
+                }
+            }
+            return sb.toString();
+        }
+    }
+}
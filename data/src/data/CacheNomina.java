@@ -0,0 +1,214 @@
+package data;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.stream.IntStream;
+
+import data.SalidaReporte.Formato;
+
+/**
+ * Clase que guarda los resultados del reporte de rol de pagos del {@link GestorEmpleado}
+ * para reutilizarlos mientras los empleados no cambien.
+ *
+ * Se guardan tres niveles de resultados:
+ * <ul>
+ *   <li>El salario mensual de cada empleado (160 horas, sin bonos ni descuentos).</li>
+ *   <li>El total de la nómina, que se ajusta con la diferencia de cada salario recalculado.</li>
+ *   <li>El texto del reporte por bloques de filas y por formato, ya codificado en bytes con el
+ *       juego de caracteres de la última salida, para escribirlo sin volver a codificarlo.</li>
+ * </ul>
+ *
+ * Cuando un empleado cambia (salario base, salario, cédula) solo se marca ese empleado como
+ * pendiente y se descarta el texto de su bloque. El siguiente reporte recalcula los empleados
+ * marcados, vuelve a dar formato a los bloques descartados y reutiliza todo lo demás. Los
+ * empleados nuevos se calculan la primera vez que se pide un reporte.
+ *
+ * Los reportes están sincronizados entre sí y cada uno toma la instantánea del registro
+ * dentro del candado, así que la caché nunca recibe una instantánea más antigua que la que
+ * ya calculó. Los avisos de cambios ({@link #marcar(int)}) no
+ * usan el candado: marcan la posición en un mapa de bits atómico, que el siguiente reporte
+ * recoge antes de recalcular. Así, un cambio de salario no espera a que termine un reporte.
+ */
+final class CacheNomina {
+
+    private static final Formato[] FORMATOS = Formato.values();
+
+    // Marcas de empleados modificados: segmentos de 2^16 bits, creados al usarse
+    private static final int BITS_SEGMENTO_MARCAS = 16;
+    private static final VarHandle PALABRA = MethodHandles.arrayElementVarHandle(long[].class);
+
+    private final int tamanoBloque;
+
+    private long[] salarios = new long[0];   // Salario mensual de cada empleado calculado, en centavos
+    private int calculados;                  // Empleados con salario en `salarios`
+    private final BitSet pendientes = new BitSet();  // Empleados calculados que deben recalcularse
+    private long total;                      // Suma de `salarios`
+    private final byte[][][] textos = new byte[FORMATOS.length][][];  // Texto por formato y bloque (null si hay que generarlo)
+    private final Charset[] codificaciones = new Charset[FORMATOS.length];  // Juego de caracteres de cada formato
+    private final AtomicReferenceArray<long[]> marcas =
+            new AtomicReferenceArray<>(1 << (31 - BITS_SEGMENTO_MARCAS));  // Avisos aún no recogidos
+
+    /**
+     * Constructor de la clase CacheNomina.
+     *
+     * @param tamanoBloque Las filas de cada bloque de texto.
+     */
+    CacheNomina(int tamanoBloque) {
+        this.tamanoBloque = tamanoBloque;
+    }
+
+    /**
+     * Marca un empleado como modificado: su salario se recalcula y su bloque se vuelve a
+     * formatear en el siguiente reporte. No usa candados.
+     *
+     * @param indice La posición de registro del empleado.
+     */
+    void marcar(int indice) {
+        if (indice < 0) {
+            return;
+        }
+        int s = indice >>> BITS_SEGMENTO_MARCAS;
+        long[] segmento = marcas.get(s);
+        if (segmento == null) {
+            marcas.compareAndSet(s, null, new long[1 << (BITS_SEGMENTO_MARCAS - 6)]);
+            segmento = marcas.get(s);
+        }
+        int bit = indice & ((1 << BITS_SEGMENTO_MARCAS) - 1);
+        PALABRA.getAndBitwiseOr(segmento, bit >>> 6, 1L << bit);
+    }
+
+    /**
+     * Pasa las marcas de los avisos recibidos a los empleados pendientes y descarta sus bloques.
+     */
+    private void recogerMarcas() {
+        // Solo interesan los empleados ya calculados; los nuevos se calculan con sus valores actuales
+        int segmentos = (int) (((long) calculados + (1 << BITS_SEGMENTO_MARCAS) - 1) >>> BITS_SEGMENTO_MARCAS);
+        for (int s = 0; s < segmentos; s++) {
+            long[] segmento = marcas.get(s);
+            if (segmento == null) {
+                continue;
+            }
+            for (int w = 0; w < segmento.length; w++) {
+                long palabra = (long) PALABRA.getAndSet(segmento, w, 0L);
+                while (palabra != 0) {
+                    int indice = (s << BITS_SEGMENTO_MARCAS) + (w << 6) + Long.numberOfTrailingZeros(palabra);
+                    palabra &= palabra - 1;
+                    if (indice < calculados) {
+                        pendientes.set(indice);
+                        descartarBloque(indice / tamanoBloque);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Método para obtener los bloques del reporte en el formato indicado, codificados con
+     * el juego de caracteres indicado, actualizando antes los empleados pendientes.
+     *
+     * @param registro El registro de empleados; se usan los publicados en este momento.
+     * @param formato El formato de las filas.
+     * @param charset El juego de caracteres de la salida.
+     * @return Una copia del arreglo de bloques (los bytes de cada bloque no se modifican).
+     */
+    synchronized byte[][] bloques(RegistroEmpleados registro, Formato formato, Charset charset) {
+        List<Empleado> empleados = registro.instantanea();
+        actualizar(empleados);
+        int cantidadBloques = (calculados + tamanoBloque - 1) / tamanoBloque;
+        int f = formato.ordinal();
+        byte[][] bloques = textos[f];
+        if (bloques == null || !charset.equals(codificaciones[f])) {
+            bloques = new byte[cantidadBloques][];
+            textos[f] = bloques;
+            codificaciones[f] = charset;
+        } else if (bloques.length != cantidadBloques) {
+            bloques = Arrays.copyOf(bloques, cantidadBloques);
+            textos[f] = bloques;
+        }
+
+        // Solo se da formato a los bloques descartados; con muchas filas, en paralelo
+        byte[][] destino = bloques;
+        int[] faltantes = IntStream.range(0, cantidadBloques).filter(b -> destino[b] == null).toArray();
+        IntStream indices = IntStream.of(faltantes);
+        if ((long) faltantes.length * tamanoBloque >= GestorEmpleado.UMBRAL_PARALELO) {
+            indices = indices.parallel();
+        }
+        indices.forEach(b -> destino[b] = formatearBloque(empleados, b, formato).getBytes(charset));
+        return bloques.clone();
+    }
+
+    /**
+     * Método para obtener el total de la nómina mensual, actualizando antes los empleados pendientes.
+     *
+     * @param registro El registro de empleados; se usan los publicados en este momento.
+     * @return La suma de los salarios mensuales, en centavos.
+     */
+    synchronized long total(RegistroEmpleados registro) {
+        actualizar(registro.instantanea());
+        return total;
+    }
+
+    /**
+     * Recalcula los empleados pendientes y calcula los empleados nuevos.
+     */
+    private void actualizar(List<Empleado> empleados) {
+        recogerMarcas();
+        for (int i = pendientes.nextSetBit(0); i >= 0; i = pendientes.nextSetBit(i + 1)) {
+            long nuevo = salarioMensual(empleados.get(i));
+            total += nuevo - salarios[i];
+            salarios[i] = nuevo;
+        }
+        pendientes.clear();
+
+        int cantidad = empleados.size();
+        if (cantidad > calculados) {
+            if (salarios.length < cantidad) {
+                salarios = Arrays.copyOf(salarios, Math.max(cantidad, salarios.length + (salarios.length >> 1)));
+            }
+            IntStream nuevos = IntStream.range(calculados, cantidad);
+            if (cantidad - calculados >= GestorEmpleado.UMBRAL_PARALELO) {
+                nuevos = nuevos.parallel();
+            }
+            long[] destino = salarios;
+            nuevos.forEach(i -> destino[i] = salarioMensual(empleados.get(i)));
+            for (int i = calculados; i < cantidad; i++) {
+                total += salarios[i];
+            }
+            descartarBloque(calculados / tamanoBloque);  // El último bloque recibe filas nuevas
+            calculados = cantidad;
+        }
+    }
+
+    /**
+     * Da formato a las filas de un bloque con los salarios guardados.
+     */
+    private String formatearBloque(List<Empleado> empleados, int bloque, Formato formato) {
+        int desde = bloque * tamanoBloque;
+        int hasta = Math.min(calculados, desde + tamanoBloque);
+        StringBuilder sb = new StringBuilder((hasta - desde) * 96);
+        for (int i = desde; i < hasta; i++) {
+            GestorEmpleado.agregarFila(sb, formato, empleados.get(i), salarios[i]);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Descarta el texto de un bloque en todos los formatos.
+     */
+    private void descartarBloque(int bloque) {
+        for (byte[][] bloques : textos) {
+            if (bloques != null && bloque < bloques.length) {
+                bloques[bloque] = null;
+            }
+        }
+    }
+
+    private static long salarioMensual(Empleado emp) {
+        return emp.calcularSalarioCentavos(Salario.JORNADA_MENSUAL_CENTESIMAS, 0, 0);  // 160 horas trabajadas
+    }
+}
@@ -0,0 +1,177 @@
+package data;
+
+import data.Empleado.tipoEmpleado;
+
+/**
+ * Clase que describe una consulta por páginas de la nómina del reporte de rol de pagos
+ * (160 horas trabajadas, sin bonos ni descuentos): el orden de las filas y los filtros.
+ * Se recorre con un {@link CursorNomina} (ver {@link GestorEmpleado#abrirCursor(ConsultaNomina, int)}).
+ *
+ * Las consultas son inmutables: cada método que cambia el orden o agrega un filtro retorna
+ * una consulta nueva, por ejemplo {@code ConsultaNomina.porSalario().descendente().soloTipo(GERENTE)}.
+ *
+ * Cada orden usa un índice, de modo que una página sin filtros (o solo con filtros que coinciden
+ * con el orden) cuesta lo mismo que su tamaño, sin importar cuántos empleados haya. Los filtros
+ * que coinciden con el orden empiezan y terminan el recorrido en el lugar justo: el tipo con
+ * los órdenes por registro, salario y tipo, el rango de salario con {@link Orden#SALARIO} y el
+ * comienzo del nombre con {@link Orden#NOMBRE}. Los demás se revisan fila por fila, así que
+ * con un filtro de esos la página recorre también las filas que no lo cumplen hasta llenarse
+ * (por ejemplo, un rango de salario angosto con el orden por nombre).
+ */
+public final class ConsultaNomina {
+
+    /**
+     * Orden de las filas. Los empleados con el mismo valor se ordenan por orden de registro
+     * (en orden descendente, del último registrado al primero).
+     */
+    public enum Orden {
+        REGISTRO,  // Orden de registro
+        SALARIO,   // Salario mensual del reporte
+        NOMBRE,    // Nombre, sin mayúsculas ni tildes
+        TIPO       // Tipo de empleado
+    }
+
+    private final Orden orden;
+    private final boolean descendente;
+    private final tipoEmpleado tipo;     // Solo empleados de este tipo (null: todos)
+    private final long salarioMinimo;    // Salario mensual mínimo, en centavos (inclusive)
+    private final long salarioMaximo;    // Salario mensual máximo, en centavos (inclusive)
+    private final String prefijoNombre;  // Comienzo del nombre, normalizado ("" sin filtro)
+
+    private ConsultaNomina(Orden orden, boolean descendente, tipoEmpleado tipo, long salarioMinimo,
+            long salarioMaximo, String prefijoNombre) {
+        this.orden = orden;
+        this.descendente = descendente;
+        this.tipo = tipo;
+        this.salarioMinimo = salarioMinimo;
+        this.salarioMaximo = salarioMaximo;
+        this.prefijoNombre = prefijoNombre;
+    }
+
+    /**
+     * Método para crear una consulta de todos los empleados con el orden indicado (ascendente).
+     *
+     * @param orden El orden de las filas.
+     * @return La consulta.
+     */
+    public static ConsultaNomina ordenadaPor(Orden orden) {
+        return new ConsultaNomina(orden, false, null, Long.MIN_VALUE, Long.MAX_VALUE, "");
+    }
+
+    public static ConsultaNomina porRegistro() {
+        return ordenadaPor(Orden.REGISTRO);
+    }
+
+    public static ConsultaNomina porSalario() {
+        return ordenadaPor(Orden.SALARIO);
+    }
+
+    public static ConsultaNomina porNombre() {
+        return ordenadaPor(Orden.NOMBRE);
+    }
+
+    public static ConsultaNomina porTipo() {
+        return ordenadaPor(Orden.TIPO);
+    }
+
+    /**
+     * Método para invertir el orden (por ejemplo, del mayor al menor salario).
+     *
+     * @return La consulta en orden descendente.
+     */
+    public ConsultaNomina descendente() {
+        return new ConsultaNomina(orden, true, tipo, salarioMinimo, salarioMaximo, prefijoNombre);
+    }
+
+    /**
+     * Método para consultar solo los empleados de un tipo.
+     *
+     * @param tipo El tipo de empleado (`null` para todos).
+     * @return La consulta con el filtro.
+     */
+    public ConsultaNomina soloTipo(tipoEmpleado tipo) {
+        return new ConsultaNomina(orden, descendente, tipo, salarioMinimo, salarioMaximo, prefijoNombre);
+    }
+
+    /**
+     * Método para consultar solo los empleados con el salario mensual en el rango indicado
+     * (ambos extremos incluidos).
+     *
+     * @param minimo El salario mensual mínimo.
+     * @param maximo El salario mensual máximo.
+     * @return La consulta con el filtro.
+     */
+    public ConsultaNomina salarioEntre(double minimo, double maximo) {
+        return new ConsultaNomina(orden, descendente, tipo, Dinero.centavos(minimo), Dinero.centavos(maximo),
+                prefijoNombre);
+    }
+
+    /**
+     * Método para consultar solo los empleados cuyo nombre comienza con el texto indicado
+     * (sin distinguir mayúsculas ni tildes).
+     *
+     * @param prefijo El comienzo del nombre.
+     * @return La consulta con el filtro.
+     */
+    public ConsultaNomina nombreComienzaCon(String prefijo) {
+        return new ConsultaNomina(orden, descendente, tipo, salarioMinimo, salarioMaximo,
+                IndiceNombres.normalizarPrefijo(prefijo));
+    }
+
+    public Orden getOrden() {
+        return orden;
+    }
+
+    public boolean isDescendente() {
+        return descendente;
+    }
+
+    public tipoEmpleado getTipo() {
+        return tipo;
+    }
+
+    long getSalarioMinimo() {
+        return salarioMinimo;
+    }
+
+    long getSalarioMaximo() {
+        return salarioMaximo;
+    }
+
+    String getPrefijoNombre() {
+        return prefijoNombre;
+    }
+
+    /**
+     * Indica si un empleado cumple los filtros de la consulta.
+     *
+     * @param emp El empleado.
+     * @param salarioMensual Su salario mensual, en centavos.
+     * @return `true` si el empleado va en el resultado.
+     */
+    boolean acepta(Empleado emp, long salarioMensual) {
+        return (tipo == null || emp.getTipo() == tipo)
+                && salarioMensual >= salarioMinimo && salarioMensual <= salarioMaximo
+                && (prefijoNombre.isEmpty() || IndiceNombres.comienzaCon(emp.getNombre(), prefijoNombre));
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder(orden.name().toLowerCase());
+        if (descendente) {
+            sb.append(" (descendente)");
+        }
+        if (tipo != null) {
+            sb.append(", tipo ").append(tipo.name());
+        }
+        if (salarioMinimo != Long.MIN_VALUE || salarioMaximo != Long.MAX_VALUE) {
+            sb.append(", salario entre ");
+            Dinero.agregar(sb, salarioMinimo).append(" y ");
+            Dinero.agregar(sb, salarioMaximo);
+        }
+        if (!prefijoNombre.isEmpty()) {
+            sb.append(", nombre \"").append(prefijoNombre).append("...\"");
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,80 @@
+package data;
+
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * Clase que recorre la nómina por páginas según una {@link ConsultaNomina}. Cada página se
+ * pide al gestor recién al llamar a {@link #next()} y se llena desde el índice del orden de la
+ * consulta a partir de la última fila entregada, sin calcular ni ordenar toda la nómina: la
+ * primera página (o cualquier otra) cuesta lo mismo que su tamaño, salvo con los filtros que
+ * no coinciden con el orden (ver {@link ConsultaNomina}), que se revisan fila por fila.
+ *
+ * El cursor no guarda una copia de la nómina: los empleados registrados o cambiados mientras
+ * se recorre aparecen en las páginas siguientes si caen después de la posición del cursor.
+ * La posición ({@link #getPosicion()}) es un texto con el que se puede abrir otro cursor
+ * que continúa en el mismo lugar, por ejemplo en otra solicitud.
+ */
+public final class CursorNomina implements Iterator<PaginaNomina> {
+
+    private final GestorEmpleado gestor;
+    private final ConsultaNomina consulta;
+    private final int tamanoPagina;
+    private String posicion;     // Posición después de la última página leída (null al comienzo)
+    private boolean terminado;
+
+    CursorNomina(GestorEmpleado gestor, ConsultaNomina consulta, int tamanoPagina, String posicion) {
+        this.gestor = gestor;
+        this.consulta = consulta;
+        this.tamanoPagina = tamanoPagina;
+        this.posicion = posicion;
+    }
+
+    /**
+     * Indica si quedan páginas por leer. Al comienzo siempre hay una página, aunque puede
+     * estar vacía.
+     *
+     * @return `true` si se puede llamar a {@link #next()}.
+     */
+    @Override
+    public boolean hasNext() {
+        return !terminado;
+    }
+
+    /**
+     * Método para leer la siguiente página.
+     *
+     * @return La página, con a lo más el tamaño de página del cursor.
+     */
+    @Override
+    public PaginaNomina next() {
+        if (terminado) {
+            throw new NoSuchElementException("El cursor ya no tiene páginas");
+        }
+        PaginaNomina pagina = gestor.leerPagina(consulta, posicion, tamanoPagina);
+        if (pagina.getSiguiente() == null) {
+            terminado = true;
+        } else {
+            posicion = pagina.getSiguiente();
+        }
+        return pagina;
+    }
+
+    /**
+     * Método para obtener la posición del cursor, con la que se puede continuar el recorrido
+     * con {@link GestorEmpleado#abrirCursor(ConsultaNomina, int, String)}.
+     *
+     * @return La posición, o `null` si todavía no se leyó ninguna página o si ya no quedan.
+     */
+    public String getPosicion() {
+        return terminado ? null : posicion;
+    }
+
+    public ConsultaNomina getConsulta() {
+        return consulta;
+    }
+
+    public int getTamanoPagina() {
+        return tamanoPagina;
+    }
+}
@@ -0,0 +1,110 @@
+package data;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * Clase con las operaciones de dinero en punto fijo: los montos se representan como
+ * centavos en un `long`, de modo que las sumas son exactas y los totales de millones de
+ * filas son reproducibles, sin el costo de `BigDecimal`. Todos los métodos son estáticos
+ * y no crean objetos.
+ *
+ * Reglas de redondeo:
+ * <ul>
+ *   <li>Las cantidades decimales (montos en `double`, horas) se convierten a centésimas
+ *       redondeando la mitad hacia arriba (alejándose de cero), igual que `%.2f`.</li>
+ *   <li>Las divisiones (por 12 meses, por 160 horas, porcentajes) se hacen una sola vez al
+ *       final de cada fórmula, sobre el numerador exacto, y se redondean la mitad hacia
+ *       arriba (alejándose de cero) con {@link #dividir(long, long)}.</li>
+ * </ul>
+ */
+public final class Dinero {
+
+    private Dinero() {
+    }
+
+    /**
+     * Convierte un monto a centavos, redondeando la mitad hacia arriba.
+     *
+     * @param monto El monto en unidades (por ejemplo, dólares).
+     * @return El monto en centavos.
+     */
+    public static long centavos(double monto) {
+        double escalado = Math.abs(monto) * 100;
+        if (escalado < 1e15 && Math.abs(escalado - Math.floor(escalado) - 0.5) >= 1e-6) {
+            long redondeado = Math.round(escalado);
+            return monto < 0 ? -redondeado : redondeado;
+        }
+        if (Double.isNaN(monto) || Double.isInfinite(monto)) {
+            throw new ArithmeticException("Monto no válido: " + monto);
+        }
+        // Caso límite (mitad exacta o monto muy grande): se redondea sobre la representación decimal
+        return new BigDecimal(Double.toString(monto)).movePointRight(2).setScale(0, RoundingMode.HALF_UP).longValueExact();
+    }
+
+    /**
+     * Convierte una cantidad (por ejemplo, horas) a centésimas, redondeando la mitad hacia arriba.
+     *
+     * @param cantidad La cantidad.
+     * @return La cantidad en centésimas.
+     */
+    public static long centesimas(double cantidad) {
+        return centavos(cantidad);
+    }
+
+    /**
+     * Convierte centavos a un monto en `double` (solo para mostrar o para la API anterior).
+     *
+     * @param centavos El monto en centavos.
+     * @return El monto en unidades.
+     */
+    public static double aDouble(long centavos) {
+        return centavos / 100.0;
+    }
+
+    /**
+     * Divide redondeando la mitad hacia arriba (alejándose de cero).
+     *
+     * @param numerador El numerador.
+     * @param divisor El divisor (mayor que cero).
+     * @return El cociente redondeado.
+     */
+    public static long dividir(long numerador, long divisor) {
+        long cociente = numerador / divisor;
+        long resto = numerador % divisor;
+        if (Math.abs(resto) * 2 >= divisor) {
+            cociente += numerador < 0 ? -1 : 1;
+        }
+        return cociente;
+    }
+
+    /**
+     * Agrega un monto en centavos con dos decimales (por ejemplo, `1234.50`).
+     *
+     * @param sb El búfer donde se agrega el monto.
+     * @param centavos El monto en centavos.
+     * @return El mismo búfer recibido.
+     */
+    public static StringBuilder agregar(StringBuilder sb, long centavos) {
+        long absoluto = Math.abs(centavos);
+        if (centavos < 0) {
+            sb.append('-');
+        }
+        sb.append(absoluto / 100).append('.');
+        long resto = absoluto % 100;
+        if (resto < 10) {
+            sb.append('0');
+        }
+        return sb.append(resto);
+    }
+
+    /**
+     * Da formato a un monto en centavos con dos decimales.
+     *
+     * @param centavos El monto en centavos.
+     * @return El texto del monto.
+     */
+    public static String formatear(long centavos) {
+        return agregar(new StringBuilder(24), centavos).toString();
+    }
+}
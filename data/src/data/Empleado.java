@@ -15,10 +15,17 @@ public abstract class Empleado {
     private String nombre;
     private String usuario;
     private String clave;
-    private String cedula;
-    protected double salarioBase;
+    // Los atributos que pueden cambiar son volátiles: otros hilos (por ejemplo, un reporte)
+    // los leen sin candados
+    private volatile String cedula;
+    private volatile long salarioBaseCentavos;  // Salario base en centavos (ver Dinero)
     private tipoEmpleado tipo;
-    private Salario salario;
+    private volatile Salario salario;
+
+    // Gestor en el que está registrado el empleado (null si aún no se registra).
+    // Se usa para notificar los cambios que deben persistirse.
+    volatile GestorEmpleado gestor;
+    int indice = -1;  // Posición de registro en el gestor
 
     // Enumeración de los tipos de empleado
     public enum tipoEmpleado {
@@ -43,6 +50,66 @@ public abstract class Empleado {
         setSalarioBase(tipo); // Establecer salario base según el tipo de empleado
     }
 
+    /**
+     * Constructor para las vistas de empleados guardados fuera del heap ({@link VistaEmpleado}):
+     * la vista no guarda los datos en estos atributos, los lee de su registro.
+     * 
+     * @param tipo El tipo de empleado.
+     * @param salario El objeto para los cálculos del salario (sin estado, se puede compartir).
+     */
+    Empleado(tipoEmpleado tipo, Salario salario) {
+        this.tipo = tipo;
+        this.salario = salario;
+    }
+
+    /**
+     * Método para crear un empleado de la clase que corresponde a su tipo:
+     * {@link EmpleadoRegular}, {@link Administrativo} o {@link Gerente}.
+     * 
+     * @param nombre El nombre del empleado.
+     * @param cedula La cédula de identidad del empleado.
+     * @param usuario El nombre de usuario para el inicio de sesión.
+     * @param clave La clave de acceso del empleado.
+     * @param tipo El tipo de empleado.
+     * @return El nuevo empleado.
+     */
+    public static Empleado crear(String nombre, String cedula, String usuario, String clave, tipoEmpleado tipo) {
+        switch (tipo) {
+            case ADMINISTRATIVO:
+                return new Administrativo(nombre, cedula, usuario, clave, tipo);
+            case GERENTE:
+                return new Gerente(nombre, cedula, usuario, clave, tipo);
+            case EMPLEADO:
+            default:
+                return new EmpleadoRegular(nombre, cedula, usuario, clave, tipo);
+        }
+    }
+
+    /**
+     * Método para calcular el salario mensual según el tipo de empleado, sin necesidad
+     * de un objeto Empleado. Aplica la misma fórmula que `calcularSalario` de la clase
+     * correspondiente al tipo.
+     * 
+     * @param tipo El tipo de empleado.
+     * @param salarioBase El salario base del empleado, en centavos.
+     * @param horasTrabajadas El número de horas trabajadas en el mes, en centésimas de hora.
+     * @param bonos El monto de bonos adicionales al salario, en centavos.
+     * @param descuentos El monto de descuentos aplicados al salario, en centavos.
+     * @return El salario mensual calculado, en centavos.
+     */
+    public static long salarioMensual(tipoEmpleado tipo, long salarioBase, long horasTrabajadas,
+            long bonos, long descuentos) {
+        switch (tipo) {
+            case ADMINISTRATIVO:
+                return Administrativo.salarioMensual(salarioBase, horasTrabajadas, bonos, descuentos);
+            case GERENTE:
+                return Gerente.salarioMensual(salarioBase, horasTrabajadas, bonos, descuentos);
+            case EMPLEADO:
+            default:
+                return EmpleadoRegular.salarioMensual(salarioBase, horasTrabajadas, bonos, descuentos);
+        }
+    }
+
     /**
      * Método privado para establecer el salario base de un empleado 
      * según su tipo (Empleado, Administrativo, Gerente).
@@ -52,29 +119,43 @@ public abstract class Empleado {
     private void setSalarioBase(tipoEmpleado tipo) {
         switch (tipo) {
             case GERENTE:
-                this.salarioBase = 700; // Salario base para Gerente
+                this.salarioBaseCentavos = 700_00; // Salario base para Gerente
                 break;
             case ADMINISTRATIVO:
-                this.salarioBase = 450; // Salario base para Administrativo
+                this.salarioBaseCentavos = 450_00; // Salario base para Administrativo
                 break;
             case EMPLEADO:
-                this.salarioBase = 300; // Salario base para Empleado Regular
+                this.salarioBaseCentavos = 300_00; // Salario base para Empleado Regular
                 break;
             default:
-                this.salarioBase = 450; // Valor por defecto
+                this.salarioBaseCentavos = 450_00; // Valor por defecto
         }
     }
 
     /**
-     * Método abstracto para calcular el salario mensual de un empleado.
-     * Este método debe ser implementado por las clases derivadas.
+     * Método para calcular el salario mensual de un empleado.
+     * Convierte las entradas a centavos y usa {@link #calcularSalarioCentavos(long, long, long)}.
      * 
      * @param horasTrabajadas El número de horas trabajadas en el mes.
      * @param bonos El monto de bonos adicionales al salario.
      * @param descuentos El monto de descuentos aplicados al salario.
      * @return El salario mensual calculado.
      */
-    public abstract double calcularSalario(double horasTrabajadas, double bonos, double descuentos);
+    public double calcularSalario(double horasTrabajadas, double bonos, double descuentos) {
+        return Dinero.aDouble(calcularSalarioCentavos(Dinero.centesimas(horasTrabajadas),
+                Dinero.centavos(bonos), Dinero.centavos(descuentos)));
+    }
+
+    /**
+     * Método abstracto para calcular el salario mensual de un empleado en centavos.
+     * Este método debe ser implementado por las clases derivadas.
+     * 
+     * @param horasTrabajadas El número de horas trabajadas en el mes, en centésimas de hora.
+     * @param bonos El monto de bonos adicionales al salario, en centavos.
+     * @param descuentos El monto de descuentos aplicados al salario, en centavos.
+     * @return El salario mensual calculado, en centavos.
+     */
+    public abstract long calcularSalarioCentavos(long horasTrabajadas, long bonos, long descuentos);
 
     /**
      * Método para calcular el décimo tercer sueldo basado en el salario base del empleado.
@@ -82,7 +163,7 @@ public abstract class Empleado {
      * @return El monto del décimo tercer sueldo.
      */
     public double calcularDecimoTercerSueldo() {
-        return salario.calcularDecimoTercerSueldo(getSalarioBase());
+        return Dinero.aDouble(salario.decimoTercerSueldoCentavos(salarioBaseCentavos));
     }
 
     /**
@@ -93,7 +174,7 @@ public abstract class Empleado {
      * @return El monto de las utilidades.
      */
     public double calcularUtilidades(int mesesTrabajados) {
-        return salario.calcularUtilidades(getSalarioBase(), mesesTrabajados);
+        return Dinero.aDouble(salario.utilidadesCentavos(salarioBaseCentavos, mesesTrabajados));
     }
 
     /**
@@ -104,7 +185,7 @@ public abstract class Empleado {
      * @return El monto de las horas extras.
      */
     public double calcularHorasExtras(double horasExtras) {
-        return salario.calcularHorasExtras(getSalarioBase(), horasExtras);
+        return Dinero.aDouble(salario.horasExtrasCentavos(salarioBaseCentavos, Dinero.centesimas(horasExtras)));
     }
 
     /**
@@ -113,7 +194,46 @@ public abstract class Empleado {
      * @return El monto de los fondos de reserva.
      */
     public double calcularFondosReserva() {
-        return salario.calcularFondosReserva(getSalarioBase());
+        return Dinero.aDouble(salario.fondosReservaCentavos(salarioBaseCentavos));
+    }
+
+    /**
+     * Método para calcular el rol de pagos completo del empleado en una sola pasada:
+     * salario mensual, décimo tercer sueldo, utilidades, horas extras y fondos de reserva.
+     * El salario base se lee una sola vez y el resultado se escribe en un objeto reutilizable.
+     * 
+     * @param horasTrabajadas El número de horas trabajadas en el mes.
+     * @param bonos El monto de bonos adicionales al salario.
+     * @param descuentos El monto de descuentos aplicados al salario.
+     * @param mesesTrabajados El número de meses trabajados (para las utilidades).
+     * @param horasExtras El número de horas extras trabajadas.
+     * @param destino El objeto donde se escribe el rol de pagos.
+     */
+    public void calcularRolPagos(double horasTrabajadas, double bonos, double descuentos, int mesesTrabajados,
+            double horasExtras, RolPagos destino) {
+        calcularRolPagosCentavos(Dinero.centesimas(horasTrabajadas), Dinero.centavos(bonos), Dinero.centavos(descuentos),
+                mesesTrabajados, Dinero.centesimas(horasExtras), destino);
+    }
+
+    /**
+     * Método para calcular el rol de pagos completo con las entradas en punto fijo
+     * (horas en centésimas, montos en centavos).
+     * 
+     * @param horasTrabajadas Las horas trabajadas en el mes, en centésimas de hora.
+     * @param bonos Los bonos, en centavos.
+     * @param descuentos Los descuentos, en centavos.
+     * @param mesesTrabajados El número de meses trabajados (para las utilidades).
+     * @param horasExtras Las horas extras, en centésimas de hora.
+     * @param destino El objeto donde se escribe el rol de pagos.
+     */
+    public void calcularRolPagosCentavos(long horasTrabajadas, long bonos, long descuentos, int mesesTrabajados,
+            long horasExtras, RolPagos destino) {
+        long base = salarioBaseCentavos;
+        destino.salarioMensual = calcularSalarioCentavos(horasTrabajadas, bonos, descuentos);
+        destino.decimoTercerSueldo = salario.decimoTercerSueldoCentavos(base);
+        destino.utilidades = salario.utilidadesCentavos(base, mesesTrabajados);
+        destino.horasExtras = salario.horasExtrasCentavos(base, horasExtras);
+        destino.fondosReserva = salario.fondosReservaCentavos(base);
     }
 
     // Métodos Getters y Setters para los atributos
@@ -139,6 +259,7 @@ public abstract class Empleado {
 
     public void setCedula(String cedula) {
         this.cedula = cedula;
+        notificarCambio();
     }
 
     public Salario getSalario() {
@@ -147,14 +268,62 @@ public abstract class Empleado {
 
     public void setSalario(Salario salario) {
         this.salario = salario;
+        notificarCambio();
     }
 
     public double getSalarioBase() {
-        return salarioBase;
+        return Dinero.aDouble(salarioBaseCentavos);
+    }
+
+    public long getSalarioBaseCentavos() {
+        return salarioBaseCentavos;
     }
 
     public void setSalarioBase(double salarioBase) {
-        this.salarioBase = salarioBase;
+        setSalarioBaseCentavos(Dinero.centavos(salarioBase));
+    }
+
+    public void setSalarioBaseCentavos(long salarioBase) {
+        GestorEmpleado g = gestor;
+        if (g != null) {
+            synchronized (this) {  // Los cambios de un mismo empleado se registran y aplican en orden
+                g.cambiarSalarioBase(this, salarioBase);  // Registra el cambio antes de aplicarlo
+            }
+        } else {
+            this.salarioBaseCentavos = salarioBase;
+        }
+        notificarCambio();
+    }
+
+    /**
+     * Método para asignar el salario base sin avisar al gestor (lo usa el gestor después de
+     * registrar el cambio).
+     * 
+     * @param salarioBase El nuevo salario base, en centavos.
+     */
+    void asignarSalarioBase(long salarioBase) {
+        this.salarioBaseCentavos = salarioBase;
+    }
+
+    /**
+     * Método para restaurar el salario base sin notificar al gestor.
+     * Se usa al recuperar los datos persistidos, donde el cambio ya está registrado.
+     * 
+     * @param salarioBase El salario base recuperado, en centavos.
+     */
+    void restaurarSalarioBase(long salarioBase) {
+        this.salarioBaseCentavos = salarioBase;
+        notificarCambio();
+    }
+
+    /**
+     * Avisa al gestor que el empleado cambió, para que sus resultados guardados se recalculen.
+     */
+    private void notificarCambio() {
+        GestorEmpleado g = gestor;
+        if (g != null) {
+            g.empleadoModificado(this);
+        }
     }
 
     /**
@@ -164,7 +333,7 @@ public abstract class Empleado {
      */
     @Override
     public String toString() {
-        return String.format("Nombre: %s | Cédula: %s |Usuario: %s | Tipo: %s | Salario Base: $%.2f", nombre, cedula, usuario, 
-                tipo.name(), getSalarioBase());
+        return String.format("Nombre: %s | Cédula: %s |Usuario: %s | Tipo: %s | Salario Base: $%s", nombre, cedula, usuario, 
+                tipo.name(), Dinero.formatear(salarioBaseCentavos));
     }
 }
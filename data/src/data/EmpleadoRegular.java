@@ -35,14 +35,29 @@ public class EmpleadoRegular extends Empleado {
      * El salario del Empleado Regular se calcula multiplicando el salario base
      * por las horas trabajadas en el mes, y luego sumando los bonos y restando los descuentos.
      * 
-     * @param horasTrabajadas El número de horas trabajadas durante el mes.
-     * @param bonos El monto de los bonos adicionales al salario base.
-     * @param descuentos El monto de los descuentos que se deben aplicar.
-     * @return El salario mensual calculado del Empleado Regular.
+     * @param horasTrabajadas El número de horas trabajadas durante el mes, en centésimas de hora.
+     * @param bonos El monto de los bonos adicionales al salario base, en centavos.
+     * @param descuentos El monto de los descuentos que se deben aplicar, en centavos.
+     * @return El salario mensual calculado del Empleado Regular, en centavos.
      */
     @Override
-    public double calcularSalario(double horasTrabajadas, double bonos, double descuentos) {
+    public long calcularSalarioCentavos(long horasTrabajadas, long bonos, long descuentos) {
+        return salarioMensual(getSalarioBaseCentavos(), horasTrabajadas, bonos, descuentos);
+    }
+
+    /**
+     * Fórmula del salario mensual de un Empleado Regular a partir del salario base.
+     * Permite calcular el salario sin tener un objeto EmpleadoRegular (por ejemplo,
+     * al recorrer un archivo de empleados).
+     *
+     * @param salarioBase El salario base del empleado, en centavos.
+     * @param horasTrabajadas El número de horas trabajadas durante el mes, en centésimas de hora.
+     * @param bonos El monto de los bonos adicionales, en centavos.
+     * @param descuentos El monto de los descuentos aplicados, en centavos.
+     * @return El salario mensual calculado, en centavos.
+     */
+    public static long salarioMensual(long salarioBase, long horasTrabajadas, long bonos, long descuentos) {
         // El salario base por hora trabajado + bonos - descuentos
-        return (getSalarioBase() * horasTrabajadas) + bonos - descuentos;
+        return Dinero.dividir(salarioBase * horasTrabajadas, 100) + bonos - descuentos;
     }
 }
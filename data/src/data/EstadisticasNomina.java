@@ -0,0 +1,392 @@
+package data;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.EnumMap;
+import java.util.Map;
+
+import data.Empleado.tipoEmpleado;
+
+/**
+ * Clase que acumula las estadísticas de una nómina por tipo de empleado: cantidad, total,
+ * promedio, mínimo, máximo y percentiles del salario neto, y los totales de décimo tercer
+ * sueldo y fondos de reserva.
+ *
+ * Los valores se agregan uno por uno, en una sola pasada, sin guardarlos ni ordenarlos: los
+ * percentiles salen de un histograma con cubetas logarítmicas (ver {@link Resumen}). Dos
+ * acumuladores se pueden combinar con {@link #combinar(EstadisticasNomina)}, de modo que cada
+ * hilo puede llenar el suyo con una parte de los empleados y al final se unen.
+ *
+ * Un acumulador no es seguro para usarlo desde varios hilos a la vez.
+ * Se llena con {@link GestorEmpleado#calcularEstadisticasNomina()}.
+ */
+public class EstadisticasNomina {
+
+    private static final tipoEmpleado[] TIPOS = tipoEmpleado.values();
+    private static final int ANCHO_CARGO = 16;    // Ancho de la columna cargo en la tabla
+    private static final int ANCHO_COLUMNA = 15;  // Ancho de las demás columnas en la tabla
+    private static final int ANCHO_TABLA = ANCHO_CARGO + 10 * ANCHO_COLUMNA;
+
+    private final Resumen[] porTipo = new Resumen[TIPOS.length];
+
+    /**
+     * Resumen de los salarios de un grupo de empleados.
+     *
+     * El histograma tiene 64 cubetas exactas para los valores de 0 a 63 centavos y, para cada
+     * potencia de dos mayor, 64 cubetas del mismo ancho. Así cada cubeta cubre menos del 1,6 %
+     * de su valor y el percentil se informa con el punto medio de la cubeta (error menor al
+     * 0,8 %), acotado por el mínimo y el máximo exactos. Los salarios negativos (descuentos
+     * mayores al salario) se cuentan en un segundo histograma con su valor absoluto.
+     */
+    public static final class Resumen {
+
+        private static final int BITS_SUBCUBETA = 6;
+        private static final int SUBCUBETAS = 1 << BITS_SUBCUBETA;
+        private static final int CUBETAS = SUBCUBETAS + (63 - BITS_SUBCUBETA) * SUBCUBETAS;
+
+        private long cantidad;
+        private long total;
+        private long minimo = Long.MAX_VALUE;
+        private long maximo = Long.MIN_VALUE;
+        private long totalDecimoTercero;
+        private long totalFondosReserva;
+        private final long[] positivos = new long[CUBETAS];
+        private long[] negativos;  // Se crea con el primer salario negativo
+
+        Resumen() {
+        }
+
+        /**
+         * Agrega el rol de pagos de un empleado (montos en centavos).
+         */
+        void agregar(long salarioNeto, long decimoTercero, long fondosReserva) {
+            cantidad++;
+            total += salarioNeto;
+            minimo = Math.min(minimo, salarioNeto);
+            maximo = Math.max(maximo, salarioNeto);
+            totalDecimoTercero += decimoTercero;
+            totalFondosReserva += fondosReserva;
+            if (salarioNeto >= 0) {
+                positivos[cubeta(salarioNeto)]++;
+            } else {
+                if (negativos == null) {
+                    negativos = new long[CUBETAS];
+                }
+                // -Long.MIN_VALUE no existe; se cuenta en la última cubeta
+                negativos[cubeta(salarioNeto == Long.MIN_VALUE ? Long.MAX_VALUE : -salarioNeto)]++;
+            }
+        }
+
+        /**
+         * Suma a este resumen los valores de otro.
+         */
+        void combinar(Resumen otro) {
+            cantidad += otro.cantidad;
+            total += otro.total;
+            minimo = Math.min(minimo, otro.minimo);
+            maximo = Math.max(maximo, otro.maximo);
+            totalDecimoTercero += otro.totalDecimoTercero;
+            totalFondosReserva += otro.totalFondosReserva;
+            for (int c = 0; c < CUBETAS; c++) {
+                positivos[c] += otro.positivos[c];
+            }
+            if (otro.negativos != null) {
+                if (negativos == null) {
+                    negativos = new long[CUBETAS];
+                }
+                for (int c = 0; c < CUBETAS; c++) {
+                    negativos[c] += otro.negativos[c];
+                }
+            }
+        }
+
+        /**
+         * Escribe el resumen (los histogramas solo con sus cubetas no vacías).
+         */
+        void escribir(DataOutput salida) throws IOException {
+            salida.writeLong(cantidad);
+            salida.writeLong(total);
+            salida.writeLong(minimo);
+            salida.writeLong(maximo);
+            salida.writeLong(totalDecimoTercero);
+            salida.writeLong(totalFondosReserva);
+            escribirCubetas(salida, positivos);
+            escribirCubetas(salida, negativos == null ? new long[0] : negativos);
+        }
+
+        /**
+         * Lee un resumen escrito con {@link #escribir(DataOutput)} y lo suma a este.
+         */
+        void leer(DataInput entrada) throws IOException {
+            Resumen leido = new Resumen();
+            leido.cantidad = entrada.readLong();
+            leido.total = entrada.readLong();
+            leido.minimo = entrada.readLong();
+            leido.maximo = entrada.readLong();
+            leido.totalDecimoTercero = entrada.readLong();
+            leido.totalFondosReserva = entrada.readLong();
+            leerCubetas(entrada, leido.positivos);
+            long[] negativosLeidos = new long[CUBETAS];
+            if (leerCubetas(entrada, negativosLeidos)) {
+                leido.negativos = negativosLeidos;
+            }
+            combinar(leido);
+        }
+
+        private static void escribirCubetas(DataOutput salida, long[] cubetas) throws IOException {
+            int noVacias = 0;
+            for (long cuenta : cubetas) {
+                if (cuenta != 0) {
+                    noVacias++;
+                }
+            }
+            salida.writeInt(noVacias);
+            for (int c = 0; c < cubetas.length; c++) {
+                if (cubetas[c] != 0) {
+                    salida.writeShort(c);
+                    salida.writeLong(cubetas[c]);
+                }
+            }
+        }
+
+        private static boolean leerCubetas(DataInput entrada, long[] cubetas) throws IOException {
+            int noVacias = entrada.readInt();
+            for (int i = 0; i < noVacias; i++) {
+                int c = entrada.readUnsignedShort();
+                if (c >= CUBETAS) {
+                    throw new IOException("Cubeta fuera de rango: " + c);
+                }
+                cubetas[c] += entrada.readLong();
+            }
+            return noVacias > 0;
+        }
+
+        public long getCantidad() {
+            return cantidad;
+        }
+
+        public long getTotalCentavos() {
+            return total;
+        }
+
+        public long getPromedioCentavos() {
+            return cantidad == 0 ? 0 : Dinero.dividir(total, cantidad);
+        }
+
+        public long getMinimoCentavos() {
+            return cantidad == 0 ? 0 : minimo;
+        }
+
+        public long getMaximoCentavos() {
+            return cantidad == 0 ? 0 : maximo;
+        }
+
+        public long getTotalDecimoTerceroCentavos() {
+            return totalDecimoTercero;
+        }
+
+        public long getTotalFondosReservaCentavos() {
+            return totalFondosReserva;
+        }
+
+        /**
+         * Método para obtener un percentil aproximado del salario neto.
+         *
+         * @param percentil El percentil, de 0 a 100 (por ejemplo, 50 para la mediana).
+         * @return El salario del percentil en centavos (0 si el resumen está vacío).
+         */
+        public long getPercentilCentavos(double percentil) {
+            if (percentil < 0 || percentil > 100 || Double.isNaN(percentil)) {
+                throw new IllegalArgumentException("Percentil fuera de rango: " + percentil);
+            }
+            if (cantidad == 0) {
+                return 0;
+            }
+            // Posición (desde 1) del valor buscado entre los valores ordenados
+            long posicion = Math.max(1, (long) Math.ceil(percentil / 100 * cantidad));
+            long acumulado = 0;
+            if (negativos != null) {
+                for (int c = CUBETAS - 1; c >= 0; c--) {  // Del más negativo al más cercano a cero
+                    acumulado += negativos[c];
+                    if (acumulado >= posicion) {
+                        return acotar(-puntoMedio(c));
+                    }
+                }
+            }
+            for (int c = 0; c < CUBETAS; c++) {
+                acumulado += positivos[c];
+                if (acumulado >= posicion) {
+                    return acotar(puntoMedio(c));
+                }
+            }
+            return maximo;
+        }
+
+        private long acotar(long valor) {
+            return Math.max(minimo, Math.min(maximo, valor));
+        }
+
+        /**
+         * Cubeta de un valor no negativo.
+         */
+        static int cubeta(long valor) {
+            if (valor < SUBCUBETAS) {
+                return (int) valor;
+            }
+            int exponente = 63 - Long.numberOfLeadingZeros(valor);  // Al menos BITS_SUBCUBETA
+            int desplazamiento = exponente - BITS_SUBCUBETA;
+            return SUBCUBETAS + (desplazamiento << BITS_SUBCUBETA) + (int) ((valor >>> desplazamiento) & (SUBCUBETAS - 1));
+        }
+
+        /**
+         * Punto medio (hacia abajo) de los valores de una cubeta.
+         */
+        static long puntoMedio(int cubeta) {
+            if (cubeta < SUBCUBETAS) {
+                return cubeta;
+            }
+            int desplazamiento = (cubeta - SUBCUBETAS) >>> BITS_SUBCUBETA;
+            long inferior = (long) (SUBCUBETAS + ((cubeta - SUBCUBETAS) & (SUBCUBETAS - 1))) << desplazamiento;
+            return inferior + (((1L << desplazamiento) - 1) >>> 1);
+        }
+    }
+
+    /**
+     * Constructor de la clase EstadisticasNomina (acumulador vacío).
+     */
+    public EstadisticasNomina() {
+        for (int t = 0; t < TIPOS.length; t++) {
+            porTipo[t] = new Resumen();
+        }
+    }
+
+    /**
+     * Método para agregar el rol de pagos de un empleado.
+     *
+     * @param tipo El tipo de empleado.
+     * @param salarioNeto El salario neto mensual, en centavos.
+     * @param decimoTercero El décimo tercer sueldo, en centavos.
+     * @param fondosReserva Los fondos de reserva, en centavos.
+     */
+    public void agregar(tipoEmpleado tipo, long salarioNeto, long decimoTercero, long fondosReserva) {
+        porTipo[tipo.ordinal()].agregar(salarioNeto, decimoTercero, fondosReserva);
+    }
+
+    /**
+     * Método para sumar a este acumulador los valores de otro (por ejemplo, el de otro hilo).
+     *
+     * @param otro El acumulador a sumar; no se modifica.
+     * @return Este mismo acumulador.
+     */
+    public EstadisticasNomina combinar(EstadisticasNomina otro) {
+        for (int t = 0; t < TIPOS.length; t++) {
+            porTipo[t].combinar(otro.porTipo[t]);
+        }
+        return this;
+    }
+
+    /**
+     * Escribe el acumulador en binario (por ejemplo, para enviarlo de un fragmento al coordinador).
+     */
+    void escribir(DataOutput salida) throws IOException {
+        for (Resumen resumen : porTipo) {
+            resumen.escribir(salida);
+        }
+    }
+
+    /**
+     * Lee un acumulador escrito con {@link #escribir(DataOutput)} y lo suma a este.
+     */
+    void leer(DataInput entrada) throws IOException {
+        for (Resumen resumen : porTipo) {
+            resumen.leer(entrada);
+        }
+    }
+
+    /**
+     * Método para obtener el resumen de un tipo de empleado.
+     *
+     * @param tipo El tipo de empleado.
+     * @return El resumen del tipo.
+     */
+    public Resumen getResumen(tipoEmpleado tipo) {
+        return porTipo[tipo.ordinal()];
+    }
+
+    /**
+     * Método para obtener el resumen de todos los empleados (todos los tipos juntos).
+     *
+     * @return Un resumen nuevo con la suma de los resúmenes de cada tipo.
+     */
+    public Resumen getGeneral() {
+        Resumen general = new Resumen();
+        for (Resumen resumen : porTipo) {
+            general.combinar(resumen);
+        }
+        return general;
+    }
+
+    /**
+     * Método para obtener los resúmenes de cada tipo de empleado.
+     *
+     * @return Un mapa del tipo de empleado a su resumen, en el orden de los tipos.
+     */
+    public Map<tipoEmpleado, Resumen> getResumenes() {
+        Map<tipoEmpleado, Resumen> resumenes = new EnumMap<>(tipoEmpleado.class);
+        for (tipoEmpleado tipo : TIPOS) {
+            resumenes.put(tipo, porTipo[tipo.ordinal()]);
+        }
+        return resumenes;
+    }
+
+    /**
+     * Método para escribir las estadísticas como una tabla de texto, una fila por tipo de
+     * empleado más una fila con todos los empleados.
+     *
+     * @param salida La salida donde se escriben las estadísticas.
+     */
+    public void escribir(SalidaReporte salida) {
+        StringBuilder sb = salida.bufer();
+        String titulo = " RESUMEN DE NÓMINA ";
+        int relleno = (ANCHO_TABLA - titulo.length()) / 2;
+        sb.append('\n').append("*".repeat(relleno)).append(titulo)
+                .append("*".repeat(ANCHO_TABLA - relleno - titulo.length())).append('\n');
+        SalidaReporte.agregarAnchoFijo(sb, "CARGO", ANCHO_CARGO);
+        String[] columnas = { "EMPLEADOS", "TOTAL", "PROMEDIO", "MÍNIMO", "MÁXIMO", "P50", "P90", "P99",
+                "DÉCIMO TERCERO", "FONDOS RESERVA" };
+        for (String columna : columnas) {
+            agregarColumna(sb, columna);
+        }
+        sb.append('\n');
+        for (tipoEmpleado tipo : TIPOS) {
+            agregarFila(sb, tipo.name(), porTipo[tipo.ordinal()]);
+        }
+        agregarFila(sb, "TODOS", getGeneral());
+        sb.append("*".repeat(ANCHO_TABLA)).append('\n');
+        salida.finFila();
+    }
+
+    private static void agregarFila(StringBuilder sb, String cargo, Resumen resumen) {
+        SalidaReporte.agregarAnchoFijo(sb, cargo, ANCHO_CARGO);
+        agregarColumna(sb, Long.toString(resumen.getCantidad()));
+        long[] montos = { resumen.getTotalCentavos(), resumen.getPromedioCentavos(), resumen.getMinimoCentavos(),
+                resumen.getMaximoCentavos(), resumen.getPercentilCentavos(50), resumen.getPercentilCentavos(90),
+                resumen.getPercentilCentavos(99), resumen.getTotalDecimoTerceroCentavos(),
+                resumen.getTotalFondosReservaCentavos() };
+        for (long monto : montos) {
+            agregarColumna(sb, Dinero.formatear(monto));
+        }
+        sb.append('\n');
+    }
+
+    /**
+     * Agrega una columna alineada a la derecha.
+     */
+    private static void agregarColumna(StringBuilder sb, String texto) {
+        for (int i = texto.length(); i < ANCHO_COLUMNA; i++) {
+            sb.append(' ');
+        }
+        sb.append(texto);
+    }
+}
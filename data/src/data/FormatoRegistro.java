@@ -0,0 +1,114 @@
+package data;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+import data.Empleado.tipoEmpleado;
+
+/**
+ * Clase que define el registro binario de ancho fijo de un empleado y los métodos
+ * para escribirlo y leerlo en una posición de un {@link ByteBuffer}.
+ *
+ * Distribución del registro ({@link #TAMANO} bytes):
+ * <pre>
+ *   0  salarioBase  long (centavos)
+ *   8  tipo         byte (ordinal de tipoEmpleado)
+ *   9  reservado    7 bytes
+ *  16  nombre       2 bytes de longitud + 62 bytes UTF-8
+ *  80  cedula       2 bytes de longitud + 30 bytes UTF-8
+ * 112  usuario      2 bytes de longitud + 30 bytes UTF-8
+ * 144  clave        2 bytes de longitud + 30 bytes UTF-8
+ * </pre>
+ * Todos los accesos son absolutos, por lo que la posición del búfer no cambia.
+ */
+final class FormatoRegistro {
+
+    static final int TAMANO = 176;
+
+    static final int SALARIO_BASE = 0;
+    static final int TIPO = 8;
+    static final int NOMBRE = 16;
+    static final int CEDULA = 80;
+    static final int USUARIO = 112;
+    static final int CLAVE = 144;
+
+    static final int ANCHO_NOMBRE = 64;
+    static final int ANCHO_CORTO = 32;
+
+    private static final tipoEmpleado[] TIPOS = tipoEmpleado.values();
+
+    private FormatoRegistro() {
+    }
+
+    /**
+     * Escribe el registro de un empleado en la posición indicada.
+     *
+     * @throws IllegalArgumentException Si algún texto no cabe en su campo.
+     */
+    static void escribir(ByteBuffer destino, int posicion, Empleado emp) {
+        destino.putLong(posicion + SALARIO_BASE, emp.getSalarioBaseCentavos());
+        destino.put(posicion + TIPO, (byte) emp.getTipo().ordinal());
+        for (int i = TIPO + 1; i < NOMBRE; i++) {
+            destino.put(posicion + i, (byte) 0);
+        }
+        escribirTexto(destino, posicion + NOMBRE, ANCHO_NOMBRE, emp.getNombre(), "nombre");
+        escribirTexto(destino, posicion + CEDULA, ANCHO_CORTO, emp.getCedula(), "cédula");
+        escribirTexto(destino, posicion + USUARIO, ANCHO_CORTO, emp.getUsuario(), "usuario");
+        escribirTexto(destino, posicion + CLAVE, ANCHO_CORTO, emp.getClave(), "clave");
+    }
+
+    static long salarioBase(ByteBuffer origen, int posicion) {
+        return origen.getLong(posicion + SALARIO_BASE);
+    }
+
+    static tipoEmpleado tipo(ByteBuffer origen, int posicion) {
+        return TIPOS[origen.get(posicion + TIPO)];
+    }
+
+    /**
+     * Lee el campo de texto que comienza en la posición indicada (posición del registro + campo).
+     */
+    static String texto(ByteBuffer origen, int posicionCampo) {
+        int longitud = origen.getShort(posicionCampo);
+        byte[] bytes = new byte[longitud];
+        origen.get(posicionCampo + 2, bytes, 0, longitud);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Compara el campo de texto con una cadena ya codificada en UTF-8, sin crear objetos.
+     */
+    static boolean textoIgual(ByteBuffer origen, int posicionCampo, byte[] utf8) {
+        if (origen.getShort(posicionCampo) != utf8.length) {
+            return false;
+        }
+        for (int i = 0; i < utf8.length; i++) {
+            if (origen.get(posicionCampo + 2 + i) != utf8[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Crea el objeto Empleado que corresponde al registro.
+     */
+    static Empleado materializar(ByteBuffer origen, int posicion) {
+        Empleado emp = Empleado.crear(texto(origen, posicion + NOMBRE), texto(origen, posicion + CEDULA),
+                texto(origen, posicion + USUARIO), texto(origen, posicion + CLAVE), tipo(origen, posicion));
+        emp.restaurarSalarioBase(salarioBase(origen, posicion));
+        return emp;
+    }
+
+    private static void escribirTexto(ByteBuffer destino, int posicionCampo, int ancho, String texto, String campo) {
+        byte[] bytes = texto.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > ancho - 2) {
+            throw new IllegalArgumentException("El campo " + campo + " excede " + (ancho - 2) + " bytes: " + texto);
+        }
+        destino.putShort(posicionCampo, (short) bytes.length);
+        destino.put(posicionCampo + 2, bytes, 0, bytes.length);
+        for (int i = 2 + bytes.length; i < ancho; i++) {
+            destino.put(posicionCampo + i, (byte) 0);
+        }
+    }
+}
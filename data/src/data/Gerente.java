@@ -38,14 +38,29 @@ public class Gerente extends Empleado {
      *  - Bonos adicionales (según se ingresen).
      *  - Descuentos aplicables (según se ingresen).
      * 
-     * @param horasTrabajadas El número de horas trabajadas durante el mes.
-     * @param bonos El monto de los bonos adicionales al salario base.
-     * @param descuentos El monto de los descuentos que se deben aplicar.
-     * @return El salario mensual calculado del Gerente.
+     * @param horasTrabajadas El número de horas trabajadas durante el mes, en centésimas de hora.
+     * @param bonos El monto de los bonos adicionales al salario base, en centavos.
+     * @param descuentos El monto de los descuentos que se deben aplicar, en centavos.
+     * @return El salario mensual calculado del Gerente, en centavos.
      */
     @Override
-    public double calcularSalario(double horasTrabajadas, double bonos, double descuentos) {
+    public long calcularSalarioCentavos(long horasTrabajadas, long bonos, long descuentos) {
+        return salarioMensual(getSalarioBaseCentavos(), horasTrabajadas, bonos, descuentos);
+    }
+
+    /**
+     * Fórmula del salario mensual de un Gerente a partir del salario base.
+     * Permite calcular el salario sin tener un objeto Gerente (por ejemplo,
+     * al recorrer un archivo de empleados).
+     *
+     * @param salarioBase El salario base del empleado, en centavos.
+     * @param horasTrabajadas El número de horas trabajadas durante el mes, en centésimas de hora.
+     * @param bonos El monto de los bonos adicionales, en centavos.
+     * @param descuentos El monto de los descuentos aplicados, en centavos.
+     * @return El salario mensual calculado, en centavos.
+     */
+    public static long salarioMensual(long salarioBase, long horasTrabajadas, long bonos, long descuentos) {
         // El salario base + 15% sobre el salario base + bonos - descuentos
-        return getSalarioBase() + (getSalarioBase() * 0.15) + bonos - descuentos;
+        return salarioBase + Dinero.dividir(salarioBase * 15, 100) + bonos - descuentos;
     }
 }
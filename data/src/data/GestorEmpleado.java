@@ -1,6 +1,23 @@
 package data;
 
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+
 import data.Empleado.tipoEmpleado;
+import data.SalidaReporte.Formato;
 
 /**
  * Clase que representa el gestor o administrador de los empleados.
@@ -8,77 +25,1243 @@ import data.Empleado.tipoEmpleado;
  * registrar nuevos empleados, buscar empleados por su nombre de usuario y generar
  * reportes de rol de pagos para todos los empleados registrados.
  * 
- * El gestor almacena a los empleados en un arreglo y proporciona funcionalidades 
- * para manipular esta información de manera eficiente.
+ * El gestor almacena a los empleados en un {@link RegistroEmpleados} que crece según se
+ * necesite (conservando el orden de registro para los reportes) y mantiene un índice hash
+ * por nombre de usuario, de modo que la búsqueda en el log in es de tiempo constante
+ * sin importar la cantidad de empleados registrados.
+ * 
+ * Opcionalmente, el gestor guarda los empleados en disco mediante
+ * {@link PersistenciaEmpleados}, de modo que se conservan entre ejecuciones.
+ * 
+ * El rol de pagos de cada mes se puede registrar en el {@link HistorialNomina} del gestor
+ * (con persistencia, en el archivo `historial.bin` del mismo directorio), que responde los
+ * acumulados del año, los meses trabajados y los totales de cada mes sin recorrer los meses.
+ * 
+ * El reporte de rol de pagos se guarda en una {@link CacheNomina}: los empleados avisan
+ * al gestor cuando cambian y solo esos empleados se recalculan en el siguiente reporte.
+ * Con esos mismos avisos se mantienen los índices secundarios ({@link IndicesEmpleado})
+ * por cédula, tipo de empleado y salario base. Al terminar un registro (o un lote) los
+ * empleados nuevos se agregan al índice de búsqueda por nombre y usuario ({@link IndiceNombres}),
+ * fuera del candado que asigna las posiciones.
+ * 
+ * La nómina también se puede leer por páginas con un {@link CursorNomina}
+ * ({@link #abrirCursor(ConsultaNomina, int)}), ordenada por salario, nombre o tipo y con
+ * filtros: cada página se llena desde los índices, sin calcular ni ordenar toda la nómina.
+ * 
+ * El gestor se puede usar desde varios hilos a la vez:
+ * <ul>
+ *   <li>El índice por usuario es un {@link ConcurrentHashMap}: los log in no usan candados y
+ *       los registros de usuarios distintos no compiten entre sí. Un empleado solo se puede
+ *       buscar cuando su registro terminó.</li>
+ *   <li>Los reportes, estadísticas y cálculos recorren una instantánea del registro (los
+ *       empleados publicados al empezar) sin bloquear a quienes registran.</li>
+ *   <li>Los cambios de salario base de un mismo empleado se aplican en orden (con el candado
+ *       del empleado); los avisos a la caché del reporte no esperan a que termine un reporte.</li>
+ *   <li>Con persistencia, las altas y cambios de salario comparten un candado de lectura
+ *       mientras se escriben en el log y se aplican; solo la compactación toma el candado de
+ *       escritura, para que la instantánea en disco incluya todo lo que el log tenía.</li>
+ *   <li>Un ajuste masivo de salarios ({@link #ajustarSalariosBase(tipoEmpleado, AjusteSalario)})
+ *       crea una nueva versión de los salarios. Los reportes, totales, estadísticas y cálculos
+ *       leen de manera optimista y, si un ajuste se confirmó mientras leían, vuelven a leer
+ *       esperando a que termine: ven todos los salarios anteriores al ajuste o todos los
+ *       posteriores, nunca una mezcla.</li>
+ * </ul>
  */
-public class GestorEmpleado {
+public class GestorEmpleado implements Closeable, ServicioEmpleados {
     
-    // Atributos que representan la lista de empleados y su capacidad máxima
-    private Empleado[] empleados;
-    private int capacidad;   // Capacidad máxima del arreglo de empleados
-    private int cantidad;    // Número actual de empleados registrados
+    // Capacidad inicial por defecto del registro de empleados
+    private static final int CAPACIDAD_INICIAL = 16;
+
+    // Parámetros del reporte paralelo
+    public static final int UMBRAL_PARALELO = 20_000;  // Empleados a partir de los cuales se usa el modo paralelo
+    private static final int TAMANO_BLOQUE = 4_096;     // Filas que procesa cada tarea del modo paralelo
+
+    // Formato del reporte de rol de pagos
+    private static final String ENCABEZADO_REPORTE = "\n************************************** NÓMINA BASE DE EMPLEADOS REGISTRADOS ****************************";
+    private static final String PIE_REPORTE = "********************************************************************************************************";
+    private static final int ANCHO_NOMBRE = 30;  // Ancho de la columna nombre en el formato de ancho fijo
+    private static final int ANCHO_CEDULA = 12;  // Ancho de la columna cédula en el formato de ancho fijo
+    private static final int ANCHO_CARGO = 16;   // Ancho de la columna cargo en el formato de ancho fijo
+
+    // Atributos que representan el registro de empleados y el índice por usuario
+    private RegistroEmpleados registro;        // Empleados en orden de registro
+    private Map<String, Empleado> porUsuario;  // Índice hash: usuario -> empleado
+    private PersistenciaEmpleados persistencia; // Persistencia en disco (null si el gestor es solo en memoria)
+    private final CacheNomina cache = new CacheNomina(TAMANO_BLOQUE);  // Resultados del reporte de rol de pagos
+    private IndicesEmpleado indices;            // Índices por cédula, tipo y salario base
+    private IndiceNombres nombres;              // Índice de búsqueda por nombre y usuario
+    private HistorialNomina historial;          // Rol de pagos de cada mes registrado
+    private Consumer<Empleado> indexar;         // Agrega un empleado a los índices al publicarlo (no al de nombres)
+    // Altas y cambios de salario (lectura) frente a la compactación del log (escritura)
+    private final ReadWriteLock barrera = new ReentrantReadWriteLock();
+
+    // Versiones de los salarios: los ajustes masivos toman el candado de escritura; los cambios
+    // de salario sueltos, el de lectura; las lecturas de todo el registro son optimistas
+    private final StampedLock versiones = new StampedLock();
+    private volatile long versionSalarios;  // Ajustes masivos confirmados
     
     /**
      * Constructor de la clase GestorEmpleado.
-     * Este constructor inicializa la capacidad del gestor y crea un arreglo
-     * vacío de empleados. Además, registra 3 empleados por defecto: un Administrador,
-     * un Empleado Regular y un Gerente.
+     * Este constructor crea el almacenamiento vacío de empleados y registra
+     * 3 empleados por defecto: un Administrador, un Empleado Regular y un Gerente.
      */
     public GestorEmpleado() {
-        capacidad = 10;            // Capacidad máxima de 10 empleados
-        cantidad = 0;              // Inicialmente no hay empleados
-        empleados = new Empleado[capacidad];
-        
-        // Creación de usuarios por defecto
-        agregarEmpleado(new Administrativo("Admin", "1700000000", "admin", "1234", tipoEmpleado.ADMINISTRATIVO));
-        agregarEmpleado(new EmpleadoRegular("Vendedor", "1700000000", "ventas", "1234", tipoEmpleado.EMPLEADO));
-        agregarEmpleado(new Gerente("Gerente", "1700000000", "gerente", "1234", tipoEmpleado.GERENTE));
+        this(CAPACIDAD_INICIAL);
+    }
+
+    /**
+     * Constructor de la clase GestorEmpleado con capacidad inicial.
+     * Permite reservar espacio por adelantado cuando se conoce aproximadamente la
+     * cantidad de empleados a cargar, evitando redimensionar el almacenamiento.
+     * El almacenamiento sigue creciendo si se supera esta capacidad.
+     * 
+     * @param capacidadInicial El número de empleados para el que se reserva espacio.
+     */
+    public GestorEmpleado(int capacidadInicial) {
+        inicializar(capacidadInicial);
+        historial = new HistorialNomina();
+        registrarUsuariosPorDefecto();
+    }
+
+    /**
+     * Constructor de la clase GestorEmpleado con persistencia en disco.
+     * Recupera los empleados guardados en el directorio (última instantánea más el log).
+     * Si el directorio no tiene datos, se registran los usuarios por defecto.
+     * 
+     * @param directorio El directorio donde se guardan los datos de los empleados.
+     * @throws IOException Si los datos no se pueden leer o el directorio no se puede usar.
+     */
+    public GestorEmpleado(Path directorio) throws IOException {
+        this(directorio, true);
+    }
+
+    /**
+     * Constructor de la clase GestorEmpleado con persistencia en disco, indicando si se
+     * registran los usuarios por defecto cuando el directorio no tiene datos (un fragmento
+     * de {@link GestorFragmentado} no los registra: los registra el coordinador).
+     * 
+     * @param directorio El directorio donde se guardan los datos de los empleados.
+     * @param usuariosPorDefecto Indica si se registran los usuarios por defecto.
+     * @throws IOException Si los datos no se pueden leer o el directorio no se puede usar.
+     */
+    public GestorEmpleado(Path directorio, boolean usuariosPorDefecto) throws IOException {
+        inicializar(CAPACIDAD_INICIAL);
+        persistencia = new PersistenciaEmpleados(directorio);
+        try {
+            persistencia.recuperar(this);
+            nombres.ponerAlDia();
+            historial = new HistorialNomina(directorio.resolve("historial.bin"));
+        } catch (IOException e) {
+            persistencia.close();
+            throw e;
+        }
+        if (registro.cantidad() == 0 && usuariosPorDefecto) {
+            registrarUsuariosPorDefecto();
+        }
+    }
+
+    /**
+     * Crea el almacenamiento vacío con la capacidad indicada.
+     */
+    private void inicializar(int capacidadInicial) {
+        int capacidad = Math.max(capacidadInicial, CAPACIDAD_INICIAL);
+        registro = new RegistroEmpleados(capacidad);
+        // Se dimensiona el mapa para no superar su factor de carga (0.75)
+        porUsuario = new ConcurrentHashMap<>((int) (capacidad / 0.75f) + 1);
+        indices = new IndicesEmpleado(registro);
+        nombres = new IndiceNombres(registro);
+        indexar = indices::agregar;
+    }
+
+    /**
+     * Registra los usuarios por defecto del sistema.
+     */
+    private void registrarUsuariosPorDefecto() {
+        for (Empleado emp : usuariosPorDefecto()) {
+            agregarEmpleado(emp);
+        }
+    }
+
+    /**
+     * Crea los usuarios por defecto del sistema: un Administrador, un Empleado Regular y un Gerente.
+     */
+    static Empleado[] usuariosPorDefecto() {
+        return new Empleado[] {
+            new Administrativo("Admin", "1700000000", "admin", "1234", tipoEmpleado.ADMINISTRATIVO),
+            new EmpleadoRegular("Vendedor", "1700000000", "ventas", "1234", tipoEmpleado.EMPLEADO),
+            new Gerente("Gerente", "1700000000", "gerente", "1234", tipoEmpleado.GERENTE)
+        };
     }
 
     /**
      * Método para agregar un nuevo empleado al sistema.
-     * Si hay espacio en el arreglo de empleados, el nuevo empleado se agrega al mismo.
-     * Si no hay espacio, se muestra un mensaje indicando que no se pueden agregar más empleados.
+     * El nombre de usuario debe ser único: si ya existe un empleado con el mismo
+     * usuario, el nuevo empleado no se registra y se muestra un mensaje.
+     * Si el gestor tiene persistencia, el registro se guarda en disco antes de confirmarse.
      * 
      * @param emp El objeto empleado a agregar.
+     * @return `true` si el empleado fue registrado, `false` si el usuario ya existía
+     *         o el registro no se pudo guardar.
+     * @throws IllegalArgumentException Si el empleado es una vista de un {@link RegistroFueraHeap}.
      */
-    public void agregarEmpleado(Empleado emp) {
-        if (cantidad < capacidad) {
-            empleados[cantidad++] = emp;  // Agrega el empleado al arreglo y aumenta el contador
-            System.out.println("Empleado registrado exitosamente.");
+    @Override
+    public boolean agregarEmpleado(Empleado emp) {
+        comprobarRegistrable(emp);
+        long inicio = Metricas.AGREGAR_EMPLEADO.inicio();
+        try {
+            return agregar(emp);
+        } finally {
+            Metricas.AGREGAR_EMPLEADO.registrar(inicio);
+        }
+    }
+
+    /**
+     * Registra un empleado con los mensajes y la persistencia de {@link #agregarEmpleado(Empleado)}.
+     */
+    private boolean agregar(Empleado emp) {
+        if (porUsuario.putIfAbsent(emp.getUsuario(), emp) != null) {
+            System.out.println("Ya existe un empleado con el usuario '" + emp.getUsuario() + "'.");
+            return false;
+        }
+        if (persistencia != null) {
+            barrera.readLock().lock();
+            try {
+                persistencia.registrarAlta(emp);
+                registrar(emp);  // Agrega el empleado al final (el registro crece si es necesario)
+            } catch (IOException e) {
+                porUsuario.remove(emp.getUsuario());
+                System.out.println("No se pudo guardar el empleado: " + e.getMessage());
+                return false;
+            } finally {
+                barrera.readLock().unlock();
+            }
         } else {
-            System.out.println("No se pueden registrar más empleados. Límite alcanzado.");
+            registrar(emp);
+        }
+        nombres.ponerAlDia();  // Fuera del candado del registro y de la barrera
+        System.out.println("Empleado registrado exitosamente.");
+        compactarSiEsNecesario();
+        return true;
+    }
+
+    /**
+     * Método para agregar un lote de empleados (por ejemplo, desde una importación masiva).
+     * No muestra mensajes por cada empleado y, si el gestor tiene persistencia, guarda
+     * todo el lote con una sola sincronización del log.
+     * 
+     * @param lote Los empleados a agregar.
+     * @return Un arreglo que indica, para cada empleado del lote, si fue registrado
+     *         (`false` si su usuario ya existía).
+     * @throws IOException Si el lote no se pudo guardar; en ese caso no se registra ningún empleado.
+     * @throws IllegalArgumentException Si algún empleado es una vista de un {@link RegistroFueraHeap};
+     *         en ese caso no se registra ningún empleado.
+     */
+    public boolean[] agregarEmpleados(List<? extends Empleado> lote) throws IOException {
+        for (Empleado emp : lote) {
+            comprobarRegistrable(emp);
+        }
+        boolean[] aceptados = new boolean[lote.size()];
+        List<Empleado> nuevos = new ArrayList<>(lote.size());
+        for (int i = 0; i < aceptados.length; i++) {
+            Empleado emp = lote.get(i);
+            if (porUsuario.putIfAbsent(emp.getUsuario(), emp) == null) {
+                aceptados[i] = true;
+                nuevos.add(emp);
+            }
+        }
+        if (persistencia != null) {
+            barrera.readLock().lock();
+            try {
+                persistencia.registrarAltas(nuevos);
+                for (Empleado emp : nuevos) {
+                    registrar(emp);
+                }
+            } catch (IOException e) {
+                for (Empleado emp : nuevos) {
+                    porUsuario.remove(emp.getUsuario());
+                }
+                throw e;
+            } finally {
+                barrera.readLock().unlock();
+            }
+        } else {
+            for (Empleado emp : nuevos) {
+                registrar(emp);
+            }
+        }
+        nombres.ponerAlDia();  // Todo el lote de una vez, fuera del candado del registro
+        compactarSiEsNecesario();
+        return aceptados;
+    }
+
+    /**
+     * Rechaza las vistas de un {@link RegistroFueraHeap}: sus cambios se escriben en el registro
+     * fuera del heap sin pasar por el gestor (el log, los índices y la caché no los verían).
+     */
+    private static void comprobarRegistrable(Empleado emp) {
+        if (emp instanceof VistaEmpleado) {
+            throw new IllegalArgumentException("El empleado '" + emp.getUsuario()
+                    + "' es una vista de un registro fuera del heap; se debe registrar una copia");
+        }
+    }
+
+    /**
+     * Método para cargar un empleado recuperado de la persistencia.
+     * No vuelve a escribirlo en el log ni muestra mensajes; un usuario repetido se ignora.
+     * El índice de nombres se pone al día al terminar la recuperación.
+     * 
+     * @param emp El empleado recuperado.
+     */
+    void cargarEmpleado(Empleado emp) {
+        if (porUsuario.putIfAbsent(emp.getUsuario(), emp) == null) {
+            registrar(emp);
+        }
+    }
+
+    /**
+     * Agrega el empleado al final del registro (y a los índices por cédula, tipo y salario) y lo
+     * asocia al gestor. Desde ese momento {@link #buscar(String)} lo encuentra; la búsqueda por
+     * nombre, después de {@link IndiceNombres#ponerAlDia()}.
+     */
+    private void registrar(Empleado emp) {
+        registro.agregar(emp, indexar);
+        emp.gestor = this;
+    }
+
+    /**
+     * Método para cambiar el salario base de un empleado registrado (lo llama el empleado,
+     * con su propio candado tomado). Si el gestor tiene persistencia, el cambio se guarda
+     * en el log antes de aplicarse.
+     * 
+     * @param emp El empleado cuyo salario base cambia.
+     * @param salarioBase El nuevo salario base, en centavos.
+     * @throws UncheckedIOException Si el cambio no se puede guardar (el salario no se modifica).
+     */
+    void cambiarSalarioBase(Empleado emp, long salarioBase) {
+        long sello = versiones.readLock();  // No se mezcla con un ajuste masivo
+        try {
+            if (persistencia == null) {
+                emp.asignarSalarioBase(salarioBase);
+                return;
+            }
+            barrera.readLock().lock();
+            try {
+                persistencia.registrarSalarioBase(emp, salarioBase);
+                emp.asignarSalarioBase(salarioBase);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            } finally {
+                barrera.readLock().unlock();
+            }
+        } finally {
+            versiones.unlockRead(sello);
+        }
+        compactarSiEsNecesario();
+    }
+
+    /**
+     * Método para ajustar el salario base de todos los empleados de un tipo (o de todos), por
+     * ejemplo "subir un 4 % a los gerentes" o "fijar en 500 el salario de los administrativos".
+     * 
+     * El ajuste se aplica en paralelo sobre todo el registro y se confirma como una nueva
+     * versión de los salarios: mientras se aplica no se aceptan altas ni otros cambios de
+     * salario, y los reportes que se estaban leyendo se repiten con la versión nueva. El índice
+     * por salario se reconstruye una sola vez al final. Si el gestor tiene persistencia, el
+     * ajuste se guarda en el log como un solo registro antes de aplicarse.
+     * 
+     * Los empleados que se registren después del ajuste reciben el salario base por defecto
+     * de su tipo.
+     * 
+     * @param tipo El tipo de empleado a ajustar, o `null` para ajustar a todos.
+     * @param ajuste El ajuste a aplicar.
+     * @return La cantidad de empleados cuyo salario base cambió.
+     * @throws IOException Si el ajuste no se puede guardar (en ese caso no se aplica).
+     */
+    public int ajustarSalariosBase(tipoEmpleado tipo, AjusteSalario ajuste) throws IOException {
+        long inicio = Metricas.AJUSTE_SALARIOS.inicio();
+        int cambiados;
+        long sello = versiones.writeLock();
+        barrera.writeLock().lock();  // Sin altas ni compactación mientras se aplica
+        try {
+            long version = versionSalarios + 1;
+            if (persistencia != null) {
+                persistencia.registrarAjuste(version, tipo, ajuste);
+            }
+            cambiados = aplicarAjuste(tipo, ajuste);
+            versionSalarios = version;
+        } finally {
+            barrera.writeLock().unlock();
+            versiones.unlockWrite(sello);
+        }
+        compactarSiEsNecesario();
+        Metricas.AJUSTE_SALARIOS.registrar(inicio);
+        return cambiados;
+    }
+
+    /**
+     * Método para obtener la versión de los salarios: la cantidad de ajustes masivos
+     * confirmados (incluidos los recuperados de la persistencia).
+     * 
+     * @return La versión de los salarios.
+     */
+    public long getVersionSalarios() {
+        return versionSalarios;
+    }
+
+    /**
+     * Método para aplicar un ajuste masivo recuperado de la persistencia (no se vuelve a
+     * escribir en el log).
+     * 
+     * @param version La versión de los salarios que crea el ajuste.
+     * @param tipo El tipo de empleado ajustado, o `null` si se ajustaron todos.
+     * @param ajuste El ajuste.
+     */
+    void restaurarAjuste(long version, tipoEmpleado tipo, AjusteSalario ajuste) {
+        aplicarAjuste(tipo, ajuste);
+        versionSalarios = version;
+    }
+
+    /**
+     * Método para restaurar la versión de los salarios guardada en una instantánea.
+     * 
+     * @param version La versión de los salarios.
+     */
+    void restaurarVersionSalarios(long version) {
+        versionSalarios = version;
+    }
+
+    /**
+     * Aplica el ajuste a los empleados publicados (en paralelo si son muchos), marca los
+     * cambiados en la caché del reporte y actualiza el índice por salario de una sola vez.
+     */
+    private int aplicarAjuste(tipoEmpleado tipo, AjusteSalario ajuste) {
+        List<Empleado> lista = registro.instantanea();
+        int total = lista.size();
+        IntStream bloques = IntStream.range(0, (total + TAMANO_BLOQUE - 1) / TAMANO_BLOQUE);
+        if (total >= UMBRAL_PARALELO) {
+            bloques = bloques.parallel();
+        }
+        int cambiados = bloques.map(b -> {
+            int hasta = Math.min(total, (b + 1) * TAMANO_BLOQUE);
+            int cambiadosBloque = 0;
+            for (int i = b * TAMANO_BLOQUE; i < hasta; i++) {
+                Empleado emp = lista.get(i);
+                if (tipo == null || emp.getTipo() == tipo) {
+                    long anterior = emp.getSalarioBaseCentavos();
+                    long nuevo = ajuste.aplicar(anterior);
+                    if (nuevo != anterior) {
+                        emp.asignarSalarioBase(nuevo);
+                        cache.marcar(i);
+                        cambiadosBloque++;
+                    }
+                }
+            }
+            return cambiadosBloque;
+        }).sum();
+        if (cambiados > 0) {
+            indices.actualizarSalarios(tipo);
+        }
+        return cambiados;
+    }
+
+    /**
+     * Hace una lectura de todo el registro con una versión fija de los salarios: primero sin
+     * candado y, si mientras tanto se confirmó un ajuste masivo, de nuevo con el candado de
+     * lectura (esperando a que el ajuste termine).
+     */
+    private <T> T leerVersion(Supplier<T> lectura) {
+        long sello = versiones.tryOptimisticRead();
+        if (sello != 0) {
+            T resultado = lectura.get();
+            if (versiones.validate(sello)) {
+                return resultado;
+            }
+        }
+        sello = versiones.readLock();
+        try {
+            return lectura.get();
+        } finally {
+            versiones.unlockRead(sello);
+        }
+    }
+
+    /**
+     * Método que recibe el aviso de que un empleado cambió (salario base, salario o cédula).
+     * Se actualizan los índices y el empleado se recalcula en el siguiente reporte.
+     * 
+     * @param emp El empleado modificado.
+     */
+    void empleadoModificado(Empleado emp) {
+        indices.actualizar(emp);
+        cache.marcar(emp.indice);
+    }
+
+    /**
+     * Escribe una instantánea del registro cuando el log creció lo suficiente.
+     * Mientras se escribe no se aceptan altas ni cambios de salario, de modo que todo lo
+     * que el log tenía queda en la instantánea.
+     * Un error al compactar no afecta a los datos: el log sigue siendo válido.
+     */
+    private void compactarSiEsNecesario() {
+        if (persistencia == null || !persistencia.requiereCompactacion()) {
+            return;
+        }
+        barrera.writeLock().lock();
+        try {
+            if (persistencia.requiereCompactacion()) {  // Otro hilo pudo compactar antes
+                List<Empleado> empleados = registro.instantanea();
+                persistencia.compactar(empleados, empleados.size(), versionSalarios);
+            }
+        } catch (IOException e) {
+            System.out.println("No se pudo escribir la instantánea: " + e.getMessage());
+        } finally {
+            barrera.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Método para cerrar la persistencia del gestor (si la tiene). Si el log tiene registros,
+     * antes se escribe una instantánea, para que el siguiente inicio no los vuelva a aplicar.
+     * Un error al escribirla no afecta a los datos: el log sigue siendo válido.
+     * 
+     * @throws IOException Si los registros pendientes no se pueden escribir.
+     */
+    @Override
+    public void close() throws IOException {
+        historial.close();
+        if (persistencia != null) {
+            barrera.writeLock().lock();
+            try {
+                if (persistencia.tieneRegistros()) {
+                    List<Empleado> empleados = registro.instantanea();
+                    persistencia.compactar(empleados, empleados.size(), versionSalarios);
+                }
+            } catch (IOException e) {
+                System.out.println("No se pudo escribir la instantánea: " + e.getMessage());
+            } finally {
+                barrera.writeLock().unlock();
+            }
+            persistencia.close();
         }
     }
 
     /**
      * Método para buscar un empleado por su nombre de usuario.
+     * La búsqueda se realiza sobre el índice hash, por lo que su costo no depende
+     * de la cantidad de empleados registrados.
      * 
      * @param usuario El nombre de usuario del empleado a buscar.
-     * @return El objeto `Empleado` correspondiente si se encuentra, o `null` si no existe.
+     * @return El objeto `Empleado` correspondiente si se encuentra, o `null` si no existe
+     *         (o si su registro aún no termina).
      */
+    @Override
     public Empleado buscar(String usuario) {
-        for (int i = 0; i < cantidad; i++) {
-            if (empleados[i].getUsuario().equals(usuario)) {
-                return empleados[i];
+        long inicio = Metricas.BUSCAR.inicio();
+        Empleado emp = porUsuario.get(usuario);  // Retorna null si no se encuentra el empleado
+        if (emp != null && emp.gestor != this) {
+            emp = null;  // El usuario está reservado, pero el registro aún no termina
+        }
+        Metricas.BUSCAR.registrar(inicio);
+        return emp;
+    }
+
+    /**
+     * Método para buscar los empleados con una cédula (la cédula puede repetirse).
+     * La búsqueda usa el índice hash por cédula.
+     * 
+     * @param cedula La cédula a buscar.
+     * @return Los empleados con esa cédula, en orden de registro (lista vacía si no hay).
+     */
+    public List<Empleado> buscarPorCedula(String cedula) {
+        return indices.buscarPorCedula(cedula);
+    }
+
+    /**
+     * Método para obtener todos los empleados de un tipo, usando el mapa de bits del tipo.
+     * 
+     * @param tipo El tipo de empleado.
+     * @return Los empleados del tipo, en orden de registro.
+     */
+    public List<Empleado> buscarPorTipo(tipoEmpleado tipo) {
+        return indices.buscarPorTipo(tipo);
+    }
+
+    /**
+     * Método para contar los empleados de un tipo sin recorrerlos.
+     * 
+     * @param tipo El tipo de empleado.
+     * @return La cantidad de empleados del tipo.
+     */
+    public int contarPorTipo(tipoEmpleado tipo) {
+        return indices.contarPorTipo(tipo);
+    }
+
+    /**
+     * Método para buscar los empleados cuyo salario base está en el rango indicado
+     * (ambos extremos incluidos), usando el índice ordenado por salario base.
+     * 
+     * @param minimo El salario base mínimo.
+     * @param maximo El salario base máximo.
+     * @return Los empleados del rango, ordenados por salario base y luego por orden de registro.
+     */
+    public List<Empleado> buscarPorSalarioBase(double minimo, double maximo) {
+        return buscarPorSalarioBase(minimo, maximo, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Método para buscar los empleados cuyo salario base está en el rango indicado,
+     * retornando como máximo la cantidad indicada.
+     * 
+     * @param minimo El salario base mínimo.
+     * @param maximo El salario base máximo.
+     * @param limite La cantidad máxima de empleados a retornar.
+     * @return Los primeros empleados del rango, ordenados por salario base y luego por orden de registro.
+     */
+    public List<Empleado> buscarPorSalarioBase(double minimo, double maximo, int limite) {
+        return indices.buscarPorSalarioBase(Dinero.centavos(minimo), Dinero.centavos(maximo), limite);
+    }
+
+    /**
+     * Método para buscar empleados por nombre o usuario mientras se escribe, usando el índice
+     * {@link IndiceNombres}. Cada palabra de la consulta puede ser una palabra del nombre o del
+     * usuario, su comienzo, o tener errores de tipeo (1 en palabras de 3 a 5 letras, 2 en las
+     * más largas). No se distinguen mayúsculas ni tildes.
+     * 
+     * @param consulta Las palabras a buscar, por ejemplo "maria lop" o "gonzales".
+     * @param limite La cantidad máxima de empleados a retornar.
+     * @return Los empleados que coinciden con todas las palabras, primero los que coinciden
+     *         exactamente, luego los que requieren completar menos letras y al final los que
+     *         tienen errores de tipeo; a igual coincidencia, en orden de registro.
+     */
+    public List<Empleado> buscarPorNombre(String consulta, int limite) {
+        long inicio = Metricas.BUSCAR_NOMBRE.inicio();
+        try {
+            return nombres.buscar(consulta, limite);
+        } finally {
+            Metricas.BUSCAR_NOMBRE.registrar(inicio);
+        }
+    }
+
+    /**
+     * Método para abrir un cursor que recorre la nómina del reporte de rol de pagos por páginas,
+     * con el orden y los filtros de la consulta. Las páginas se leen a medida que se piden.
+     * 
+     * @param consulta El orden y los filtros, por ejemplo {@code ConsultaNomina.porNombre()}.
+     * @param tamanoPagina La cantidad máxima de empleados por página.
+     * @return El cursor, al comienzo de la nómina.
+     */
+    public CursorNomina abrirCursor(ConsultaNomina consulta, int tamanoPagina) {
+        return abrirCursor(consulta, tamanoPagina, null);
+    }
+
+    /**
+     * Método para abrir un cursor que continúa un recorrido anterior desde la posición que
+     * entregó su última página ({@link PaginaNomina#getSiguiente()}). La consulta debe ser la
+     * misma del recorrido anterior.
+     * 
+     * @param consulta El orden y los filtros.
+     * @param tamanoPagina La cantidad máxima de empleados por página.
+     * @param posicion La posición donde continuar (`null` para empezar desde el comienzo).
+     * @return El cursor.
+     * @throws IllegalArgumentException Si el tamaño de página no es positivo o la posición no es válida.
+     */
+    public CursorNomina abrirCursor(ConsultaNomina consulta, int tamanoPagina, String posicion) {
+        if (tamanoPagina <= 0) {
+            throw new IllegalArgumentException("El tamaño de página debe ser mayor que cero: " + tamanoPagina);
+        }
+        if (posicion != null) {
+            leerPosicion(posicion, getCantidad());  // Se valida al abrir y no al leer la primera página
+        }
+        return new CursorNomina(this, consulta, tamanoPagina, posicion);
+    }
+
+    /**
+     * Lee una página de la consulta después de la posición indicada. Se pide una fila más que
+     * el tamaño de página para saber si hay más páginas.
+     *
+     * @throws IllegalArgumentException Si la posición no es válida.
+     */
+    PaginaNomina leerPagina(ConsultaNomina consulta, String posicion, int tamanoPagina) {
+        long valor = 0;
+        int despuesDe = -1;
+        if (posicion != null) {
+            long[] leida = leerPosicion(posicion, registro.cantidad());
+            valor = leida[0];
+            despuesDe = (int) leida[1];
+        }
+        Empleado[] filas = new Empleado[tamanoPagina + 1];
+        long[] salarios = new long[tamanoPagina + 1];
+        long valorFinal = valor;
+        int posicionFinal = despuesDe;
+        int cantidad;
+        long inicio = Metricas.PAGINA_NOMINA.inicio();
+        try {
+            cantidad = leerVersion(() -> indices.pagina(consulta, valorFinal, posicionFinal, filas, salarios));
+        } finally {
+            Metricas.PAGINA_NOMINA.registrar(inicio);
+        }
+
+        String siguiente = null;
+        if (cantidad > tamanoPagina) {
+            cantidad = tamanoPagina;
+            Empleado ultima = filas[cantidad - 1];
+            long valorUltima = consulta.getOrden() == ConsultaNomina.Orden.SALARIO ? salarios[cantidad - 1]
+                    : consulta.getOrden() == ConsultaNomina.Orden.TIPO ? ultima.getTipo().ordinal() : 0;
+            siguiente = valorUltima + "." + ultima.indice;
+        }
+        return new PaginaNomina(filas, salarios, cantidad, siguiente);
+    }
+
+    /**
+     * Convierte una posición de cursor ("valor.posicion") en sus dos números. La posición viene
+     * del cliente, así que debe ser la de un empleado registrado.
+     *
+     * @param cantidad La cantidad de empleados registrados.
+     */
+    private static long[] leerPosicion(String posicion, int cantidad) {
+        int punto = posicion.indexOf('.');
+        try {
+            if (punto > 0) {
+                long valor = Long.parseLong(posicion.substring(0, punto));
+                int despuesDe = Integer.parseInt(posicion.substring(punto + 1));
+                if (despuesDe >= 0 && despuesDe < cantidad) {
+                    return new long[] {valor, despuesDe};
+                }
             }
+        } catch (NumberFormatException e) {
+            // Se informa abajo
         }
-        return null;  // Retorna null si no se encuentra el empleado
+        throw new IllegalArgumentException("Posición de cursor no válida: " + posicion);
+    }
+
+    /**
+     * Método para obtener los empleados con mayor salario mensual del reporte de rol de pagos
+     * (160 horas trabajadas, sin bonos ni descuentos). Es la primera página del cursor por
+     * salario descendente, así que no recorre toda la nómina.
+     * 
+     * @param cantidad La cantidad de empleados.
+     * @return Los empleados del mayor al menor salario; a igual salario, del último registrado
+     *         al primero.
+     */
+    public PaginaNomina mejorPagados(int cantidad) {
+        return abrirCursor(ConsultaNomina.porSalario().descendente(), cantidad).next();
+    }
+
+    /**
+     * Método para obtener los empleados con mayor salario mensual para cualquier cantidad de
+     * horas, bonos y descuentos (que no tiene índice). Se recorre la nómina una sola vez
+     * guardando solo los mejores en un montículo acotado ({@link MejoresMontos}), en lugar de
+     * calcular y ordenar todos los salarios. Con muchos empleados, cada tarea del stream
+     * paralelo llena su propio montículo y se combinan al final.
+     * 
+     * @param cantidad La cantidad de empleados.
+     * @param filtros Los filtros de tipo, salario y nombre (el orden de la consulta no se usa;
+     *        el rango de salario se aplica al salario calculado).
+     * @param horasTrabajadas Las horas trabajadas en el mes.
+     * @param bonos Los bonos del mes.
+     * @param descuentos Los descuentos del mes.
+     * @return Los empleados del mayor al menor salario; a igual salario, del último registrado
+     *         al primero (el mismo orden que {@link #mejorPagados(int)}).
+     */
+    public PaginaNomina mejorPagados(int cantidad, ConsultaNomina filtros, double horasTrabajadas, double bonos,
+            double descuentos) {
+        if (cantidad <= 0) {
+            throw new IllegalArgumentException("La cantidad debe ser mayor que cero: " + cantidad);
+        }
+        long horas = Dinero.centesimas(horasTrabajadas);
+        long bono = Dinero.centavos(bonos);
+        long descuento = Dinero.centavos(descuentos);
+        List<Empleado> lista = registro.instantanea();
+        int total = lista.size();
+        int capacidad = Math.max(1, Math.min(cantidad, total));
+        MejoresMontos mejores = leerVersion(() -> {
+            IntStream bloques = IntStream.range(0, (total + TAMANO_BLOQUE - 1) / TAMANO_BLOQUE);
+            if (total >= UMBRAL_PARALELO) {
+                bloques = bloques.parallel();
+            }
+            return bloques.collect(() -> new MejoresMontos(capacidad), (montos, b) -> {
+                int hasta = Math.min(total, (b + 1) * TAMANO_BLOQUE);
+                for (int i = b * TAMANO_BLOQUE; i < hasta; i++) {
+                    Empleado emp = lista.get(i);
+                    long salario = emp.calcularSalarioCentavos(horas, bono, descuento);
+                    if (filtros.acepta(emp, salario)) {
+                        montos.agregar(salario, i);
+                    }
+                }
+            }, MejoresMontos::combinar);
+        });
+
+        long[] salarios = new long[mejores.getCantidad()];
+        int[] posiciones = new int[salarios.length];
+        int filas = mejores.vaciar(salarios, posiciones);
+        Empleado[] empleados = new Empleado[filas];
+        for (int j = 0; j < filas; j++) {
+            empleados[j] = lista.get(posiciones[j]);
+        }
+        return new PaginaNomina(empleados, salarios, filas, null);
+    }
+
+    /**
+     * Método para obtener los empleados publicados en este momento, en orden de registro.
+     * 
+     * @return Una vista fija de los empleados (lista de solo lectura).
+     */
+    List<Empleado> instantanea() {
+        return registro.instantanea();
+    }
+
+    /**
+     * Método para obtener la cantidad de empleados registrados.
+     * 
+     * @return El número de empleados registrados en el sistema.
+     */
+    public int getCantidad() {
+        return registro.cantidad();
     }
     
     /**
      * Método para generar y mostrar un reporte de rol de pagos para todos los empleados registrados.
      * Este reporte muestra el nombre del empleado, cédula, cargo y salario mensual calculado basado
      * en las horas trabajadas (160 horas en este caso), sin bonos ni descuentos.
+     * 
+     * Los salarios y el texto de las filas se toman de la caché del gestor; solo se calculan
+     * los empleados nuevos o modificados desde el último reporte.
      */
     public void generarReporteRolPagos() {
-        System.out.println("\n************************************** NÓMINA BASE DE EMPLEADOS REGISTRADOS ****************************");
-        for (int i = 0; i < cantidad; i++) {
-            Empleado emp = empleados[i];
-            double salarioMensual = emp.calcularSalario(160, 0, 0);  // Calcula el salario mensual (160 horas trabajadas)
-            System.out.printf("Empleado: %s \t| C.I: %s |\t Cargo: %s \t | Salario Mensual: $%.2f\n", 
-                              emp.getNombre(), emp.getCedula(), emp.getTipo().name(), salarioMensual);
-        }
-        System.out.println("********************************************************************************************************");
+        try (SalidaReporte salida = SalidaReporte.consola()) {
+            generarReporteRolPagos(salida, Formato.TEXTO);
+        }
+    }
+
+    /**
+     * Método para escribir el reporte de rol de pagos en la salida y con el formato indicados.
+     * 
+     * @param salida La salida donde se escribe el reporte.
+     * @param formato El formato de las filas (texto, CSV o ancho fijo).
+     */
+    @Override
+    public void generarReporteRolPagos(SalidaReporte salida, Formato formato) {
+        long inicio = Metricas.REPORTE.inicio();
+        Metricas.EventoReporte evento = new Metricas.EventoReporte();
+        evento.begin();
+
+        // Los empleados publicados al tomar la caché; los que se registren después no se esperan
+        byte[][] bloques = leerVersion(() -> cache.bloques(registro, formato, salida.getCharset()));
+        escribirEncabezado(salida, formato);
+        for (byte[] bloque : bloques) {
+            salida.escribirCodificado(ByteBuffer.wrap(bloque));
+        }
+        escribirPie(salida, formato);
+
+        if (evento.shouldCommit()) {
+            evento.formato = formato.name();
+            evento.empleados = registro.cantidad();
+            evento.commit();
+        }
+        Metricas.REPORTE.registrar(inicio);
+    }
+
+    /**
+     * Método para obtener el total de la nómina mensual (160 horas trabajadas, sin bonos ni
+     * descuentos). Usa la misma caché del reporte.
+     * 
+     * @return La suma de los salarios mensuales de todos los empleados, en centavos.
+     */
+    public long getTotalNominaCentavos() {
+        return leerVersion(() -> cache.total(registro));
+    }
+
+    /**
+     * Método para calcular el rol de pagos de un empleado en un mes y registrarlo en el historial.
+     * Cada mes de un empleado se registra una sola vez y en orden: si el empleado ya tiene
+     * ese mes o uno posterior, el rol se calcula pero no se registra y se muestra un mensaje.
+     * 
+     * @param emp El empleado (registrado en este gestor).
+     * @param año El año del rol de pagos.
+     * @param mes El mes del rol de pagos, de 1 a 12.
+     * @param horasTrabajadas Las horas trabajadas en el mes.
+     * @param bonos Los bonos del mes.
+     * @param descuentos Los descuentos del mes.
+     * @param mesesTrabajados Los meses trabajados (para las utilidades).
+     * @param horasExtras Las horas extras trabajadas.
+     * @param destino El objeto donde se escribe el rol de pagos calculado.
+     * @return `true` si el mes se registró en el historial.
+     */
+    public boolean registrarRolMensual(Empleado emp, int año, int mes, double horasTrabajadas, double bonos,
+            double descuentos, int mesesTrabajados, double horasExtras, RolPagos destino) {
+        long horas = Dinero.centesimas(horasTrabajadas);
+        long bono = Dinero.centavos(bonos);
+        long descuento = Dinero.centavos(descuentos);
+        long extras = Dinero.centesimas(horasExtras);
+        long[] valores = new long[HistorialNomina.Campo.values().length];
+        synchronized (emp) {  // El salario base no cambia mientras se calcula el rol
+            valores[HistorialNomina.Campo.SALARIO_BASE.ordinal()] = emp.getSalarioBaseCentavos();
+            emp.calcularRolPagosCentavos(horas, bono, descuento, mesesTrabajados, extras, destino);
+        }
+        if (mes < 1 || mes > 12) {
+            System.out.println("Mes no válido: " + mes);
+            return false;
+        }
+        if (emp.gestor != this) {
+            System.out.println("El empleado '" + emp.getUsuario() + "' no está registrado en el sistema.");
+            return false;
+        }
+        valores[HistorialNomina.Campo.HORAS_TRABAJADAS.ordinal()] = horas;
+        valores[HistorialNomina.Campo.BONOS.ordinal()] = bono;
+        valores[HistorialNomina.Campo.DESCUENTOS.ordinal()] = descuento;
+        valores[HistorialNomina.Campo.MESES_TRABAJADOS.ordinal()] = mesesTrabajados;
+        valores[HistorialNomina.Campo.HORAS_EXTRAS.ordinal()] = extras;
+        valores[HistorialNomina.Campo.SALARIO_MENSUAL.ordinal()] = destino.salarioMensual;
+        valores[HistorialNomina.Campo.DECIMO_TERCER_SUELDO.ordinal()] = destino.decimoTercerSueldo;
+        valores[HistorialNomina.Campo.UTILIDADES.ordinal()] = destino.utilidades;
+        valores[HistorialNomina.Campo.PAGO_HORAS_EXTRAS.ordinal()] = destino.horasExtras;
+        valores[HistorialNomina.Campo.FONDOS_RESERVA.ordinal()] = destino.fondosReserva;
+        try {
+            if (!historial.registrar(emp, año, mes, valores)) {
+                System.out.printf("El rol de pagos de %d-%02d no se registró: '%s' ya tiene ese mes o uno posterior.%n",
+                        año, mes, emp.getUsuario());
+                return false;
+            }
+            return true;
+        } catch (IOException e) {
+            System.out.println("No se pudo guardar el rol de pagos en el historial: " + e.getMessage());
+            return false;
+        }
+    }
+
+    /**
+     * Método para obtener el historial mensual del rol de pagos.
+     * 
+     * @return El historial del gestor.
+     */
+    public HistorialNomina getHistorial() {
+        return historial;
+    }
+
+    /**
+     * Método para escribir el reporte de un mes: el rol de pagos registrado de cada empleado
+     * en ese mes y los totales de la empresa en el mes y en el año hasta ese mes.
+     * 
+     * @param salida La salida donde se escribe el reporte.
+     * @param año El año.
+     * @param mes El mes, de 1 a 12.
+     */
+    public void generarReportePeriodo(SalidaReporte salida, int año, int mes) {
+        String titulo = String.format(" ROL DE PAGOS %d-%02d ", año, mes);
+        StringBuilder sb = salida.bufer();
+        sb.append('\n').append("*".repeat(40)).append(titulo).append("*".repeat(40)).append('\n');
+        salida.finFila();
+        for (Empleado emp : registro.instantanea()) {
+            HistorialNomina.RegistroMensual rol = historial.getRegistro(emp, año, mes);
+            if (rol == null) {
+                continue;
+            }
+            sb = salida.bufer();
+            sb.append("Empleado: ").append(emp.getNombre())
+              .append(" \t| Cargo: ").append(emp.getTipo().name())
+              .append(" \t| Horas: ");
+            Dinero.agregar(sb, rol.get(HistorialNomina.Campo.HORAS_TRABAJADAS));
+            Dinero.agregar(sb.append(" \t| Salario Mensual: $"), rol.get(HistorialNomina.Campo.SALARIO_MENSUAL));
+            Dinero.agregar(sb.append(" \t| Horas Extras: $"), rol.get(HistorialNomina.Campo.PAGO_HORAS_EXTRAS));
+            Dinero.agregar(sb.append(" \t| Acumulado del año: $"),
+                    historial.getAcumulado(emp, año, mes, HistorialNomina.Campo.SALARIO_MENSUAL)).append('\n');
+            salida.finFila();
+        }
+        sb = salida.bufer();
+        sb.append("Empleados con rol de pagos en el mes: ").append(historial.getEmpleadosPeriodo(año, mes)).append('\n');
+        Dinero.agregar(sb.append("Total de salarios del mes: $"),
+                historial.getTotalPeriodo(año, mes, HistorialNomina.Campo.SALARIO_MENSUAL)).append('\n');
+        Dinero.agregar(sb.append("Total de salarios del año hasta el mes: $"),
+                historial.getAcumuladoEmpresa(año, mes, HistorialNomina.Campo.SALARIO_MENSUAL)).append('\n');
+        sb.append("*".repeat(80 + titulo.length())).append('\n');
+        salida.finFila();
+    }
+
+    /**
+     * Método para generar el reporte de rol de pagos en la consola usando todos los núcleos.
+     */
+    public void generarReporteRolPagosParalelo() {
+        try (SalidaReporte salida = SalidaReporte.consola()) {
+            generarReporteRolPagosParalelo(salida, Formato.TEXTO);
+        }
+    }
+
+    /**
+     * Método para generar el reporte de rol de pagos repartiendo el trabajo entre todos los
+     * núcleos disponibles (ForkJoinPool común, a través de un stream paralelo).
+     * 
+     * Los empleados se dividen en bloques de {@link #TAMANO_BLOQUE} filas. Cada bloque calcula
+     * los salarios y da formato a sus filas de manera independiente; luego los bloques se
+     * escriben en su orden original, por lo que la salida es idéntica a la del reporte con caché.
+     * Este método siempre recalcula a todos los empleados (no usa la caché).
+     * 
+     * @param salida La salida donde se escribe el reporte.
+     * @param formato El formato de las filas (texto, CSV o ancho fijo).
+     */
+    public void generarReporteRolPagosParalelo(SalidaReporte salida, Formato formato) {
+        List<Empleado> lista = registro.instantanea();
+        int total = lista.size();
+        int bloques = (total + TAMANO_BLOQUE - 1) / TAMANO_BLOQUE;
+
+        // toArray conserva el orden de los bloques aunque se procesen en paralelo
+        StringBuilder[] textos = leerVersion(() -> IntStream.range(0, bloques)
+                .parallel()
+                .mapToObj(b -> formatearBloque(lista, b * TAMANO_BLOQUE, Math.min(total, (b + 1) * TAMANO_BLOQUE), formato))
+                .toArray(StringBuilder[]::new));
+
+        escribirEncabezado(salida, formato);
+        for (StringBuilder texto : textos) {
+            salida.escribir(texto);
+        }
+        escribirPie(salida, formato);
+    }
+
+    /**
+     * Método para exportar el reporte de rol de pagos a un archivo.
+     * 
+     * @param ruta La ruta del archivo a generar.
+     * @param formato El formato del archivo (CSV o ancho fijo; también se admite texto).
+     * @throws IOException Si el archivo no se puede escribir.
+     */
+    public void exportarRolPagos(Path ruta, Formato formato) throws IOException {
+        try (SalidaReporte salida = SalidaReporte.archivo(ruta)) {
+            generarReporteRolPagos(salida, formato);
+        }
+    }
+
+    /**
+     * Método para calcular el rol de pagos completo de todos los empleados en una sola pasada.
+     * Los resultados se escriben en los arreglos primitivos de `destino` (posición `i` para
+     * el empleado `i` en orden de registro), sin crear objetos por empleado. Con muchos
+     * empleados el cálculo se reparte entre todos los núcleos.
+     * 
+     * @param horasTrabajadas Las horas trabajadas en el mes.
+     * @param bonos Los bonos del mes.
+     * @param descuentos Los descuentos del mes.
+     * @param mesesTrabajados Los meses trabajados (para las utilidades).
+     * @param horasExtras Las horas extras trabajadas.
+     * @param destino El objeto reutilizable donde se escriben los resultados.
+     */
+    public void calcularRolesPagos(double horasTrabajadas, double bonos, double descuentos, int mesesTrabajados,
+            double horasExtras, RolesPagos destino) {
+        // Las entradas se convierten a punto fijo una sola vez para todos los empleados
+        long horas = Dinero.centesimas(horasTrabajadas);
+        long bono = Dinero.centavos(bonos);
+        long descuento = Dinero.centavos(descuentos);
+        long extras = Dinero.centesimas(horasExtras);
+        List<Empleado> lista = registro.instantanea();
+        int total = lista.size();
+        destino.preparar(total);
+        leerVersion(() -> {
+            if (total >= UMBRAL_PARALELO) {
+                IntStream.range(0, (total + TAMANO_BLOQUE - 1) / TAMANO_BLOQUE).parallel().forEach(b -> {
+                    int hasta = Math.min(total, (b + 1) * TAMANO_BLOQUE);
+                    for (int i = b * TAMANO_BLOQUE; i < hasta; i++) {
+                        calcularRol(lista.get(i), horas, bono, descuento, mesesTrabajados, extras, destino, i);
+                    }
+                });
+            } else {
+                for (int i = 0; i < total; i++) {
+                    calcularRol(lista.get(i), horas, bono, descuento, mesesTrabajados, extras, destino, i);
+                }
+            }
+            return destino;
+        });
+    }
+
+    /**
+     * Método para calcular las estadísticas de la nómina del reporte de rol de pagos
+     * (160 horas trabajadas, sin bonos ni descuentos) por tipo de empleado.
+     *
+     * @return Las estadísticas de la nómina.
+     */
+    public EstadisticasNomina calcularEstadisticasNomina() {
+        return calcularEstadisticasNomina(160, 0, 0);
+    }
+
+    /**
+     * Método para calcular las estadísticas de la nómina por tipo de empleado: total, promedio,
+     * mínimo, máximo y percentiles del salario neto, y totales de décimo tercer sueldo y fondos
+     * de reserva.
+     *
+     * Se hace una sola pasada sin guardar los salarios. Con muchos empleados, cada tarea del
+     * stream paralelo llena su propio acumulador con bloques de {@link #TAMANO_BLOQUE} filas y
+     * los acumuladores se combinan al final.
+     *
+     * @param horasTrabajadas Las horas trabajadas en el mes.
+     * @param bonos Los bonos del mes.
+     * @param descuentos Los descuentos del mes.
+     * @return Las estadísticas de la nómina.
+     */
+    public EstadisticasNomina calcularEstadisticasNomina(double horasTrabajadas, double bonos, double descuentos) {
+        long horas = Dinero.centesimas(horasTrabajadas);
+        long bono = Dinero.centavos(bonos);
+        long descuento = Dinero.centavos(descuentos);
+        List<Empleado> lista = registro.instantanea();
+        int total = lista.size();
+        return leerVersion(() -> {
+            IntStream bloques = IntStream.range(0, (total + TAMANO_BLOQUE - 1) / TAMANO_BLOQUE);
+            if (total >= UMBRAL_PARALELO) {
+                bloques = bloques.parallel();
+            }
+            return bloques.collect(EstadisticasNomina::new, (estadisticas, b) -> {
+                int hasta = Math.min(total, (b + 1) * TAMANO_BLOQUE);
+                for (int i = b * TAMANO_BLOQUE; i < hasta; i++) {
+                    Empleado emp = lista.get(i);
+                    long base = emp.getSalarioBaseCentavos();
+                    Salario salario = emp.getSalario();
+                    estadisticas.agregar(emp.getTipo(), emp.calcularSalarioCentavos(horas, bono, descuento),
+                            salario.decimoTercerSueldoCentavos(base), salario.fondosReservaCentavos(base));
+                }
+            }, EstadisticasNomina::combinar);
+        });
+    }
+
+    /**
+     * Calcula el rol de pagos de un empleado y lo escribe en la posición `i` de los arreglos.
+     */
+    private static void calcularRol(Empleado emp, long horasTrabajadas, long bonos, long descuentos,
+            int mesesTrabajados, long horasExtras, RolesPagos destino, int i) {
+        long base = emp.getSalarioBaseCentavos();
+        Salario salario = emp.getSalario();
+        destino.salarioMensual[i] = emp.calcularSalarioCentavos(horasTrabajadas, bonos, descuentos);
+        destino.decimoTercerSueldo[i] = salario.decimoTercerSueldoCentavos(base);
+        destino.utilidades[i] = salario.utilidadesCentavos(base, mesesTrabajados);
+        destino.horasExtras[i] = salario.horasExtrasCentavos(base, horasExtras);
+        destino.fondosReserva[i] = salario.fondosReservaCentavos(base);
+    }
+
+    /**
+     * Método para crear una copia en columnas de la nómina (salario base y tipo de cada
+     * empleado), sobre la cual los cálculos de salario se hacen por grupos de tipo.
+     * La copia no se actualiza con los cambios posteriores del gestor.
+     * 
+     * @return La nómina en columnas.
+     */
+    public NominaColumnar crearNominaColumnar() {
+        List<Empleado> lista = registro.instantanea();
+        return leerVersion(() -> new NominaColumnar(lista));
+    }
+
+    /**
+     * Método para guardar todos los empleados en un archivo binario de registros de ancho
+     * fijo, que luego se puede recorrer con {@link ArchivoEmpleados} sin cargarlo en memoria.
+     * 
+     * @param ruta La ruta del archivo a generar.
+     * @throws IOException Si el archivo no se puede escribir.
+     */
+    public void exportarArchivoBinario(Path ruta) throws IOException {
+        long sello = versiones.readLock();  // El archivo no se vuelve a escribir: se espera a un ajuste en curso
+        try {
+            ArchivoEmpleados.escribir(ruta, registro.instantanea());
+        } finally {
+            versiones.unlockRead(sello);
+        }
+    }
+
+    /**
+     * Método para crear una imagen del registro ({@link ImagenRegistro}): los empleados
+     * registrados y sus índices, listos para abrirse sin volver a registrarlos.
+     * 
+     * @param ruta La ruta de la imagen (se reemplaza si existe).
+     * @throws IOException Si la imagen no se puede escribir.
+     * @throws IllegalArgumentException Si algún texto no cabe en su campo.
+     */
+    public void exportarImagen(Path ruta) throws IOException {
+        long sello = versiones.readLock();
+        try {
+            ImagenRegistro.escribir(ruta, registro.instantanea());
+        } finally {
+            versiones.unlockRead(sello);
+        }
+    }
+
+    /**
+     * Calcula el salario mensual y da formato a las filas del reporte en el rango [desde, hasta).
+     * 
+     * @param lista La lista de empleados.
+     * @param desde Índice inicial (inclusive).
+     * @param hasta Índice final (exclusive).
+     * @param formato El formato de las filas.
+     * @return El texto de las filas del bloque, en el mismo orden de la lista.
+     */
+    private static StringBuilder formatearBloque(List<Empleado> lista, int desde, int hasta, Formato formato) {
+        StringBuilder sb = new StringBuilder((hasta - desde) * 96);
+        for (int i = desde; i < hasta; i++) {
+            Empleado emp = lista.get(i);
+            agregarFila(sb, formato, emp, emp.calcularSalarioCentavos(Salario.JORNADA_MENSUAL_CENTESIMAS, 0, 0));
+        }
+        return sb;
+    }
+
+    /**
+     * Escribe el encabezado del reporte según el formato.
+     */
+    static void escribirEncabezado(SalidaReporte salida, Formato formato) {
+        switch (formato) {
+            case CSV:
+                salida.escribirLinea("nombre,cedula,cargo,salario_mensual");
+                break;
+            case ANCHO_FIJO:
+                StringBuilder sb = salida.bufer();
+                SalidaReporte.agregarAnchoFijo(sb, "NOMBRE", ANCHO_NOMBRE);
+                SalidaReporte.agregarAnchoFijo(sb, "CEDULA", ANCHO_CEDULA);
+                SalidaReporte.agregarAnchoFijo(sb, "CARGO", ANCHO_CARGO);
+                sb.append("SALARIO MENSUAL").append('\n');
+                salida.finFila();
+                break;
+            default:
+                salida.escribirLinea(ENCABEZADO_REPORTE);
+        }
+    }
+
+    /**
+     * Escribe el pie del reporte según el formato (solo el formato de texto tiene pie).
+     */
+    static void escribirPie(SalidaReporte salida, Formato formato) {
+        if (formato == Formato.TEXTO) {
+            salida.escribirLinea(PIE_REPORTE);
+        }
+    }
+
+    /**
+     * Agrega al búfer la fila del reporte de un empleado, según el formato.
+     * 
+     * @param sb El búfer donde se agrega la fila.
+     * @param formato El formato de la fila.
+     * @param emp El empleado.
+     * @param salarioMensual El salario mensual calculado del empleado, en centavos.
+     */
+    static void agregarFila(StringBuilder sb, Formato formato, Empleado emp, long salarioMensual) {
+        agregarFila(sb, formato, emp.getNombre(), emp.getCedula(), emp.getTipo(), salarioMensual);
+    }
+
+    /**
+     * Agrega al búfer la fila del reporte a partir de los campos del empleado (por ejemplo,
+     * leídos de un archivo sin crear el objeto Empleado).
+     */
+    static void agregarFila(StringBuilder sb, Formato formato, String nombre, String cedula, tipoEmpleado tipo,
+            long salarioMensual) {
+        switch (formato) {
+            case CSV:
+                SalidaReporte.agregarCampoCsv(sb, nombre).append(',');
+                SalidaReporte.agregarCampoCsv(sb, cedula).append(',');
+                sb.append(tipo.name()).append(',');
+                Dinero.agregar(sb, salarioMensual).append('\n');
+                break;
+            case ANCHO_FIJO:
+                SalidaReporte.agregarAnchoFijo(sb, nombre, ANCHO_NOMBRE);
+                SalidaReporte.agregarAnchoFijo(sb, cedula, ANCHO_CEDULA);
+                SalidaReporte.agregarAnchoFijo(sb, tipo.name(), ANCHO_CARGO);
+                Dinero.agregar(sb, salarioMensual).append('\n');
+                break;
+            default:
+                // Equivalente a "Empleado: %s \t| C.I: %s |\t Cargo: %s \t | Salario Mensual: $%.2f\n"
+                sb.append("Empleado: ").append(nombre)
+                  .append(" \t| C.I: ").append(cedula)
+                  .append(" |\t Cargo: ").append(tipo.name())
+                  .append(" \t | Salario Mensual: $");
+                Dinero.agregar(sb, salarioMensual).append('\n');
+        }
     }
 }
@@ -0,0 +1,504 @@
+package data;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import data.SalidaReporte.Formato;
+
+/**
+ * Clase que coordina un registro de empleados repartido en varios fragmentos, cada uno en su
+ * propio proceso ({@link ServidorFragmento}) con su propio almacenamiento.
+ *
+ * Cada usuario pertenece a un solo fragmento, elegido con un hash del nombre de usuario
+ * ({@link ProtocoloFragmento#fragmento(String, int)}):
+ * <ul>
+ *   <li>{@link #buscar(String)}, {@link #agregarEmpleado(Empleado)} y
+ *       {@link #cambiarSalarioBase(String, double)} van solo al fragmento dueño del usuario.
+ *       Un lote ({@link #agregarEmpleados(List)}) se separa por fragmento y las partes se
+ *       envían a la vez.</li>
+ *   <li>El reporte, el total de la nómina, las estadísticas y la cantidad se piden a todos los
+ *       fragmentos a la vez y se combinan (dispersión y recolección). En el reporte, cada
+ *       fragmento envía sus filas ordenadas por usuario y el coordinador las intercala en
+ *       orden, sin juntar todas las filas en memoria.</li>
+ * </ul>
+ *
+ * El coordinador no guarda empleados. {@link #buscar(String)} retorna una copia del empleado
+ * del fragmento: para cambiar su salario base se usa {@link #cambiarSalarioBase(String, double)}.
+ *
+ * Se mantiene un grupo de conexiones por fragmento, así que varios hilos pueden usar el
+ * coordinador a la vez. La lista de fragmentos debe estar en orden (el fragmento 0 primero);
+ * al conectarse, cada fragmento confirma su número y la cantidad de fragmentos.
+ */
+public class GestorFragmentado implements Closeable, ServicioEmpleados {
+
+    private final Fragmento[] fragmentos;
+    private final ExecutorService dispersion;  // Solicitudes a todos los fragmentos a la vez
+
+    /**
+     * Constructor de la clase GestorFragmentado. Se conecta a cada fragmento y, si ninguno
+     * tiene empleados, registra los usuarios por defecto.
+     *
+     * @param direcciones Las direcciones de los fragmentos, en orden.
+     * @throws IOException Si algún fragmento no responde o no tiene el número esperado.
+     */
+    public GestorFragmentado(List<InetSocketAddress> direcciones) throws IOException {
+        if (direcciones.isEmpty()) {
+            throw new IllegalArgumentException("Se requiere al menos un fragmento");
+        }
+        fragmentos = new Fragmento[direcciones.size()];
+        dispersion = Executors.newFixedThreadPool(fragmentos.length, r -> {
+            Thread hilo = new Thread(r, "coordinador-dispersion");
+            hilo.setDaemon(true);
+            return hilo;
+        });
+        try {
+            for (int f = 0; f < fragmentos.length; f++) {
+                fragmentos[f] = new Fragmento(f, direcciones.get(f));
+                fragmentos[f].devolver(fragmentos[f].tomar());  // Verifica la conexión
+            }
+            if (getCantidad() == 0) {
+                for (Empleado emp : GestorEmpleado.usuariosPorDefecto()) {
+                    agregarEmpleado(emp);
+                }
+            }
+        } catch (IOException | RuntimeException e) {
+            close();
+            throw e;
+        }
+    }
+
+    /**
+     * Método para obtener la cantidad de fragmentos.
+     *
+     * @return La cantidad de fragmentos.
+     */
+    public int getCantidadFragmentos() {
+        return fragmentos.length;
+    }
+
+    /**
+     * Método para agregar un nuevo empleado en el fragmento dueño de su usuario.
+     * Si el usuario ya existe o el fragmento no responde, se muestra un mensaje.
+     *
+     * @param emp El empleado a agregar.
+     * @return `true` si el empleado fue registrado.
+     */
+    @Override
+    public boolean agregarEmpleado(Empleado emp) {
+        try {
+            byte estado = dueño(emp.getUsuario()).solicitar(c -> {
+                c.salida.writeByte(ProtocoloFragmento.AGREGAR);
+                ProtocoloFragmento.escribirEmpleado(c.salida, emp);
+                c.salida.flush();
+                return c.entrada.readByte();
+            });
+            if (estado == ProtocoloFragmento.REGISTRADO) {
+                System.out.println("Empleado registrado exitosamente.");
+                return true;
+            }
+            System.out.println("No se pudo registrar al usuario '" + emp.getUsuario() + "'.");
+        } catch (IOException e) {
+            System.out.println("No se pudo registrar al usuario '" + emp.getUsuario() + "': " + e.getMessage());
+        }
+        return false;
+    }
+
+    /**
+     * Método para agregar varios empleados. El lote se separa por fragmento y cada parte se
+     * registra en su fragmento a la vez que las demás.
+     *
+     * @param lote Los empleados a agregar.
+     * @return Para cada empleado del lote, `true` si fue registrado.
+     * @throws IOException Si algún fragmento no responde (las partes de los demás
+     *         fragmentos pueden haberse registrado).
+     */
+    public boolean[] agregarEmpleados(List<? extends Empleado> lote) throws IOException {
+        List<List<Integer>> partes = new ArrayList<>();
+        for (int f = 0; f < fragmentos.length; f++) {
+            partes.add(new ArrayList<>());
+        }
+        for (int i = 0; i < lote.size(); i++) {
+            partes.get(ProtocoloFragmento.fragmento(lote.get(i).getUsuario(), fragmentos.length)).add(i);
+        }
+        boolean[] registrados = new boolean[lote.size()];
+        dispersar(f -> {
+            List<Integer> parte = partes.get(f);
+            if (parte.isEmpty()) {
+                return null;
+            }
+            byte[] estados = fragmentos[f].solicitar(c -> {
+                c.salida.writeByte(ProtocoloFragmento.AGREGAR_LOTE);
+                c.salida.writeInt(parte.size());
+                for (int i : parte) {
+                    ProtocoloFragmento.escribirEmpleado(c.salida, lote.get(i));
+                }
+                c.salida.flush();
+                byte[] leidos = new byte[parte.size()];
+                c.entrada.readFully(leidos);
+                return leidos;
+            });
+            for (int k = 0; k < estados.length; k++) {
+                registrados[parte.get(k)] = estados[k] == ProtocoloFragmento.REGISTRADO;
+            }
+            return null;
+        });
+        return registrados;
+    }
+
+    /**
+     * Método para buscar un empleado en el fragmento dueño de su usuario.
+     *
+     * @param usuario El nombre de usuario.
+     * @return Una copia del empleado, o `null` si no existe (o si el fragmento no responde,
+     *         en cuyo caso se muestra un mensaje).
+     */
+    @Override
+    public Empleado buscar(String usuario) {
+        try {
+            return dueño(usuario).solicitar(c -> {
+                c.salida.writeByte(ProtocoloFragmento.BUSCAR);
+                c.salida.writeUTF(usuario);
+                c.salida.flush();
+                return c.entrada.readBoolean() ? ProtocoloFragmento.leerEmpleado(c.entrada) : null;
+            });
+        } catch (IOException e) {
+            System.out.println("No se pudo buscar al usuario '" + usuario + "': " + e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Método para cambiar el salario base de un empleado en su fragmento.
+     *
+     * @param usuario El nombre de usuario.
+     * @param salarioBase El nuevo salario base.
+     * @return `true` si el empleado existe y se cambió su salario.
+     * @throws IOException Si el fragmento no responde.
+     */
+    public boolean cambiarSalarioBase(String usuario, double salarioBase) throws IOException {
+        long centavos = Dinero.centavos(salarioBase);
+        return dueño(usuario).solicitar(c -> {
+            c.salida.writeByte(ProtocoloFragmento.CAMBIAR_SALARIO);
+            c.salida.writeUTF(usuario);
+            c.salida.writeLong(centavos);
+            c.salida.flush();
+            return c.entrada.readBoolean();
+        });
+    }
+
+    /**
+     * Método para obtener la cantidad de empleados de todos los fragmentos.
+     *
+     * @return La cantidad de empleados.
+     * @throws IOException Si algún fragmento no responde.
+     */
+    public int getCantidad() throws IOException {
+        int total = 0;
+        for (Integer cantidad : dispersar(f -> fragmentos[f].solicitar(c -> {
+            c.salida.writeByte(ProtocoloFragmento.CANTIDAD);
+            c.salida.flush();
+            return c.entrada.readInt();
+        }))) {
+            total += cantidad;
+        }
+        return total;
+    }
+
+    /**
+     * Método para obtener el total de la nómina mensual (160 horas trabajadas, sin bonos ni
+     * descuentos) de todos los fragmentos.
+     *
+     * @return La suma de los salarios mensuales, en centavos.
+     * @throws IOException Si algún fragmento no responde.
+     */
+    public long getTotalNominaCentavos() throws IOException {
+        long total = 0;
+        for (Long parcial : dispersar(f -> fragmentos[f].solicitar(c -> {
+            c.salida.writeByte(ProtocoloFragmento.TOTAL_NOMINA);
+            c.salida.flush();
+            return c.entrada.readLong();
+        }))) {
+            total += parcial;
+        }
+        return total;
+    }
+
+    /**
+     * Método para calcular las estadísticas de la nómina de todos los fragmentos: cada
+     * fragmento calcula las suyas y el coordinador combina los histogramas.
+     *
+     * @param horasTrabajadas Las horas trabajadas en el mes.
+     * @param bonos Los bonos del mes.
+     * @param descuentos Los descuentos del mes.
+     * @return Las estadísticas de la nómina.
+     * @throws IOException Si algún fragmento no responde.
+     */
+    public EstadisticasNomina calcularEstadisticasNomina(double horasTrabajadas, double bonos, double descuentos)
+            throws IOException {
+        EstadisticasNomina estadisticas = new EstadisticasNomina();
+        for (EstadisticasNomina parcial : dispersar(f -> fragmentos[f].solicitar(c -> {
+            c.salida.writeByte(ProtocoloFragmento.ESTADISTICAS);
+            c.salida.writeDouble(horasTrabajadas);
+            c.salida.writeDouble(bonos);
+            c.salida.writeDouble(descuentos);
+            c.salida.flush();
+            EstadisticasNomina leidas = new EstadisticasNomina();
+            leidas.leer(c.entrada);
+            return leidas;
+        }))) {
+            estadisticas.combinar(parcial);
+        }
+        return estadisticas;
+    }
+
+    /**
+     * Método para escribir el reporte de rol de pagos de todos los fragmentos, ordenado por
+     * usuario. Cada fragmento envía sus filas ya ordenadas y se intercalan a medida que llegan.
+     *
+     * @param salida La salida donde se escribe el reporte.
+     * @param formato El formato de las filas.
+     * @throws UncheckedIOException Si algún fragmento no responde.
+     */
+    @Override
+    public void generarReporteRolPagos(SalidaReporte salida, Formato formato) {
+        Conexion[] conexiones = new Conexion[fragmentos.length];
+        boolean completo = false;
+        try {
+            PriorityQueue<Cursor> cursores = new PriorityQueue<>();
+            for (int f = 0; f < fragmentos.length; f++) {
+                conexiones[f] = fragmentos[f].tomar();
+                conexiones[f].salida.writeByte(ProtocoloFragmento.REPORTE);
+                conexiones[f].salida.writeByte(formato.ordinal());
+                conexiones[f].salida.flush();  // Todos los fragmentos empiezan a la vez
+            }
+            for (Conexion conexion : conexiones) {
+                Cursor cursor = new Cursor(conexion);
+                if (cursor.avanzar()) {
+                    cursores.add(cursor);
+                }
+            }
+            GestorEmpleado.escribirEncabezado(salida, formato);
+            while (!cursores.isEmpty()) {
+                Cursor menor = cursores.poll();
+                salida.bufer().append(menor.fila);
+                salida.finFila();
+                if (menor.avanzar()) {
+                    cursores.add(menor);
+                }
+            }
+            GestorEmpleado.escribirPie(salida, formato);
+            completo = true;
+        } catch (IOException e) {
+            throw new UncheckedIOException("No se pudo generar el reporte de los fragmentos", e);
+        } finally {
+            for (int f = 0; f < conexiones.length; f++) {
+                if (conexiones[f] == null) {
+                    continue;
+                }
+                if (completo) {
+                    fragmentos[f].devolver(conexiones[f]);
+                } else {
+                    conexiones[f].cerrar();  // Quedó a mitad de una respuesta
+                }
+            }
+        }
+    }
+
+    /**
+     * Método para cerrar las conexiones con los fragmentos (los fragmentos siguen activos).
+     */
+    @Override
+    public void close() {
+        dispersion.shutdownNow();
+        for (Fragmento fragmento : fragmentos) {
+            if (fragmento != null) {
+                fragmento.cerrar();
+            }
+        }
+    }
+
+    private Fragmento dueño(String usuario) {
+        return fragmentos[ProtocoloFragmento.fragmento(usuario, fragmentos.length)];
+    }
+
+    /**
+     * Ejecuta una solicitud en todos los fragmentos a la vez y retorna las respuestas en orden.
+     */
+    private <T> List<T> dispersar(SolicitudFragmento<T> solicitud) throws IOException {
+        List<Future<T>> pendientes = new ArrayList<>(fragmentos.length);
+        for (int f = 0; f < fragmentos.length; f++) {
+            int fragmento = f;
+            pendientes.add(dispersion.submit(() -> solicitud.ejecutar(fragmento)));
+        }
+        List<T> respuestas = new ArrayList<>(fragmentos.length);
+        IOException error = null;
+        for (Future<T> pendiente : pendientes) {
+            try {
+                respuestas.add(pendiente.get());
+            } catch (ExecutionException e) {
+                if (error == null) {
+                    error = e.getCause() instanceof IOException ? (IOException) e.getCause() : new IOException(e.getCause());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IOException("Solicitud interrumpida", e);
+            }
+        }
+        if (error != null) {
+            throw error;
+        }
+        return respuestas;
+    }
+
+    /**
+     * Solicitud a un fragmento (por su número).
+     */
+    @FunctionalInterface
+    private interface SolicitudFragmento<T> {
+        T ejecutar(int fragmento) throws IOException;
+    }
+
+    /**
+     * Intercambio de una solicitud y su respuesta en una conexión.
+     */
+    @FunctionalInterface
+    private interface Intercambio<T> {
+        T ejecutar(Conexion conexion) throws IOException;
+    }
+
+    /**
+     * Un fragmento: su dirección y las conexiones libres.
+     */
+    private static final class Fragmento {
+
+        private final int numero;
+        private final InetSocketAddress direccion;
+        private final ConcurrentLinkedQueue<Conexion> libres = new ConcurrentLinkedQueue<>();
+
+        Fragmento(int numero, InetSocketAddress direccion) {
+            this.numero = numero;
+            this.direccion = direccion;
+        }
+
+        /**
+         * Ejecuta un intercambio en una conexión libre (o una nueva). Si falla, la conexión
+         * se descarta.
+         */
+        <T> T solicitar(Intercambio<T> intercambio) throws IOException {
+            Conexion conexion = tomar();
+            T respuesta;
+            try {
+                respuesta = intercambio.ejecutar(conexion);
+            } catch (IOException | RuntimeException e) {
+                conexion.cerrar();
+                throw e;
+            }
+            devolver(conexion);
+            return respuesta;
+        }
+
+        Conexion tomar() throws IOException {
+            Conexion conexion = libres.poll();
+            return conexion != null ? conexion : new Conexion(this);
+        }
+
+        void devolver(Conexion conexion) {
+            libres.add(conexion);
+        }
+
+        void cerrar() {
+            Conexion conexion;
+            while ((conexion = libres.poll()) != null) {
+                conexion.cerrar();
+            }
+        }
+    }
+
+    /**
+     * Una conexión abierta con un fragmento.
+     */
+    private static final class Conexion {
+
+        private final Socket socket;
+        final DataInputStream entrada;
+        final DataOutputStream salida;
+
+        Conexion(Fragmento fragmento) throws IOException {
+            socket = new Socket();
+            try {
+                socket.setTcpNoDelay(true);
+                socket.connect(fragmento.direccion, 5_000);
+                entrada = new DataInputStream(new BufferedInputStream(socket.getInputStream(), 64 * 1024));
+                salida = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream(), 64 * 1024));
+                salida.writeInt(ProtocoloFragmento.MAGICO);
+                salida.writeInt(ProtocoloFragmento.VERSION);
+                salida.flush();
+                int numero = entrada.readInt();
+                int cantidad = entrada.readInt();
+                if (numero != fragmento.numero) {
+                    throw new IOException("En " + fragmento.direccion + " está el fragmento " + numero + "/" + cantidad
+                            + ", se esperaba el " + fragmento.numero);
+                }
+            } catch (IOException e) {
+                socket.close();
+                throw e;
+            }
+        }
+
+        void cerrar() {
+            try {
+                socket.close();
+            } catch (IOException e) {
+                // La conexión ya no se usa
+            }
+        }
+    }
+
+    /**
+     * Posición en el flujo de filas ordenadas de un fragmento.
+     */
+    private static final class Cursor implements Comparable<Cursor> {
+
+        private final Conexion conexion;
+        String usuario;
+        String fila;
+
+        Cursor(Conexion conexion) {
+            this.conexion = conexion;
+        }
+
+        /**
+         * Lee la siguiente fila.
+         *
+         * @return `false` si el fragmento no tiene más filas.
+         */
+        boolean avanzar() throws IOException {
+            if (!conexion.entrada.readBoolean()) {
+                return false;
+            }
+            usuario = conexion.entrada.readUTF();
+            fila = conexion.entrada.readUTF();
+            return true;
+        }
+
+        @Override
+        public int compareTo(Cursor otro) {
+            return usuario.compareTo(otro.usuario);
+        }
+    }
+}
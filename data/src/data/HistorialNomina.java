@@ -0,0 +1,673 @@
+package data;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Clase que guarda el historial mensual del rol de pagos de cada empleado: las entradas del
+ * mes (horas, bonos, descuentos, meses trabajados, horas extras y salario base) y los
+ * resultados (salario mensual, décimo tercer sueldo, utilidades, horas extras y fondos de
+ * reserva), todo en punto fijo.
+ *
+ * Cada empleado tiene una serie de meses codificada en bytes:
+ * <ul>
+ *   <li>Cada mes guarda la distancia al mes anterior y solo los campos que cambiaron (una
+ *       máscara de campos y la diferencia de cada uno en zigzag y varint), así que un mes
+ *       igual al anterior ocupa dos bytes.</li>
+ *   <li>El primer mes de cada año se guarda completo, para poder leer un año sin leer los
+ *       anteriores.</li>
+ *   <li>Por cada año se guarda un índice (año, posición del primer mes, meses con datos) y,
+ *       al cerrarse el año, sus totales por campo, también en varint.</li>
+ * </ul>
+ *
+ * Con esto, los totales de un año y los meses trabajados se responden con una búsqueda
+ * binaria sobre los años del empleado, y el acumulado hasta un mes o el registro de un mes
+ * leen como máximo los 12 meses de ese año. Los totales de toda la empresa por mes se
+ * llevan aparte, así que el total de un período no recorre a los empleados.
+ *
+ * Los meses de un empleado se registran en orden: no se puede registrar un mes anterior
+ * o igual al último registrado.
+ *
+ * Si el historial tiene archivo, cada mes se agrega al final (posición del empleado y los
+ * mismos bytes de la serie, con su longitud) y al abrirlo se vuelven a aplicar. Un mes que
+ * quedó a medias al terminar el proceso se descarta. Los empleados se identifican por su
+ * posición de registro, que la persistencia del gestor conserva entre ejecuciones.
+ */
+public final class HistorialNomina implements Closeable {
+
+    /**
+     * Campos del rol de pagos mensual que se guardan en el historial.
+     * Las horas se guardan en centésimas de hora y los montos en centavos.
+     */
+    public enum Campo {
+        SALARIO_BASE, HORAS_TRABAJADAS, BONOS, DESCUENTOS, MESES_TRABAJADOS, HORAS_EXTRAS,
+        SALARIO_MENSUAL, DECIMO_TERCER_SUELDO, UTILIDADES, PAGO_HORAS_EXTRAS, FONDOS_RESERVA
+    }
+
+    private static final Campo[] CAMPOS = Campo.values();
+    private static final int CANTIDAD_CAMPOS = CAMPOS.length;
+
+    private static final int MAGICO = 0x47484953;  // "GHIS"
+    private static final int VERSION = 1;
+
+    private Serie[] series = new Serie[16];  // Serie de cada empleado, por posición de registro
+    // Totales de la empresa por período: cantidad de empleados y la suma de cada campo
+    private final Map<Integer, long[]> porPeriodo = new HashMap<>();
+    private final FileChannel archivo;       // null si el historial es solo en memoria
+    private final ByteBuffer bufer = ByteBuffer.allocate(160);  // Un mes codificado, con su longitud y posición
+    private long bytesArchivo;               // Tamaño del archivo
+
+    /**
+     * Constructor de la clase HistorialNomina (solo en memoria).
+     */
+    public HistorialNomina() {
+        archivo = null;
+    }
+
+    /**
+     * Constructor de la clase HistorialNomina con archivo. Si el archivo existe, se leen
+     * los meses guardados; si no, se crea.
+     *
+     * @param ruta El archivo del historial.
+     * @throws IOException Si el archivo no se puede leer o no es un historial.
+     */
+    public HistorialNomina(Path ruta) throws IOException {
+        archivo = FileChannel.open(ruta, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            if (archivo.size() == 0) {
+                ByteBuffer encabezado = ByteBuffer.allocate(8).putInt(MAGICO).putInt(VERSION).flip();
+                while (encabezado.hasRemaining()) {
+                    archivo.write(encabezado);
+                }
+            } else {
+                recuperar(ruta);
+            }
+            bytesArchivo = archivo.size();
+            archivo.position(bytesArchivo);
+        } catch (IOException e) {
+            archivo.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Calcula el período (número de mes desde el año 0) de un año y mes.
+     *
+     * @param año El año.
+     * @param mes El mes, de 1 a 12.
+     * @return El período.
+     */
+    public static int periodo(int año, int mes) {
+        if (mes < 1 || mes > 12) {
+            throw new IllegalArgumentException("Mes no válido: " + mes);
+        }
+        return año * 12 + mes - 1;
+    }
+
+    /**
+     * Método para registrar el rol de pagos de un mes de un empleado.
+     *
+     * @param emp El empleado (ya registrado en el gestor).
+     * @param año El año.
+     * @param mes El mes, de 1 a 12.
+     * @param valores El valor de cada campo, en el orden de {@link Campo}.
+     * @return `true` si el mes se registró, `false` si el mes es anterior o igual al último
+     *         registrado del empleado.
+     * @throws IOException Si el mes no se puede escribir en el archivo.
+     */
+    synchronized boolean registrar(Empleado emp, int año, int mes, long[] valores) throws IOException {
+        int indice = emp.indice;
+        int p = periodo(año, mes);
+        Serie serie = serie(indice, true);
+        if (p <= serie.ultimoPeriodo) {
+            return false;
+        }
+        int inicio = serie.longitud;
+        serie.agregar(p, valores);
+        if (archivo != null) {
+            escribir(indice, serie.datos, inicio, serie.longitud - inicio);
+        }
+        sumarPeriodo(p, valores);
+        return true;
+    }
+
+    /**
+     * Método para obtener el registro de un mes de un empleado.
+     *
+     * @param emp El empleado.
+     * @param año El año.
+     * @param mes El mes, de 1 a 12.
+     * @return El registro del mes, o `null` si el empleado no tiene ese mes.
+     */
+    public synchronized RegistroMensual getRegistro(Empleado emp, int año, int mes) {
+        int p = periodo(año, mes);
+        Serie serie = serie(emp.indice, false);
+        int a = serie == null ? -1 : serie.buscarAño(año);
+        if (a < 0 || (serie.mascara(a) & (1 << (mes - 1))) == 0) {
+            return null;
+        }
+        for (RegistroMensual registro : serie.leerAño(a)) {
+            if (registro.periodo == p) {
+                return registro;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Método para obtener los meses registrados de un empleado en un año.
+     *
+     * @param emp El empleado.
+     * @param año El año.
+     * @return Los registros del año en orden de mes (vacío si no hay).
+     */
+    public synchronized List<RegistroMensual> getRegistros(Empleado emp, int año) {
+        Serie serie = serie(emp.indice, false);
+        int a = serie == null ? -1 : serie.buscarAño(año);
+        return a < 0 ? new ArrayList<>() : serie.leerAño(a);
+    }
+
+    /**
+     * Método para obtener el total de un campo de un empleado en todo un año.
+     *
+     * @param emp El empleado.
+     * @param año El año.
+     * @param campo El campo.
+     * @return La suma del campo en los meses registrados del año (0 si no hay).
+     */
+    public synchronized long getTotalAnual(Empleado emp, int año, Campo campo) {
+        Serie serie = serie(emp.indice, false);
+        int a = serie == null ? -1 : serie.buscarAño(año);
+        return a < 0 ? 0 : serie.total(a, campo.ordinal());
+    }
+
+    /**
+     * Método para obtener el acumulado de un campo de un empleado desde enero hasta un mes
+     * (inclusive) de un año.
+     *
+     * @param emp El empleado.
+     * @param año El año.
+     * @param mes El último mes del acumulado, de 1 a 12.
+     * @param campo El campo.
+     * @return La suma del campo en los meses registrados del período.
+     */
+    public synchronized long getAcumulado(Empleado emp, int año, int mes, Campo campo) {
+        int hasta = periodo(año, mes);
+        Serie serie = serie(emp.indice, false);
+        int a = serie == null ? -1 : serie.buscarAño(año);
+        if (a < 0) {
+            return 0;
+        }
+        if ((serie.mascara(a) >>> mes) == 0) {
+            return serie.total(a, campo.ordinal());  // No hay meses posteriores: es el total del año
+        }
+        return serie.acumulado(a, hasta, campo.ordinal());
+    }
+
+    /**
+     * Método para obtener los meses registrados de un empleado en un año.
+     *
+     * @param emp El empleado.
+     * @param año El año.
+     * @return La cantidad de meses con rol de pagos en el año.
+     */
+    public synchronized int getMesesTrabajados(Empleado emp, int año) {
+        Serie serie = serie(emp.indice, false);
+        int a = serie == null ? -1 : serie.buscarAño(año);
+        return a < 0 ? 0 : Integer.bitCount(serie.mascara(a));
+    }
+
+    /**
+     * Método para obtener todos los meses registrados de un empleado.
+     *
+     * @param emp El empleado.
+     * @return La cantidad de meses con rol de pagos.
+     */
+    public synchronized int getMesesTrabajados(Empleado emp) {
+        Serie serie = serie(emp.indice, false);
+        return serie == null ? 0 : serie.meses;
+    }
+
+    /**
+     * Método para obtener el total de un campo de toda la empresa en un mes.
+     *
+     * @param año El año.
+     * @param mes El mes, de 1 a 12.
+     * @param campo El campo.
+     * @return La suma del campo de los empleados con rol de pagos en el mes.
+     */
+    public synchronized long getTotalPeriodo(int año, int mes, Campo campo) {
+        long[] totales = porPeriodo.get(periodo(año, mes));
+        return totales == null ? 0 : totales[1 + campo.ordinal()];
+    }
+
+    /**
+     * Método para obtener la cantidad de empleados con rol de pagos en un mes.
+     *
+     * @param año El año.
+     * @param mes El mes, de 1 a 12.
+     * @return La cantidad de empleados.
+     */
+    public synchronized int getEmpleadosPeriodo(int año, int mes) {
+        long[] totales = porPeriodo.get(periodo(año, mes));
+        return totales == null ? 0 : (int) totales[0];
+    }
+
+    /**
+     * Método para obtener el acumulado de un campo de toda la empresa desde enero hasta un mes
+     * (inclusive) de un año.
+     *
+     * @param año El año.
+     * @param mes El último mes del acumulado, de 1 a 12.
+     * @param campo El campo.
+     * @return La suma del campo en el período.
+     */
+    public synchronized long getAcumuladoEmpresa(int año, int mes, Campo campo) {
+        long total = 0;
+        for (int m = 1; m <= mes; m++) {
+            total += getTotalPeriodo(año, m, campo);
+        }
+        return total;
+    }
+
+    /**
+     * Método para obtener los bytes que ocupan las series de meses en memoria (sin contar
+     * los objetos ni los totales por período).
+     *
+     * @return Los bytes de las series.
+     */
+    public synchronized long getBytesSeries() {
+        long bytes = 0;
+        for (Serie serie : series) {
+            if (serie != null) {
+                bytes += serie.longitud + serie.longitudResumenes;
+            }
+        }
+        return bytes;
+    }
+
+    /**
+     * Método para obtener el tamaño del archivo del historial.
+     *
+     * @return Los bytes del archivo (0 si el historial es solo en memoria).
+     */
+    public synchronized long getBytesArchivo() {
+        return bytesArchivo;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (archivo != null && archivo.isOpen()) {
+            archivo.force(false);
+            archivo.close();
+        }
+    }
+
+    private Serie serie(int indice, boolean crear) {
+        if (indice < 0) {
+            if (crear) {
+                throw new IllegalArgumentException("El empleado no está registrado en el gestor");
+            }
+            return null;
+        }
+        if (indice >= series.length) {
+            if (!crear) {
+                return null;
+            }
+            series = Arrays.copyOf(series, Math.max(indice + 1, series.length * 2));
+        }
+        Serie serie = series[indice];
+        if (serie == null && crear) {
+            serie = new Serie();
+            series[indice] = serie;
+        }
+        return serie;
+    }
+
+    private void sumarPeriodo(int p, long[] valores) {
+        long[] totales = porPeriodo.computeIfAbsent(p, k -> new long[1 + CANTIDAD_CAMPOS]);
+        totales[0]++;
+        for (int c = 0; c < CANTIDAD_CAMPOS; c++) {
+            totales[1 + c] += valores[c];
+        }
+    }
+
+    /**
+     * Agrega al archivo un mes: longitud, posición del empleado y los bytes del mes.
+     */
+    private void escribir(int indice, byte[] datos, int desde, int longitud) throws IOException {
+        bufer.clear();
+        escribirVarint(bufer, longitud);
+        escribirVarint(bufer, indice);
+        bufer.put(datos, desde, longitud).flip();
+        while (bufer.hasRemaining()) {
+            archivo.write(bufer);
+        }
+        bytesArchivo = archivo.position();
+    }
+
+    /**
+     * Lee el archivo y vuelve a aplicar sus meses. Los bytes de un mes incompleto al final
+     * se descartan.
+     */
+    private void recuperar(Path ruta) throws IOException {
+        ByteBuffer entrada = ByteBuffer.wrap(Files.readAllBytes(ruta));
+        if (entrada.remaining() < 8 || entrada.getInt() != MAGICO || entrada.getInt() != VERSION) {
+            throw new IOException("El archivo no es un historial de nómina: " + ruta);
+        }
+        long[] valores = new long[CANTIDAD_CAMPOS];
+        int completo = entrada.position();
+        try {
+            while (entrada.hasRemaining()) {
+                int longitud = leerVarint(entrada);
+                int indice = leerVarint(entrada);
+                if (longitud > entrada.remaining()) {
+                    break;  // Mes incompleto
+                }
+                Serie serie = serie(indice, true);
+                ByteBuffer mes = entrada.slice().limit(longitud);
+                int p = serie.leerSiguiente(mes, valores);
+                serie.agregar(p, valores);
+                sumarPeriodo(p, valores);
+                entrada.position(entrada.position() + longitud);
+                completo = entrada.position();
+            }
+        } catch (BufferUnderflowException e) {
+            // Mes incompleto al final del archivo
+        }
+        archivo.truncate(completo);
+    }
+
+    /**
+     * Serie de meses de un empleado.
+     */
+    private static final class Serie {
+
+        byte[] datos = new byte[32];     // Meses codificados
+        int longitud;
+        byte[] resumenes = new byte[0];  // Totales por campo de los años cerrados
+        int longitudResumenes;
+        // Por año: año, posición del primer mes, posición de los totales (-1 si está abierto) y máscara de meses
+        int[] años = new int[4];
+        int cantidadAños;
+        final long[] ultimos = new long[CANTIDAD_CAMPOS];  // Valores del último mes
+        final long[] totalesAño = new long[CANTIDAD_CAMPOS];  // Totales del año abierto
+        int ultimoPeriodo = -1;  // Período del último mes (-1 si no hay)
+        int meses;
+
+        /**
+         * Codifica un mes al final de la serie. El período debe ser posterior al último.
+         */
+        void agregar(int p, long[] valores) {
+            int año = Math.floorDiv(p, 12);
+            boolean nuevoAño = cantidadAños == 0 || años[(cantidadAños - 1) * 4] != año;
+            if (nuevoAño) {
+                cerrarAño();
+                if ((cantidadAños + 1) * 4 > años.length) {
+                    años = Arrays.copyOf(años, años.length * 2);
+                }
+                int a = cantidadAños++ * 4;
+                años[a] = año;
+                años[a + 1] = longitud;
+                años[a + 2] = -1;
+                años[a + 3] = 0;
+            }
+            int mascara = 0;
+            for (int c = 0; c < CANTIDAD_CAMPOS; c++) {
+                if (valores[c] != (nuevoAño ? 0 : ultimos[c])) {
+                    mascara |= 1 << c;
+                }
+            }
+            asegurar(5 + 3 + CANTIDAD_CAMPOS * 10);
+            // La diferencia con el último período (de cualquier año) permite volver a aplicar el
+            // mes desde el archivo; al leer un año, su primer mes sale de la máscara de meses
+            longitud = escribirVarint(datos, longitud, p - ultimoPeriodo);
+            longitud = escribirVarint(datos, longitud, mascara);
+            for (int c = 0; c < CANTIDAD_CAMPOS; c++) {
+                if ((mascara & (1 << c)) != 0) {
+                    long delta = valores[c] - (nuevoAño ? 0 : ultimos[c]);
+                    longitud = escribirVarint(datos, longitud, zigzag(delta));
+                }
+                ultimos[c] = valores[c];
+                totalesAño[c] += valores[c];
+            }
+            años[(cantidadAños - 1) * 4 + 3] |= 1 << (p - año * 12);
+            ultimoPeriodo = p;
+            meses++;
+        }
+
+        /**
+         * Decodifica el mes siguiente de la serie (con los bytes que se leyeron del archivo).
+         *
+         * @return El período del mes; sus valores quedan en `valores`.
+         */
+        int leerSiguiente(ByteBuffer entrada, long[] valores) throws IOException {
+            long delta = leerVarintLargo(entrada);
+            if (delta <= 0 || ultimoPeriodo + delta > Integer.MAX_VALUE) {
+                throw new IOException("Mes fuera de orden en el historial");
+            }
+            int p = (int) (ultimoPeriodo + delta);
+            boolean nuevoAño = cantidadAños == 0 || Math.floorDiv(p, 12) != años[(cantidadAños - 1) * 4];
+            leerValores(entrada, ultimos, nuevoAño, valores);
+            return p;
+        }
+
+        void asegurar(int extra) {
+            if (longitud + extra > datos.length) {
+                datos = Arrays.copyOf(datos, Math.max(longitud + extra, datos.length + (datos.length >> 1)));
+            }
+        }
+
+        /**
+         * Guarda los totales del año abierto (si hay uno) y los reinicia.
+         */
+        void cerrarAño() {
+            if (cantidadAños == 0) {
+                return;
+            }
+            int a = (cantidadAños - 1) * 4;
+            if (longitudResumenes + CANTIDAD_CAMPOS * 10 > resumenes.length) {
+                resumenes = Arrays.copyOf(resumenes, Math.max(longitudResumenes + CANTIDAD_CAMPOS * 10, resumenes.length * 2));
+            }
+            años[a + 2] = longitudResumenes;
+            for (int c = 0; c < CANTIDAD_CAMPOS; c++) {
+                longitudResumenes = escribirVarint(resumenes, longitudResumenes, zigzag(totalesAño[c]));
+                totalesAño[c] = 0;
+            }
+        }
+
+        /**
+         * Busca un año en el índice de años.
+         *
+         * @return La posición del año en el índice, o -1 si no hay meses de ese año.
+         */
+        int buscarAño(int año) {
+            int bajo = 0;
+            int alto = cantidadAños - 1;
+            while (bajo <= alto) {
+                int medio = (bajo + alto) >>> 1;
+                int valor = años[medio * 4];
+                if (valor < año) {
+                    bajo = medio + 1;
+                } else if (valor > año) {
+                    alto = medio - 1;
+                } else {
+                    return medio;
+                }
+            }
+            return -1;
+        }
+
+        int mascara(int a) {
+            return años[a * 4 + 3];
+        }
+
+        /**
+         * Total de un campo en un año del índice.
+         */
+        long total(int a, int campo) {
+            int posicion = años[a * 4 + 2];
+            if (posicion < 0) {
+                return totalesAño[campo];  // Año abierto
+            }
+            ByteBuffer entrada = ByteBuffer.wrap(resumenes, posicion, longitudResumenes - posicion);
+            for (int c = 0; c < campo; c++) {
+                leerVarintLargo(entrada);
+            }
+            return deszigzag(leerVarintLargo(entrada));
+        }
+
+        /**
+         * Suma de un campo en los meses de un año del índice hasta un período (inclusive),
+         * sin crear los registros de cada mes.
+         */
+        long acumulado(int a, int hasta, int campo) {
+            int desde = años[a * 4 + 1];
+            int fin = a + 1 < cantidadAños ? años[(a + 1) * 4 + 1] : longitud;
+            ByteBuffer entrada = ByteBuffer.wrap(datos, desde, fin - desde);
+            int p = años[a * 4] * 12 + Integer.numberOfTrailingZeros(mascara(a));
+            long valor = 0;
+            long total = 0;
+            boolean primero = true;
+            while (entrada.hasRemaining()) {
+                long delta = leerVarintLargo(entrada);
+                if (!primero) {
+                    p += (int) delta;
+                }
+                if (p > hasta) {
+                    break;
+                }
+                int mascaraCampos = (int) leerVarintLargo(entrada);
+                for (int c = 0; c < CANTIDAD_CAMPOS; c++) {
+                    if ((mascaraCampos & (1 << c)) != 0) {
+                        long diferencia = deszigzag(leerVarintLargo(entrada));
+                        if (c == campo) {
+                            valor = (primero ? 0 : valor) + diferencia;
+                        }
+                    } else if (c == campo && primero) {
+                        valor = 0;
+                    }
+                }
+                total += valor;
+                primero = false;
+            }
+            return total;
+        }
+
+        /**
+         * Decodifica los meses de un año del índice (como máximo 12).
+         */
+        List<RegistroMensual> leerAño(int a) {
+            int desde = años[a * 4 + 1];
+            int hasta = a + 1 < cantidadAños ? años[(a + 1) * 4 + 1] : longitud;
+            ByteBuffer entrada = ByteBuffer.wrap(datos, desde, hasta - desde);
+            List<RegistroMensual> registros = new ArrayList<>(12);
+            int p = años[a * 4] * 12 + Integer.numberOfTrailingZeros(mascara(a));
+            long[] anteriores = new long[CANTIDAD_CAMPOS];
+            while (entrada.hasRemaining()) {
+                long delta = leerVarintLargo(entrada);
+                if (!registros.isEmpty()) {
+                    p += (int) delta;  // El primer mes del año sale de la máscara
+                }
+                long[] valores = new long[CANTIDAD_CAMPOS];
+                leerValores(entrada, anteriores, registros.isEmpty(), valores);
+                registros.add(new RegistroMensual(p, valores));
+                anteriores = valores;
+            }
+            return registros;
+        }
+
+        private static void leerValores(ByteBuffer entrada, long[] anteriores, boolean completo, long[] valores) {
+            int mascara = (int) leerVarintLargo(entrada);
+            for (int c = 0; c < CANTIDAD_CAMPOS; c++) {
+                long base = completo ? 0 : anteriores[c];
+                valores[c] = (mascara & (1 << c)) != 0 ? base + deszigzag(leerVarintLargo(entrada)) : base;
+            }
+        }
+    }
+
+    /**
+     * Clase que representa el rol de pagos registrado de un empleado en un mes.
+     */
+    public static final class RegistroMensual {
+
+        private final int periodo;
+        private final long[] valores;
+
+        RegistroMensual(int periodo, long[] valores) {
+            this.periodo = periodo;
+            this.valores = valores;
+        }
+
+        public int getAño() {
+            return Math.floorDiv(periodo, 12);
+        }
+
+        public int getMes() {
+            return Math.floorMod(periodo, 12) + 1;
+        }
+
+        /**
+         * Método para obtener el valor de un campo del mes.
+         *
+         * @param campo El campo.
+         * @return El valor (centavos o centésimas de hora, según el campo).
+         */
+        public long get(Campo campo) {
+            return valores[campo.ordinal()];
+        }
+    }
+
+    // Codificación varint (7 bits por byte) y zigzag (enteros con signo)
+
+    private static long zigzag(long valor) {
+        return (valor << 1) ^ (valor >> 63);
+    }
+
+    private static long deszigzag(long valor) {
+        return (valor >>> 1) ^ -(valor & 1);
+    }
+
+    private static int escribirVarint(byte[] destino, int posicion, long valor) {
+        while ((valor & ~0x7FL) != 0) {
+            destino[posicion++] = (byte) ((valor & 0x7F) | 0x80);
+            valor >>>= 7;
+        }
+        destino[posicion++] = (byte) valor;
+        return posicion;
+    }
+
+    private static void escribirVarint(ByteBuffer destino, long valor) {
+        while ((valor & ~0x7FL) != 0) {
+            destino.put((byte) ((valor & 0x7F) | 0x80));
+            valor >>>= 7;
+        }
+        destino.put((byte) valor);
+    }
+
+    private static long leerVarintLargo(ByteBuffer entrada) {
+        long valor = 0;
+        for (int desplazamiento = 0; ; desplazamiento += 7) {
+            byte b = entrada.get();
+            valor |= (long) (b & 0x7F) << desplazamiento;
+            if (b >= 0) {
+                return valor;
+            }
+        }
+    }
+
+    private static int leerVarint(ByteBuffer entrada) {
+        return (int) leerVarintLargo(entrada);
+    }
+}
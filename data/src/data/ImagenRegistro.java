@@ -0,0 +1,489 @@
+package data;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.IntBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import data.Empleado.tipoEmpleado;
+import data.SalidaReporte.Formato;
+
+/**
+ * Clase que abre una imagen del registro de empleados: un archivo con los registros de los
+ * empleados y sus índices ya construidos, para arrancar sin volver a registrar a cada empleado.
+ *
+ * La imagen es un {@link ArchivoEmpleados} (los registros de ancho fijo, en orden de registro)
+ * seguido de los índices y de una cola que los describe:
+ * <pre>
+ *   registros    (ver ArchivoEmpleados)
+ *   usuarios     tabla hash de `capacidad` entradas: int hash, int registro + 1 (0 = vacía)
+ *   cédulas      tabla hash igual a la de usuarios (una cédula puede repetirse)
+ *   porTipo      int por empleado: los registros de cada tipo, en orden de registro
+ *   porSalario   int por empleado: los registros ordenados por salario base
+ *   cola         {@link #TAMANO_COLA} bytes: mágico, versión, capacidad, cantidad de tipos,
+ *                cantidad de empleados y cantidad de empleados de cada tipo
+ * </pre>
+ *
+ * Al abrir la imagen solo se lee la cola y se mapean las secciones en memoria, así que el
+ * tiempo de arranque no depende de la cantidad de empleados. Cada objeto {@link Empleado} se
+ * crea la primera vez que se pide y se reutiliza después; el reporte y los totales leen los
+ * campos del archivo mapeado sin crear objetos.
+ *
+ * Los empleados de la imagen son de solo lectura: para cambiar sus salarios se usa el
+ * directorio de datos del que salió la imagen y se vuelve a crear
+ * ({@link GestorEmpleado#exportarImagen(Path)}). Los empleados nuevos se registran en un
+ * {@link GestorEmpleado} aparte (las altas), que se consulta después de la imagen.
+ */
+public class ImagenRegistro implements Closeable, ServicioEmpleados {
+
+    public static final int TAMANO_COLA = 64;
+
+    private static final int MAGICO = 0x47494D47;  // "GIMG"
+    private static final int VERSION = 1;
+    private static final int MAXIMO_EMPLEADOS = 1 << 26;  // Cada tabla hash ocupa menos de 2 GB
+    private static final tipoEmpleado[] TIPOS = tipoEmpleado.values();
+
+    private final ArchivoEmpleados archivo;
+    private final int cantidad;
+    private final int mascara;  // Capacidad de las tablas hash - 1
+    private final IntBuffer usuarios;
+    private final IntBuffer cedulas;
+    private final IntBuffer porTipo;
+    private final IntBuffer porSalario;
+    private final int[] inicioTipo;  // Posición en porTipo del primer empleado de cada tipo (y el final)
+    private final AtomicReferenceArray<Empleado> cargados;  // Empleados ya creados, por registro
+    private final GestorEmpleado altas;
+
+    /**
+     * Constructor privado: usar {@link #abrir(Path, GestorEmpleado)}.
+     */
+    private ImagenRegistro(ArchivoEmpleados archivo, int capacidad, IntBuffer usuarios, IntBuffer cedulas,
+            IntBuffer porTipo, IntBuffer porSalario, int[] inicioTipo, GestorEmpleado altas) {
+        this.archivo = archivo;
+        this.cantidad = (int) archivo.getCantidad();
+        this.mascara = capacidad - 1;
+        this.usuarios = usuarios;
+        this.cedulas = cedulas;
+        this.porTipo = porTipo;
+        this.porSalario = porSalario;
+        this.inicioTipo = inicioTipo;
+        this.cargados = new AtomicReferenceArray<>(cantidad);
+        this.altas = altas;
+    }
+
+    /**
+     * Método para escribir la imagen de los empleados indicados.
+     * La imagen se escribe en un archivo temporal y luego reemplaza a la anterior, así que
+     * una imagen a medio escribir nunca se abre.
+     *
+     * @param ruta La ruta de la imagen (se reemplaza si existe).
+     * @param empleados Los empleados, en orden de registro.
+     * @throws IOException Si la imagen no se puede escribir.
+     * @throws IllegalArgumentException Si hay demasiados empleados o algún texto no cabe en su campo.
+     */
+    public static void escribir(Path ruta, List<? extends Empleado> empleados) throws IOException {
+        int n = empleados.size();
+        if (n > MAXIMO_EMPLEADOS) {
+            throw new IllegalArgumentException("La imagen admite hasta " + MAXIMO_EMPLEADOS + " empleados");
+        }
+        int capacidad = capacidad(n);
+        int[] tablaUsuarios = new int[capacidad * 2];
+        int[] tablaCedulas = new int[capacidad * 2];
+        int[] cantidadTipo = new int[TIPOS.length];
+        Integer[] ordenSalario = new Integer[n];
+        for (int i = 0; i < n; i++) {
+            Empleado emp = empleados.get(i);
+            insertar(tablaUsuarios, capacidad - 1, hash(emp.getUsuario()), i);
+            insertar(tablaCedulas, capacidad - 1, hash(emp.getCedula()), i);
+            cantidadTipo[emp.getTipo().ordinal()]++;
+            ordenSalario[i] = i;
+        }
+        int[] tipos = new int[n];
+        int[] siguiente = new int[TIPOS.length];
+        for (int t = 1; t < TIPOS.length; t++) {
+            siguiente[t] = siguiente[t - 1] + cantidadTipo[t - 1];
+        }
+        long[] salarios = new long[n];
+        for (int i = 0; i < n; i++) {
+            Empleado emp = empleados.get(i);
+            tipos[siguiente[emp.getTipo().ordinal()]++] = i;
+            salarios[i] = emp.getSalarioBaseCentavos();
+        }
+        Arrays.parallelSort(ordenSalario, (a, b) -> salarios[a] != salarios[b]
+                ? Long.compare(salarios[a], salarios[b]) : Integer.compare(a, b));
+
+        Path temporal = ruta.resolveSibling(ruta.getFileName() + ".tmp");
+        try {
+            ArchivoEmpleados.escribir(temporal, empleados);
+            escribirIndices(temporal, n, capacidad, tablaUsuarios, tablaCedulas, tipos, ordenSalario, cantidadTipo);
+        } catch (IOException | RuntimeException e) {
+            Files.deleteIfExists(temporal);
+            throw e;
+        }
+        Files.move(temporal, ruta, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Agrega los índices y la cola después de los registros del archivo.
+     */
+    private static void escribirIndices(Path ruta, int n, int capacidad, int[] tablaUsuarios, int[] tablaCedulas,
+            int[] tipos, Integer[] ordenSalario, int[] cantidadTipo) throws IOException {
+        try (FileChannel salida = FileChannel.open(ruta, StandardOpenOption.WRITE)) {
+            salida.position(ArchivoEmpleados.TAMANO_ENCABEZADO + (long) n * FormatoRegistro.TAMANO);
+            ByteBuffer bloque = ByteBuffer.allocateDirect(64 * 1024).order(ByteOrder.LITTLE_ENDIAN);
+            escribirEnteros(salida, bloque, tablaUsuarios, tablaUsuarios.length);
+            escribirEnteros(salida, bloque, tablaCedulas, tablaCedulas.length);
+            escribirEnteros(salida, bloque, tipos, n);
+            for (int i = 0; i < n; i++) {
+                tipos[i] = ordenSalario[i];  // Se reutiliza el arreglo
+            }
+            escribirEnteros(salida, bloque, tipos, n);
+            vaciar(salida, bloque);
+
+            bloque.putInt(MAGICO).putInt(VERSION).putInt(capacidad).putInt(TIPOS.length).putLong(n);
+            for (int cantidadDeTipo : cantidadTipo) {
+                bloque.putInt(cantidadDeTipo);
+            }
+            while (bloque.position() < TAMANO_COLA) {
+                bloque.put((byte) 0);
+            }
+            vaciar(salida, bloque);
+            salida.force(true);
+        }
+    }
+
+    /**
+     * Método para abrir una imagen del registro.
+     *
+     * @param ruta La ruta de la imagen.
+     * @param altas El gestor donde se registran los empleados nuevos (se cierra junto con la imagen).
+     * @return La imagen abierta y mapeada en memoria.
+     * @throws IOException Si la imagen no existe o no tiene el formato esperado.
+     */
+    public static ImagenRegistro abrir(Path ruta, GestorEmpleado altas) throws IOException {
+        ArchivoEmpleados archivo = ArchivoEmpleados.abrir(ruta);
+        try (FileChannel canal = FileChannel.open(ruta, StandardOpenOption.READ)) {
+            long n = archivo.getCantidad();
+            long tamano = canal.size();
+            ByteBuffer cola = ByteBuffer.allocate(TAMANO_COLA).order(ByteOrder.LITTLE_ENDIAN);
+            if (tamano >= TAMANO_COLA) {
+                while (cola.hasRemaining() && canal.read(cola, tamano - TAMANO_COLA + cola.position()) > 0) {
+                    // Leer la cola completa
+                }
+            }
+            cola.flip();
+            if (cola.remaining() < TAMANO_COLA || cola.getInt() != MAGICO || cola.getInt() != VERSION) {
+                throw new IOException("El archivo no es una imagen del registro válida: " + ruta);
+            }
+            int capacidad = cola.getInt();
+            if (cola.getInt() != TIPOS.length || cola.getLong() != n || capacidad != capacidad((int) n)) {
+                throw new IOException("La imagen del registro no corresponde a esta versión del sistema: " + ruta);
+            }
+            int[] inicioTipo = new int[TIPOS.length + 1];
+            for (int t = 0; t < TIPOS.length; t++) {
+                inicioTipo[t + 1] = inicioTipo[t] + cola.getInt();
+            }
+            long posicion = ArchivoEmpleados.TAMANO_ENCABEZADO + n * FormatoRegistro.TAMANO;
+            if (inicioTipo[TIPOS.length] != n || tamano != posicion + (capacidad * 16L) + n * 8 + TAMANO_COLA) {
+                throw new IOException("La imagen del registro está incompleta: " + ruta);
+            }
+            IntBuffer usuarios = mapear(canal, posicion, capacidad * 2);
+            IntBuffer cedulas = mapear(canal, posicion + capacidad * 8L, capacidad * 2);
+            IntBuffer porTipo = mapear(canal, posicion + capacidad * 16L, (int) n);
+            IntBuffer porSalario = mapear(canal, posicion + capacidad * 16L + n * 4, (int) n);
+            return new ImagenRegistro(archivo, capacidad, usuarios, cedulas, porTipo, porSalario, inicioTipo, altas);
+        } catch (IOException | RuntimeException e) {
+            archivo.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Método para agregar un nuevo empleado. Se registra en las altas si su usuario no está
+     * en la imagen ni en las altas.
+     *
+     * @param emp El empleado a agregar.
+     * @return `true` si el empleado fue registrado.
+     */
+    @Override
+    public boolean agregarEmpleado(Empleado emp) {
+        if (indiceDe(emp.getUsuario()) >= 0) {
+            System.out.println("Ya existe un empleado con el usuario '" + emp.getUsuario() + "'.");
+            return false;
+        }
+        return altas.agregarEmpleado(emp);
+    }
+
+    /**
+     * Método para buscar un empleado por su nombre de usuario, con el índice de la imagen.
+     * El empleado se crea la primera vez que se busca.
+     *
+     * @param usuario El nombre de usuario.
+     * @return El empleado, o `null` si no existe en la imagen ni en las altas.
+     */
+    @Override
+    public Empleado buscar(String usuario) {
+        int i = indiceDe(usuario);
+        return i >= 0 ? empleado(i) : altas.buscar(usuario);
+    }
+
+    /**
+     * Método para buscar los empleados con una cédula.
+     *
+     * @param cedula La cédula a buscar.
+     * @return Los empleados con esa cédula (los de la imagen en orden de registro, luego las altas).
+     */
+    public List<Empleado> buscarPorCedula(String cedula) {
+        byte[] utf8 = cedula.getBytes(StandardCharsets.UTF_8);
+        int h = hash(cedula);
+        List<Integer> indices = new ArrayList<>();
+        for (int slot = h & mascara; ; slot = (slot + 1) & mascara) {
+            int registro = cedulas.get(slot * 2 + 1);
+            if (registro == 0) {
+                break;
+            }
+            if (cedulas.get(slot * 2) == h && archivo.cedulaIgual(registro - 1, utf8)) {
+                indices.add(registro - 1);
+            }
+        }
+        indices.sort(null);
+        List<Empleado> resultado = new ArrayList<>(indices.size());
+        for (int i : indices) {
+            resultado.add(empleado(i));
+        }
+        resultado.addAll(altas.buscarPorCedula(cedula));
+        return resultado;
+    }
+
+    /**
+     * Método para obtener los empleados de un tipo.
+     *
+     * @param tipo El tipo de empleado.
+     * @return Los empleados de ese tipo (los de la imagen en orden de registro, luego las altas).
+     */
+    public List<Empleado> buscarPorTipo(tipoEmpleado tipo) {
+        int desde = inicioTipo[tipo.ordinal()];
+        int hasta = inicioTipo[tipo.ordinal() + 1];
+        List<Empleado> resultado = new ArrayList<>(hasta - desde);
+        for (int k = desde; k < hasta; k++) {
+            resultado.add(empleado(porTipo.get(k)));
+        }
+        resultado.addAll(altas.buscarPorTipo(tipo));
+        return resultado;
+    }
+
+    /**
+     * Método para contar los empleados de un tipo sin crear objetos.
+     *
+     * @param tipo El tipo de empleado.
+     * @return La cantidad de empleados de ese tipo.
+     */
+    public int contarPorTipo(tipoEmpleado tipo) {
+        return inicioTipo[tipo.ordinal() + 1] - inicioTipo[tipo.ordinal()] + altas.contarPorTipo(tipo);
+    }
+
+    /**
+     * Método para buscar los empleados con salario base dentro de un rango, con el índice por
+     * salario de la imagen.
+     *
+     * @param minimo El salario base mínimo (inclusive).
+     * @param maximo El salario base máximo (inclusive).
+     * @param limite La cantidad máxima de empleados a retornar.
+     * @return Los empleados de la imagen ordenados por salario base, luego los de las altas.
+     */
+    public List<Empleado> buscarPorSalarioBase(double minimo, double maximo, int limite) {
+        long desde = Dinero.centavos(minimo);
+        long hasta = Dinero.centavos(maximo);
+        int bajo = 0;
+        int alto = cantidad;
+        while (bajo < alto) {  // Primera posición con salario >= desde
+            int medio = (bajo + alto) >>> 1;
+            if (archivo.salarioBase(porSalario.get(medio)) < desde) {
+                bajo = medio + 1;
+            } else {
+                alto = medio;
+            }
+        }
+        List<Empleado> resultado = new ArrayList<>();
+        for (int k = bajo; k < cantidad && resultado.size() < limite; k++) {
+            int i = porSalario.get(k);
+            if (archivo.salarioBase(i) > hasta) {
+                break;
+            }
+            resultado.add(empleado(i));
+        }
+        if (resultado.size() < limite) {
+            List<Empleado> nuevos = altas.buscarPorSalarioBase(minimo, maximo, limite - resultado.size());
+            resultado.addAll(nuevos);
+        }
+        return resultado;
+    }
+
+    /**
+     * Método para obtener la cantidad de empleados (de la imagen y de las altas).
+     *
+     * @return La cantidad de empleados.
+     */
+    public int getCantidad() {
+        return cantidad + altas.getCantidad();
+    }
+
+    /**
+     * Método para obtener la cantidad de empleados de la imagen que ya se crearon como objetos.
+     *
+     * @return La cantidad de empleados cargados.
+     */
+    public int getCargados() {
+        int cargadosAhora = 0;
+        for (int i = 0; i < cantidad; i++) {
+            if (cargados.get(i) != null) {
+                cargadosAhora++;
+            }
+        }
+        return cargadosAhora;
+    }
+
+    /**
+     * Método para obtener el total de la nómina mensual (160 horas trabajadas, sin bonos ni
+     * descuentos), recorriendo el archivo mapeado.
+     *
+     * @return La suma de los salarios mensuales de todos los empleados, en centavos.
+     */
+    public long getTotalNominaCentavos() {
+        return archivo.totalSalarioMensual(Salario.JORNADA_MENSUAL_CENTESIMAS, 0, 0) + altas.getTotalNominaCentavos();
+    }
+
+    /**
+     * Método para escribir el reporte de rol de pagos: primero los empleados de la imagen
+     * (leídos del archivo, sin crear objetos) y luego las altas, en orden de registro.
+     *
+     * @param salida La salida donde se escribe el reporte.
+     * @param formato El formato de las filas.
+     */
+    @Override
+    public void generarReporteRolPagos(SalidaReporte salida, Formato formato) {
+        GestorEmpleado.escribirEncabezado(salida, formato);
+        for (int i = 0; i < cantidad; i++) {
+            GestorEmpleado.agregarFila(salida.bufer(), formato, archivo.nombre(i), archivo.cedula(i), archivo.tipo(i),
+                    archivo.salarioMensual(i, Salario.JORNADA_MENSUAL_CENTESIMAS, 0, 0));
+            salida.finFila();
+        }
+        for (Empleado emp : altas.instantanea()) {
+            GestorEmpleado.agregarFila(salida.bufer(), formato, emp,
+                    emp.calcularSalarioCentavos(Salario.JORNADA_MENSUAL_CENTESIMAS, 0, 0));
+            salida.finFila();
+        }
+        GestorEmpleado.escribirPie(salida, formato);
+    }
+
+    /**
+     * Método para cerrar la imagen y el gestor de las altas.
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            archivo.close();
+        } finally {
+            altas.close();
+        }
+    }
+
+    /**
+     * Busca el registro de un usuario en la tabla hash de la imagen.
+     *
+     * @return El índice del registro, o -1 si el usuario no está en la imagen.
+     */
+    private int indiceDe(String usuario) {
+        int h = hash(usuario);
+        byte[] utf8 = null;
+        for (int slot = h & mascara; ; slot = (slot + 1) & mascara) {
+            int registro = usuarios.get(slot * 2 + 1);
+            if (registro == 0) {
+                return -1;
+            }
+            if (usuarios.get(slot * 2) == h) {
+                if (utf8 == null) {
+                    utf8 = usuario.getBytes(StandardCharsets.UTF_8);
+                }
+                if (archivo.usuarioIgual(registro - 1, utf8)) {
+                    return registro - 1;
+                }
+            }
+        }
+    }
+
+    /**
+     * Obtiene el empleado de un registro, creándolo la primera vez.
+     */
+    private Empleado empleado(int i) {
+        Empleado emp = cargados.get(i);
+        if (emp == null) {
+            Empleado creado = archivo.empleado(i);
+            emp = cargados.compareAndExchange(i, null, creado);
+            if (emp == null) {
+                emp = creado;
+            }
+        }
+        return emp;
+    }
+
+    /**
+     * Capacidad de las tablas hash: potencia de 2 con al menos la mitad de las entradas libres.
+     */
+    private static int capacidad(int n) {
+        return Math.max(16, Integer.highestOneBit(Math.max(1, n) * 2 - 1) * 2);
+    }
+
+    /**
+     * Hash de un texto para las tablas de la imagen (el de String está definido por la
+     * especificación de Java, así que es el mismo en todas las JVM).
+     */
+    private static int hash(String texto) {
+        int h = texto.hashCode() * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    /**
+     * Mapea en memoria una sección de enteros de la imagen.
+     */
+    private static IntBuffer mapear(FileChannel canal, long posicion, int enteros) throws IOException {
+        return canal.map(FileChannel.MapMode.READ_ONLY, posicion, enteros * 4L).order(ByteOrder.LITTLE_ENDIAN).asIntBuffer();
+    }
+
+    private static void insertar(int[] tabla, int mascara, int h, int registro) {
+        int slot = h & mascara;
+        while (tabla[slot * 2 + 1] != 0) {
+            slot = (slot + 1) & mascara;
+        }
+        tabla[slot * 2] = h;
+        tabla[slot * 2 + 1] = registro + 1;
+    }
+
+    private static void escribirEnteros(FileChannel salida, ByteBuffer bloque, int[] valores, int n) throws IOException {
+        for (int i = 0; i < n; i++) {
+            if (bloque.remaining() < 4) {
+                vaciar(salida, bloque);
+            }
+            bloque.putInt(valores[i]);
+        }
+    }
+
+    private static void vaciar(FileChannel salida, ByteBuffer bloque) throws IOException {
+        bloque.flip();
+        while (bloque.hasRemaining()) {
+            salida.write(bloque);
+        }
+        bloque.clear();
+    }
+}
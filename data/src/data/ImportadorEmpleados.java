@@ -0,0 +1,339 @@
+package data;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import data.Empleado.tipoEmpleado;
+
+/**
+ * Clase que importa empleados de forma masiva desde un archivo CSV (por ejemplo,
+ * una exportación de Recursos Humanos).
+ *
+ * El archivo se lee en una sola pasada con un búfer de caracteres y un analizador que
+ * reutiliza sus búferes de campo, por lo que solo se crean los objetos que el empleado
+ * necesita. Los empleados se insertan en el {@link GestorEmpleado} por lotes de
+ * {@link #TAMANO_LOTE}; las filas con errores se reportan con su número de línea y no
+ * detienen la importación.
+ *
+ * Columnas esperadas: nombre, cedula, usuario, clave, puesto y, opcionalmente, salario_base.
+ * El puesto puede ser EMPLEADO (o REGULAR), ADMINISTRATIVO o GERENTE, sin distinguir
+ * mayúsculas. Si la primera fila comienza con "nombre" se toma como encabezado.
+ */
+public class ImportadorEmpleados {
+
+    public static final int TAMANO_LOTE = 10_000;        // Empleados que se insertan por lote
+    private static final int MAXIMO_ERRORES = 1_000;     // Errores que se guardan con detalle
+    private static final int COLUMNAS = 6;               // Columnas que admite el archivo
+
+    private final GestorEmpleado gestor;
+
+    // Estado del analizador (se reutiliza en cada fila)
+    private final StringBuilder[] campos = new StringBuilder[COLUMNAS];
+    private int numCampos;
+    private boolean columnasDeMas;
+
+    /**
+     * Constructor de la clase ImportadorEmpleados.
+     *
+     * @param gestor El gestor donde se insertan los empleados importados.
+     */
+    public ImportadorEmpleados(GestorEmpleado gestor) {
+        this.gestor = gestor;
+        for (int i = 0; i < COLUMNAS; i++) {
+            campos[i] = new StringBuilder(32);
+        }
+    }
+
+    /**
+     * Clase que representa el resultado de una importación.
+     */
+    public static class Resultado {
+        private long filasLeidas;
+        private long importados;
+        private long filasConError;
+        private long nanos;
+        private final List<String> errores = new ArrayList<>();
+
+        public long getFilasLeidas() {
+            return filasLeidas;
+        }
+
+        public long getImportados() {
+            return importados;
+        }
+
+        public long getFilasConError() {
+            return filasConError;
+        }
+
+        /**
+         * Método para obtener el detalle de los errores (como máximo los primeros {@link #MAXIMO_ERRORES}).
+         *
+         * @return Los mensajes de error, cada uno con su número de línea.
+         */
+        public List<String> getErrores() {
+            return errores;
+        }
+
+        public double getSegundos() {
+            return nanos / 1e9;
+        }
+
+        /**
+         * Método para obtener el rendimiento de la importación.
+         *
+         * @return Las filas procesadas por segundo.
+         */
+        public double getFilasPorSegundo() {
+            return nanos == 0 ? 0 : filasLeidas / (nanos / 1e9);
+        }
+
+        private void error(long linea, String mensaje) {
+            filasConError++;
+            if (errores.size() < MAXIMO_ERRORES) {
+                errores.add("Línea " + linea + ": " + mensaje);
+            }
+        }
+
+        @Override
+        public String toString() {
+            return String.format("Filas leídas: %d | Importados: %d | Con error: %d | Tiempo: %.3f s | %.0f filas/s",
+                    filasLeidas, importados, filasConError, getSegundos(), getFilasPorSegundo());
+        }
+    }
+
+    /**
+     * Método para importar los empleados de un archivo CSV codificado en UTF-8.
+     *
+     * @param ruta La ruta del archivo.
+     * @return El resultado de la importación.
+     * @throws IOException Si el archivo no se puede leer o los empleados no se pueden guardar.
+     */
+    public Resultado importar(Path ruta) throws IOException {
+        try (Reader lector = Files.newBufferedReader(ruta, StandardCharsets.UTF_8)) {
+            return importar(lector);
+        }
+    }
+
+    /**
+     * Método para importar los empleados leídos de un flujo de caracteres en formato CSV.
+     * Una marca de orden de bytes (U+FEFF) al comienzo del flujo se ignora.
+     *
+     * @param lector El flujo de caracteres (no se cierra).
+     * @return El resultado de la importación.
+     * @throws IOException Si el flujo no se puede leer o los empleados no se pueden guardar.
+     */
+    public Resultado importar(Reader lector) throws IOException {
+        Resultado resultado = new Resultado();
+        long inicio = System.nanoTime();
+
+        List<Empleado> lote = new ArrayList<>(TAMANO_LOTE);
+        long[] lineasLote = new long[TAMANO_LOTE];
+
+        char[] bufer = new char[64 * 1024];
+        boolean entreComillas = false;
+        boolean comillaPendiente = false;  // Se leyó una comilla dentro de un campo entre comillas
+        boolean primeraFila = true;
+        long linea = 1;                    // Línea física actual
+        long lineaFila = 1;                // Línea donde comienza la fila actual
+        boolean comienzo = true;           // Aún no se leyó el primer carácter del flujo
+        reiniciarFila();
+
+        int leidos;
+        while ((leidos = lector.read(bufer)) != -1) {
+            int i = 0;
+            if (comienzo && leidos > 0) {
+                comienzo = false;
+                if (bufer[0] == '\uFEFF') {
+                    i = 1;  // Marca de orden de bytes (archivos UTF-8 guardados con BOM)
+                }
+            }
+            for (; i < leidos; i++) {
+                char c = bufer[i];
+                if (entreComillas) {
+                    if (comillaPendiente) {
+                        comillaPendiente = false;
+                        if (c == '"') {
+                            agregarCaracter(c);  // Comilla escapada ("")
+                            continue;
+                        }
+                        entreComillas = false;   // Fin del campo entre comillas; se procesa c abajo
+                    } else if (c == '"') {
+                        comillaPendiente = true;
+                        continue;
+                    } else {
+                        if (c == '\n') {
+                            linea++;
+                        }
+                        agregarCaracter(c);
+                        continue;
+                    }
+                }
+                switch (c) {
+                    case '"':
+                        entreComillas = true;
+                        break;
+                    case ',':
+                        siguienteCampo();
+                        break;
+                    case '\r':
+                        break;
+                    case '\n':
+                        if (!(primeraFila && esEncabezado())) {
+                            procesarFila(lineaFila, lote, lineasLote, resultado);
+                        }
+                        primeraFila = false;
+                        reiniciarFila();
+                        linea++;
+                        lineaFila = linea;
+                        break;
+                    default:
+                        agregarCaracter(c);
+                }
+            }
+        }
+        // Última fila sin salto de línea final
+        if (entreComillas && !comillaPendiente) {
+            resultado.filasLeidas++;
+            resultado.error(lineaFila, "comillas sin cerrar");
+        } else if (!(primeraFila && esEncabezado())) {
+            procesarFila(lineaFila, lote, lineasLote, resultado);
+        }
+        insertarLote(lote, lineasLote, resultado);
+
+        resultado.nanos = System.nanoTime() - inicio;
+        return resultado;
+    }
+
+    // ------------------------------------------------------------------ Analizador
+
+    private void reiniciarFila() {
+        for (int i = 0; i < COLUMNAS; i++) {
+            campos[i].setLength(0);
+        }
+        numCampos = 1;
+        columnasDeMas = false;
+    }
+
+    private void agregarCaracter(char c) {
+        if (!columnasDeMas) {
+            campos[numCampos - 1].append(c);
+        }
+    }
+
+    private void siguienteCampo() {
+        if (numCampos < COLUMNAS) {
+            numCampos++;
+        } else {
+            columnasDeMas = true;
+        }
+    }
+
+    private boolean filaVacia() {
+        return numCampos == 1 && campos[0].length() == 0;
+    }
+
+    private boolean esEncabezado() {
+        return "nombre".equalsIgnoreCase(campos[0].toString().trim());
+    }
+
+    /**
+     * Valida la fila actual, crea el empleado y lo agrega al lote.
+     */
+    private void procesarFila(long linea, List<Empleado> lote, long[] lineasLote, Resultado resultado) throws IOException {
+        if (filaVacia()) {
+            return;
+        }
+        resultado.filasLeidas++;
+        if (columnasDeMas) {
+            resultado.error(linea, "la fila tiene más de " + COLUMNAS + " columnas");
+            return;
+        }
+        if (numCampos < 5) {
+            resultado.error(linea, "se esperaban al menos 5 columnas y hay " + numCampos);
+            return;
+        }
+        String nombre = campo(0);
+        String cedula = campo(1);
+        String usuario = campo(2);
+        String clave = campo(3);
+        if (nombre.isEmpty() || usuario.isEmpty() || clave.isEmpty()) {
+            resultado.error(linea, "nombre, usuario y clave son obligatorios");
+            return;
+        }
+        tipoEmpleado tipo = convertirPuesto(campos[4]);
+        if (tipo == null) {
+            resultado.error(linea, "puesto desconocido '" + campo(4) + "'");
+            return;
+        }
+        Empleado emp = Empleado.crear(nombre, cedula, usuario, clave, tipo);
+        if (numCampos == 6 && campos[5].length() > 0) {
+            try {
+                double salarioBase = Double.parseDouble(campo(5));
+                if (salarioBase < 0 || Double.isNaN(salarioBase) || Double.isInfinite(salarioBase)) {
+                    resultado.error(linea, "salario base no válido '" + campo(5) + "'");
+                    return;
+                }
+                emp.setSalarioBase(salarioBase);  // El empleado aún no está registrado
+            } catch (NumberFormatException e) {
+                resultado.error(linea, "salario base no numérico '" + campo(5) + "'");
+                return;
+            } catch (ArithmeticException e) {
+                resultado.error(linea, "salario base fuera de rango '" + campo(5) + "'");
+                return;
+            }
+        }
+        lineasLote[lote.size()] = linea;
+        lote.add(emp);
+        if (lote.size() == TAMANO_LOTE) {
+            insertarLote(lote, lineasLote, resultado);
+        }
+    }
+
+    private String campo(int i) {
+        return campos[i].toString().trim();
+    }
+
+    /**
+     * Convierte el texto del puesto al tipo de empleado, sin distinguir mayúsculas.
+     *
+     * @return El tipo de empleado, o `null` si el puesto no es válido.
+     */
+    static tipoEmpleado convertirPuesto(CharSequence puesto) {
+        String texto = puesto.toString().trim();
+        if (texto.equalsIgnoreCase("EMPLEADO") || texto.equalsIgnoreCase("REGULAR")
+                || texto.equalsIgnoreCase("EMPLEADO REGULAR")) {
+            return tipoEmpleado.EMPLEADO;
+        }
+        if (texto.equalsIgnoreCase("ADMINISTRATIVO")) {
+            return tipoEmpleado.ADMINISTRATIVO;
+        }
+        if (texto.equalsIgnoreCase("GERENTE")) {
+            return tipoEmpleado.GERENTE;
+        }
+        return null;
+    }
+
+    /**
+     * Inserta el lote en el gestor y reporta los usuarios repetidos.
+     */
+    private void insertarLote(List<Empleado> lote, long[] lineasLote, Resultado resultado) throws IOException {
+        if (lote.isEmpty()) {
+            return;
+        }
+        boolean[] aceptados = gestor.agregarEmpleados(lote);
+        for (int i = 0; i < aceptados.length; i++) {
+            if (aceptados[i]) {
+                resultado.importados++;
+            } else {
+                resultado.error(lineasLote[i], "ya existe un empleado con el usuario '" + lote.get(i).getUsuario() + "'");
+            }
+        }
+        lote.clear();
+    }
+}
@@ -0,0 +1,1043 @@
+package data;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.PriorityQueue;
+
+/**
+ * Clase que mantiene el índice de búsqueda por nombre y usuario del {@link GestorEmpleado}.
+ *
+ * Hay dos tries: uno con las palabras del nombre de cada empleado (letras y dígitos) y otro
+ * con el usuario completo, ambos sin mayúsculas ni tildes. Cada palabra del trie guarda la
+ * lista de empleados que la tienen, en orden de registro.
+ *
+ * Una consulta coincide con un empleado si cada una de sus palabras coincide con una palabra
+ * del nombre, o si la consulta completa (sin espacios) coincide con el usuario. Cada
+ * coincidencia tiene un costo:
+ * <ul>
+ *   <li>Palabra igual: 0.</li>
+ *   <li>La última palabra de la consulta puede ser el comienzo de la palabra (se está
+ *       escribiendo): tantos puntos como letras falten.</li>
+ *   <li>Con errores de tipeo (distancia de edición de hasta 1 en palabras de 3 a 5 letras y de
+ *       hasta 2 en las más largas): {@link #COSTO_ERROR} por cada error.</li>
+ * </ul>
+ * El costo de un empleado es la suma de los costos de las palabras; los resultados se
+ * ordenan por costo y luego por orden de registro.
+ *
+ * Para responder sin recorrer todos los empleados que coinciden:
+ * <ul>
+ *   <li>Con una sola palabra, las palabras del trie se recorren de menor a mayor costo (la
+ *       igual, las que la completan con una letra, con dos, etc., y al final las que tienen
+ *       errores) y el recorrido termina en cuanto ningún empleado restante puede entrar entre
+ *       los mejores.</li>
+ *   <li>Con varias palabras, se intersectan los empleados de cada una, del conjunto más
+ *       chico al más grande (recorriendo ambos a la par o, si el otro es mucho más grande,
+ *       avanzando en él con búsqueda exponencial). Si la última palabra
+ *       completa demasiadas palabras del trie, no se usan sus listas: se compara con el nombre
+ *       de cada empleado de la intersección. Los errores de tipeo se buscan solo si sin ellos
+ *       no se llega al límite de resultados (cualquier error cuesta más que completar letras).</li>
+ * </ul>
+ *
+ * Los nodos se guardan en arreglos primitivos por bloques, que crecen sin copiar los nodos
+ * existentes. Los hijos de un nodo forman una lista; los nodos con muchos hijos (la raíz y
+ * el primer nivel) tienen además una tabla por letra. Los métodos están sincronizados, igual
+ * que {@link IndicesEmpleado}.
+ *
+ * El índice no se actualiza dentro del registro de cada empleado (que retiene a los demás
+ * registros): después de registrar, el gestor llama a {@link #ponerAlDia()}, que agrega en
+ * orden de posición a todos los empleados publicados que faltan (los de un lote, de una vez).
+ */
+final class IndiceNombres {
+
+    // Costo de cada error de tipeo (mayor que cualquier cantidad de letras completadas)
+    static final int COSTO_ERROR = 1_000;
+
+    // Palabras del trie que puede completar la última palabra antes de compararla empleado por empleado
+    private static final int MAXIMO_COMPLETADAS = 64;
+
+    // Posiciones que se intersectan a la vez en una consulta de varias palabras
+    private static final int TRAMO = 1 << 16;
+
+    /**
+     * Cada carácter Latin-1 en minúscula y sin tilde (calculado con {@link #normalizarUnicode}
+     * para que ambos caminos den lo mismo; {@code 0xFFFF} si no queda en un solo carácter).
+     */
+    private static final char[] LATIN1 = new char[0x100];
+
+    static {
+        for (char c = 0; c < LATIN1.length; c++) {
+            String n = normalizarUnicode(String.valueOf(c));
+            LATIN1[c] = n.length() == 1 ? n.charAt(0) : '\uFFFF';
+        }
+    }
+
+    private final RegistroEmpleados empleados;      // Empleados en orden de registro (del gestor)
+    private final Trie porPalabra = new Trie();     // Palabras de los nombres
+    private final Trie porUsuario = new Trie();     // Usuarios completos
+    private final long[] marcas = new long[TRAMO / 64];  // Mapa de bits de un tramo (en cero entre búsquedas)
+    private int indexados;                          // Las posiciones [0, indexados) están en el índice
+
+    /**
+     * Constructor de la clase IndiceNombres.
+     *
+     * @param empleados El registro de empleados del gestor.
+     */
+    IndiceNombres(RegistroEmpleados empleados) {
+        this.empleados = empleados;
+    }
+
+    /**
+     * Agrega al índice el nombre y el usuario de los empleados publicados en el registro que
+     * aún no están indexados, en orden de posición. Al retornar, el índice incluye a todos los
+     * empleados registrados antes de la llamada.
+     */
+    synchronized void ponerAlDia() {
+        int n = empleados.cantidad();
+        for (int i = indexados; i < n; i++) {
+            Empleado emp = empleados.get(i);
+            String nombre = normalizar(emp.getNombre());
+            int inicio = -1;
+            for (int k = 0; k <= nombre.length(); k++) {  // Las mismas palabras que palabras(nombre)
+                boolean letra = k < nombre.length() && Character.isLetterOrDigit(nombre.charAt(k));
+                if (letra && inicio < 0) {
+                    inicio = k;
+                } else if (!letra && inicio >= 0) {
+                    porPalabra.insertar(nombre, inicio, k, i);
+                    inicio = -1;
+                }
+            }
+            String usuario = normalizar(emp.getUsuario());
+            if (!usuario.isEmpty()) {
+                porUsuario.insertar(usuario, 0, usuario.length(), i);
+            }
+        }
+        indexados = Math.max(indexados, n);
+    }
+
+    /**
+     * Método para buscar los empleados que mejor coinciden con una consulta.
+     *
+     * @param consulta Las palabras del nombre o el usuario a buscar.
+     * @param limite La cantidad máxima de empleados a retornar.
+     * @return Los empleados que coinciden, ordenados por costo y luego por orden de registro
+     *         (lista vacía si no hay o la consulta está vacía).
+     */
+    synchronized List<Empleado> buscar(String consulta, int limite) {
+        if (limite <= 0) {
+            return Collections.emptyList();
+        }
+        Busqueda busqueda = new Busqueda(limite);
+        List<String> palabras = palabras(consulta);
+        if (palabras.size() == 1) {
+            buscarPalabra(porPalabra, palabras.get(0), busqueda);
+        } else if (palabras.size() > 1) {
+            buscarPalabras(palabras, busqueda);
+        }
+        String usuario = normalizar(consulta.trim());
+        if (!usuario.isEmpty() && usuario.chars().noneMatch(Character::isWhitespace)) {
+            buscarPalabra(porUsuario, usuario, busqueda);
+        }
+        return busqueda.resultado();
+    }
+
+    /**
+     * Método para separar un texto en palabras: secuencias de letras y dígitos, en minúsculas
+     * y sin tildes.
+     *
+     * @param texto El texto.
+     * @return Las palabras del texto, en orden.
+     */
+    static List<String> palabras(String texto) {
+        String normalizado = normalizar(texto);
+        List<String> palabras = new ArrayList<>(4);
+        int inicio = -1;
+        for (int i = 0; i <= normalizado.length(); i++) {
+            boolean letra = i < normalizado.length() && Character.isLetterOrDigit(normalizado.charAt(i));
+            if (letra && inicio < 0) {
+                inicio = i;
+            } else if (!letra && inicio >= 0) {
+                palabras.add(normalizado.substring(inicio, i));
+                inicio = -1;
+            }
+        }
+        return palabras;
+    }
+
+    /**
+     * Pasa un texto a minúsculas y le quita las tildes. Los textos en Latin-1 (los nombres en
+     * español) usan la tabla {@link #LATIN1}; los demás pasan por {@link Normalizer}.
+     */
+    private static String normalizar(String texto) {
+        char[] letras = null;
+        for (int i = 0; i < texto.length(); i++) {
+            char c = texto.charAt(i);
+            char n = c < LATIN1.length ? LATIN1[c] : '\uFFFF';
+            if (n == '\uFFFF') {
+                return normalizarUnicode(texto);
+            }
+            if (n != c && letras == null) {
+                letras = texto.toCharArray();
+            }
+            if (letras != null) {
+                letras[i] = n;
+            }
+        }
+        return letras == null ? texto : new String(letras);
+    }
+
+    /**
+     * Compara dos nombres sin mayúsculas ni tildes (el mismo orden que comparar los textos
+     * normalizados). Los nombres en Latin-1 se comparan letra por letra con la tabla
+     * {@link #LATIN1}, sin crear textos.
+     *
+     * @param a El primer nombre.
+     * @param b El segundo nombre.
+     * @return Un número negativo, cero o positivo si `a` va antes, igual o después que `b`.
+     */
+    static int compararNombres(String a, String b) {
+        int largo = Math.min(a.length(), b.length());
+        for (int i = 0; i < largo; i++) {
+            char ca = a.charAt(i);
+            char cb = b.charAt(i);
+            char na = ca < LATIN1.length ? LATIN1[ca] : '\uFFFF';
+            char nb = cb < LATIN1.length ? LATIN1[cb] : '\uFFFF';
+            if (na == '\uFFFF' || nb == '\uFFFF') {
+                return normalizar(a).compareTo(normalizar(b));
+            }
+            if (na != nb) {
+                return na - nb;
+            }
+        }
+        for (int i = largo; i < a.length(); i++) {  // El resto de un texto puede no ser Latin-1
+            if (a.charAt(i) >= LATIN1.length || LATIN1[a.charAt(i)] == '\uFFFF') {
+                return normalizar(a).compareTo(normalizar(b));
+            }
+        }
+        for (int i = largo; i < b.length(); i++) {
+            if (b.charAt(i) >= LATIN1.length || LATIN1[b.charAt(i)] == '\uFFFF') {
+                return normalizar(a).compareTo(normalizar(b));
+            }
+        }
+        return a.length() - b.length();
+    }
+
+    /**
+     * Indica si un nombre, sin mayúsculas ni tildes, comienza con el prefijo indicado.
+     *
+     * @param nombre El nombre.
+     * @param prefijo El prefijo, ya normalizado con {@link #normalizarPrefijo(String)}.
+     * @return `true` si el nombre comienza con el prefijo.
+     */
+    static boolean comienzaCon(String nombre, String prefijo) {
+        return normalizar(nombre).startsWith(prefijo);
+    }
+
+    /**
+     * Pasa un prefijo de nombre a minúsculas y sin tildes, para {@link #comienzaCon(String, String)}.
+     *
+     * @param prefijo El prefijo.
+     * @return El prefijo normalizado.
+     */
+    static String normalizarPrefijo(String prefijo) {
+        return normalizar(prefijo);
+    }
+
+    private static String normalizarUnicode(String texto) {
+        StringBuilder sb = new StringBuilder(texto.length());
+        for (char c : Normalizer.normalize(texto, Normalizer.Form.NFD).toCharArray()) {
+            if (Character.getType(c) != Character.NON_SPACING_MARK) {
+                sb.append(c);
+            }
+        }
+        return sb.toString().toLowerCase(Locale.ROOT);
+    }
+
+    /**
+     * Errores de tipeo permitidos en una palabra de la consulta, según su largo.
+     */
+    private static int erroresPermitidos(String palabra) {
+        return palabra.length() < 3 ? 0 : palabra.length() < 6 ? 1 : 2;
+    }
+
+    // ------------------------------------------------------------------ Una palabra
+
+    /**
+     * Busca una palabra que se está escribiendo: la palabra igual y las que la completan, por
+     * cantidad de letras agregadas, y luego las que tienen errores de tipeo, por cantidad de
+     * errores. El costo de un empleado es el de la primera palabra donde aparece.
+     */
+    private void buscarPalabra(Trie trie, String palabra, Busqueda busqueda) {
+        int nodo = trie.nodoDe(palabra);
+        if (nodo >= 0) {
+            int[] nivel = { nodo };
+            int tamanoNivel = 1;
+            for (int costo = 0; tamanoNivel > 0 && busqueda.puedeMejorar(costo); costo++) {
+                int[] siguiente = new int[Math.max(4, tamanoNivel * 2)];
+                int tamanoSiguiente = 0;
+                for (int k = 0; k < tamanoNivel; k++) {
+                    Lista lista = trie.lista(nivel[k], costo);
+                    while (lista != null && lista.hayActual() && busqueda.considerar(lista.actual(), costo)) {
+                        lista.siguiente();
+                    }
+                    for (int h = trie.hijo(nivel[k]); h != 0; h = trie.hermano(h)) {
+                        if (tamanoSiguiente == siguiente.length) {
+                            siguiente = Arrays.copyOf(siguiente, siguiente.length * 2);
+                        }
+                        siguiente[tamanoSiguiente++] = h;
+                    }
+                }
+                nivel = siguiente;
+                tamanoNivel = tamanoSiguiente;
+            }
+        }
+
+        int maximo = erroresPermitidos(palabra);
+        if (maximo > 0 && busqueda.puedeMejorar(COSTO_ERROR)) {
+            List<Lista> aproximadas = trie.aproximadas(palabra, maximo);
+            for (int distancia = 1; distancia <= maximo && busqueda.puedeMejorar(distancia * COSTO_ERROR); distancia++) {
+                for (Lista lista : aproximadas) {
+                    while (lista.costo == distancia * COSTO_ERROR && lista.hayActual()
+                            && busqueda.considerar(lista.actual(), lista.costo)) {
+                        lista.siguiente();
+                    }
+                }
+            }
+        }
+    }
+
+    // ------------------------------------------------------------------ Varias palabras
+
+    /**
+     * Palabra de una consulta de varias palabras y las listas de empleados con las que coincide.
+     */
+    private static final class Termino {
+        final String palabra;
+        final boolean ultima;        // La última palabra puede estar incompleta
+        final List<Lista> listas = new ArrayList<>();
+        boolean amplia;              // Completa demasiadas palabras: se compara con cada nombre
+        long empleados;              // Suma del largo de las listas
+        int aproximadas;             // Listas de palabras con errores de tipeo
+
+        Termino(String palabra, boolean ultima) {
+            this.palabra = palabra;
+            this.ultima = ultima;
+        }
+    }
+
+    /**
+     * Busca una consulta de varias palabras intersectando las listas de empleados de cada una:
+     * primero sin errores de tipeo y, si no se llega al límite, también con errores.
+     */
+    private void buscarPalabras(List<String> palabras, Busqueda busqueda) {
+        for (int fase = 0; fase < 2 && !busqueda.lleno(); fase++) {
+            boolean conErrores = fase == 1;
+            boolean hayErrores = false;
+            Termino[] terminos = new Termino[palabras.size()];
+            for (int p = 0; p < terminos.length; p++) {
+                terminos[p] = termino(palabras.get(p), p == terminos.length - 1, conErrores);
+                if (!terminos[p].amplia && terminos[p].listas.isEmpty()) {
+                    terminos = null;  // Una palabra no coincide con ningún empleado
+                    break;
+                }
+                hayErrores |= terminos[p].aproximadas > 0
+                        || (terminos[p].amplia && erroresPermitidos(palabras.get(p)) > 0);
+            }
+            if (terminos != null && (!conErrores || hayErrores)) {
+                intersectar(terminos, conErrores, busqueda);
+            }
+        }
+    }
+
+    /**
+     * Obtiene las listas de empleados de una palabra de la consulta.
+     */
+    private Termino termino(String palabra, boolean ultima, boolean conErrores) {
+        Termino termino = new Termino(palabra, ultima);
+        int nodo = porPalabra.nodoDe(palabra);
+        if (nodo >= 0 && !ultima) {
+            agregarLista(termino, porPalabra.lista(nodo, 0));
+        } else if (nodo >= 0) {
+            // La palabra igual y las que la completan, por cantidad de letras agregadas
+            int[] nivel = { nodo };
+            int tamanoNivel = 1;
+            int completadas = 0;
+            for (int costo = 0; tamanoNivel > 0 && !termino.amplia; costo++) {
+                int[] siguiente = new int[Math.max(4, tamanoNivel * 2)];
+                int tamanoSiguiente = 0;
+                for (int k = 0; k < tamanoNivel && !termino.amplia; k++) {
+                    Lista lista = porPalabra.lista(nivel[k], costo);
+                    if (lista != null && ++completadas > MAXIMO_COMPLETADAS) {
+                        termino.amplia = true;
+                    }
+                    agregarLista(termino, lista);
+                    for (int h = porPalabra.hijo(nivel[k]); h != 0; h = porPalabra.hermano(h)) {
+                        if (tamanoSiguiente == siguiente.length) {
+                            siguiente = Arrays.copyOf(siguiente, siguiente.length * 2);
+                        }
+                        siguiente[tamanoSiguiente++] = h;
+                    }
+                }
+                nivel = siguiente;
+                tamanoNivel = tamanoSiguiente;
+            }
+        }
+        if (termino.amplia) {
+            termino.listas.clear();
+            return termino;
+        }
+        int maximo = erroresPermitidos(palabra);
+        if (conErrores && maximo > 0) {
+            // Una palabra completada puede volver a aparecer aquí; cuenta su menor costo
+            for (Lista lista : porPalabra.aproximadas(palabra, maximo)) {
+                agregarLista(termino, lista);
+                termino.aproximadas++;
+            }
+        }
+        return termino;
+    }
+
+    private static void agregarLista(Termino termino, Lista lista) {
+        if (lista != null) {
+            termino.listas.add(lista);
+            termino.empleados += lista.tamano();
+        }
+    }
+
+    /**
+     * Intersecta los empleados de las palabras, de la que tiene menos a la que tiene más, y
+     * compara los que quedan con las palabras amplias. Se avanza por tramos de posiciones, de
+     * modo que si los primeros tramos ya dan los mejores resultados no se recorre el resto.
+     */
+    private void intersectar(Termino[] terminos, boolean conErrores, Busqueda busqueda) {
+        List<Termino> conListas = new ArrayList<>();
+        List<Termino> amplias = new ArrayList<>();
+        int costoMinimo = 0;  // Menor costo posible de un empleado
+        int ultima = 0;       // Mayor posición de las listas
+        for (Termino termino : terminos) {
+            (termino.amplia ? amplias : conListas).add(termino);
+            int minimo = termino.amplia ? 0 : Integer.MAX_VALUE;
+            for (Lista lista : termino.listas) {
+                minimo = Math.min(minimo, lista.costo);
+                ultima = Math.max(ultima, lista.datos[lista.fin - 1]);
+            }
+            costoMinimo += minimo;
+        }
+        conListas.sort((a, b) -> Long.compare(a.empleados, b.empleados));
+
+        for (int desde = 0; desde <= ultima && busqueda.puedeMejorar(costoMinimo, desde); desde += TRAMO) {
+            Conjunto resultado = Conjunto.de(conListas.get(0).listas, desde);
+            for (int t = 1; t < conListas.size() && resultado.tamano() > 0; t++) {
+                resultado = resultado.interseccion(conListas.get(t), desde, marcas);
+            }
+            for (int k = resultado.desde; k < resultado.hasta; k++) {
+                int posicion = resultado.posiciones[k];
+                if (!busqueda.puedeMejorar(costoMinimo, posicion)) {
+                    return;  // Los siguientes tienen posiciones mayores y al menos el costo mínimo
+                }
+                int total = resultado.costo(k);
+                if (!amplias.isEmpty()) {
+                    List<String> propias = palabras(empleados.get(posicion).getNombre());
+                    for (int t = 0; t < amplias.size() && total >= 0; t++) {
+                        Termino termino = amplias.get(t);
+                        int costo = costo(termino.palabra, conErrores ? erroresPermitidos(termino.palabra) : 0, propias);
+                        total = costo < 0 ? -1 : total + costo;
+                    }
+                }
+                if (total >= 0) {
+                    busqueda.considerar(posicion, total);
+                }
+            }
+        }
+    }
+
+    /**
+     * Empleados de un tramo de posiciones con los que coinciden una o más palabras de la
+     * consulta, en orden de registro, con el costo de cada uno.
+     */
+    private static final class Conjunto {
+        final int[] posiciones;
+        final int[] costos;   // null si todos tienen `costoFijo`
+        final int costoFijo;
+        final int desde;
+        final int hasta;
+
+        Conjunto(int[] posiciones, int[] costos, int costoFijo, int desde, int hasta) {
+            this.posiciones = posiciones;
+            this.costos = costos;
+            this.costoFijo = costoFijo;
+            this.desde = desde;
+            this.hasta = hasta;
+        }
+
+        /**
+         * Unión, en el tramo que empieza en `inicio`, de las listas de las palabras del trie
+         * con las que coincide una palabra de la consulta (un empleado en varias queda con el
+         * menor costo). Una sola lista no se copia.
+         */
+        static Conjunto de(List<Lista> listas, int inicio) {
+            Lista primera = listas.get(0);
+            primera.avanzar(inicio);
+            Conjunto conjunto = new Conjunto(primera.datos, null, primera.costo, primera.i, primera.finTramo(inicio + TRAMO));
+            primera.i = conjunto.hasta;
+            for (int k = 1; k < listas.size(); k++) {
+                conjunto = conjunto.union(listas.get(k), inicio);
+            }
+            return conjunto;
+        }
+
+        int tamano() {
+            return hasta - desde;
+        }
+
+        int costo(int k) {
+            return costos == null ? costoFijo : costos[k];
+        }
+
+        private Conjunto union(Lista lista, int inicio) {
+            lista.avanzar(inicio);
+            int fin = lista.finTramo(inicio + TRAMO);
+            int[] nuevasPosiciones = new int[tamano() + fin - lista.i];
+            int[] nuevosCostos = new int[nuevasPosiciones.length];
+            int n = 0;
+            int a = desde;
+            int b = lista.i;
+            while (a < hasta || b < fin) {
+                int pa = a < hasta ? posiciones[a] : Integer.MAX_VALUE;
+                int pb = b < fin ? lista.datos[b] : Integer.MAX_VALUE;
+                nuevasPosiciones[n] = Math.min(pa, pb);
+                if (pa < pb) {
+                    nuevosCostos[n++] = costo(a++);
+                } else if (pb < pa) {
+                    nuevosCostos[n++] = lista.costo;
+                    b++;
+                } else {
+                    nuevosCostos[n++] = Math.min(costo(a++), lista.costo);
+                    b++;
+                }
+            }
+            lista.i = fin;
+            return new Conjunto(nuevasPosiciones, nuevosCostos, 0, 0, n);
+        }
+
+        /**
+         * Empleados del conjunto que también están en las listas de otra palabra, con la suma
+         * de los costos (el menor entre las listas de la otra palabra). Si las listas son mucho
+         * más grandes que el conjunto, se avanza en ellas con búsqueda exponencial; si no, se
+         * marcan en un mapa de bits y se filtra el conjunto con el mapa, lo que evita los saltos
+         * imposibles de predecir de recorrer las listas a la par.
+         *
+         * @param inicio La primera posición del tramo.
+         * @param marcas Un mapa de bits en cero con lugar para un tramo; queda en cero.
+         */
+        Conjunto interseccion(Termino otro, int inicio, long[] marcas) {
+            int[] nuevasPosiciones = new int[tamano()];
+            int[] nuevosCostos = new int[nuevasPosiciones.length];
+            int n = 0;
+            int[] fines = new int[otro.listas.size()];
+            long enTramo = 0;
+            for (int l = 0; l < fines.length; l++) {
+                Lista lista = otro.listas.get(l);
+                lista.avanzar(inicio);
+                fines[l] = lista.finTramo(inicio + TRAMO);
+                enTramo += fines[l] - lista.i;
+            }
+            if (tamano() * 16L < enTramo) {
+                for (int a = desde; a < hasta; a++) {
+                    nuevasPosiciones[n] = posiciones[a];
+                    nuevosCostos[n++] = costo(a);
+                }
+            } else {
+                for (int l = 0; l < fines.length; l++) {
+                    Lista lista = otro.listas.get(l);
+                    for (int b = lista.i; b < fines[l]; b++) {
+                        int bit = lista.datos[b] - inicio;
+                        marcas[bit >>> 6] |= 1L << bit;
+                    }
+                }
+                for (int a = desde; a < hasta; a++) {
+                    int bit = posiciones[a] - inicio;
+                    if ((marcas[bit >>> 6] & (1L << bit)) != 0) {
+                        nuevasPosiciones[n] = posiciones[a];
+                        nuevosCostos[n++] = costo(a);
+                    }
+                }
+                Arrays.fill(marcas, 0);
+            }
+
+            // Costo de la otra palabra para cada empleado que queda (y los que no están)
+            int[] menores = new int[n];
+            Arrays.fill(menores, -1);
+            for (int l = 0; l < fines.length; l++) {
+                Lista lista = otro.listas.get(l);
+                int b = lista.i;
+                for (int k = 0; k < n && b < fines[l]; k++) {
+                    b = primeraDesde(lista.datos, b, fines[l], nuevasPosiciones[k]);
+                    if (b < fines[l] && lista.datos[b] == nuevasPosiciones[k] && (menores[k] < 0 || lista.costo < menores[k])) {
+                        menores[k] = lista.costo;
+                    }
+                }
+                lista.i = fines[l];
+            }
+            int m = 0;
+            for (int k = 0; k < n; k++) {
+                if (menores[k] >= 0) {
+                    nuevasPosiciones[m] = nuevasPosiciones[k];
+                    nuevosCostos[m++] = nuevosCostos[k] + menores[k];
+                }
+            }
+            return new Conjunto(nuevasPosiciones, nuevosCostos, 0, 0, m);
+        }
+    }
+
+    /**
+     * Primer índice de `datos` desde `k` (y antes de `fin`) cuyo valor es mayor o igual al
+     * indicado, con pasos que se duplican y luego búsqueda binaria.
+     */
+    private static int primeraDesde(int[] datos, int k, int fin, int posicion) {
+        if (k >= fin || datos[k] >= posicion) {
+            return k;
+        }
+        int paso = 1;
+        int bajo = k;
+        while (k + paso < fin && datos[k + paso] < posicion) {
+            bajo = k + paso;
+            paso <<= 1;
+        }
+        int alto = Math.min(k + paso, fin);
+        bajo++;
+        while (bajo < alto) {
+            int medio = (bajo + alto) >>> 1;
+            if (datos[medio] < posicion) {
+                bajo = medio + 1;
+            } else {
+                alto = medio;
+            }
+        }
+        return bajo;
+    }
+
+    /**
+     * Menor costo con el que la última palabra de la consulta (que puede estar incompleta)
+     * coincide con alguna palabra del nombre de un empleado (-1 si no coincide).
+     */
+    private static int costo(String consulta, int errores, List<String> propias) {
+        int mejor = -1;
+        for (String palabra : propias) {
+            int costo = -1;
+            if (palabra.startsWith(consulta)) {
+                costo = palabra.length() - consulta.length();
+            } else if (errores > 0 && Math.abs(palabra.length() - consulta.length()) <= errores) {
+                int distancia = distancia(consulta, palabra, errores);
+                costo = distancia <= errores ? distancia * COSTO_ERROR : -1;
+            }
+            if (costo >= 0 && (mejor < 0 || costo < mejor)) {
+                mejor = costo;
+            }
+        }
+        return mejor;
+    }
+
+    /**
+     * Distancia de edición entre dos palabras, o `maximo + 1` si es mayor que `maximo`.
+     */
+    private static int distancia(String a, String b, int maximo) {
+        int[] anterior = new int[b.length() + 1];
+        int[] actual = new int[b.length() + 1];
+        for (int j = 0; j < anterior.length; j++) {
+            anterior[j] = j;
+        }
+        for (int i = 1; i <= a.length(); i++) {
+            actual[0] = i;
+            int menor = i;
+            for (int j = 1; j <= b.length(); j++) {
+                int sustitucion = anterior[j - 1] + (a.charAt(i - 1) == b.charAt(j - 1) ? 0 : 1);
+                actual[j] = Math.min(sustitucion, Math.min(anterior[j], actual[j - 1]) + 1);
+                menor = Math.min(menor, actual[j]);
+            }
+            if (menor > maximo) {
+                return maximo + 1;
+            }
+            int[] intercambio = anterior;
+            anterior = actual;
+            actual = intercambio;
+        }
+        return Math.min(anterior[b.length()], maximo + 1);
+    }
+
+    // ------------------------------------------------------------------ Resultados
+
+    /**
+     * Mejores empleados encontrados en una búsqueda. Cada uno se representa con un `long`
+     * (costo en los 32 bits altos, posición en los bajos), de modo que el orden de los `long`
+     * es el orden de los resultados. Un empleado encontrado varias veces queda con su menor costo.
+     */
+    private final class Busqueda {
+
+        final int limite;
+        final PriorityQueue<Long> mejores;  // Montículo de máximos: el peor arriba
+        final Map<Integer, Integer> costos = new HashMap<>();
+
+        Busqueda(int limite) {
+            this.limite = limite;
+            mejores = new PriorityQueue<>(Math.min(limite, 64), Collections.reverseOrder());
+        }
+
+        boolean lleno() {
+            return mejores.size() >= limite;
+        }
+
+        /**
+         * Indica si un empleado con al menos este costo todavía puede entrar entre los mejores.
+         */
+        boolean puedeMejorar(int costo) {
+            return puedeMejorar(costo, 0);
+        }
+
+        /**
+         * Indica si un empleado con al menos este costo y una posición mayor o igual a la
+         * indicada todavía puede entrar entre los mejores.
+         */
+        boolean puedeMejorar(int costo, int posicion) {
+            return !lleno() || (((long) costo << 32) | posicion) < mejores.peek();
+        }
+
+        /**
+         * Considera un empleado con su costo.
+         *
+         * @return `false` si ni este empleado ni otros con el mismo costo y posiciones mayores
+         *         pueden entrar entre los mejores.
+         */
+        boolean considerar(int posicion, int costo) {
+            if (!puedeMejorar(costo, posicion)) {
+                return false;
+            }
+            Integer anterior = costos.get(posicion);
+            if (anterior != null) {
+                if (anterior <= costo) {
+                    return true;
+                }
+                mejores.remove(((long) anterior << 32) | posicion);
+            }
+            mejores.add(((long) costo << 32) | posicion);
+            costos.put(posicion, costo);
+            if (mejores.size() > limite) {
+                costos.remove((int) (long) mejores.poll());
+            }
+            return true;
+        }
+
+        List<Empleado> resultado() {
+            Long[] claves = mejores.toArray(new Long[0]);
+            Arrays.sort(claves);
+            List<Empleado> resultado = new ArrayList<>(claves.length);
+            for (long clave : claves) {
+                resultado.add(empleados.get((int) clave));
+            }
+            return resultado;
+        }
+    }
+
+    // ------------------------------------------------------------------ Trie
+
+    /**
+     * Lista de empleados de una palabra del trie (en orden de registro), con un cursor.
+     */
+    private static final class Lista {
+        final int costo;
+        final int[] datos;
+        final int inicio;
+        final int fin;
+        int i;
+
+        Lista(int costo, int[] datos, int inicio, int fin) {
+            this.costo = costo;
+            this.datos = datos;
+            this.inicio = inicio;
+            this.fin = fin;
+            this.i = inicio;
+        }
+
+        int tamano() {
+            return fin - inicio;
+        }
+
+        boolean hayActual() {
+            return i < fin;
+        }
+
+        int actual() {
+            return datos[i];
+        }
+
+        void siguiente() {
+            i++;
+        }
+
+        /**
+         * Avanza el cursor hasta la primera posición mayor o igual a la indicada.
+         */
+        void avanzar(int posicion) {
+            i = primeraDesde(datos, i, fin, posicion);
+        }
+
+        /**
+         * Índice siguiente a la última posición menor a la indicada (desde el cursor).
+         */
+        int finTramo(int posicion) {
+            return primeraDesde(datos, i, fin, posicion);
+        }
+    }
+
+    /**
+     * Trie de palabras con la lista de empleados de cada una. Los nodos están en bloques de
+     * arreglos primitivos; el nodo 0 es la raíz, que nunca es hijo de otro.
+     */
+    private static final class Trie {
+
+        private static final int BITS_BLOQUE = 16;
+        private static final int TAMANO_BLOQUE = 1 << BITS_BLOQUE;  // Nodos por bloque
+        private static final int MASCARA = TAMANO_BLOQUE - 1;
+
+        // Valores de `entradas`: -1 sin empleados, >= 0 un solo empleado, < -1 la lista -(k + 2)
+        private static final int SIN_EMPLEADOS = -1;
+
+        private static final int MINIMO_TABLA = 6;      // Hijos a partir de los cuales un nodo tiene tabla
+        private static final int LETRAS_TABLA = 36;     // Letras de la tabla (a-z, 0-9); las demás van en la lista
+        private static final byte[] RANURA = new byte[0x80];  // Lugar de cada letra ASCII en la tabla (-1 si no tiene)
+
+        static {
+            Arrays.fill(RANURA, (byte) -1);
+            for (char c = 'a'; c <= 'z'; c++) {
+                RANURA[c] = (byte) (c - 'a');
+            }
+            for (char c = '0'; c <= '9'; c++) {
+                RANURA[c] = (byte) (26 + c - '0');
+            }
+        }
+
+        private char[][] letra = new char[0][];
+        private int[][] hijo = new int[0][];       // Primer hijo (0 si no tiene; -(k + 1) si tiene la tabla k)
+        private int[][] hermano = new int[0][];    // Siguiente hermano (0 si no tiene)
+        private int[][] entradas = new int[0][];   // Empleados de la palabra que termina en el nodo
+        private int nodos;
+
+        private int[][] listas = new int[16][];    // Listas de empleados: [0] tamaño, luego las posiciones
+        private int cantidadListas;
+
+        private int[][] tablas = new int[16][];    // Hijo por letra; [LETRAS_TABLA] = primer hijo de la lista
+        private int cantidadTablas;
+        private int hermanosRecorridos;            // Hijos que recorrió la última búsqueda sin tabla
+
+        Trie() {
+            nuevoNodo('\0');  // Raíz
+        }
+
+        int hijo(int n) {
+            int h = hijo[n >>> BITS_BLOQUE][n & MASCARA];
+            return h >= 0 ? h : tablas[-h - 1][LETRAS_TABLA];
+        }
+
+        int hermano(int n) {
+            return hermano[n >>> BITS_BLOQUE][n & MASCARA];
+        }
+
+        private char letra(int n) {
+            return letra[n >>> BITS_BLOQUE][n & MASCARA];
+        }
+
+        private int entradas(int n) {
+            return entradas[n >>> BITS_BLOQUE][n & MASCARA];
+        }
+
+        /**
+         * Agrega un empleado a la lista de la palabra `texto[desde, hasta)`, sin crear la
+         * palabra (las posiciones llegan en orden; una palabra repetida en el mismo nombre se
+         * agrega una sola vez).
+         */
+        void insertar(String texto, int desde, int hasta, int posicion) {
+            int nodo = 0;
+            for (int i = desde; i < hasta; i++) {
+                char c = texto.charAt(i);
+                int h = hijoCon(nodo, c);
+                if (h < 0) {
+                    h = nuevoNodo(c);
+                    agregarHijo(nodo, h, c);
+                }
+                nodo = h;
+            }
+
+            int valor = entradas(nodo);
+            if (valor == SIN_EMPLEADOS) {
+                entradas[nodo >>> BITS_BLOQUE][nodo & MASCARA] = posicion;
+            } else if (valor >= 0) {
+                if (valor != posicion) {
+                    if (cantidadListas == listas.length) {
+                        listas = Arrays.copyOf(listas, listas.length * 2);
+                    }
+                    listas[cantidadListas] = new int[] { 2, valor, posicion, 0 };
+                    entradas[nodo >>> BITS_BLOQUE][nodo & MASCARA] = -(cantidadListas++ + 2);
+                }
+            } else {
+                int k = -valor - 2;
+                int[] lista = listas[k];
+                int tamano = lista[0];
+                if (lista[tamano] != posicion) {
+                    if (tamano + 1 == lista.length) {
+                        lista = Arrays.copyOf(lista, lista.length * 2);
+                        listas[k] = lista;
+                    }
+                    lista[tamano + 1] = posicion;
+                    lista[0] = tamano + 1;
+                }
+            }
+        }
+
+        /**
+         * Nodo donde termina el camino de una palabra (-1 si no existe).
+         */
+        int nodoDe(String palabra) {
+            int nodo = 0;
+            for (int i = 0; i < palabra.length() && nodo >= 0; i++) {
+                nodo = hijoCon(nodo, palabra.charAt(i));
+            }
+            return nodo;
+        }
+
+        private int hijoCon(int nodo, char c) {
+            int primero = hijo[nodo >>> BITS_BLOQUE][nodo & MASCARA];
+            if (primero < 0) {
+                int[] tabla = tablas[-primero - 1];
+                int r = c < RANURA.length ? RANURA[c] : -1;
+                if (r >= 0) {
+                    int h = tabla[r];
+                    return h != 0 ? h : -1;
+                }
+                primero = tabla[LETRAS_TABLA];
+            }
+            int recorridos = 0;
+            for (int h = primero; h != 0; h = hermano(h)) {
+                if (letra(h) == c) {
+                    return h;
+                }
+                recorridos++;
+            }
+            hermanosRecorridos = recorridos;
+            return -1;
+        }
+
+        /**
+         * Agrega un hijo nuevo al comienzo de la lista de un nodo (y a su tabla). Si el nodo
+         * llega a {@link #MINIMO_TABLA} hijos, se le crea la tabla por letra.
+         */
+        private void agregarHijo(int nodo, int h, char c) {
+            hermano[h >>> BITS_BLOQUE][h & MASCARA] = hijo(nodo);
+            int primero = hijo[nodo >>> BITS_BLOQUE][nodo & MASCARA];
+            if (primero < 0) {
+                int[] tabla = tablas[-primero - 1];
+                tabla[LETRAS_TABLA] = h;
+                if (c < RANURA.length && RANURA[c] >= 0) {
+                    tabla[RANURA[c]] = h;
+                }
+                return;
+            }
+            hijo[nodo >>> BITS_BLOQUE][nodo & MASCARA] = h;
+            if (hermanosRecorridos + 1 >= MINIMO_TABLA) {  // hijoCon recorrió todos los hijos anteriores
+                int[] tabla = new int[LETRAS_TABLA + 1];
+                tabla[LETRAS_TABLA] = h;
+                for (int k = h; k != 0; k = hermano(k)) {
+                    char l = letra(k);
+                    if (l < RANURA.length && RANURA[l] >= 0) {
+                        tabla[RANURA[l]] = k;
+                    }
+                }
+                if (cantidadTablas == tablas.length) {
+                    tablas = Arrays.copyOf(tablas, tablas.length * 2);
+                }
+                tablas[cantidadTablas] = tabla;
+                hijo[nodo >>> BITS_BLOQUE][nodo & MASCARA] = -(++cantidadTablas);
+            }
+        }
+
+        /**
+         * Lista de empleados de la palabra que termina en un nodo (null si no hay ninguna).
+         */
+        Lista lista(int nodo, int costo) {
+            int valor = entradas(nodo);
+            if (valor == SIN_EMPLEADOS) {
+                return null;
+            }
+            if (valor >= 0) {
+                return new Lista(costo, new int[] { valor }, 0, 1);
+            }
+            int[] lista = listas[-valor - 2];
+            return new Lista(costo, lista, 1, 1 + lista[0]);
+        }
+
+        /**
+         * Listas de las palabras a distancia de edición 1..maximo de una palabra, con costo
+         * {@link #COSTO_ERROR} por error.
+         */
+        List<Lista> aproximadas(String palabra, int maximo) {
+            List<Lista> encontradas = new ArrayList<>();
+            int[] fila = new int[palabra.length() + 1];
+            for (int j = 0; j < fila.length; j++) {
+                fila[j] = j;
+            }
+            aproximadas(0, palabra, fila, maximo, encontradas);
+            return encontradas;
+        }
+
+        /**
+         * Recorre el subárbol de un nodo. `fila` tiene la distancia del camino hasta el nodo a
+         * cada comienzo de la palabra; el subárbol se descarta si ninguna llega al máximo.
+         */
+        private void aproximadas(int nodo, String palabra, int[] fila, int maximo, List<Lista> encontradas) {
+            for (int h = hijo(nodo); h != 0; h = hermano(h)) {
+                char c = letra(h);
+                int[] siguiente = new int[fila.length];
+                siguiente[0] = fila[0] + 1;
+                int menor = siguiente[0];
+                for (int j = 1; j < fila.length; j++) {
+                    int sustitucion = fila[j - 1] + (palabra.charAt(j - 1) == c ? 0 : 1);
+                    siguiente[j] = Math.min(sustitucion, Math.min(fila[j], siguiente[j - 1]) + 1);
+                    menor = Math.min(menor, siguiente[j]);
+                }
+                int distancia = siguiente[fila.length - 1];
+                if (distancia > 0 && distancia <= maximo) {
+                    Lista lista = lista(h, distancia * COSTO_ERROR);
+                    if (lista != null) {
+                        encontradas.add(lista);
+                    }
+                }
+                if (menor <= maximo) {
+                    aproximadas(h, palabra, siguiente, maximo, encontradas);
+                }
+            }
+        }
+
+        private int nuevoNodo(char c) {
+            int n = nodos;
+            if ((n & MASCARA) == 0) {  // Bloque nuevo
+                int b = n >>> BITS_BLOQUE;
+                letra = Arrays.copyOf(letra, b + 1);
+                hijo = Arrays.copyOf(hijo, b + 1);
+                hermano = Arrays.copyOf(hermano, b + 1);
+                entradas = Arrays.copyOf(entradas, b + 1);
+                letra[b] = new char[TAMANO_BLOQUE];
+                hijo[b] = new int[TAMANO_BLOQUE];
+                hermano[b] = new int[TAMANO_BLOQUE];
+                entradas[b] = new int[TAMANO_BLOQUE];
+                Arrays.fill(entradas[b], SIN_EMPLEADOS);
+            }
+            letra[n >>> BITS_BLOQUE][n & MASCARA] = c;
+            nodos = n + 1;
+            return n;
+        }
+    }
+}
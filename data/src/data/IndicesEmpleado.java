@@ -0,0 +1,1018 @@
+package data;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.function.IntPredicate;
+
+import data.Empleado.tipoEmpleado;
+
+/**
+ * Clase que mantiene los índices secundarios del {@link GestorEmpleado}:
+ * <ul>
+ *   <li>Un índice hash por cédula. La cédula no es única, así que cada entrada guarda un
+ *       empleado o, si hay varios, una lista.</li>
+ *   <li>Un mapa de bits por tipo de empleado, con la posición de registro de cada empleado.</li>
+ *   <li>Un índice ordenado por salario base (y posición de registro) por cada tipo de empleado,
+ *       para consultas por rango y páginas por salario.</li>
+ *   <li>Un índice ordenado por nombre (sin mayúsculas ni tildes) para las páginas de la nómina.</li>
+ * </ul>
+ *
+ * El índice por salario de cada tipo ({@link IndiceSalario}) tiene tres partes, para que tanto
+ * la carga masiva como los cambios sueltos sean baratos:
+ * <ul>
+ *   <li>Una base: arreglos primitivos ordenados (salario, posición), donde se busca con
+ *       búsqueda binaria. Las entradas que quedaron viejas se marcan en {@code enBase}.</li>
+ *   <li>Un delta: un árbol ordenado con los cambios recientes.</li>
+ *   <li>Los pendientes: posiciones de empleados nuevos que aún no se ordenan.</li>
+ * </ul>
+ * Los pendientes se ordenan antes de la siguiente consulta o cambio de salario. Cuando el
+ * delta crece demasiado, todo se fusiona en una base nueva en tiempo lineal.
+ *
+ * Los nombres no cambian, así que el índice por nombre solo recibe empleados nuevos: se
+ * ordenan en la siguiente consulta, en una lista corta de recientes o, si son muchos,
+ * fusionándolos con la base.
+ *
+ * Las páginas de la nómina ({@link #pagina}) se llenan desde el índice de su orden a partir
+ * de la última fila entregada, sin recorrer ni ordenar toda la nómina. Para el orden por
+ * salario mensual se recorre el índice por salario base de cada tipo de empleado (la fórmula
+ * de cada tipo es creciente en el salario base, pero distinta entre tipos) y los recorridos se
+ * intercalan. Los filtros que coinciden con el índice del orden limitan el recorrido: el tipo
+ * elige qué recorridos se intercalan (orden por salario) o qué bits se recorren (por registro y
+ * por tipo), el rango de salario fija dónde empieza y termina cada recorrido por salario y el
+ * prefijo del nombre, dónde empieza y termina el recorrido por nombre. Los demás (el tipo y el
+ * salario con el orden por nombre, el salario y el nombre con los órdenes por registro y por
+ * tipo, el nombre con el orden por salario) se revisan fila por fila, así que una página con un
+ * filtro selectivo de esos recorre también las filas que no lo cumplen.
+ *
+ * Los métodos están sincronizados porque las consultas también reorganizan el índice.
+ */
+final class IndicesEmpleado {
+
+    // Tamaño mínimo del delta antes de fusionarlo con la base
+    private static final int DELTA_MINIMO = 4_096;
+
+    private final RegistroEmpleados empleados;                       // Empleados en orden de registro (del gestor)
+    private final Map<String, Object> porCedula = new HashMap<>();   // Cédula -> Empleado o List<Empleado>
+    private final Map<tipoEmpleado, BitSet> porTipo = new EnumMap<>(tipoEmpleado.class);
+    private final List<String> cedulas = new ArrayList<>();          // Cédula indexada de cada posición
+
+    // Índice por salario base: uno por tipo de empleado
+    private long[] salarioIndexado = new long[16];  // Salario con el que está indexada cada posición
+    private int indexados;                          // Posiciones indexadas
+    private final BitSet enBase = new BitSet();     // Posiciones cuya entrada vigente está en la base de su tipo
+    private final Map<tipoEmpleado, IndiceSalario> porSalario = new EnumMap<>(tipoEmpleado.class);
+
+    // Índice por nombre: base ordenada y recientes ordenados (posiciones de registro)
+    private int[] nombreBase = new int[0];
+    private int nombreBaseTamano;
+    private int[] nombreRecientes = new int[16];
+    private int cantidadRecientes;
+    private int nombresIndexados;                   // Las posiciones [0, nombresIndexados) están en el índice
+
+    // Orden de la nómina por nombre y, con el mismo nombre, por orden de registro
+    private static final Comparator<Empleado> POR_NOMBRE = (a, b) -> {
+        int c = IndiceNombres.compararNombres(a.getNombre(), b.getNombre());
+        return c != 0 ? c : Integer.compare(a.indice, b.indice);
+    };
+
+    /**
+     * Entrada del índice por salario: salario base y posición de registro del empleado.
+     * La posición desempata a los empleados con el mismo salario.
+     */
+    private static final class Entrada implements Comparable<Entrada> {
+        final long salarioBase;
+        final int posicion;
+
+        Entrada(long salarioBase, int posicion) {
+            this.salarioBase = salarioBase;
+            this.posicion = posicion;
+        }
+
+        @Override
+        public int compareTo(Entrada otra) {
+            int c = Long.compare(salarioBase, otra.salarioBase);
+            return c != 0 ? c : Integer.compare(posicion, otra.posicion);
+        }
+    }
+
+    /**
+     * Constructor de la clase IndicesEmpleado.
+     *
+     * @param empleados El registro de empleados del gestor.
+     */
+    IndicesEmpleado(RegistroEmpleados empleados) {
+        this.empleados = empleados;
+        for (tipoEmpleado tipo : tipoEmpleado.values()) {
+            porTipo.put(tipo, new BitSet());
+            porSalario.put(tipo, new IndiceSalario(tipo));
+        }
+    }
+
+    /**
+     * Agrega a los índices un empleado recién registrado (su posición ya está asignada).
+     * Los empleados se agregan en orden de posición (lo garantiza {@link RegistroEmpleados}).
+     *
+     * @param emp El empleado registrado.
+     */
+    synchronized void agregar(Empleado emp) {
+        int i = emp.indice;
+        cedulas.add(emp.getCedula());
+        agregarCedula(emp.getCedula(), emp);
+        porTipo.get(emp.getTipo()).set(i);
+
+        if (i >= salarioIndexado.length) {
+            salarioIndexado = Arrays.copyOf(salarioIndexado, Math.max(i + 1, salarioIndexado.length * 2));
+        }
+        salarioIndexado[i] = emp.getSalarioBaseCentavos();
+        indexados = i + 1;
+        porSalario.get(emp.getTipo()).agregarPendiente(i);
+    }
+
+    /**
+     * Actualiza los índices de un empleado que cambió (cédula o salario base).
+     *
+     * @param emp El empleado modificado.
+     */
+    synchronized void actualizar(Empleado emp) {
+        int i = emp.indice;
+        if (i < 0 || i >= indexados) {
+            return;  // El empleado aún no está indexado
+        }
+        String cedulaAnterior = cedulas.get(i);
+        if (!cedulaAnterior.equals(emp.getCedula())) {
+            quitarCedula(cedulaAnterior, emp);
+            cedulas.set(i, emp.getCedula());
+            agregarCedula(emp.getCedula(), emp);
+        }
+
+        long nuevo = emp.getSalarioBaseCentavos();
+        if (nuevo != salarioIndexado[i]) {
+            porSalario.get(emp.getTipo()).cambiar(i, nuevo);
+        }
+    }
+
+    /**
+     * Actualiza el índice por salario después de un ajuste masivo de los empleados de un tipo
+     * (o de todos). En lugar de pasar cada cambio por el delta, las entradas cambiadas se
+     * toman en el orden de la base y se fusiona todo en una base nueva: si el ajuste conserva
+     * el orden de los salarios (un porcentaje o un monto fijo), las entradas ya llegan casi
+     * ordenadas.
+     *
+     * @param tipo El tipo de empleado ajustado, o `null` si se ajustaron todos.
+     * @return La cantidad de entradas que cambiaron.
+     */
+    synchronized int actualizarSalarios(tipoEmpleado tipo) {
+        int cantidad = 0;
+        for (IndiceSalario indice : porSalario.values()) {
+            if (tipo == null || indice.tipo == tipo) {
+                cantidad += indice.actualizarSalarios();
+            }
+        }
+        return cantidad;
+    }
+
+    /**
+     * Método para buscar los empleados con una cédula.
+     *
+     * @param cedula La cédula a buscar.
+     * @return Los empleados con esa cédula, en orden de registro (lista vacía si no hay).
+     */
+    @SuppressWarnings("unchecked")
+    synchronized List<Empleado> buscarPorCedula(String cedula) {
+        Object valor = porCedula.get(cedula);
+        if (valor == null) {
+            return Collections.emptyList();
+        }
+        List<Empleado> resultado = new ArrayList<>();
+        if (valor instanceof Empleado) {
+            resultado.add((Empleado) valor);
+        } else {
+            resultado.addAll((List<Empleado>) valor);
+            resultado.sort((a, b) -> Integer.compare(a.indice, b.indice));
+        }
+        return resultado;
+    }
+
+    /**
+     * Método para obtener los empleados de un tipo.
+     *
+     * @param tipo El tipo de empleado.
+     * @return Los empleados del tipo, en orden de registro.
+     */
+    synchronized List<Empleado> buscarPorTipo(tipoEmpleado tipo) {
+        BitSet bits = porTipo.get(tipo);
+        List<Empleado> resultado = new ArrayList<>(bits.cardinality());
+        for (int i = bits.nextSetBit(0); i >= 0; i = bits.nextSetBit(i + 1)) {
+            resultado.add(empleados.get(i));
+        }
+        return resultado;
+    }
+
+    /**
+     * Método para contar los empleados de un tipo.
+     *
+     * @param tipo El tipo de empleado.
+     * @return La cantidad de empleados del tipo.
+     */
+    synchronized int contarPorTipo(tipoEmpleado tipo) {
+        return porTipo.get(tipo).cardinality();
+    }
+
+    /**
+     * Método para buscar los empleados cuyo salario base está en el rango [minimo, maximo].
+     * Recorre en orden, en el índice de cada tipo, la parte de la base que cae en el rango
+     * (ubicada con búsqueda binaria) y la del delta, e intercala los tipos.
+     *
+     * @param minimo El salario base mínimo, en centavos (inclusive).
+     * @param maximo El salario base máximo, en centavos (inclusive).
+     * @param limite La cantidad máxima de empleados a retornar.
+     * @return Los empleados del rango, ordenados por salario base y luego por orden de registro.
+     */
+    synchronized List<Empleado> buscarPorSalarioBase(long minimo, long maximo, int limite) {
+        List<Empleado> resultado = new ArrayList<>();
+        if (minimo > maximo) {
+            return resultado;
+        }
+        List<RecorridoSalario> recorridos = new ArrayList<>(porSalario.size());
+        for (IndiceSalario indice : porSalario.values()) {
+            RecorridoSalario recorrido = indice.recorrer(false, false, minimo, Long.MIN_VALUE, maximo);
+            if (recorrido.posicion >= 0) {
+                recorridos.add(recorrido);
+            }
+        }
+        while (resultado.size() < limite) {
+            RecorridoSalario primero = primero(recorridos);
+            if (primero == null) {
+                break;
+            }
+            resultado.add(empleados.get(primero.posicion));
+            primero.avanzar();
+        }
+        return resultado;
+    }
+
+    /**
+     * Llena una página de la nómina con los empleados que siguen a la última fila entregada,
+     * según el orden y los filtros de la consulta.
+     *
+     * @param consulta La consulta (orden y filtros).
+     * @param valor El valor del orden en la última fila entregada: el salario mensual (orden por
+     *        salario) o el ordinal del tipo (orden por tipo).
+     * @param posicion La posición de registro de la última fila entregada (negativa al comienzo).
+     * @param filas Los empleados de la página (se llena hasta su largo).
+     * @param salarios El salario mensual de cada fila, en centavos.
+     * @return La cantidad de filas escritas.
+     * @throws IllegalArgumentException Si la posición no es la de un empleado indexado.
+     */
+    synchronized int pagina(ConsultaNomina consulta, long valor, int posicion, Empleado[] filas, long[] salarios) {
+        if (posicion >= indexados) {
+            throw new IllegalArgumentException("Posición de cursor fuera del registro: " + posicion);
+        }
+        switch (consulta.getOrden()) {
+            case SALARIO:
+                return paginaPorSalario(consulta, valor, posicion, filas, salarios);
+            case NOMBRE:
+                return paginaPorNombre(consulta, posicion, filas, salarios);
+            case TIPO:
+                return paginaPorTipo(consulta, valor, posicion, filas, salarios);
+            case REGISTRO:
+            default:
+                return paginaPorRegistro(consulta, posicion, filas, salarios);
+        }
+    }
+
+    // ------------------------------------------------------------------ Cédula
+
+    private void agregarCedula(String cedula, Empleado emp) {
+        Object valor = porCedula.putIfAbsent(cedula, emp);
+        if (valor instanceof Empleado) {
+            List<Empleado> lista = new ArrayList<>(2);
+            lista.add((Empleado) valor);
+            lista.add(emp);
+            porCedula.put(cedula, lista);
+        } else if (valor != null) {
+            @SuppressWarnings("unchecked")
+            List<Empleado> lista = (List<Empleado>) valor;
+            lista.add(emp);
+        }
+    }
+
+    private void quitarCedula(String cedula, Empleado emp) {
+        Object valor = porCedula.get(cedula);
+        if (valor == emp) {
+            porCedula.remove(cedula);
+        } else if (valor instanceof List) {
+            @SuppressWarnings("unchecked")
+            List<Empleado> lista = (List<Empleado>) valor;
+            lista.remove(emp);
+            if (lista.size() == 1) {
+                porCedula.put(cedula, lista.get(0));
+            }
+        }
+    }
+
+    // ------------------------------------------------------------------ Salario base
+
+    /**
+     * Índice por salario base de los empleados de un tipo: base ordenada, delta y pendientes.
+     * Las entradas vigentes de la base se marcan en {@code enBase} (común a todos los tipos,
+     * porque cada posición pertenece a un solo tipo).
+     */
+    private final class IndiceSalario {
+        final tipoEmpleado tipo;
+        long[] baseSalario = new long[0];
+        int[] basePosicion = new int[0];
+        int baseTamano;
+        final NavigableSet<Entrada> delta = new TreeSet<>();
+        int[] pendientes = new int[16];     // Posiciones nuevas aún no ordenadas (en orden creciente)
+        int cantidadPendientes;
+
+        IndiceSalario(tipoEmpleado tipo) {
+            this.tipo = tipo;
+        }
+
+        void agregarPendiente(int i) {
+            if (cantidadPendientes == pendientes.length) {
+                pendientes = Arrays.copyOf(pendientes, pendientes.length * 2);
+            }
+            pendientes[cantidadPendientes++] = i;
+        }
+
+        /**
+         * Cambia el salario indexado de una posición del tipo.
+         */
+        void cambiar(int i, long nuevo) {
+            ordenarPendientes();
+            if (enBase.get(i)) {
+                enBase.clear(i);  // La entrada de la base queda vieja hasta la próxima fusión
+            } else {
+                delta.remove(new Entrada(salarioIndexado[i], i));
+            }
+            salarioIndexado[i] = nuevo;
+            delta.add(new Entrada(nuevo, i));
+            if (delta.size() > limiteDelta()) {
+                fusionar();
+            }
+        }
+
+        /**
+         * Toma los salarios cambiados por un ajuste masivo (ver
+         * {@link IndicesEmpleado#actualizarSalarios(tipoEmpleado)}) y fusiona una base nueva.
+         *
+         * @return La cantidad de entradas que cambiaron.
+         */
+        int actualizarSalarios() {
+            ordenarPendientes();
+            int[] cambiadas = new int[Math.max(16, baseTamano + delta.size())];
+            long[] salarios = new long[cambiadas.length];
+            int cantidad = 0;
+
+            for (int k = 0; k < baseTamano; k++) {
+                int i = basePosicion[k];
+                if (enBase.get(i)) {
+                    long nuevo = empleados.get(i).getSalarioBaseCentavos();
+                    if (nuevo != salarioIndexado[i]) {
+                        enBase.clear(i);
+                        cambiadas[cantidad] = i;
+                        salarios[cantidad++] = nuevo;
+                    }
+                }
+            }
+            for (Iterator<Entrada> it = delta.iterator(); it.hasNext(); ) {
+                Entrada entrada = it.next();
+                int i = entrada.posicion;
+                long nuevo = empleados.get(i).getSalarioBaseCentavos();
+                if (nuevo != entrada.salarioBase) {
+                    it.remove();
+                    cambiadas[cantidad] = i;
+                    salarios[cantidad++] = nuevo;
+                }
+            }
+            if (cantidad == 0) {
+                return 0;
+            }
+
+            // Las entradas cambiadas pasan como pendientes a una base nueva
+            for (int j = 0; j < cantidad; j++) {
+                salarioIndexado[cambiadas[j]] = salarios[j];
+            }
+            pendientes = cambiadas;
+            cantidadPendientes = cantidad;
+            fusionar();
+            return cantidad;
+        }
+
+        /**
+         * Tamaño máximo del delta antes de fusionarlo con la base.
+         */
+        private int limiteDelta() {
+            return Math.max(DELTA_MINIMO, baseTamano / 16);
+        }
+
+        /**
+         * Ordena los empleados nuevos: pocos se agregan al delta; muchos se fusionan con la base.
+         */
+        void ordenarPendientes() {
+            if (cantidadPendientes == 0) {
+                return;
+            }
+            if (delta.size() + cantidadPendientes <= limiteDelta()) {
+                for (int j = 0; j < cantidadPendientes; j++) {
+                    int i = pendientes[j];
+                    delta.add(new Entrada(salarioIndexado[i], i));
+                }
+                cantidadPendientes = 0;
+            } else {
+                fusionar();
+            }
+        }
+
+        /**
+         * Construye una base nueva con las entradas vigentes de la base, el delta y los pendientes.
+         */
+        private void fusionar() {
+            // Pendientes ordenados por (salario, posición)
+            long[] salariosNuevos = new long[cantidadPendientes];
+            int[] posicionesNuevas = new int[cantidadPendientes];
+            ordenar(pendientes, cantidadPendientes, salariosNuevos, posicionesNuevas);
+
+            // Delta (ya ordenado) fusionado con los pendientes
+            long[] salariosDelta = new long[delta.size()];
+            int[] posicionesDelta = new int[delta.size()];
+            int d = 0;
+            for (Entrada entrada : delta) {
+                salariosDelta[d] = entrada.salarioBase;
+                posicionesDelta[d++] = entrada.posicion;
+            }
+            long[] salariosCambios = new long[d + cantidadPendientes];
+            int[] posicionesCambios = new int[d + cantidadPendientes];
+            intercalar(salariosDelta, posicionesDelta, d, salariosNuevos, posicionesNuevas, cantidadPendientes,
+                    salariosCambios, posicionesCambios);
+
+            // Entradas vigentes de la base
+            int vigentes = 0;
+            for (int k = 0; k < baseTamano; k++) {
+                if (enBase.get(basePosicion[k])) {
+                    baseSalario[vigentes] = baseSalario[k];
+                    basePosicion[vigentes++] = basePosicion[k];
+                }
+            }
+
+            int total = vigentes + salariosCambios.length;
+            long[] salarios = new long[total];
+            int[] posiciones = new int[total];
+            intercalar(baseSalario, basePosicion, vigentes, salariosCambios, posicionesCambios, salariosCambios.length,
+                    salarios, posiciones);
+            baseSalario = salarios;
+            basePosicion = posiciones;
+            baseTamano = total;
+            for (int j = 0; j < posicionesCambios.length; j++) {
+                enBase.set(posicionesCambios[j]);
+            }
+            delta.clear();
+            cantidadPendientes = 0;
+        }
+
+        /**
+         * Ubica un recorrido del índice en la primera entrada, en el sentido indicado, a partir
+         * de (salarioBase, desde) inclusive. El recorrido termina después del salario base `hasta`.
+         *
+         * @param descendente Si el recorrido va del mayor al menor salario.
+         * @param mensual Si el recorrido entrega el salario mensual (o el salario base).
+         * @param hasta El último salario base del recorrido (inclusive).
+         */
+        RecorridoSalario recorrer(boolean descendente, boolean mensual, long salarioBase, long desde, long hasta) {
+            ordenarPendientes();
+            int k;
+            Iterator<Entrada> cambios;
+            if (!descendente) {
+                k = primeraEntrada(salarioBase, desde);
+                cambios = delta.tailSet(new Entrada(salarioBase, acotar(desde)), true).iterator();
+            } else {
+                k = primeraEntrada(salarioBase, desde == Long.MAX_VALUE ? desde : desde + 1) - 1;
+                cambios = delta.headSet(new Entrada(salarioBase, acotar(desde)), true).descendingIterator();
+            }
+            return new RecorridoSalario(this, descendente, mensual, k, cambios, hasta);
+        }
+
+        /**
+         * Primera entrada de la base mayor o igual a (salario, posicion).
+         */
+        private int primeraEntrada(long salario, long posicion) {
+            int bajo = 0;
+            int alto = baseTamano;
+            while (bajo < alto) {
+                int medio = (bajo + alto) >>> 1;
+                if (baseSalario[medio] < salario
+                        || (baseSalario[medio] == salario && basePosicion[medio] < posicion)) {
+                    bajo = medio + 1;
+                } else {
+                    alto = medio;
+                }
+            }
+            return bajo;
+        }
+
+        /**
+         * Menor salario base del índice (incluye entradas viejas de la base, así que es una cota).
+         */
+        long menorSalario() {
+            long menor = baseTamano > 0 ? baseSalario[0] : Long.MAX_VALUE;
+            return delta.isEmpty() ? menor : Math.min(menor, delta.first().salarioBase);
+        }
+
+        long mayorSalario() {
+            long mayor = baseTamano > 0 ? baseSalario[baseTamano - 1] : Long.MIN_VALUE;
+            return delta.isEmpty() ? mayor : Math.max(mayor, delta.last().salarioBase);
+        }
+
+        /**
+         * Menor salario base cuyo salario mensual es mayor o igual al indicado (búsqueda
+         * binaria entre el menor y el mayor salario base del índice).
+         */
+        long menorBase(long mensual) {
+            long bajo = menorSalario();
+            long alto = mayorSalario();
+            if (bajo > alto || salarioMensual(tipo, alto) < mensual) {
+                return alto + 1;
+            }
+            while (bajo < alto) {
+                long medio = bajo + (alto - bajo) / 2;
+                if (salarioMensual(tipo, medio) < mensual) {
+                    bajo = medio + 1;
+                } else {
+                    alto = medio;
+                }
+            }
+            return bajo;
+        }
+
+        /**
+         * Mayor salario base cuyo salario mensual es menor o igual al indicado.
+         */
+        long mayorBase(long mensual) {
+            long bajo = menorSalario();
+            long alto = mayorSalario();
+            if (bajo > alto || salarioMensual(tipo, bajo) > mensual) {
+                return bajo - 1;
+            }
+            while (bajo < alto) {
+                long medio = alto - (alto - bajo) / 2;
+                if (salarioMensual(tipo, medio) > mensual) {
+                    alto = medio - 1;
+                } else {
+                    bajo = medio;
+                }
+            }
+            return bajo;
+        }
+    }
+
+    /**
+     * Recorrido en orden (ascendente o descendente) de las entradas vigentes del índice por
+     * salario base de un tipo, intercalando la base y el delta. Como la fórmula de cada tipo es
+     * creciente en el salario base, el orden por (salario base, posición) es el mismo que por
+     * (salario mensual, posición). El recorrido termina al pasar un salario base límite.
+     */
+    private final class RecorridoSalario {
+        private final IndiceSalario indice;
+        private final boolean descendente;
+        private final boolean mensual;       // Entrega el salario mensual (o el salario base)
+        private int k;                       // Siguiente entrada de la base
+        private final Iterator<Entrada> cambios;
+        private Entrada cambio;              // Siguiente entrada del delta
+        private final long hasta;            // Último salario base del recorrido (inclusive)
+        long valor;                          // Salario de la entrada actual
+        int posicion = -1;                   // Posición de la entrada actual (-1 si terminó)
+
+        RecorridoSalario(IndiceSalario indice, boolean descendente, boolean mensual, int k, Iterator<Entrada> cambios,
+                long hasta) {
+            this.indice = indice;
+            this.hasta = hasta;
+            this.descendente = descendente;
+            this.mensual = mensual;
+            this.k = k;
+            this.cambios = cambios;
+            cambio = cambios.hasNext() ? cambios.next() : null;
+            avanzar();
+        }
+
+        /**
+         * Indica si la entrada actual va antes que la de otro recorrido.
+         */
+        boolean antesQue(RecorridoSalario otro) {
+            int c = Long.compare(valor, otro.valor);
+            if (c == 0) {
+                c = Integer.compare(posicion, otro.posicion);
+            }
+            return descendente ? c > 0 : c < 0;
+        }
+
+        /**
+         * Pasa a la siguiente entrada vigente (o termina si su salario base pasa el límite).
+         */
+        void avanzar() {
+            long[] baseSalario = indice.baseSalario;
+            int[] basePosicion = indice.basePosicion;
+            if (!descendente) {
+                while (k < indice.baseTamano && !enBase.get(basePosicion[k])) {
+                    k++;  // Entrada vieja de la base
+                }
+            } else {
+                while (k >= 0 && !enBase.get(basePosicion[k])) {
+                    k--;
+                }
+            }
+            boolean hayBase = descendente ? k >= 0 : k < indice.baseTamano;
+            if (!hayBase && cambio == null) {
+                posicion = -1;
+                return;
+            }
+            boolean tomarBase = cambio == null;
+            if (!tomarBase && hayBase) {
+                int c = Long.compare(baseSalario[k], cambio.salarioBase);
+                if (c == 0) {
+                    c = Integer.compare(basePosicion[k], cambio.posicion);
+                }
+                tomarBase = descendente ? c > 0 : c < 0;
+            }
+            long salarioBase;
+            if (tomarBase) {
+                salarioBase = baseSalario[k];
+                posicion = basePosicion[k];
+                k += descendente ? -1 : 1;
+            } else {
+                salarioBase = cambio.salarioBase;
+                posicion = cambio.posicion;
+                cambio = cambios.hasNext() ? cambios.next() : null;
+            }
+            if (descendente ? salarioBase < hasta : salarioBase > hasta) {
+                posicion = -1;
+                return;
+            }
+            valor = mensual ? salarioMensual(indice.tipo, salarioBase) : salarioBase;
+        }
+    }
+
+    /**
+     * El recorrido cuya entrada actual va primero (null si todos terminaron).
+     */
+    private static RecorridoSalario primero(List<RecorridoSalario> recorridos) {
+        RecorridoSalario primero = null;
+        for (RecorridoSalario recorrido : recorridos) {
+            if (recorrido.posicion >= 0 && (primero == null || recorrido.antesQue(primero))) {
+                primero = recorrido;
+            }
+        }
+        return primero;
+    }
+
+    private static int acotar(long posicion) {
+        return (int) Math.max(Integer.MIN_VALUE, Math.min(Integer.MAX_VALUE, posicion));
+    }
+
+    /**
+     * Ordena las posiciones indicadas por (salario, posición). Si todos los salarios caben
+     * en 31 bits se ordenan como enteros primitivos (salario y posición en un solo `long`).
+     */
+    private void ordenar(int[] origen, int cantidad, long[] salarios, int[] posiciones) {
+        boolean empaquetable = true;
+        for (int j = 0; j < cantidad && empaquetable; j++) {
+            long salario = salarioIndexado[origen[j]];
+            empaquetable = salario >= 0 && salario <= Integer.MAX_VALUE;
+        }
+        if (empaquetable) {
+            long[] claves = new long[cantidad];
+            for (int j = 0; j < cantidad; j++) {
+                claves[j] = (salarioIndexado[origen[j]] << 32) | origen[j];
+            }
+            Arrays.sort(claves);
+            for (int j = 0; j < cantidad; j++) {
+                salarios[j] = claves[j] >>> 32;
+                posiciones[j] = (int) claves[j];
+            }
+        } else {
+            Entrada[] entradas = new Entrada[cantidad];
+            for (int j = 0; j < cantidad; j++) {
+                entradas[j] = new Entrada(salarioIndexado[origen[j]], origen[j]);
+            }
+            Arrays.sort(entradas);
+            for (int j = 0; j < cantidad; j++) {
+                salarios[j] = entradas[j].salarioBase;
+                posiciones[j] = entradas[j].posicion;
+            }
+        }
+    }
+
+    /**
+     * Intercala dos secuencias ordenadas por (salario, posición) en los arreglos de destino.
+     */
+    private static void intercalar(long[] s1, int[] p1, int n1, long[] s2, int[] p2, int n2,
+            long[] salarios, int[] posiciones) {
+        int a = 0;
+        int b = 0;
+        int k = 0;
+        while (a < n1 && b < n2) {
+            if (s1[a] < s2[b] || (s1[a] == s2[b] && p1[a] < p2[b])) {
+                salarios[k] = s1[a];
+                posiciones[k++] = p1[a++];
+            } else {
+                salarios[k] = s2[b];
+                posiciones[k++] = p2[b++];
+            }
+        }
+        System.arraycopy(s1, a, salarios, k, n1 - a);
+        System.arraycopy(p1, a, posiciones, k, n1 - a);
+        k += n1 - a;
+        System.arraycopy(s2, b, salarios, k, n2 - b);
+        System.arraycopy(p2, b, posiciones, k, n2 - b);
+    }
+
+    // ------------------------------------------------------------------ Páginas
+
+    /**
+     * Salario mensual del reporte (160 horas, sin bonos ni descuentos) de un salario base.
+     */
+    private static long salarioMensual(tipoEmpleado tipo, long salarioBase) {
+        return Empleado.salarioMensual(tipo, salarioBase, Salario.JORNADA_MENSUAL_CENTESIMAS, 0, 0);
+    }
+
+    /**
+     * Agrega un empleado a la página si cumple los filtros de la consulta.
+     *
+     * @return La nueva cantidad de filas.
+     */
+    private static int agregarFila(ConsultaNomina consulta, Empleado emp, long salario, Empleado[] filas,
+            long[] salarios, int n) {
+        if (consulta.acepta(emp, salario)) {
+            filas[n] = emp;
+            salarios[n++] = salario;
+        }
+        return n;
+    }
+
+    private int paginaPorRegistro(ConsultaNomina consulta, int posicion, Empleado[] filas, long[] salarios) {
+        BitSet bits = consulta.getTipo() == null ? null : porTipo.get(consulta.getTipo());
+        int n = 0;
+        if (!consulta.isDescendente()) {
+            for (int i = siguiente(bits, posicion + 1); i >= 0 && i < indexados && n < filas.length;
+                    i = siguiente(bits, i + 1)) {
+                Empleado emp = empleados.get(i);
+                n = agregarFila(consulta, emp, salarioMensual(emp.getTipo(), salarioIndexado[i]), filas, salarios, n);
+            }
+        } else {
+            int desde = posicion < 0 ? indexados - 1 : Math.min(posicion - 1, indexados - 1);
+            for (int i = anterior(bits, desde); i >= 0 && n < filas.length; i = anterior(bits, i - 1)) {
+                Empleado emp = empleados.get(i);
+                n = agregarFila(consulta, emp, salarioMensual(emp.getTipo(), salarioIndexado[i]), filas, salarios, n);
+            }
+        }
+        return n;
+    }
+
+    private int paginaPorTipo(ConsultaNomina consulta, long valor, int posicion, Empleado[] filas, long[] salarios) {
+        boolean descendente = consulta.isDescendente();
+        tipoEmpleado[] tipos = tipoEmpleado.values();
+        int n = 0;
+        for (int t = 0; t < tipos.length && n < filas.length; t++) {
+            tipoEmpleado tipo = tipos[descendente ? tipos.length - 1 - t : t];
+            if (consulta.getTipo() != null && consulta.getTipo() != tipo) {
+                continue;
+            }
+            if (posicion >= 0 && (descendente ? tipo.ordinal() > valor : tipo.ordinal() < valor)) {
+                continue;  // Tipo ya entregado en páginas anteriores
+            }
+            boolean mismoTipo = posicion >= 0 && tipo.ordinal() == valor;
+            BitSet bits = porTipo.get(tipo);
+            if (!descendente) {
+                for (int i = bits.nextSetBit(mismoTipo ? posicion + 1 : 0); i >= 0 && i < indexados
+                        && n < filas.length; i = bits.nextSetBit(i + 1)) {
+                    n = agregarFila(consulta, empleados.get(i), salarioMensual(tipo, salarioIndexado[i]), filas,
+                            salarios, n);
+                }
+            } else {
+                int desde = mismoTipo ? Math.min(posicion - 1, indexados - 1) : indexados - 1;
+                for (int i = bits.previousSetBit(desde); i >= 0 && n < filas.length; i = bits.previousSetBit(i - 1)) {
+                    n = agregarFila(consulta, empleados.get(i), salarioMensual(tipo, salarioIndexado[i]), filas,
+                            salarios, n);
+                }
+            }
+        }
+        return n;
+    }
+
+    private static int siguiente(BitSet bits, int i) {
+        return bits == null ? i : bits.nextSetBit(i);
+    }
+
+    private static int anterior(BitSet bits, int i) {
+        return bits == null || i < 0 ? i : bits.previousSetBit(i);
+    }
+
+    /**
+     * Página por salario mensual: intercala un recorrido del índice por salario de cada tipo de
+     * empleado (solo el del tipo del filtro, si lo hay), cada uno ubicado después de la última
+     * fila entregada y limitado al rango de salario. El prefijo del nombre se revisa fila por fila.
+     */
+    private int paginaPorSalario(ConsultaNomina consulta, long valor, int posicion, Empleado[] filas,
+            long[] salarios) {
+        boolean descendente = consulta.isDescendente();
+        long minimo = consulta.getSalarioMinimo();
+        long maximo = consulta.getSalarioMaximo();
+        long mensual;
+        long despuesDe;  // Posición de la última fila entregada con ese salario (exclusiva)
+        if (posicion < 0) {
+            mensual = descendente ? maximo : minimo;
+            despuesDe = descendente ? Long.MAX_VALUE : Long.MIN_VALUE;
+        } else {
+            mensual = valor;
+            despuesDe = posicion;
+        }
+
+        List<RecorridoSalario> recorridos = new ArrayList<>(porSalario.size());
+        for (IndiceSalario indice : porSalario.values()) {
+            if (consulta.getTipo() != null && consulta.getTipo() != indice.tipo) {
+                continue;
+            }
+            indice.ordenarPendientes();  // Los límites de salario base incluyen a los empleados nuevos
+            // Salario base donde empieza el tipo, primera posición (inclusiva) con ese salario y
+            // salario base donde termina (según el rango de salario mensual)
+            RecorridoSalario recorrido;
+            if (!descendente) {
+                long base = indice.menorBase(mensual);
+                long hasta = indice.mayorBase(maximo);
+                if (base > hasta) {
+                    continue;
+                }
+                long desde = salarioMensual(indice.tipo, base) == mensual ? despuesDe + 1 : Long.MIN_VALUE;
+                recorrido = indice.recorrer(false, true, base, desde, hasta);
+            } else {
+                long base = indice.mayorBase(mensual);
+                long hasta = indice.menorBase(minimo);
+                if (base < hasta) {
+                    continue;
+                }
+                long desde = salarioMensual(indice.tipo, base) == mensual ? despuesDe - 1 : Long.MAX_VALUE;
+                recorrido = indice.recorrer(true, true, base, desde, hasta);
+            }
+            if (recorrido.posicion >= 0) {
+                recorridos.add(recorrido);
+            }
+        }
+
+        int n = 0;
+        while (n < filas.length) {
+            RecorridoSalario primero = primero(recorridos);
+            if (primero == null) {
+                break;  // No hay más filas en el rango de salario
+            }
+            n = agregarFila(consulta, empleados.get(primero.posicion), primero.valor, filas, salarios, n);
+            primero.avanzar();
+        }
+        return n;
+    }
+
+    /**
+     * Página por nombre: intercala la base y los recientes del índice por nombre, empezando
+     * después de la última fila entregada o, con un filtro de nombre, en el primer nombre que
+     * comienza con el prefijo. El tipo y el rango de salario se revisan fila por fila (el índice
+     * por nombre es uno solo para todos los tipos).
+     */
+    private int paginaPorNombre(ConsultaNomina consulta, int posicion, Empleado[] filas, long[] salarios) {
+        ordenarNombres();
+        boolean descendente = consulta.isDescendente();
+        String prefijo = consulta.getPrefijoNombre();
+        Empleado ultima = posicion >= 0 ? empleados.get(posicion) : null;
+
+        IntPredicate antesDelComienzo;
+        if (!descendente) {
+            // Antes de la última fila entregada o antes del prefijo
+            antesDelComienzo = i -> (ultima != null && POR_NOMBRE.compare(empleados.get(i), ultima) <= 0)
+                    || (!prefijo.isEmpty() && IndiceNombres.compararNombres(empleados.get(i).getNombre(), prefijo) < 0);
+        } else {
+            // Antes de la última fila entregada y antes del final del prefijo
+            String finPrefijo = prefijo + '\uFFFF';
+            antesDelComienzo = i -> (ultima == null || POR_NOMBRE.compare(empleados.get(i), ultima) < 0)
+                    && (prefijo.isEmpty() || IndiceNombres.compararNombres(empleados.get(i).getNombre(), finPrefijo) < 0);
+        }
+        int a = primeraNoCumple(nombreBase, nombreBaseTamano, antesDelComienzo);
+        int b = primeraNoCumple(nombreRecientes, cantidadRecientes, antesDelComienzo);
+        if (descendente) {
+            a--;
+            b--;
+        }
+
+        int n = 0;
+        while (n < filas.length) {
+            boolean hayBase = descendente ? a >= 0 : a < nombreBaseTamano;
+            boolean hayRecientes = descendente ? b >= 0 : b < cantidadRecientes;
+            if (!hayBase && !hayRecientes) {
+                break;
+            }
+            boolean tomarBase = !hayRecientes;
+            if (hayBase && hayRecientes) {
+                int c = POR_NOMBRE.compare(empleados.get(nombreBase[a]), empleados.get(nombreRecientes[b]));
+                tomarBase = descendente ? c > 0 : c < 0;
+            }
+            int i;
+            if (tomarBase) {
+                i = nombreBase[a];
+                a += descendente ? -1 : 1;
+            } else {
+                i = nombreRecientes[b];
+                b += descendente ? -1 : 1;
+            }
+            Empleado emp = empleados.get(i);
+            if (!prefijo.isEmpty() && !IndiceNombres.comienzaCon(emp.getNombre(), prefijo)) {
+                break;  // Fuera de los nombres con el prefijo
+            }
+            n = agregarFila(consulta, emp, salarioMensual(emp.getTipo(), salarioIndexado[i]), filas, salarios, n);
+        }
+        return n;
+    }
+
+    /**
+     * Primera posición del arreglo (ordenado) que no cumple el predicado, suponiendo que lo
+     * cumplen todas las anteriores.
+     */
+    private static int primeraNoCumple(int[] orden, int cantidad, IntPredicate predicado) {
+        int bajo = 0;
+        int alto = cantidad;
+        while (bajo < alto) {
+            int medio = (bajo + alto) >>> 1;
+            if (predicado.test(orden[medio])) {
+                bajo = medio + 1;
+            } else {
+                alto = medio;
+            }
+        }
+        return bajo;
+    }
+
+    /**
+     * Agrega al índice por nombre los empleados registrados desde la última consulta: pocos
+     * se insertan en los recientes; muchos se ordenan y se fusionan con la base.
+     */
+    private void ordenarNombres() {
+        int nuevos = indexados - nombresIndexados;
+        if (nuevos == 0) {
+            return;
+        }
+        if (cantidadRecientes + nuevos <= Math.max(DELTA_MINIMO, nombreBaseTamano / 16)) {
+            if (cantidadRecientes + nuevos > nombreRecientes.length) {
+                nombreRecientes = Arrays.copyOf(nombreRecientes,
+                        Math.max(cantidadRecientes + nuevos, nombreRecientes.length * 2));
+            }
+            for (int i = nombresIndexados; i < indexados; i++) {
+                Empleado emp = empleados.get(i);
+                int k = primeraNoCumple(nombreRecientes, cantidadRecientes,
+                        j -> POR_NOMBRE.compare(empleados.get(j), emp) < 0);
+                System.arraycopy(nombreRecientes, k, nombreRecientes, k + 1, cantidadRecientes - k);
+                nombreRecientes[k] = i;
+                cantidadRecientes++;
+            }
+        } else {
+            // Los recientes ya están ordenados: el ordenamiento aprovecha ese tramo
+            Empleado[] cambios = new Empleado[cantidadRecientes + nuevos];
+            for (int j = 0; j < cantidadRecientes; j++) {
+                cambios[j] = empleados.get(nombreRecientes[j]);
+            }
+            for (int i = nombresIndexados; i < indexados; i++) {
+                cambios[cantidadRecientes + i - nombresIndexados] = empleados.get(i);
+            }
+            Arrays.sort(cambios, POR_NOMBRE);
+
+            int[] fusion = new int[nombreBaseTamano + cambios.length];
+            int a = 0;
+            int b = 0;
+            int k = 0;
+            while (a < nombreBaseTamano && b < cambios.length) {
+                if (POR_NOMBRE.compare(empleados.get(nombreBase[a]), cambios[b]) < 0) {
+                    fusion[k++] = nombreBase[a++];
+                } else {
+                    fusion[k++] = cambios[b++].indice;
+                }
+            }
+            while (a < nombreBaseTamano) {
+                fusion[k++] = nombreBase[a++];
+            }
+            while (b < cambios.length) {
+                fusion[k++] = cambios[b++].indice;
+            }
+            nombreBase = fusion;
+            nombreBaseTamano = k;
+            cantidadRecientes = 0;
+        }
+        nombresIndexados = indexados;
+    }
+}
@@ -0,0 +1,124 @@
+package data;
+
+/**
+ * Clase que guarda los `capacidad` mayores montos vistos, con la posición de registro de cada
+ * uno, en un montículo de arreglos primitivos. A igual monto gana la posición mayor, como en
+ * el orden descendente de las páginas de la nómina.
+ *
+ * La raíz del montículo es el peor de los guardados, así que cuando está lleno un monto que
+ * no alcanza se descarta con una sola comparación. Sirve para las consultas de los mejores
+ * pagados sin ordenar toda la nómina: O(n log k) en lugar de O(n log n).
+ */
+final class MejoresMontos {
+
+    private final long[] montos;
+    private final int[] posiciones;
+    private int cantidad;
+
+    /**
+     * Constructor de la clase MejoresMontos.
+     *
+     * @param capacidad La cantidad de montos a guardar (mayor que cero).
+     */
+    MejoresMontos(int capacidad) {
+        montos = new long[capacidad];
+        posiciones = new int[capacidad];
+    }
+
+    /**
+     * Agrega un monto si está entre los mejores vistos.
+     *
+     * @param monto El monto, en centavos.
+     * @param posicion La posición de registro del empleado.
+     */
+    void agregar(long monto, int posicion) {
+        if (cantidad < montos.length) {
+            montos[cantidad] = monto;
+            posiciones[cantidad] = posicion;
+            subir(cantidad++);
+        } else if (mejor(monto, posicion, montos[0], posiciones[0])) {
+            montos[0] = monto;
+            posiciones[0] = posicion;
+            bajar(0);
+        }
+    }
+
+    /**
+     * Agrega los montos de otro montículo (para combinar los resultados de tareas paralelas).
+     *
+     * @param otro El otro montículo.
+     */
+    void combinar(MejoresMontos otro) {
+        for (int j = 0; j < otro.cantidad; j++) {
+            agregar(otro.montos[j], otro.posiciones[j]);
+        }
+    }
+
+    int getCantidad() {
+        return cantidad;
+    }
+
+    /**
+     * Vacía el montículo escribiendo los montos del mejor al peor.
+     *
+     * @param montosOrdenados Los montos, del mayor al menor (largo mínimo: la cantidad guardada).
+     * @param posicionesOrdenadas La posición de registro de cada monto.
+     * @return La cantidad de montos escritos.
+     */
+    int vaciar(long[] montosOrdenados, int[] posicionesOrdenadas) {
+        int total = cantidad;
+        while (cantidad > 0) {
+            montosOrdenados[cantidad - 1] = montos[0];
+            posicionesOrdenadas[cantidad - 1] = posiciones[0];
+            cantidad--;
+            montos[0] = montos[cantidad];
+            posiciones[0] = posiciones[cantidad];
+            bajar(0);
+        }
+        return total;
+    }
+
+    /**
+     * Indica si el monto (a, pa) va antes que (b, pb) en el resultado.
+     */
+    private static boolean mejor(long a, int pa, long b, int pb) {
+        return a > b || (a == b && pa > pb);
+    }
+
+    private void subir(int i) {
+        while (i > 0) {
+            int padre = (i - 1) / 2;
+            if (!mejor(montos[padre], posiciones[padre], montos[i], posiciones[i])) {
+                return;
+            }
+            intercambiar(i, padre);
+            i = padre;
+        }
+    }
+
+    private void bajar(int i) {
+        while (true) {
+            int hijo = 2 * i + 1;
+            if (hijo >= cantidad) {
+                return;
+            }
+            if (hijo + 1 < cantidad && mejor(montos[hijo], posiciones[hijo], montos[hijo + 1], posiciones[hijo + 1])) {
+                hijo++;  // El peor de los dos hijos
+            }
+            if (!mejor(montos[i], posiciones[i], montos[hijo], posiciones[hijo])) {
+                return;
+            }
+            intercambiar(i, hijo);
+            i = hijo;
+        }
+    }
+
+    private void intercambiar(int i, int j) {
+        long monto = montos[i];
+        montos[i] = montos[j];
+        montos[j] = monto;
+        int posicion = posiciones[i];
+        posiciones[i] = posiciones[j];
+        posiciones[j] = posicion;
+    }
+}
@@ -0,0 +1,290 @@
+package data;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * Clase con las métricas de las operaciones más frecuentes del sistema: cuántas veces se
+ * ejecutó cada operación y un histograma de su latencia.
+ *
+ * Las métricas se activan con la propiedad del sistema {@code -Dnomina.metricas=true}. La
+ * constante {@link #ACTIVAS} es `static final`, así que con las métricas desactivadas el
+ * compilador JIT elimina las mediciones y el costo es prácticamente cero.
+ *
+ * Los contadores son {@link LongAdder} y el histograma está repartido en franjas de
+ * {@link AtomicLongArray} (una por grupo de hilos): ningún hilo espera a otro al registrar
+ * una medición.
+ *
+ * Además, los reportes y los inicios de sesión generan eventos de JDK Flight Recorder
+ * ({@link EventoReporte}, {@link EventoLogin}), que solo tienen costo si hay una grabación
+ * activa (por ejemplo, con {@code -XX:StartFlightRecording}).
+ *
+ * Las operaciones muy cortas (la búsqueda por usuario y los cálculos de {@link Salario}, de
+ * pocos nanosegundos) se cuentan siempre, pero su latencia se mide solo en una de cada
+ * {@link #MUESTREO_FRECUENTES} llamadas, porque leer el reloj cuesta más que la operación misma.
+ *
+ * Uso en una operación:
+ * <pre>
+ *     long inicio = Metricas.BUSCAR.inicio();
+ *     ...
+ *     Metricas.BUSCAR.registrar(inicio);
+ * </pre>
+ */
+public final class Metricas {
+
+    // Indica si las métricas están activas (-Dnomina.metricas=true)
+    public static final boolean ACTIVAS = Boolean.getBoolean("nomina.metricas");
+
+    // Se mide la latencia de 1 de cada MUESTREO_FRECUENTES operaciones frecuentes (potencia de dos)
+    public static final int MUESTREO_FRECUENTES = 64;
+
+    public static final Medidor BUSCAR = new Medidor("gestor.buscar", MUESTREO_FRECUENTES);
+    public static final Medidor BUSCAR_NOMBRE = new Medidor("gestor.buscarPorNombre", 1);
+    public static final Medidor AGREGAR_EMPLEADO = new Medidor("gestor.agregarEmpleado", 1);
+    public static final Medidor REPORTE = new Medidor("gestor.generarReporteRolPagos", 1);
+    public static final Medidor AJUSTE_SALARIOS = new Medidor("gestor.ajustarSalariosBase", 1);
+    public static final Medidor PAGINA_NOMINA = new Medidor("gestor.leerPagina", 1);
+    public static final Medidor LOGIN = new Medidor("menu.logIn", 1);
+    public static final Medidor ROL_PAGOS = new Medidor("salario.rolPagos", MUESTREO_FRECUENTES);
+    public static final Medidor DECIMO_TERCERO = new Medidor("salario.decimoTercerSueldo", MUESTREO_FRECUENTES);
+    public static final Medidor UTILIDADES = new Medidor("salario.utilidades", MUESTREO_FRECUENTES);
+    public static final Medidor HORAS_EXTRAS = new Medidor("salario.horasExtras", MUESTREO_FRECUENTES);
+    public static final Medidor FONDOS_RESERVA = new Medidor("salario.fondosReserva", MUESTREO_FRECUENTES);
+
+    private static final Medidor[] MEDIDORES = { BUSCAR, BUSCAR_NOMBRE, AGREGAR_EMPLEADO, REPORTE, AJUSTE_SALARIOS, PAGINA_NOMINA,
+            LOGIN, ROL_PAGOS, DECIMO_TERCERO, UTILIDADES, HORAS_EXTRAS, FONDOS_RESERVA };
+
+    private static volatile long inicioPeriodo = System.nanoTime();  // Desde cuándo se cuentan las operaciones
+
+    private Metricas() {
+    }
+
+    /**
+     * Método para reiniciar todas las métricas.
+     */
+    public static void reiniciar() {
+        for (Medidor medidor : MEDIDORES) {
+            medidor.reiniciar();
+        }
+        inicioPeriodo = System.nanoTime();
+    }
+
+    /**
+     * Método para escribir las métricas como una tabla: por operación, la cantidad de
+     * ejecuciones, las ejecuciones por segundo y la latencia promedio, p50, p90, p99 y máxima
+     * en microsegundos.
+     *
+     * @param salida La salida donde se escriben las métricas.
+     */
+    public static void escribir(SalidaReporte salida) {
+        StringBuilder sb = salida.bufer();
+        if (!ACTIVAS) {
+            sb.append("Las métricas están desactivadas (inicie con -Dnomina.metricas=true).\n");
+            salida.finFila();
+            return;
+        }
+        double segundos = Math.max(1e-9, (System.nanoTime() - inicioPeriodo) / 1e9);
+        sb.append("\n**************************************** MÉTRICAS ****************************************\n");
+        sb.append(String.format("%-32s %10s %10s %10s %10s %10s %10s %10s%n",
+                "OPERACIÓN", "CANTIDAD", "OPS/S", "PROM µs", "P50 µs", "P90 µs", "P99 µs", "MÁX µs"));
+        for (Medidor medidor : MEDIDORES) {
+            long cantidad = medidor.getCantidad();
+            sb.append(String.format("%-32s %10d %10.1f %10.2f %10.2f %10.2f %10.2f %10.2f%n",
+                    medidor.getNombre(), cantidad, cantidad / segundos, medidor.getPromedioNanos() / 1e3,
+                    medidor.getPercentilNanos(50) / 1e3, medidor.getPercentilNanos(90) / 1e3,
+                    medidor.getPercentilNanos(99) / 1e3, medidor.getMaximoNanos() / 1e3));
+        }
+        sb.append("******************************************************************************************\n");
+        salida.finFila();
+    }
+
+    /**
+     * Clase que cuenta las ejecuciones de una operación y guarda su histograma de latencia.
+     *
+     * El histograma tiene 16 cubetas exactas (0 a 15 ns) y, para cada potencia de dos mayor,
+     * 16 cubetas del mismo ancho (error relativo menor al 3 % con el punto medio de la cubeta).
+     */
+    public static final class Medidor {
+
+        private static final int BITS_SUBCUBETA = 4;
+        private static final int SUBCUBETAS = 1 << BITS_SUBCUBETA;
+        private static final int CUBETAS = SUBCUBETAS + (63 - BITS_SUBCUBETA) * SUBCUBETAS;
+        // Franjas del histograma: potencia de dos, hasta 8
+        private static final int FRANJAS = Math.min(8, Integer.highestOneBit(Runtime.getRuntime().availableProcessors() * 2 - 1));
+
+        private final String nombre;
+        private final int muestreo;  // Se mide 1 de cada `muestreo` llamadas (potencia de dos)
+        private final LongAdder cantidad = new LongAdder();
+        private final LongAdder muestras = new LongAdder();
+        private final LongAdder nanosTotales = new LongAdder();
+        private final AtomicLongArray[] histograma = new AtomicLongArray[FRANJAS];
+
+        Medidor(String nombre, int muestreo) {
+            this.nombre = nombre;
+            this.muestreo = muestreo;
+            for (int f = 0; f < FRANJAS; f++) {
+                histograma[f] = new AtomicLongArray(CUBETAS);
+            }
+        }
+
+        /**
+         * Método para tomar el instante de inicio de una operación.
+         *
+         * @return El instante actual en nanosegundos, o 0 si las métricas están desactivadas
+         *         o la latencia de esta llamada no se mide.
+         */
+        public long inicio() {
+            if (!ACTIVAS || (muestreo > 1 && (ThreadLocalRandom.current().nextInt() & (muestreo - 1)) != 0)) {
+                return 0;
+            }
+            return System.nanoTime();
+        }
+
+        /**
+         * Método para registrar el fin de una operación.
+         *
+         * @param inicio El instante de inicio, tomado con {@link #inicio()}.
+         */
+        public void registrar(long inicio) {
+            if (ACTIVAS) {
+                cantidad.increment();
+                if (inicio != 0) {
+                    long nanos = Math.max(0, System.nanoTime() - inicio);
+                    muestras.increment();
+                    nanosTotales.add(nanos);
+                    int franja = (int) Thread.currentThread().getId() & (FRANJAS - 1);
+                    histograma[franja].incrementAndGet(cubeta(nanos));
+                }
+            }
+        }
+
+        public String getNombre() {
+            return nombre;
+        }
+
+        public long getCantidad() {
+            return cantidad.sum();
+        }
+
+        public double getPromedioNanos() {
+            long n = muestras.sum();
+            return n == 0 ? 0 : (double) nanosTotales.sum() / n;
+        }
+
+        /**
+         * Método para obtener un percentil aproximado de la latencia.
+         *
+         * @param percentil El percentil, de 0 a 100.
+         * @return La latencia del percentil en nanosegundos (0 si no hay mediciones).
+         */
+        public long getPercentilNanos(double percentil) {
+            long[] cuentas = sumarFranjas();
+            long total = 0;
+            for (long cuenta : cuentas) {
+                total += cuenta;
+            }
+            if (total == 0) {
+                return 0;
+            }
+            long posicion = Math.max(1, (long) Math.ceil(percentil / 100 * total));
+            long acumulado = 0;
+            for (int c = 0; c < CUBETAS; c++) {
+                acumulado += cuentas[c];
+                if (acumulado >= posicion) {
+                    return puntoMedio(c);
+                }
+            }
+            return puntoMedio(CUBETAS - 1);
+        }
+
+        /**
+         * Método para obtener la latencia máxima aproximada (punto medio de la cubeta más alta).
+         *
+         * @return La latencia máxima en nanosegundos (0 si no hay mediciones).
+         */
+        public long getMaximoNanos() {
+            long[] cuentas = sumarFranjas();
+            for (int c = CUBETAS - 1; c >= 0; c--) {
+                if (cuentas[c] != 0) {
+                    return puntoMedio(c);
+                }
+            }
+            return 0;
+        }
+
+        void reiniciar() {
+            cantidad.reset();
+            muestras.reset();
+            nanosTotales.reset();
+            for (AtomicLongArray franja : histograma) {
+                for (int c = 0; c < CUBETAS; c++) {
+                    franja.set(c, 0);
+                }
+            }
+        }
+
+        private long[] sumarFranjas() {
+            long[] cuentas = new long[CUBETAS];
+            for (AtomicLongArray franja : histograma) {
+                for (int c = 0; c < CUBETAS; c++) {
+                    cuentas[c] += franja.get(c);
+                }
+            }
+            return cuentas;
+        }
+
+        private static int cubeta(long valor) {
+            if (valor < SUBCUBETAS) {
+                return (int) valor;
+            }
+            int desplazamiento = 63 - Long.numberOfLeadingZeros(valor) - BITS_SUBCUBETA;
+            return SUBCUBETAS + (desplazamiento << BITS_SUBCUBETA) + (int) ((valor >>> desplazamiento) & (SUBCUBETAS - 1));
+        }
+
+        private static long puntoMedio(int cubeta) {
+            if (cubeta < SUBCUBETAS) {
+                return cubeta;
+            }
+            int desplazamiento = (cubeta - SUBCUBETAS) >>> BITS_SUBCUBETA;
+            long inferior = (long) (SUBCUBETAS + ((cubeta - SUBCUBETAS) & (SUBCUBETAS - 1))) << desplazamiento;
+            return inferior + (((1L << desplazamiento) - 1) >>> 1);
+        }
+    }
+
+    /**
+     * Evento de Flight Recorder de una ejecución del reporte de rol de pagos.
+     */
+    @Name("nomina.Reporte")
+    @Label("Reporte de rol de pagos")
+    @Category("Nómina")
+    public static final class EventoReporte extends jdk.jfr.Event {
+
+        @Label("Formato")
+        public String formato;
+
+        @Label("Empleados")
+        public int empleados;
+    }
+
+    /**
+     * Evento de Flight Recorder de un intento de inicio de sesión.
+     */
+    @Name("nomina.Login")
+    @Label("Inicio de sesión")
+    @Category("Nómina")
+    @Description("Verificación de usuario y contraseña")
+    public static final class EventoLogin extends jdk.jfr.Event {
+
+        @Label("Usuario")
+        public String usuario;
+
+        @Label("Exitoso")
+        public boolean exitoso;
+    }
+}
@@ -0,0 +1,81 @@
+package data;
+
+import data.Empleado.tipoEmpleado;
+
+/**
+ * Interfaz de los motores que calculan los componentes de la nómina sobre lotes de
+ * empleados almacenados en arreglos (ver {@link NominaColumnar}).
+ *
+ * Todos los métodos procesan las posiciones [desde, hasta) de los arreglos de entrada y
+ * escriben el resultado en las mismas posiciones de `destino`. Los resultados deben ser
+ * idénticos a los de {@link Salario} y de `calcularSalarioCentavos` de cada clase de empleado.
+ * Los montos van en centavos y las horas en centésimas de hora (ver {@link Dinero}).
+ *
+ * {@link #PREDETERMINADO} es el motor escalar, salvo que se active el motor vectorial (SIMD)
+ * con la propiedad de sistema `gestion.simd=true` y este se encuentre disponible (requiere
+ * las clases de `data/simd` y el módulo `jdk.incubator.vector`).
+ */
+public interface MotorNomina {
+
+    /** Motor que usa el sistema para los cálculos por lotes. */
+    MotorNomina PREDETERMINADO = cargar();
+
+    /**
+     * Calcula el salario mensual de empleados de un mismo tipo.
+     */
+    void salarios(tipoEmpleado tipo, long[] salarioBase, long[] horas, long[] bonos, long[] descuentos,
+            int desde, int hasta, long[] destino);
+
+    /**
+     * Calcula el décimo tercer sueldo.
+     */
+    void decimoTercerSueldo(long[] salarioBase, int desde, int hasta, long[] destino);
+
+    /**
+     * Calcula las utilidades para la misma cantidad de meses trabajados.
+     */
+    void utilidades(long[] salarioBase, int mesesTrabajados, int desde, int hasta, long[] destino);
+
+    /**
+     * Calcula el pago por la misma cantidad de horas extras.
+     */
+    void horasExtras(long[] salarioBase, long horasExtras, int desde, int hasta, long[] destino);
+
+    /**
+     * Calcula los fondos de reserva.
+     */
+    void fondosReserva(long[] salarioBase, int desde, int hasta, long[] destino);
+
+    /**
+     * Método para obtener el nombre del motor (para reportes y benchmarks).
+     *
+     * @return El nombre del motor.
+     */
+    String nombre();
+
+    /**
+     * Carga el motor vectorial si fue solicitado y está disponible; si no, el escalar.
+     */
+    private static MotorNomina cargar() {
+        if (Boolean.getBoolean("gestion.simd")) {
+            MotorNomina vectorial = vectorial();
+            if (vectorial != null) {
+                return vectorial;
+            }
+        }
+        return new MotorNominaEscalar();
+    }
+
+    /**
+     * Método para crear el motor vectorial, si está disponible.
+     *
+     * @return El motor vectorial, o `null` si sus clases o el módulo `jdk.incubator.vector` no están disponibles.
+     */
+    static MotorNomina vectorial() {
+        try {
+            return (MotorNomina) Class.forName("simd.MotorNominaVectorial").getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | LinkageError e) {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,68 @@
+package data;
+
+import data.Empleado.tipoEmpleado;
+
+/**
+ * Motor de nómina escalar: procesa un empleado a la vez con las mismas fórmulas de
+ * {@link Salario} y de `salarioMensual` de cada clase de empleado. También lo usa el
+ * motor vectorial para las posiciones finales que no completan un vector.
+ */
+public class MotorNominaEscalar implements MotorNomina {
+
+    private final Salario salario = new Salario();
+
+    @Override
+    public void salarios(tipoEmpleado tipo, long[] salarioBase, long[] horas, long[] bonos, long[] descuentos,
+            int desde, int hasta, long[] destino) {
+        switch (tipo) {
+            case EMPLEADO:
+                for (int i = desde; i < hasta; i++) {
+                    destino[i] = EmpleadoRegular.salarioMensual(salarioBase[i], horas[i], bonos[i], descuentos[i]);
+                }
+                break;
+            case ADMINISTRATIVO:
+                for (int i = desde; i < hasta; i++) {
+                    destino[i] = Administrativo.salarioMensual(salarioBase[i], horas[i], bonos[i], descuentos[i]);
+                }
+                break;
+            case GERENTE:
+            default:
+                for (int i = desde; i < hasta; i++) {
+                    destino[i] = Gerente.salarioMensual(salarioBase[i], horas[i], bonos[i], descuentos[i]);
+                }
+        }
+    }
+
+    @Override
+    public void decimoTercerSueldo(long[] salarioBase, int desde, int hasta, long[] destino) {
+        for (int i = desde; i < hasta; i++) {
+            destino[i] = salario.decimoTercerSueldoCentavos(salarioBase[i]);
+        }
+    }
+
+    @Override
+    public void utilidades(long[] salarioBase, int mesesTrabajados, int desde, int hasta, long[] destino) {
+        for (int i = desde; i < hasta; i++) {
+            destino[i] = salario.utilidadesCentavos(salarioBase[i], mesesTrabajados);
+        }
+    }
+
+    @Override
+    public void horasExtras(long[] salarioBase, long horasExtras, int desde, int hasta, long[] destino) {
+        for (int i = desde; i < hasta; i++) {
+            destino[i] = salario.horasExtrasCentavos(salarioBase[i], horasExtras);
+        }
+    }
+
+    @Override
+    public void fondosReserva(long[] salarioBase, int desde, int hasta, long[] destino) {
+        for (int i = desde; i < hasta; i++) {
+            destino[i] = salario.fondosReservaCentavos(salarioBase[i]);
+        }
+    }
+
+    @Override
+    public String nombre() {
+        return "escalar";
+    }
+}
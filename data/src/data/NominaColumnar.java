@@ -0,0 +1,233 @@
+package data;
+
+import java.util.Arrays;
+import java.util.List;
+
+import data.Empleado.tipoEmpleado;
+
+/**
+ * Clase que representa la nómina de los empleados en forma de columnas (un arreglo
+ * primitivo por campo) en lugar de un objeto por empleado.
+ *
+ * Para la nómina solo se necesitan el salario base y el tipo de cada empleado, más las
+ * horas, bonos y descuentos del mes. Las filas se agrupan por tipo de empleado, de modo
+ * que el salario de cada grupo se calcula con un ciclo simple sobre arreglos contiguos
+ * (sin llamadas virtuales), que el compilador JIT puede desenrollar y vectorizar.
+ *
+ * Las filas quedan ordenadas por tipo (EMPLEADO, ADMINISTRATIVO, GERENTE) y, dentro de
+ * cada tipo, en orden de registro. {@link #fila(int)} convierte la posición de registro
+ * de un empleado en su fila.
+ *
+ * Los montos se guardan en centavos y las horas en centésimas de hora (ver {@link Dinero}),
+ * de modo que los totales son exactos.
+ */
+public class NominaColumnar {
+
+    private static final tipoEmpleado[] TIPOS = tipoEmpleado.values();
+
+    private final int cantidad;
+    private final long[] salarioBase;
+    private final byte[] tipo;
+    private final long[] horas;
+    private final long[] bonos;
+    private final long[] descuentos;
+    private final int[] inicioTipo;       // Primera fila de cada tipo (más una posición final)
+    private final int[] filaDeRegistro;   // Posición de registro -> fila
+    private final int[] registroDeFila;   // Fila -> posición de registro
+
+    /**
+     * Constructor de la clase NominaColumnar. Copia el salario base y el tipo de los
+     * empleados; las horas se inicializan en 160 y los bonos y descuentos en 0.
+     *
+     * @param empleados Los empleados en orden de registro.
+     */
+    public NominaColumnar(List<Empleado> empleados) {
+        cantidad = empleados.size();
+        salarioBase = new long[cantidad];
+        tipo = new byte[cantidad];
+        horas = new long[cantidad];
+        bonos = new long[cantidad];
+        descuentos = new long[cantidad];
+        filaDeRegistro = new int[cantidad];
+        registroDeFila = new int[cantidad];
+
+        // Contar por tipo para ubicar cada grupo (ordenamiento por conteo)
+        inicioTipo = new int[TIPOS.length + 1];
+        for (Empleado emp : empleados) {
+            inicioTipo[emp.getTipo().ordinal() + 1]++;
+        }
+        for (int t = 0; t < TIPOS.length; t++) {
+            inicioTipo[t + 1] += inicioTipo[t];
+        }
+        int[] siguiente = inicioTipo.clone();
+        for (int r = 0; r < cantidad; r++) {
+            Empleado emp = empleados.get(r);
+            int t = emp.getTipo().ordinal();
+            int fila = siguiente[t]++;
+            salarioBase[fila] = emp.getSalarioBaseCentavos();
+            tipo[fila] = (byte) t;
+            horas[fila] = Salario.JORNADA_MENSUAL_CENTESIMAS;
+            filaDeRegistro[r] = fila;
+            registroDeFila[fila] = r;
+        }
+    }
+
+    /**
+     * Método para obtener la cantidad de filas (empleados).
+     *
+     * @return La cantidad de empleados.
+     */
+    public int getCantidad() {
+        return cantidad;
+    }
+
+    /**
+     * Método para obtener la fila de un empleado a partir de su posición de registro.
+     *
+     * @param registro La posición del empleado en el orden de registro.
+     * @return La fila del empleado.
+     */
+    public int fila(int registro) {
+        return filaDeRegistro[registro];
+    }
+
+    /**
+     * Método para obtener la posición de registro del empleado de una fila.
+     *
+     * @param fila La fila.
+     * @return La posición del empleado en el orden de registro.
+     */
+    public int registro(int fila) {
+        return registroDeFila[fila];
+    }
+
+    public long getSalarioBase(int fila) {
+        return salarioBase[fila];
+    }
+
+    public tipoEmpleado getTipo(int fila) {
+        return TIPOS[tipo[fila]];
+    }
+
+    /**
+     * Método para establecer las entradas del mes de una fila.
+     *
+     * @param fila La fila del empleado.
+     * @param horasTrabajadas Las horas trabajadas, en centésimas de hora.
+     * @param bono Los bonos, en centavos.
+     * @param descuento Los descuentos, en centavos.
+     */
+    public void setEntradas(int fila, long horasTrabajadas, long bono, long descuento) {
+        horas[fila] = horasTrabajadas;
+        bonos[fila] = bono;
+        descuentos[fila] = descuento;
+    }
+
+    /**
+     * Método para establecer las mismas entradas del mes para todas las filas.
+     *
+     * @param horasTrabajadas Las horas trabajadas, en centésimas de hora.
+     * @param bono Los bonos, en centavos.
+     * @param descuento Los descuentos, en centavos.
+     */
+    public void setEntradas(long horasTrabajadas, long bono, long descuento) {
+        Arrays.fill(horas, horasTrabajadas);
+        Arrays.fill(bonos, bono);
+        Arrays.fill(descuentos, descuento);
+    }
+
+    /**
+     * Método para calcular el salario mensual de todas las filas con el motor predeterminado
+     * ({@link MotorNomina#PREDETERMINADO}). Cada tipo de empleado se calcula con su propio
+     * ciclo, usando la misma fórmula que `calcularSalarioCentavos` de su clase.
+     *
+     * @param destino El arreglo donde se escribe el salario de cada fila en centavos (al menos {@link #getCantidad()}).
+     */
+    public void calcularSalarios(long[] destino) {
+        calcularSalarios(destino, MotorNomina.PREDETERMINADO);
+    }
+
+    /**
+     * Método para calcular el salario mensual de todas las filas con el motor indicado.
+     *
+     * @param destino El arreglo donde se escribe el salario de cada fila.
+     * @param motor El motor de cálculo (escalar o vectorial).
+     */
+    public void calcularSalarios(long[] destino, MotorNomina motor) {
+        for (tipoEmpleado t : TIPOS) {
+            motor.salarios(t, salarioBase, horas, bonos, descuentos,
+                    inicioTipo[t.ordinal()], inicioTipo[t.ordinal() + 1], destino);
+        }
+    }
+
+    /**
+     * Método para calcular el décimo tercer sueldo de todas las filas.
+     *
+     * @param destino El arreglo donde se escribe el resultado de cada fila.
+     * @param motor El motor de cálculo.
+     */
+    public void calcularDecimoTercerSueldo(long[] destino, MotorNomina motor) {
+        motor.decimoTercerSueldo(salarioBase, 0, cantidad, destino);
+    }
+
+    /**
+     * Método para calcular las utilidades de todas las filas.
+     *
+     * @param mesesTrabajados Los meses trabajados.
+     * @param destino El arreglo donde se escribe el resultado de cada fila.
+     * @param motor El motor de cálculo.
+     */
+    public void calcularUtilidades(int mesesTrabajados, long[] destino, MotorNomina motor) {
+        motor.utilidades(salarioBase, mesesTrabajados, 0, cantidad, destino);
+    }
+
+    /**
+     * Método para calcular el pago por horas extras de todas las filas.
+     *
+     * @param horasExtras Las horas extras trabajadas, en centésimas de hora.
+     * @param destino El arreglo donde se escribe el resultado de cada fila.
+     * @param motor El motor de cálculo.
+     */
+    public void calcularHorasExtras(long horasExtras, long[] destino, MotorNomina motor) {
+        motor.horasExtras(salarioBase, horasExtras, 0, cantidad, destino);
+    }
+
+    /**
+     * Método para calcular los fondos de reserva de todas las filas.
+     *
+     * @param destino El arreglo donde se escribe el resultado de cada fila.
+     * @param motor El motor de cálculo.
+     */
+    public void calcularFondosReserva(long[] destino, MotorNomina motor) {
+        motor.fondosReserva(salarioBase, 0, cantidad, destino);
+    }
+
+    /**
+     * Método para calcular el total de la nómina mensual de un tipo de empleado.
+     *
+     * @param tipoBuscado El tipo de empleado.
+     * @return La suma de los salarios mensuales del tipo, en centavos (exacta).
+     */
+    public long totalSalarios(tipoEmpleado tipoBuscado) {
+        int t = tipoBuscado.ordinal();
+        long total = 0;
+        switch (tipoBuscado) {
+            case EMPLEADO:
+                for (int i = inicioTipo[t]; i < inicioTipo[t + 1]; i++) {
+                    total += EmpleadoRegular.salarioMensual(salarioBase[i], horas[i], bonos[i], descuentos[i]);
+                }
+                break;
+            case ADMINISTRATIVO:
+                for (int i = inicioTipo[t]; i < inicioTipo[t + 1]; i++) {
+                    total += Administrativo.salarioMensual(salarioBase[i], horas[i], bonos[i], descuentos[i]);
+                }
+                break;
+            case GERENTE:
+            default:
+                for (int i = inicioTipo[t]; i < inicioTipo[t + 1]; i++) {
+                    total += Gerente.salarioMensual(salarioBase[i], horas[i], bonos[i], descuentos[i]);
+                }
+        }
+        return total;
+    }
+}
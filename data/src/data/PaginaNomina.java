@@ -0,0 +1,89 @@
+package data;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import data.SalidaReporte.Formato;
+
+/**
+ * Clase que representa una página de la nómina: los empleados de la página, en orden, con
+ * su salario mensual. La entrega un {@link CursorNomina} o una consulta de los mejores
+ * pagados de {@link GestorEmpleado}.
+ */
+public final class PaginaNomina {
+
+    private final Empleado[] empleados;
+    private final long[] salarios;      // Salario mensual de cada fila, en centavos
+    private final int cantidad;
+    private final String siguiente;     // Posición del cursor después de la página (null si es la última)
+
+    PaginaNomina(Empleado[] empleados, long[] salarios, int cantidad, String siguiente) {
+        this.empleados = empleados;
+        this.salarios = salarios;
+        this.cantidad = cantidad;
+        this.siguiente = siguiente;
+    }
+
+    /**
+     * Método para obtener la cantidad de filas de la página.
+     *
+     * @return La cantidad de empleados de la página.
+     */
+    public int getCantidad() {
+        return cantidad;
+    }
+
+    public Empleado getEmpleado(int i) {
+        return empleados[verificar(i)];
+    }
+
+    public long getSalarioMensualCentavos(int i) {
+        return salarios[verificar(i)];
+    }
+
+    public double getSalarioMensual(int i) {
+        return Dinero.aDouble(salarios[verificar(i)]);
+    }
+
+    /**
+     * Método para obtener los empleados de la página.
+     *
+     * @return Los empleados, en el orden de la página (lista de solo lectura).
+     */
+    public List<Empleado> getEmpleados() {
+        return Collections.unmodifiableList(Arrays.asList(empleados).subList(0, cantidad));
+    }
+
+    /**
+     * Método para obtener la posición del cursor después de esta página, con la que se puede
+     * pedir la página siguiente más tarde (por ejemplo, en otra solicitud) con
+     * {@link GestorEmpleado#abrirCursor(ConsultaNomina, int, String)}.
+     *
+     * @return La posición, o `null` si esta es la última página.
+     */
+    public String getSiguiente() {
+        return siguiente;
+    }
+
+    /**
+     * Método para escribir las filas de la página con el formato del reporte de rol de pagos
+     * (sin encabezado ni pie).
+     *
+     * @param salida La salida donde se escriben las filas.
+     * @param formato El formato de las filas.
+     */
+    public void escribir(SalidaReporte salida, Formato formato) {
+        for (int i = 0; i < cantidad; i++) {
+            GestorEmpleado.agregarFila(salida.bufer(), formato, empleados[i], salarios[i]);
+            salida.finFila();
+        }
+    }
+
+    private int verificar(int i) {
+        if (i < 0 || i >= cantidad) {
+            throw new IndexOutOfBoundsException("Fila fuera de rango: " + i);
+        }
+        return i;
+    }
+}
@@ -0,0 +1,484 @@
+package data;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.zip.CRC32;
+
+import data.Empleado.tipoEmpleado;
+
+/**
+ * Clase que representa la persistencia de los empleados en disco.
+ *
+ * Cada registro de empleado y cada cambio de salario base se agrega a un log de
+ * escritura anticipada (`empleados.log`) antes de confirmarse. Las escrituras
+ * concurrentes se agrupan: el primer hilo que necesita confirmar escribe y sincroniza
+ * (fsync) todo lo pendiente, y los demás esperan a esa misma sincronización.
+ *
+ * Periódicamente se escribe una instantánea compacta (`empleados.snap`) con el estado
+ * completo del registro y el log se vacía. La recuperación lee la última instantánea y
+ * vuelve a aplicar los registros del log. Si el proceso termina mientras se escribía un
+ * registro, el registro incompleto se descarta (nunca fue confirmado).
+ *
+ * Formato de cada registro: longitud (int), CRC32 del contenido (int) y contenido.
+ * Los salarios se guardan en centavos; los registros anteriores con el salario en
+ * `double` (versión 1) se siguen leyendo.
+ *
+ * Un ajuste masivo de salarios se guarda como un solo registro con su número de versión.
+ * La instantánea guarda la versión de los salarios que incluye: si el log tiene un ajuste
+ * que la instantánea ya incluye, el log entero ya está en la instantánea y no se vuelve a
+ * aplicar (un porcentaje aplicado dos veces cambiaría el resultado).
+ */
+public class PersistenciaEmpleados implements Closeable {
+
+    // Registros del log a partir de los cuales conviene compactar
+    public static final int UMBRAL_COMPACTACION = 100_000;
+
+    private static final int MAGICO_INSTANTANEA = 0x47454D50;  // "GEMP"
+    private static final int VERSION = 3;
+    private static final int VERSION_CENTAVOS = 2;          // Instantáneas sin la versión de los salarios
+    private static final int VERSION_DOUBLE = 1;            // Instantáneas con salarios en double
+    private static final byte REGISTRO_ALTA_DOUBLE = 1;     // Registro de un nuevo empleado (salario en double)
+    private static final byte REGISTRO_SALARIO_DOUBLE = 2;  // Cambio de salario base (en double)
+    private static final byte REGISTRO_ALTA = 3;            // Registro de un nuevo empleado
+    private static final byte REGISTRO_SALARIO = 4;         // Cambio de salario base (en centavos)
+    private static final byte REGISTRO_AJUSTE = 5;          // Ajuste masivo del salario base
+
+    private final Path archivoLog;
+    private final Path archivoInstantanea;
+    private final FileChannel log;
+
+    // Estado de las escrituras agrupadas (protegido por el monitor de la instancia)
+    private ByteArrayOutputStream pendiente = new ByteArrayOutputStream(8 * 1024);
+    private long ultimaSecuencia;     // Número del último registro agregado a `pendiente`
+    private long secuenciaDurable;    // Número del último registro sincronizado en disco
+    private boolean escribiendo;      // Indica si un hilo está sincronizando el log
+    private long registrosEnLog;      // Registros escritos desde la última instantánea
+
+    // Búfer reutilizable para codificar el contenido de un registro
+    private final ByteArrayOutputStream contenido = new ByteArrayOutputStream(256);
+    private final DataOutputStream salidaContenido = new DataOutputStream(contenido);
+    private final CRC32 crc = new CRC32();
+
+    /**
+     * Constructor de la clase PersistenciaEmpleados.
+     * Crea el directorio si no existe y abre (o crea) el log.
+     *
+     * @param directorio El directorio donde se guardan los archivos.
+     * @throws IOException Si no se pueden crear o abrir los archivos.
+     */
+    public PersistenciaEmpleados(Path directorio) throws IOException {
+        Files.createDirectories(directorio);
+        this.archivoLog = directorio.resolve("empleados.log");
+        this.archivoInstantanea = directorio.resolve("empleados.snap");
+        this.log = FileChannel.open(archivoLog, StandardOpenOption.CREATE,
+                StandardOpenOption.READ, StandardOpenOption.WRITE);
+    }
+
+    /**
+     * Método para recuperar los empleados guardados: carga la última instantánea y
+     * luego aplica los registros del log. Al terminar, el log queda posicionado
+     * después del último registro válido.
+     *
+     * @param destino El gestor donde se cargan los empleados recuperados.
+     * @throws IOException Si la instantánea está dañada o no se puede leer.
+     */
+    public synchronized void recuperar(GestorEmpleado destino) throws IOException {
+        long versionSalarios = 0;  // Versión de los salarios incluida en la instantánea
+        if (Files.exists(archivoInstantanea)) {
+            try (DataInputStream entrada = new DataInputStream(new BufferedInputStream(
+                    Files.newInputStream(archivoInstantanea), 64 * 1024))) {
+                int version;
+                if (entrada.readInt() != MAGICO_INSTANTANEA || ((version = entrada.readInt()) != VERSION
+                        && version != VERSION_CENTAVOS && version != VERSION_DOUBLE)) {
+                    throw new IOException("Instantánea no válida: " + archivoInstantanea);
+                }
+                long cantidad = entrada.readLong();
+                if (version == VERSION) {
+                    versionSalarios = entrada.readLong();
+                    destino.restaurarVersionSalarios(versionSalarios);
+                }
+                for (long i = 0; i < cantidad; i++) {
+                    byte[] registro = leerRegistro(entrada);
+                    if (registro == null) {
+                        throw new IOException("Instantánea incompleta: " + archivoInstantanea);
+                    }
+                    aplicar(registro, destino);
+                }
+            }
+        }
+
+        // Si el proceso terminó después de escribir la instantánea pero antes de vaciar el log,
+        // un ajuste del log ya está en la instantánea: todo el log lo está
+        boolean incluido = versionSalarios > 0 && contieneAjusteHasta(versionSalarios);
+
+        // Aplicar el log hasta el último registro completo y válido
+        log.position(0);
+        InputStream flujo = new BufferedInputStream(Channels.newInputStream(log), 64 * 1024);
+        DataInputStream entrada = new DataInputStream(flujo);
+        long posicionValida = 0;
+        registrosEnLog = 0;
+        byte[] registro;
+        while (!incluido && (registro = leerRegistro(entrada)) != null) {
+            aplicar(registro, destino);
+            posicionValida += 8 + registro.length;
+            registrosEnLog++;
+        }
+        // Descartar un posible registro incompleto al final del log
+        log.truncate(posicionValida);
+        log.position(posicionValida);
+    }
+
+    /**
+     * Método para registrar el alta de un empleado. El método retorna cuando el
+     * registro está sincronizado en disco.
+     *
+     * @param emp El empleado registrado.
+     * @throws IOException Si el registro no se puede escribir.
+     */
+    public void registrarAlta(Empleado emp) throws IOException {
+        long secuencia;
+        synchronized (this) {
+            codificarAlta(emp);
+            secuencia = agregarPendiente();
+        }
+        esperarDurable(secuencia);
+    }
+
+    /**
+     * Método para registrar el alta de varios empleados con una sola sincronización.
+     *
+     * @param lote Los empleados registrados.
+     * @throws IOException Si los registros no se pueden escribir.
+     */
+    public void registrarAltas(Iterable<? extends Empleado> lote) throws IOException {
+        long secuencia;
+        synchronized (this) {
+            secuencia = ultimaSecuencia;
+            for (Empleado emp : lote) {
+                codificarAlta(emp);
+                secuencia = agregarPendiente();
+            }
+        }
+        esperarDurable(secuencia);
+    }
+
+    /**
+     * Método para registrar un cambio en el salario base de un empleado. El método
+     * retorna cuando el registro está sincronizado en disco.
+     *
+     * @param emp El empleado cuyo salario base cambia.
+     * @param salarioBase El nuevo salario base, en centavos.
+     * @throws IOException Si el registro no se puede escribir.
+     */
+    public void registrarSalarioBase(Empleado emp, long salarioBase) throws IOException {
+        long secuencia;
+        synchronized (this) {
+            contenido.reset();
+            salidaContenido.writeByte(REGISTRO_SALARIO);
+            salidaContenido.writeUTF(emp.getUsuario());
+            salidaContenido.writeLong(salarioBase);
+            secuencia = agregarPendiente();
+        }
+        esperarDurable(secuencia);
+    }
+
+    /**
+     * Método para registrar un ajuste masivo del salario base. El método retorna cuando el
+     * registro está sincronizado en disco.
+     *
+     * @param version El número de versión de los salarios que crea el ajuste.
+     * @param tipo El tipo de empleado ajustado, o `null` si se ajustan todos.
+     * @param ajuste El ajuste.
+     * @throws IOException Si el registro no se puede escribir.
+     */
+    public void registrarAjuste(long version, tipoEmpleado tipo, AjusteSalario ajuste) throws IOException {
+        long secuencia;
+        synchronized (this) {
+            contenido.reset();
+            salidaContenido.writeByte(REGISTRO_AJUSTE);
+            salidaContenido.writeLong(version);
+            salidaContenido.writeByte(tipo == null ? -1 : tipo.ordinal());
+            salidaContenido.writeByte(ajuste.getOperacion().ordinal());
+            salidaContenido.writeLong(ajuste.getValor());
+            secuencia = agregarPendiente();
+        }
+        esperarDurable(secuencia);
+    }
+
+    /**
+     * Método para saber si el log creció lo suficiente como para escribir una instantánea.
+     *
+     * @return `true` si conviene llamar a {@link #compactar(Iterable, long, long)}.
+     */
+    public synchronized boolean requiereCompactacion() {
+        return registrosEnLog >= UMBRAL_COMPACTACION;
+    }
+
+    /**
+     * Método para saber si el log tiene registros que no están en la instantánea.
+     *
+     * @return `true` si la recuperación tendría que aplicar registros del log.
+     */
+    public synchronized boolean tieneRegistros() {
+        return registrosEnLog > 0;
+    }
+
+    /**
+     * Método para escribir una instantánea con todos los empleados y vaciar el log.
+     * La instantánea se escribe en un archivo temporal que luego reemplaza al anterior,
+     * de modo que siempre existe una instantánea completa. Si el proceso termina entre el
+     * reemplazo y el vaciado del log, la recuperación vuelve a aplicar registros que ya
+     * están en la instantánea, lo cual no altera el resultado (las altas repetidas se
+     * ignoran y los cambios de salario se aplican en el mismo orden). Si ese log tiene un
+     * ajuste masivo, la versión de los salarios de la instantánea indica que el log ya está
+     * incluido y no se vuelve a aplicar.
+     *
+     * @param empleados Todos los empleados registrados.
+     * @param cantidad La cantidad de empleados.
+     * @param versionSalarios La versión de los salarios (último ajuste masivo aplicado).
+     * @throws IOException Si la instantánea no se puede escribir.
+     */
+    public synchronized void compactar(Iterable<? extends Empleado> empleados, long cantidad, long versionSalarios)
+            throws IOException {
+        // Asegurar que todo lo pendiente está en el log antes de reemplazarlo
+        while (escribiendo) {
+            esperar();
+        }
+        escribirPendiente();
+
+        Path temporal = archivoInstantanea.resolveSibling(archivoInstantanea.getFileName() + ".tmp");
+        try (FileChannel canal = FileChannel.open(temporal, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteArrayOutputStream bloque = new ByteArrayOutputStream(256 * 1024);
+            DataOutputStream salida = new DataOutputStream(bloque);
+            salida.writeInt(MAGICO_INSTANTANEA);
+            salida.writeInt(VERSION);
+            salida.writeLong(cantidad);
+            salida.writeLong(versionSalarios);
+            for (Empleado emp : empleados) {
+                codificarAlta(emp);
+                enmarcar(salida);
+                if (bloque.size() >= 256 * 1024) {
+                    escribirTodo(canal, bloque);
+                }
+            }
+            escribirTodo(canal, bloque);
+            canal.force(true);
+        }
+        Files.move(temporal, archivoInstantanea, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+
+        log.truncate(0);
+        log.position(0);
+        log.force(true);
+        registrosEnLog = 0;
+    }
+
+    /**
+     * Método para cerrar el log. Los registros pendientes se escriben antes de cerrar.
+     */
+    @Override
+    public synchronized void close() throws IOException {
+        while (escribiendo) {
+            esperar();
+        }
+        escribirPendiente();
+        log.close();
+    }
+
+    // ------------------------------------------------------------------ Escritura
+
+    /**
+     * Codifica el contenido del registro de alta de un empleado en el búfer `contenido`.
+     */
+    private void codificarAlta(Empleado emp) throws IOException {
+        contenido.reset();
+        salidaContenido.writeByte(REGISTRO_ALTA);
+        salidaContenido.writeByte(emp.getTipo().ordinal());
+        salidaContenido.writeUTF(emp.getNombre());
+        salidaContenido.writeUTF(emp.getCedula());
+        salidaContenido.writeUTF(emp.getUsuario());
+        salidaContenido.writeUTF(emp.getClave());
+        salidaContenido.writeLong(emp.getSalarioBaseCentavos());
+    }
+
+    /**
+     * Escribe el registro codificado en `contenido` (longitud, CRC y contenido) en la salida.
+     */
+    private void enmarcar(DataOutputStream salida) throws IOException {
+        crc.reset();
+        crc.update(contenido.toByteArray(), 0, contenido.size());
+        salida.writeInt(contenido.size());
+        salida.writeInt((int) crc.getValue());
+        contenido.writeTo(salida);
+    }
+
+    /**
+     * Agrega el registro codificado a los pendientes y retorna su número de secuencia.
+     */
+    private long agregarPendiente() throws IOException {
+        enmarcar(new DataOutputStream(pendiente));
+        registrosEnLog++;
+        return ++ultimaSecuencia;
+    }
+
+    /**
+     * Espera a que el registro con la secuencia indicada esté sincronizado en disco.
+     * Si ningún hilo está escribiendo, el hilo actual escribe todos los registros
+     * pendientes (incluidos los de otros hilos) con una sola sincronización.
+     */
+    private void esperarDurable(long secuencia) throws IOException {
+        ByteArrayOutputStream lote;
+        long hasta;
+        synchronized (this) {
+            while (secuenciaDurable < secuencia && escribiendo) {
+                esperar();
+            }
+            if (secuenciaDurable >= secuencia) {
+                return;
+            }
+            // Este hilo escribe el grupo de registros pendientes
+            escribiendo = true;
+            lote = pendiente;
+            hasta = ultimaSecuencia;
+            pendiente = new ByteArrayOutputStream(Math.max(8 * 1024, lote.size()));
+        }
+        boolean exito = false;
+        try {
+            escribirTodo(log, lote);
+            log.force(false);
+            exito = true;
+        } finally {
+            synchronized (this) {
+                escribiendo = false;
+                if (exito) {
+                    secuenciaDurable = hasta;
+                }
+                notifyAll();
+            }
+        }
+    }
+
+    /**
+     * Escribe y sincroniza los registros pendientes (con el monitor tomado).
+     */
+    private void escribirPendiente() throws IOException {
+        if (pendiente.size() > 0) {
+            escribirTodo(log, pendiente);
+            log.force(false);
+            secuenciaDurable = ultimaSecuencia;
+            notifyAll();
+        }
+    }
+
+    /**
+     * Escribe el contenido del búfer en el canal y vacía el búfer.
+     */
+    private static void escribirTodo(FileChannel canal, ByteArrayOutputStream bloque) throws IOException {
+        ByteBuffer bytes = ByteBuffer.wrap(bloque.toByteArray());
+        while (bytes.hasRemaining()) {
+            canal.write(bytes);
+        }
+        bloque.reset();
+    }
+
+    /**
+     * Espera una notificación sobre el monitor de la instancia.
+     */
+    private void esperar() throws IOException {
+        try {
+            wait();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Espera interrumpida", e);
+        }
+    }
+
+    // ------------------------------------------------------------------ Lectura
+
+    /**
+     * Lee un registro completo y verifica su CRC.
+     *
+     * @return El contenido del registro, o `null` si se llegó al final o el registro está incompleto o dañado.
+     */
+    private static byte[] leerRegistro(DataInputStream entrada) throws IOException {
+        try {
+            int longitud = entrada.readInt();
+            int esperado = entrada.readInt();
+            if (longitud <= 0 || longitud > 1 << 20) {
+                return null;
+            }
+            byte[] registro = new byte[longitud];
+            entrada.readFully(registro);
+            CRC32 verificacion = new CRC32();
+            verificacion.update(registro);
+            return (int) verificacion.getValue() == esperado ? registro : null;
+        } catch (EOFException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Indica si el log tiene un ajuste masivo con una versión menor o igual a la indicada.
+     */
+    private boolean contieneAjusteHasta(long version) throws IOException {
+        log.position(0);
+        DataInputStream entrada = new DataInputStream(
+                new BufferedInputStream(Channels.newInputStream(log), 64 * 1024));
+        byte[] registro;
+        while ((registro = leerRegistro(entrada)) != null) {
+            if (registro[0] == REGISTRO_AJUSTE
+                    && ByteBuffer.wrap(registro, 1, Long.BYTES).getLong() <= version) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Aplica un registro leído sobre el gestor de destino.
+     */
+    private static void aplicar(byte[] registro, GestorEmpleado destino) throws IOException {
+        DataInputStream entrada = new DataInputStream(new ByteArrayInputStream(registro));
+        byte tipoRegistro = entrada.readByte();
+        if (tipoRegistro == REGISTRO_ALTA || tipoRegistro == REGISTRO_ALTA_DOUBLE) {
+            tipoEmpleado tipo = tipoEmpleado.values()[entrada.readByte()];
+            String nombre = entrada.readUTF();
+            String cedula = entrada.readUTF();
+            String usuario = entrada.readUTF();
+            String clave = entrada.readUTF();
+            Empleado emp = Empleado.crear(nombre, cedula, usuario, clave, tipo);
+            emp.restaurarSalarioBase(tipoRegistro == REGISTRO_ALTA
+                    ? entrada.readLong() : Dinero.centavos(entrada.readDouble()));
+            destino.cargarEmpleado(emp);
+        } else if (tipoRegistro == REGISTRO_SALARIO || tipoRegistro == REGISTRO_SALARIO_DOUBLE) {
+            Empleado emp = destino.buscar(entrada.readUTF());
+            long salarioBase = tipoRegistro == REGISTRO_SALARIO
+                    ? entrada.readLong() : Dinero.centavos(entrada.readDouble());
+            if (emp != null) {
+                emp.restaurarSalarioBase(salarioBase);
+            }
+        } else if (tipoRegistro == REGISTRO_AJUSTE) {
+            long version = entrada.readLong();
+            byte tipo = entrada.readByte();
+            AjusteSalario ajuste = AjusteSalario.crear(AjusteSalario.Operacion.values()[entrada.readByte()],
+                    entrada.readLong());
+            destino.restaurarAjuste(version, tipo < 0 ? null : tipoEmpleado.values()[tipo], ajuste);
+        } else {
+            throw new IOException("Tipo de registro desconocido: " + tipoRegistro);
+        }
+    }
+}
@@ -0,0 +1,81 @@
+package data;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+import data.Empleado.tipoEmpleado;
+
+/**
+ * Clase con el protocolo binario entre el coordinador ({@link GestorFragmentado}) y los
+ * fragmentos ({@link ServidorFragmento}), y la función que reparte los usuarios.
+ *
+ * Cada solicitud es un byte de operación seguido de sus datos, escritos con
+ * {@link java.io.DataOutputStream}; el fragmento responde en la misma conexión. Una conexión
+ * atiende solicitudes una tras otra hasta que el coordinador la cierra.
+ */
+final class ProtocoloFragmento {
+
+    static final int MAGICO = 0x47465241;  // "GFRA": saludo de una conexión nueva
+    static final int VERSION = 1;
+
+    // Operaciones
+    static final byte AGREGAR = 1;            // Empleado -> estado
+    static final byte AGREGAR_LOTE = 2;       // Cantidad y empleados -> estado de cada uno
+    static final byte BUSCAR = 3;             // Usuario -> existe y empleado
+    static final byte CAMBIAR_SALARIO = 4;    // Usuario y centavos -> existe
+    static final byte CANTIDAD = 5;           // -> cantidad de empleados
+    static final byte TOTAL_NOMINA = 6;       // -> total en centavos
+    static final byte ESTADISTICAS = 7;       // Horas, bonos y descuentos -> EstadisticasNomina
+    static final byte REPORTE = 8;            // Formato -> filas ordenadas por usuario
+
+    // Estados de un alta
+    static final byte REGISTRADO = 0;
+    static final byte RECHAZADO = 1;          // Usuario repetido o el registro no se pudo guardar
+    static final byte OTRO_FRAGMENTO = 2;     // El usuario no pertenece a este fragmento
+
+    private ProtocoloFragmento() {
+    }
+
+    /**
+     * Calcula el fragmento dueño de un usuario. Usa el hash de `String`, que es el mismo en
+     * todas las JVM, mezclado para repartir mejor los usuarios parecidos.
+     *
+     * @param usuario El nombre de usuario.
+     * @param fragmentos La cantidad de fragmentos.
+     * @return El número de fragmento, de 0 a `fragmentos - 1`.
+     */
+    static int fragmento(String usuario, int fragmentos) {
+        int h = usuario.hashCode();
+        h ^= h >>> 16;
+        h *= 0x45D9F3B;
+        h ^= h >>> 16;
+        return Math.floorMod(h, fragmentos);
+    }
+
+    static void escribirEmpleado(DataOutput salida, Empleado emp) throws IOException {
+        salida.writeUTF(emp.getNombre());
+        salida.writeUTF(emp.getCedula());
+        salida.writeUTF(emp.getUsuario());
+        salida.writeUTF(emp.getClave());
+        salida.writeByte(emp.getTipo().ordinal());
+        salida.writeLong(emp.getSalarioBaseCentavos());
+    }
+
+    /**
+     * Lee un empleado. El empleado leído no pertenece a ningún gestor.
+     */
+    static Empleado leerEmpleado(DataInput entrada) throws IOException {
+        String nombre = entrada.readUTF();
+        String cedula = entrada.readUTF();
+        String usuario = entrada.readUTF();
+        String clave = entrada.readUTF();
+        int tipo = entrada.readUnsignedByte();
+        if (tipo >= tipoEmpleado.values().length) {
+            throw new IOException("Tipo de empleado no válido: " + tipo);
+        }
+        Empleado emp = Empleado.crear(nombre, cedula, usuario, clave, tipoEmpleado.values()[tipo]);
+        emp.asignarSalarioBase(entrada.readLong());
+        return emp;
+    }
+}
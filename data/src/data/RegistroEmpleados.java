@@ -0,0 +1,127 @@
+package data;
+
+import java.util.AbstractList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.RandomAccess;
+import java.util.function.Consumer;
+
+/**
+ * Clase que almacena a los empleados del {@link GestorEmpleado} en orden de registro, para
+ * que muchos hilos puedan leerlos mientras otros registran empleados nuevos.
+ *
+ * Los empleados se guardan en segmentos de {@link #TAMANO_SEGMENTO} posiciones. Los segmentos
+ * nunca se copian: cuando se llena uno se crea el siguiente y, si el directorio de segmentos
+ * no tiene lugar, se reemplaza por una copia más grande (copia en escritura). Una posición,
+ * una vez publicada, no cambia.
+ *
+ * <ul>
+ *   <li>Las escrituras ({@link #agregar(Empleado, Consumer)}) se serializan con un candado breve, que
+ *       solo cubre asignar la posición, guardar la referencia y publicarla.</li>
+ *   <li>Las lecturas no usan candados: {@link #instantanea()} toma la cantidad publicada
+ *       (volátil) y el directorio, y retorna una vista fija de los empleados registrados en
+ *       ese momento. Un reporte que recorre la instantánea no ve registros a medias ni
+ *       bloquea a quienes registran.</li>
+ * </ul>
+ */
+final class RegistroEmpleados {
+
+    private static final int BITS_SEGMENTO = 12;
+    static final int TAMANO_SEGMENTO = 1 << BITS_SEGMENTO;  // Empleados por segmento
+    private static final int MASCARA = TAMANO_SEGMENTO - 1;
+
+    private volatile Empleado[][] segmentos;  // Directorio de segmentos (copia en escritura)
+    private volatile int cantidad;            // Empleados publicados
+
+    /**
+     * Constructor de la clase RegistroEmpleados.
+     *
+     * @param capacidadInicial Los empleados para los que se reserva lugar en el directorio.
+     */
+    RegistroEmpleados(int capacidadInicial) {
+        int cantidadSegmentos = Math.max(1, (capacidadInicial + TAMANO_SEGMENTO - 1) >>> BITS_SEGMENTO);
+        segmentos = new Empleado[cantidadSegmentos][];  // Los segmentos se crean al llenarse el anterior
+    }
+
+    /**
+     * Agrega un empleado al final y le asigna su posición de registro. Antes de publicar la
+     * posición se ejecuta `alPublicar` (por ejemplo, para indexar el empleado en orden).
+     *
+     * @param emp El empleado a agregar.
+     * @param alPublicar La acción que se ejecuta con el empleado antes de publicarlo.
+     */
+    synchronized void agregar(Empleado emp, Consumer<Empleado> alPublicar) {
+        int i = cantidad;
+        Empleado[][] directorio = segmentos;
+        int segmento = i >>> BITS_SEGMENTO;
+        if (segmento == directorio.length) {
+            directorio = Arrays.copyOf(directorio, directorio.length * 2);
+            segmentos = directorio;  // Se publica antes que la cantidad
+        }
+        if (directorio[segmento] == null) {
+            directorio[segmento] = new Empleado[TAMANO_SEGMENTO];
+        }
+        directorio[segmento][i & MASCARA] = emp;
+        emp.indice = i;
+        alPublicar.accept(emp);
+        cantidad = i + 1;  // Escritura volátil: publica el empleado y todo lo anterior
+    }
+
+    /**
+     * Método para obtener el empleado de una posición ya asignada.
+     *
+     * @param i La posición de registro.
+     * @return El empleado.
+     */
+    Empleado get(int i) {
+        return segmentos[i >>> BITS_SEGMENTO][i & MASCARA];
+    }
+
+    /**
+     * Método para obtener la cantidad de empleados publicados.
+     *
+     * @return La cantidad de empleados.
+     */
+    int cantidad() {
+        return cantidad;
+    }
+
+    /**
+     * Método para obtener una vista fija de los empleados publicados en este momento.
+     * La vista no cambia aunque se registren más empleados.
+     *
+     * @return Los empleados en orden de registro (lista de solo lectura).
+     */
+    List<Empleado> instantanea() {
+        int n = cantidad;                      // Primero la cantidad...
+        Empleado[][] directorio = segmentos;   // ...luego el directorio, que la cubre
+        return new Instantanea(directorio, n);
+    }
+
+    /**
+     * Vista de solo lectura de los primeros `cantidad` empleados de un directorio.
+     */
+    private static final class Instantanea extends AbstractList<Empleado> implements RandomAccess {
+
+        private final Empleado[][] segmentos;
+        private final int cantidad;
+
+        Instantanea(Empleado[][] segmentos, int cantidad) {
+            this.segmentos = segmentos;
+            this.cantidad = cantidad;
+        }
+
+        @Override
+        public Empleado get(int i) {
+            if (i < 0 || i >= cantidad) {
+                throw new IndexOutOfBoundsException("Empleado fuera de rango: " + i);
+            }
+            return segmentos[i >>> BITS_SEGMENTO][i & MASCARA];
+        }
+
+        @Override
+        public int size() {
+            return cantidad;
+        }
+    }
+}
@@ -0,0 +1,533 @@
+package data;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import data.Empleado.tipoEmpleado;
+import data.SalidaReporte.Formato;
+
+/**
+ * Clase que guarda los empleados fuera del heap de Java, en bloques de memoria nativa
+ * ({@link ByteBuffer#allocateDirect(int)}), para que el recolector de basura no tenga que
+ * recorrer millones de objetos Empleado (cada uno con sus cadenas y su Salario).
+ *
+ * Cada empleado es un registro compacto de longitud variable, alineado a 8 bytes:
+ * <pre>
+ *   0  salarioBase  long (centavos)
+ *   8  tipo         byte (ordinal de tipoEmpleado)
+ *   9  nombre, cédula, usuario y clave: 1 byte de longitud + bytes UTF-8 (hasta 255 bytes)
+ * </pre>
+ * La posición de cada registro se guarda en una tabla de posiciones (también fuera del heap)
+ * y el índice por usuario es una tabla hash de direccionamiento abierto con entradas
+ * (hash, registro + 1), de modo que el log in no crea objetos hasta encontrar al empleado.
+ *
+ * Los empleados se entregan como vistas ({@link VistaEmpleado}): objetos pequeños que solo
+ * guardan el número de registro y leen los campos de la memoria nativa cuando se piden.
+ * Las vistas no se guardan en el registro, así que viven poco y el recolector las libera
+ * en las recolecciones jóvenes.
+ *
+ * Las altas y los cambios (salario base y cédula) se hacen con el candado del registro; las
+ * lecturas no usan candados: un registro se publica (en la tabla hash y en la cantidad) solo
+ * después de escribirse completo. Un cambio de cédula vuelve a escribir el registro al final
+ * (el espacio anterior no se reutiliza) y publica la nueva posición.
+ *
+ * El registro vive en memoria y la memoria nativa se libera cuando el registro deja de usarse.
+ * Para el servicio HTTP se carga con {@link #cargar(ArchivoEmpleados, GestorEmpleado)}: los
+ * empleados del archivo (o de la imagen) se copian uno por uno y los empleados nuevos se guardan
+ * además en un {@link GestorEmpleado} aparte (las altas), que se vuelve a cargar al arrancar.
+ * Los cambios de salario base y de cédula hechos en las vistas no se guardan en disco.
+ */
+public class RegistroFueraHeap implements Closeable, ServicioEmpleados {
+
+    private static final int TAMANO_BLOQUE = 1 << 24;  // 16 MB por bloque de registros
+    private static final int POSICIONES_POR_BLOQUE = 1 << 17;  // 1 MB por bloque de posiciones
+    private static final int LARGO_MAXIMO = 255;
+    private static final int SALARIO_BASE = 0;
+    private static final int TIPO = 8;
+    private static final int TEXTOS = 9;
+    private static final tipoEmpleado[] TIPOS = tipoEmpleado.values();
+
+    // Accesos con orden de memoria a los enteros de los búferes nativos
+    private static final VarHandle INT = MethodHandles.byteBufferViewVarHandle(int[].class, ByteOrder.nativeOrder());
+    private static final VarHandle LONG = MethodHandles.byteBufferViewVarHandle(long[].class, ByteOrder.nativeOrder());
+
+    private volatile ByteBuffer[] bloques = new ByteBuffer[0];
+    private int libre = TAMANO_BLOQUE;  // Primer byte libre del último bloque (con el candado)
+    private volatile ByteBuffer[] posiciones = new ByteBuffer[0];
+    private volatile ByteBuffer tabla;  // Entradas de 8 bytes: int hash, int registro + 1 (0 = vacía)
+    private volatile int cantidad;
+    private final GestorEmpleado altas;  // Guarda en disco los empleados nuevos (null: solo en memoria)
+
+    /**
+     * Constructor de la clase RegistroFueraHeap. Registra los usuarios por defecto.
+     */
+    public RegistroFueraHeap() {
+        this(16);
+    }
+
+    /**
+     * Constructor de la clase RegistroFueraHeap con capacidad inicial del índice por usuario,
+     * para no redimensionarlo mientras se cargan muchos empleados.
+     *
+     * @param capacidadInicial La cantidad de empleados esperada.
+     */
+    public RegistroFueraHeap(int capacidadInicial) {
+        this(capacidadInicial, null);
+    }
+
+    /**
+     * Constructor privado: usar {@link #cargar(ArchivoEmpleados, GestorEmpleado)} para
+     * guardar las altas.
+     */
+    private RegistroFueraHeap(int capacidadInicial, GestorEmpleado altas) {
+        this.altas = altas;
+        tabla = nuevoBloque(capacidadTabla(capacidadInicial) * 8);
+        for (Empleado emp : GestorEmpleado.usuariosPorDefecto()) {
+            agregar(emp);
+        }
+    }
+
+    /**
+     * Método para crear un registro con los empleados de un archivo binario (o de una imagen
+     * del registro) y de las altas. Los empleados se leen del archivo uno por uno, así que la
+     * carga no llena el heap.
+     *
+     * @param archivo El archivo con los empleados (se puede cerrar después de la carga).
+     * @param altas El gestor donde se guardan los empleados nuevos (se cierra junto con el registro).
+     * @return El registro con los empleados del archivo, luego los de las altas.
+     * @throws IllegalArgumentException Si el archivo tiene demasiados empleados o algún texto excede 255 bytes.
+     */
+    public static RegistroFueraHeap cargar(ArchivoEmpleados archivo, GestorEmpleado altas) {
+        long total = archivo.getCantidad() + altas.getCantidad();
+        if (total > Integer.MAX_VALUE / 2) {
+            throw new IllegalArgumentException("El registro fuera del heap admite hasta " + Integer.MAX_VALUE / 2
+                    + " empleados");
+        }
+        RegistroFueraHeap registro = new RegistroFueraHeap((int) total, altas);
+        for (long i = 0; i < archivo.getCantidad(); i++) {
+            registro.agregar(archivo.empleado(i));  // Un usuario repetido se ignora
+        }
+        for (Empleado emp : altas.instantanea()) {
+            registro.agregar(emp);
+        }
+        return registro;
+    }
+
+    /**
+     * Método para agregar un nuevo empleado: se copian sus datos al registro (el objeto
+     * recibido no se guarda). Si el usuario ya existe, se muestra un mensaje. Si el registro
+     * tiene altas, el empleado se guarda primero en ellas.
+     *
+     * @param emp El empleado a agregar.
+     * @return `true` si el empleado fue registrado, `false` si el usuario ya existía
+     *         o el registro no se pudo guardar.
+     * @throws IllegalArgumentException Si algún texto excede 255 bytes.
+     */
+    @Override
+    public boolean agregarEmpleado(Empleado emp) {
+        if (indiceDe(emp.getUsuario()) >= 0) {
+            System.out.println("Ya existe un empleado con el usuario '" + emp.getUsuario() + "'.");
+            return false;
+        }
+        if (altas != null) {
+            comprobarTextos(emp);
+            return altas.agregarEmpleado(copia(emp)) && agregar(emp);
+        }
+        if (!agregar(emp)) {
+            System.out.println("Ya existe un empleado con el usuario '" + emp.getUsuario() + "'.");
+            return false;
+        }
+        System.out.println("Empleado registrado exitosamente.");
+        return true;
+    }
+
+    /**
+     * Método para agregar un lote de empleados sin mostrar mensajes por cada uno. Si el
+     * registro tiene altas, el lote se guarda primero en ellas.
+     *
+     * @param lote Los empleados a agregar.
+     * @return Para cada empleado del lote, `true` si fue registrado (`false` si su usuario ya existía).
+     * @throws IOException Si el lote no se pudo guardar en las altas; en ese caso no se registra ningún empleado.
+     * @throws IllegalArgumentException Si algún texto excede 255 bytes (sin altas, los anteriores quedan
+     *         registrados; con altas, no se registra ningún empleado).
+     */
+    public boolean[] agregarEmpleados(List<? extends Empleado> lote) throws IOException {
+        boolean[] aceptados = new boolean[lote.size()];
+        if (altas == null) {
+            for (int i = 0; i < aceptados.length; i++) {
+                aceptados[i] = agregar(lote.get(i));
+            }
+            return aceptados;
+        }
+        List<Empleado> nuevos = new ArrayList<>(lote.size());
+        int[] posiciones = new int[lote.size()];  // Posición en el lote de cada empleado nuevo
+        for (int i = 0; i < aceptados.length; i++) {
+            Empleado emp = lote.get(i);
+            comprobarTextos(emp);
+            if (indiceDe(emp.getUsuario()) < 0) {
+                posiciones[nuevos.size()] = i;
+                nuevos.add(copia(emp));
+            }
+        }
+        boolean[] guardados = altas.agregarEmpleados(nuevos);
+        for (int k = 0; k < guardados.length; k++) {
+            aceptados[posiciones[k]] = guardados[k] && agregar(lote.get(posiciones[k]));
+        }
+        return aceptados;
+    }
+
+    /**
+     * Método para buscar un empleado por su nombre de usuario.
+     *
+     * @param usuario El nombre de usuario.
+     * @return Una vista del empleado, o `null` si no existe.
+     */
+    @Override
+    public Empleado buscar(String usuario) {
+        int i = indiceDe(usuario);
+        return i >= 0 ? empleado(i) : null;
+    }
+
+    /**
+     * Método para obtener la vista del empleado de un registro.
+     *
+     * @param i El número de registro (en orden de registro, desde 0).
+     * @return La vista del empleado.
+     */
+    public VistaEmpleado empleado(int i) {
+        if (i < 0 || i >= cantidad) {
+            throw new IndexOutOfBoundsException("Registro fuera de rango: " + i);
+        }
+        return new VistaEmpleado(this, i, tipo(i));
+    }
+
+    /**
+     * Método para obtener la cantidad de empleados registrados.
+     *
+     * @return La cantidad de empleados.
+     */
+    public int getCantidad() {
+        return cantidad;
+    }
+
+    /**
+     * Método para obtener la memoria nativa reservada por el registro (registros, posiciones
+     * e índice por usuario).
+     *
+     * @return La memoria reservada, en bytes.
+     */
+    public long getBytesFueraHeap() {
+        return (long) bloques.length * TAMANO_BLOQUE + (long) posiciones.length * POSICIONES_POR_BLOQUE * 8
+                + tabla.capacity();
+    }
+
+    /**
+     * Método para obtener el total de la nómina mensual (160 horas trabajadas, sin bonos ni
+     * descuentos), leyendo solo el salario y el tipo de cada registro.
+     *
+     * @return La suma de los salarios mensuales, en centavos.
+     */
+    public long getTotalNominaCentavos() {
+        long total = 0;
+        int n = cantidad;
+        for (int i = 0; i < n; i++) {
+            long posicion = posicion(i);
+            ByteBuffer bloque = bloques[(int) (posicion / TAMANO_BLOQUE)];
+            int p = (int) (posicion % TAMANO_BLOQUE);
+            total += Empleado.salarioMensual(TIPOS[bloque.get(p + TIPO)], (long) LONG.getVolatile(bloque, p + SALARIO_BASE),
+                    Salario.JORNADA_MENSUAL_CENTESIMAS, 0, 0);
+        }
+        return total;
+    }
+
+    /**
+     * Método para escribir el reporte de rol de pagos en orden de registro, leyendo los campos
+     * de la memoria nativa sin crear objetos Empleado.
+     *
+     * @param salida La salida donde se escribe el reporte.
+     * @param formato El formato de las filas.
+     */
+    @Override
+    public void generarReporteRolPagos(SalidaReporte salida, Formato formato) {
+        GestorEmpleado.escribirEncabezado(salida, formato);
+        int n = cantidad;
+        for (int i = 0; i < n; i++) {
+            long posicion = posicion(i);
+            ByteBuffer bloque = bloques[(int) (posicion / TAMANO_BLOQUE)];
+            int p = (int) (posicion % TAMANO_BLOQUE);
+            tipoEmpleado tipo = TIPOS[bloque.get(p + TIPO)];
+            int cedula = saltar(bloque, p + TEXTOS);
+            GestorEmpleado.agregarFila(salida.bufer(), formato, texto(bloque, p + TEXTOS), texto(bloque, cedula), tipo,
+                    Empleado.salarioMensual(tipo, (long) LONG.getVolatile(bloque, p + SALARIO_BASE),
+                            Salario.JORNADA_MENSUAL_CENTESIMAS, 0, 0));
+            salida.finFila();
+        }
+        GestorEmpleado.escribirPie(salida, formato);
+    }
+
+    /**
+     * Método para cerrar el gestor de las altas (si el registro tiene altas).
+     */
+    @Override
+    public void close() throws IOException {
+        if (altas != null) {
+            altas.close();
+        }
+    }
+
+    // ------------------------------------------------------------------ Campos de un registro (para las vistas)
+
+    String nombre(int i) {
+        return campo(i, 0);
+    }
+
+    String cedula(int i) {
+        return campo(i, 1);
+    }
+
+    String usuario(int i) {
+        return campo(i, 2);
+    }
+
+    String clave(int i) {
+        return campo(i, 3);
+    }
+
+    tipoEmpleado tipo(int i) {
+        long posicion = posicion(i);
+        return TIPOS[bloques[(int) (posicion / TAMANO_BLOQUE)].get((int) (posicion % TAMANO_BLOQUE) + TIPO)];
+    }
+
+    long salarioBase(int i) {
+        long posicion = posicion(i);
+        return (long) LONG.getVolatile(bloques[(int) (posicion / TAMANO_BLOQUE)], (int) (posicion % TAMANO_BLOQUE) + SALARIO_BASE);
+    }
+
+    /**
+     * Cambia el salario base de un registro.
+     */
+    synchronized void asignarSalarioBase(int i, long salarioBase) {
+        long posicion = posicion(i);
+        LONG.setVolatile(bloques[(int) (posicion / TAMANO_BLOQUE)], (int) (posicion % TAMANO_BLOQUE) + SALARIO_BASE, salarioBase);
+    }
+
+    /**
+     * Cambia la cédula de un registro. El registro se vuelve a escribir al final, con el
+     * salario actual, y se publica su nueva posición.
+     *
+     * @throws IllegalArgumentException Si la cédula excede 255 bytes.
+     */
+    synchronized void asignarCedula(int i, String cedula) {
+        long nueva = escribirRegistro(nombre(i), cedula, usuario(i), clave(i), tipo(i), salarioBase(i));
+        ByteBuffer bloque = posiciones[i / POSICIONES_POR_BLOQUE];
+        LONG.setRelease(bloque, (i % POSICIONES_POR_BLOQUE) * 8, nueva);
+    }
+
+    // ------------------------------------------------------------------ Implementación
+
+    /**
+     * Crea la copia de un empleado que se guarda en las altas (el objeto recibido puede ser una
+     * vista, y sus cambios posteriores no deben llegar a las altas sin pasar por el registro).
+     */
+    private static Empleado copia(Empleado emp) {
+        Empleado copia = Empleado.crear(emp.getNombre(), emp.getCedula(), emp.getUsuario(), emp.getClave(),
+                emp.getTipo());
+        copia.restaurarSalarioBase(emp.getSalarioBaseCentavos());
+        return copia;
+    }
+
+    /**
+     * Comprueba que los textos del empleado quepan en un registro, antes de guardarlo en las altas.
+     *
+     * @throws IllegalArgumentException Si algún texto excede 255 bytes.
+     */
+    private static void comprobarTextos(Empleado emp) {
+        utf8(emp.getNombre(), "nombre");
+        utf8(emp.getCedula(), "cédula");
+        utf8(emp.getUsuario(), "usuario");
+        utf8(emp.getClave(), "clave");
+    }
+
+    private synchronized boolean agregar(Empleado emp) {
+        String usuario = emp.getUsuario();
+        if (indiceDe(usuario) >= 0) {
+            return false;
+        }
+        int i = cantidad;
+        if ((long) (i + 1) * 3 > (tabla.capacity() / 8) * 2L) {  // Más de 2/3 de la tabla ocupada
+            redimensionarTabla();
+        }
+        long posicion = escribirRegistro(emp.getNombre(), emp.getCedula(), usuario, emp.getClave(), emp.getTipo(),
+                emp.getSalarioBaseCentavos());
+        if (i % POSICIONES_POR_BLOQUE == 0 && i / POSICIONES_POR_BLOQUE == posiciones.length) {
+            ByteBuffer[] mas = Arrays.copyOf(posiciones, posiciones.length + 1);
+            mas[mas.length - 1] = nuevoBloque(POSICIONES_POR_BLOQUE * 8);
+            posiciones = mas;
+        }
+        LONG.setRelease(posiciones[i / POSICIONES_POR_BLOQUE], (i % POSICIONES_POR_BLOQUE) * 8, posicion);
+        insertar(tabla, hash(usuario), i);
+        cantidad = i + 1;
+        return true;
+    }
+
+    /**
+     * Escribe un registro al final del último bloque (o en un bloque nuevo) y retorna su posición.
+     */
+    private long escribirRegistro(String nombre, String cedula, String usuario, String clave, tipoEmpleado tipo,
+            long salarioBase) {
+        byte[][] textos = {
+            utf8(nombre, "nombre"), utf8(cedula, "cédula"), utf8(usuario, "usuario"), utf8(clave, "clave")
+        };
+        int largo = TEXTOS;
+        for (byte[] texto : textos) {
+            largo += 1 + texto.length;
+        }
+        largo = (largo + 7) & ~7;
+        if (libre + largo > TAMANO_BLOQUE) {
+            ByteBuffer[] mas = Arrays.copyOf(bloques, bloques.length + 1);
+            mas[mas.length - 1] = nuevoBloque(TAMANO_BLOQUE);
+            bloques = mas;
+            libre = 0;
+        }
+        ByteBuffer bloque = bloques[bloques.length - 1];
+        int p = libre;
+        LONG.setVolatile(bloque, p + SALARIO_BASE, salarioBase);
+        bloque.put(p + TIPO, (byte) tipo.ordinal());
+        int q = p + TEXTOS;
+        for (byte[] texto : textos) {
+            bloque.put(q, (byte) texto.length);
+            bloque.put(q + 1, texto, 0, texto.length);
+            q += 1 + texto.length;
+        }
+        libre += largo;
+        return (long) (bloques.length - 1) * TAMANO_BLOQUE + p;
+    }
+
+    /**
+     * Busca el registro de un usuario en la tabla hash, comparando los bytes sin crear cadenas.
+     *
+     * @return El número de registro, o -1 si no existe.
+     */
+    private int indiceDe(String usuario) {
+        ByteBuffer t = tabla;
+        int mascara = t.capacity() / 8 - 1;
+        int h = hash(usuario);
+        byte[] utf8 = null;
+        for (int slot = h & mascara; ; slot = (slot + 1) & mascara) {
+            int registro = (int) INT.getAcquire(t, slot * 8 + 4);
+            if (registro == 0) {
+                return -1;
+            }
+            if (t.getInt(slot * 8) == h) {
+                if (utf8 == null) {
+                    utf8 = usuario.getBytes(StandardCharsets.UTF_8);
+                }
+                if (usuarioIgual(registro - 1, utf8)) {
+                    return registro - 1;
+                }
+            }
+        }
+    }
+
+    private boolean usuarioIgual(int i, byte[] utf8) {
+        long posicion = posicion(i);
+        ByteBuffer bloque = bloques[(int) (posicion / TAMANO_BLOQUE)];
+        int q = saltar(bloque, saltar(bloque, (int) (posicion % TAMANO_BLOQUE) + TEXTOS));  // Nombre y cédula
+        if ((bloque.get(q) & 0xFF) != utf8.length) {
+            return false;
+        }
+        for (int k = 0; k < utf8.length; k++) {
+            if (bloque.get(q + 1 + k) != utf8[k]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void redimensionarTabla() {
+        ByteBuffer nueva = nuevoBloque(tabla.capacity() * 2);
+        ByteBuffer anterior = tabla;
+        for (int slot = 0; slot < anterior.capacity() / 8; slot++) {
+            int registro = anterior.getInt(slot * 8 + 4);
+            if (registro != 0) {
+                insertar(nueva, anterior.getInt(slot * 8), registro - 1);
+            }
+        }
+        tabla = nueva;  // Las búsquedas en curso terminan con la tabla anterior
+    }
+
+    private static void insertar(ByteBuffer t, int h, int registro) {
+        int mascara = t.capacity() / 8 - 1;
+        int slot = h & mascara;
+        while (t.getInt(slot * 8 + 4) != 0) {
+            slot = (slot + 1) & mascara;
+        }
+        t.putInt(slot * 8, h);
+        INT.setRelease(t, slot * 8 + 4, registro + 1);  // El hash y el registro quedan visibles antes
+    }
+
+    private long posicion(int i) {
+        return (long) LONG.getAcquire(posiciones[i / POSICIONES_POR_BLOQUE], (i % POSICIONES_POR_BLOQUE) * 8);
+    }
+
+    /**
+     * Lee el campo de texto número `campo` (0 = nombre, 1 = cédula, 2 = usuario, 3 = clave).
+     */
+    private String campo(int i, int campo) {
+        long posicion = posicion(i);
+        ByteBuffer bloque = bloques[(int) (posicion / TAMANO_BLOQUE)];
+        int q = (int) (posicion % TAMANO_BLOQUE) + TEXTOS;
+        for (int k = 0; k < campo; k++) {
+            q = saltar(bloque, q);
+        }
+        return texto(bloque, q);
+    }
+
+    /**
+     * Retorna la posición del campo de texto siguiente al que empieza en `q`.
+     */
+    private static int saltar(ByteBuffer bloque, int q) {
+        return q + 1 + (bloque.get(q) & 0xFF);
+    }
+
+    private static String texto(ByteBuffer bloque, int q) {
+        byte[] bytes = new byte[bloque.get(q) & 0xFF];
+        bloque.get(q + 1, bytes, 0, bytes.length);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static byte[] utf8(String texto, String campo) {
+        byte[] bytes = texto.getBytes(StandardCharsets.UTF_8);
+        if (bytes.length > LARGO_MAXIMO) {
+            throw new IllegalArgumentException("El campo " + campo + " excede " + LARGO_MAXIMO + " bytes: " + texto);
+        }
+        return bytes;
+    }
+
+    /**
+     * Reserva un bloque de memoria nativa alineado a 8 bytes (para los accesos atómicos).
+     */
+    private static ByteBuffer nuevoBloque(int tamano) {
+        return ByteBuffer.allocateDirect(tamano + 8).alignedSlice(8).limit(tamano).slice().order(ByteOrder.nativeOrder());
+    }
+
+    /**
+     * Capacidad de la tabla hash: potencia de 2 con al menos un tercio de las entradas libres.
+     */
+    private static int capacidadTabla(int n) {
+        return Math.max(16, Integer.highestOneBit(Math.max(1, n) * 3 / 2) * 2);
+    }
+
+    private static int hash(String texto) {
+        int h = texto.hashCode() * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+}
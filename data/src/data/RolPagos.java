@@ -0,0 +1,59 @@
+package data;
+
+/**
+ * Clase que representa el rol de pagos completo de un empleado: salario mensual,
+ * décimo tercer sueldo, utilidades, pago por horas extras y fondos de reserva.
+ *
+ * Un mismo objeto se puede reutilizar para varios cálculos (por ejemplo, al recorrer
+ * todos los empleados), de modo que calcular un rol de pagos no crea objetos nuevos.
+ * Se llena con {@link Empleado#calcularRolPagos(double, double, double, int, double, RolPagos)}.
+ * Los montos se guardan en centavos (ver {@link Dinero}).
+ */
+public class RolPagos {
+
+    long salarioMensual;
+    long decimoTercerSueldo;
+    long utilidades;
+    long horasExtras;
+    long fondosReserva;
+
+    public double getSalarioMensual() {
+        return Dinero.aDouble(salarioMensual);
+    }
+
+    public double getDecimoTercerSueldo() {
+        return Dinero.aDouble(decimoTercerSueldo);
+    }
+
+    public double getUtilidades() {
+        return Dinero.aDouble(utilidades);
+    }
+
+    public double getHorasExtras() {
+        return Dinero.aDouble(horasExtras);
+    }
+
+    public double getFondosReserva() {
+        return Dinero.aDouble(fondosReserva);
+    }
+
+    public long getSalarioMensualCentavos() {
+        return salarioMensual;
+    }
+
+    public long getDecimoTercerSueldoCentavos() {
+        return decimoTercerSueldo;
+    }
+
+    public long getUtilidadesCentavos() {
+        return utilidades;
+    }
+
+    public long getHorasExtrasCentavos() {
+        return horasExtras;
+    }
+
+    public long getFondosReservaCentavos() {
+        return fondosReserva;
+    }
+}
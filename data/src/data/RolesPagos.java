@@ -0,0 +1,93 @@
+package data;
+
+/**
+ * Clase que almacena el rol de pagos de muchos empleados en arreglos primitivos,
+ * uno por cada componente (salario mensual, décimo tercer sueldo, utilidades,
+ * horas extras y fondos de reserva). La posición `i` de cada arreglo corresponde
+ * al empleado `i` en el orden de registro.
+ *
+ * Los arreglos se reutilizan entre cálculos y solo crecen cuando hay más empleados,
+ * por lo que un cálculo de nómina no crea objetos por empleado. Los montos se guardan
+ * en centavos (ver {@link Dinero}).
+ * Se llena con {@link GestorEmpleado#calcularRolesPagos(double, double, double, int, double, RolesPagos)}.
+ */
+public class RolesPagos {
+
+    private int cantidad;
+    long[] salarioMensual = new long[0];
+    long[] decimoTercerSueldo = new long[0];
+    long[] utilidades = new long[0];
+    long[] horasExtras = new long[0];
+    long[] fondosReserva = new long[0];
+
+    /**
+     * Prepara los arreglos para la cantidad indicada de empleados.
+     */
+    void preparar(int cantidad) {
+        if (salarioMensual.length < cantidad) {
+            int capacidad = Math.max(cantidad, salarioMensual.length + (salarioMensual.length >> 1));
+            salarioMensual = new long[capacidad];
+            decimoTercerSueldo = new long[capacidad];
+            utilidades = new long[capacidad];
+            horasExtras = new long[capacidad];
+            fondosReserva = new long[capacidad];
+        }
+        this.cantidad = cantidad;
+    }
+
+    /**
+     * Método para obtener la cantidad de roles de pago calculados.
+     *
+     * @return La cantidad de empleados del último cálculo.
+     */
+    public int getCantidad() {
+        return cantidad;
+    }
+
+    public double getSalarioMensual(int i) {
+        return Dinero.aDouble(salarioMensual[verificar(i)]);
+    }
+
+    public long getSalarioMensualCentavos(int i) {
+        return salarioMensual[verificar(i)];
+    }
+
+    public double getDecimoTercerSueldo(int i) {
+        return Dinero.aDouble(decimoTercerSueldo[verificar(i)]);
+    }
+
+    public long getDecimoTercerSueldoCentavos(int i) {
+        return decimoTercerSueldo[verificar(i)];
+    }
+
+    public double getUtilidades(int i) {
+        return Dinero.aDouble(utilidades[verificar(i)]);
+    }
+
+    public long getUtilidadesCentavos(int i) {
+        return utilidades[verificar(i)];
+    }
+
+    public double getHorasExtras(int i) {
+        return Dinero.aDouble(horasExtras[verificar(i)]);
+    }
+
+    public long getHorasExtrasCentavos(int i) {
+        return horasExtras[verificar(i)];
+    }
+
+    public double getFondosReserva(int i) {
+        return Dinero.aDouble(fondosReserva[verificar(i)]);
+    }
+
+    public long getFondosReservaCentavos(int i) {
+        return fondosReserva[verificar(i)];
+    }
+
+    private int verificar(int i) {
+        if (i < 0 || i >= cantidad) {
+            throw new IndexOutOfBoundsException("Rol de pagos fuera de rango: " + i);
+        }
+        return i;
+    }
+}
@@ -4,70 +4,146 @@ package data;
  * Clase que representa los cálculos relacionados con el salario de un empleado.
  * Esta clase incluye métodos para calcular el salario mensual, décimo tercer sueldo, utilidades,
  * horas extras y fondos de reserva de acuerdo a la legislación laboral.
+ *
+ * Los cálculos se hacen en centavos (ver {@link Dinero}): cada fórmula divide una sola vez,
+ * al final, y redondea la mitad hacia arriba. Las horas se expresan en centésimas de hora.
+ * Los métodos que reciben y retornan `double` convierten a centavos y usan los mismos cálculos.
+ * Cada cálculo en centavos se mide en {@link Metricas} (sin costo si las métricas están desactivadas).
  */
 public class Salario {
 
+    // Horas de la jornada laboral mensual, en centésimas de hora
+    public static final long JORNADA_MENSUAL_CENTESIMAS = 160 * 100;
+
     /**
-     * Calcula el salario mensual de un empleado, tomando en cuenta el salario base, 
+     * Calcula el salario mensual de un empleado, tomando en cuenta el salario base,
      * las horas trabajadas, los bonos y los descuentos.
      * El salario base se ajusta por las horas trabajadas, considerando una jornada laboral de 160 horas mensuales.
      *
-     * @param SALARIO_BASE El salario base del empleado.
+     * @param salarioBase El salario base del empleado.
      * @param horasTrabajadas Las horas trabajadas por el empleado durante el mes.
      * @param bonos Los bonos adicionales que recibe el empleado.
      * @param descuentos Los descuentos aplicados al salario.
      * @return El salario neto mensual calculado.
      */
     public double calcularRolPagos(double salarioBase, double horasTrabajadas, double bonos, double descuentos) {
-        return salarioBase + (horasTrabajadas * salarioBase / 160) + bonos - descuentos;
+        return Dinero.aDouble(rolPagosCentavos(Dinero.centavos(salarioBase), Dinero.centesimas(horasTrabajadas),
+                Dinero.centavos(bonos), Dinero.centavos(descuentos)));
+    }
+
+    /**
+     * Calcula el salario mensual en centavos: salario base + (horas * salario base / 160) + bonos - descuentos.
+     *
+     * @param salarioBase El salario base en centavos.
+     * @param horasTrabajadas Las horas trabajadas en centésimas de hora.
+     * @param bonos Los bonos en centavos.
+     * @param descuentos Los descuentos en centavos.
+     * @return El salario neto mensual en centavos.
+     */
+    public long rolPagosCentavos(long salarioBase, long horasTrabajadas, long bonos, long descuentos) {
+        long inicio = Metricas.ROL_PAGOS.inicio();
+        long resultado = salarioBase + Dinero.dividir(horasTrabajadas * salarioBase, JORNADA_MENSUAL_CENTESIMAS) + bonos - descuentos;
+        Metricas.ROL_PAGOS.registrar(inicio);
+        return resultado;
     }
 
     /**
      * Calcula el décimo tercer sueldo, que corresponde a 1/12 del salario base.
-     * 
-     * @param SALARIO_BASE El salario base del empleado.
+     *
+     * @param salarioBase El salario base del empleado.
      * @return El valor del décimo tercer sueldo.
      */
     public double calcularDecimoTercerSueldo(double salarioBase) {
-        return salarioBase / 12; 
-        // Se divide el salario base entre 12 meses
+        return Dinero.aDouble(decimoTercerSueldoCentavos(Dinero.centavos(salarioBase)));
     }
 
     /**
-     * Calcula las utilidades que le corresponden al empleado, las cuales son proporcionales 
+     * Calcula el décimo tercer sueldo en centavos (salario base / 12).
+     *
+     * @param salarioBase El salario base en centavos.
+     * @return El décimo tercer sueldo en centavos.
+     */
+    public long decimoTercerSueldoCentavos(long salarioBase) {
+        long inicio = Metricas.DECIMO_TERCERO.inicio();
+        long resultado = Dinero.dividir(salarioBase, 12);  // Se divide el salario base entre 12 meses
+        Metricas.DECIMO_TERCERO.registrar(inicio);
+        return resultado;
+    }
+
+    /**
+     * Calcula las utilidades que le corresponden al empleado, las cuales son proporcionales
      * a los meses trabajados durante el año.
-     * 
-     * @param SALARIO_BASE El salario base del empleado.
+     *
+     * @param salarioBase El salario base del empleado.
      * @param mesesTrabajados La cantidad de meses que el empleado ha trabajado durante el año.
      * @return El valor de las utilidades.
      */
     public double calcularUtilidades(double salarioBase, int mesesTrabajados) {
-        return (salarioBase * mesesTrabajados) / 12; 
-        // Proporcional a los meses trabajados
+        return Dinero.aDouble(utilidadesCentavos(Dinero.centavos(salarioBase), mesesTrabajados));
+    }
+
+    /**
+     * Calcula las utilidades en centavos ((salario base * meses) / 12).
+     *
+     * @param salarioBase El salario base en centavos.
+     * @param mesesTrabajados La cantidad de meses trabajados.
+     * @return Las utilidades en centavos.
+     */
+    public long utilidadesCentavos(long salarioBase, int mesesTrabajados) {
+        long inicio = Metricas.UTILIDADES.inicio();
+        long resultado = Dinero.dividir(salarioBase * mesesTrabajados, 12);  // Proporcional a los meses trabajados
+        Metricas.UTILIDADES.registrar(inicio);
+        return resultado;
     }
 
     /**
-     * Calcula el pago por horas extras, tomando en cuenta que se paga al 150% del valor 
+     * Calcula el pago por horas extras, tomando en cuenta que se paga al 150% del valor
      * normal de la hora.
-     * 
-     * @param SALARIO_BASE El salario base del empleado.
+     *
+     * @param salarioBase El salario base del empleado.
      * @param horasExtras La cantidad de horas extras trabajadas.
      * @return El pago por horas extras.
      */
     public double calcularHorasExtras(double salarioBase, double horasExtras) {
-        return (salarioBase / 160) * 1.5 * horasExtras; 
-        // Pago de horas extras al 150%
+        return Dinero.aDouble(horasExtrasCentavos(Dinero.centavos(salarioBase), Dinero.centesimas(horasExtras)));
     }
 
     /**
-     * Calcula los fondos de reserva, que es una cantidad equivalente a 1/12 del salario base 
+     * Calcula el pago por horas extras en centavos: (salario base / 160) * 1.5 * horas extras,
+     * evaluado como (salario base * 3 * horas extras) / (2 * 160) con una sola división.
+     *
+     * @param salarioBase El salario base en centavos.
+     * @param horasExtras Las horas extras en centésimas de hora.
+     * @return El pago por horas extras en centavos.
+     */
+    public long horasExtrasCentavos(long salarioBase, long horasExtras) {
+        long inicio = Metricas.HORAS_EXTRAS.inicio();
+        long resultado = Dinero.dividir(salarioBase * 3 * horasExtras, 2 * JORNADA_MENSUAL_CENTESIMAS);  // Pago de horas extras al 150%
+        Metricas.HORAS_EXTRAS.registrar(inicio);
+        return resultado;
+    }
+
+    /**
+     * Calcula los fondos de reserva, que es una cantidad equivalente a 1/12 del salario base
      * similar al décimo tercer sueldo.
-     * 
-     * @param SALARIO_BASE El salario base del empleado.
+     *
+     * @param salarioBase El salario base del empleado.
      * @return El valor de los fondos de reserva.
      */
     public double calcularFondosReserva(double salarioBase) {
-        return salarioBase / 12;
-        // Similar al décimo tercer sueldo
+        return Dinero.aDouble(fondosReservaCentavos(Dinero.centavos(salarioBase)));
+    }
+
+    /**
+     * Calcula los fondos de reserva en centavos (salario base / 12).
+     *
+     * @param salarioBase El salario base en centavos.
+     * @return Los fondos de reserva en centavos.
+     */
+    public long fondosReservaCentavos(long salarioBase) {
+        long inicio = Metricas.FONDOS_RESERVA.inicio();
+        long resultado = Dinero.dividir(salarioBase, 12);  // Similar al décimo tercer sueldo
+        Metricas.FONDOS_RESERVA.registrar(inicio);
+        return resultado;
     }
 }
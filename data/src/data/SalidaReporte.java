@@ -0,0 +1,290 @@
+package data;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Clase que representa el destino de escritura de los reportes del sistema.
+ *
+ * En lugar de imprimir cada línea con `System.out.printf` (lo que implica interpretar
+ * el formato y sincronizar la salida en cada fila), las filas se escriben en un búfer
+ * reutilizable y se envían al canal de salida en bloques de {@link #TAMANO_BLOQUE}
+ * caracteres, con una sola escritura por bloque.
+ *
+ * La salida puede ser la consola ({@link #consola()}) o un archivo escrito mediante
+ * un {@link FileChannel} ({@link #archivo(Path)}).
+ */
+public class SalidaReporte implements Closeable {
+
+    /**
+     * Formatos disponibles para los reportes.
+     */
+    public enum Formato {
+        TEXTO, CSV, ANCHO_FIJO
+    }
+
+    // Cantidad de caracteres acumulados antes de enviar un bloque al canal
+    public static final int TAMANO_BLOQUE = 64 * 1024;
+
+    private final WritableByteChannel canal;  // Canal donde se escriben los bloques
+    private final boolean cerrarCanal;        // Indica si el canal se cierra junto con la salida
+    private final StringBuilder bufer;        // Búfer reutilizable de caracteres
+    private final CharsetEncoder codificador; // Codificador de caracteres a bytes
+    private final ByteBuffer bytes;           // Búfer reutilizable de bytes
+
+    /**
+     * Constructor de la clase SalidaReporte.
+     *
+     * @param canal El canal donde se escribirán los bloques.
+     * @param charset El juego de caracteres con el que se codifica el texto.
+     * @param cerrarCanal `true` si el canal debe cerrarse al cerrar la salida.
+     */
+    public SalidaReporte(WritableByteChannel canal, Charset charset, boolean cerrarCanal) {
+        this.canal = canal;
+        this.cerrarCanal = cerrarCanal;
+        this.bufer = new StringBuilder(TAMANO_BLOQUE + 1024);
+        this.codificador = charset.newEncoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        this.bytes = ByteBuffer.allocateDirect((int) (TAMANO_BLOQUE * codificador.maxBytesPerChar()) + 1024);
+    }
+
+    /**
+     * Crea una salida hacia la consola (`System.out`).
+     * Al cerrarla solo se vacía el búfer; la consola permanece abierta.
+     *
+     * @return La salida hacia la consola.
+     */
+    public static SalidaReporte consola() {
+        return new SalidaReporte(Channels.newChannel(System.out), Charset.defaultCharset(), false);
+    }
+
+    /**
+     * Crea una salida hacia un archivo, codificado en UTF-8.
+     * Si el archivo existe, su contenido se reemplaza.
+     *
+     * @param ruta La ruta del archivo a escribir.
+     * @return La salida hacia el archivo.
+     * @throws IOException Si el archivo no se puede abrir para escritura.
+     */
+    public static SalidaReporte archivo(Path ruta) throws IOException {
+        FileChannel canal = FileChannel.open(ruta, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+        return new SalidaReporte(canal, StandardCharsets.UTF_8, true);
+    }
+
+    /**
+     * Método para obtener el búfer donde se escriben las filas del reporte.
+     * Después de escribir una o varias filas se debe llamar a {@link #finFila()}.
+     *
+     * @return El búfer reutilizable de la salida.
+     */
+    public StringBuilder bufer() {
+        return bufer;
+    }
+
+    /**
+     * Método que indica que se terminó de escribir una fila en el búfer.
+     * Si el búfer alcanzó el tamaño de bloque, su contenido se envía al canal.
+     */
+    public void finFila() {
+        if (bufer.length() >= TAMANO_BLOQUE) {
+            volcar();
+        }
+    }
+
+    /**
+     * Método para escribir un texto seguido de un salto de línea.
+     *
+     * @param texto El texto a escribir.
+     */
+    public void escribirLinea(CharSequence texto) {
+        bufer.append(texto).append('\n');
+        finFila();
+    }
+
+    /**
+     * Método para escribir un bloque de texto ya formateado (por ejemplo, varias filas).
+     *
+     * @param texto El texto a escribir.
+     */
+    public void escribir(CharSequence texto) {
+        bufer.append(texto);
+        finFila();
+    }
+
+    /**
+     * Método para escribir un bloque ya codificado con el juego de caracteres de la salida
+     * (ver {@link #getCharset()}), por ejemplo, un bloque de reporte guardado en caché.
+     * El contenido pendiente del búfer se envía antes.
+     *
+     * @param contenido Los bytes a escribir (su posición no cambia).
+     */
+    public void escribirCodificado(ByteBuffer contenido) {
+        volcar();
+        try {
+            ByteBuffer copia = contenido.duplicate();
+            while (copia.hasRemaining()) {
+                canal.write(copia);
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Método para obtener el juego de caracteres con el que se codifica el texto.
+     *
+     * @return El juego de caracteres de la salida.
+     */
+    public Charset getCharset() {
+        return codificador.charset();
+    }
+
+    /**
+     * Método para enviar al canal todo el contenido pendiente del búfer.
+     */
+    public void flush() {
+        volcar();
+    }
+
+    /**
+     * Método para cerrar la salida. Envía el contenido pendiente y, si corresponde, cierra el canal.
+     */
+    @Override
+    public void close() {
+        volcar();
+        if (cerrarCanal) {
+            try {
+                canal.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    /**
+     * Codifica el contenido del búfer de caracteres y lo escribe en el canal.
+     */
+    private void volcar() {
+        if (bufer.length() == 0) {
+            return;
+        }
+        try {
+            CharBuffer caracteres = CharBuffer.wrap(bufer);
+            codificador.reset();
+            CoderResult resultado;
+            do {
+                resultado = codificador.encode(caracteres, bytes, true);
+                if (resultado.isOverflow() || !caracteres.hasRemaining()) {
+                    if (!caracteres.hasRemaining()) {
+                        codificador.flush(bytes);
+                    }
+                    escribirBytes();
+                }
+            } while (caracteres.hasRemaining());
+            bufer.setLength(0);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Escribe en el canal el contenido del búfer de bytes.
+     */
+    private void escribirBytes() throws IOException {
+        bytes.flip();
+        while (bytes.hasRemaining()) {
+            canal.write(bytes);
+        }
+        bytes.clear();
+    }
+
+    /**
+     * Método para agregar un monto con dos decimales (redondeo hacia arriba en la mitad,
+     * igual que `%.2f`) sin pasar por `String.format`.
+     *
+     * @param sb El búfer donde se agrega el monto.
+     * @param monto El monto a agregar.
+     * @return El mismo búfer recibido.
+     */
+    public static StringBuilder agregarMonto(StringBuilder sb, double monto) {
+        if (Double.isNaN(monto) || Double.isInfinite(monto)) {
+            return sb.append(monto);
+        }
+        double absoluto = Math.abs(monto);
+        double escalado = absoluto * 100;
+        long centavos;
+        if (escalado >= Long.MAX_VALUE / 2 || Math.abs(escalado - Math.floor(escalado) - 0.5) < 1e-6) {
+            // Caso límite (mitad exacta o monto muy grande): se redondea sobre la representación decimal
+            centavos = -1;
+        } else {
+            centavos = Math.round(escalado);
+        }
+        if (centavos < 0) {
+            BigDecimal decimal = new BigDecimal(Double.toString(monto)).setScale(2, RoundingMode.HALF_UP);
+            return sb.append(decimal.toPlainString());
+        }
+        return Dinero.agregar(sb, monto < 0 ? -centavos : centavos);
+    }
+
+    /**
+     * Método para agregar un campo de texto con un ancho fijo, rellenando con espacios
+     * o recortando el texto si es más largo.
+     *
+     * @param sb El búfer donde se agrega el campo.
+     * @param texto El texto del campo.
+     * @param ancho El ancho del campo en caracteres.
+     * @return El mismo búfer recibido.
+     */
+    public static StringBuilder agregarAnchoFijo(StringBuilder sb, CharSequence texto, int ancho) {
+        int largo = Math.min(texto.length(), ancho);
+        sb.append(texto, 0, largo);
+        for (int i = largo; i < ancho; i++) {
+            sb.append(' ');
+        }
+        return sb;
+    }
+
+    /**
+     * Método para agregar un campo CSV, entre comillas si contiene comas, comillas o saltos de línea.
+     *
+     * @param sb El búfer donde se agrega el campo.
+     * @param texto El texto del campo.
+     * @return El mismo búfer recibido.
+     */
+    public static StringBuilder agregarCampoCsv(StringBuilder sb, String texto) {
+        boolean comillas = false;
+        for (int i = 0; i < texto.length() && !comillas; i++) {
+            char c = texto.charAt(i);
+            comillas = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!comillas) {
+            return sb.append(texto);
+        }
+        sb.append('"');
+        for (int i = 0; i < texto.length(); i++) {
+            char c = texto.charAt(i);
+            if (c == '"') {
+                sb.append('"');
+            }
+            sb.append(c);
+        }
+        return sb.append('"');
+    }
+}
@@ -0,0 +1,40 @@
+package data;
+
+import data.SalidaReporte.Formato;
+
+/**
+ * Interfaz con las operaciones del sistema que usa el servicio HTTP: registrar empleados,
+ * buscarlos por usuario (log in) y generar el reporte de rol de pagos.
+ *
+ * La implementan {@link GestorEmpleado} (todos los empleados en esta JVM),
+ * {@link GestorFragmentado} (empleados repartidos en varios procesos), {@link ImagenRegistro}
+ * (empleados de una imagen mapeada en memoria) y {@link RegistroFueraHeap} (empleados en
+ * memoria nativa, fuera del heap).
+ */
+public interface ServicioEmpleados {
+
+    /**
+     * Método para agregar un nuevo empleado al sistema.
+     *
+     * @param emp El empleado a agregar.
+     * @return `true` si el empleado fue registrado, `false` si el usuario ya existía
+     *         o el registro no se pudo guardar.
+     */
+    boolean agregarEmpleado(Empleado emp);
+
+    /**
+     * Método para buscar un empleado por su nombre de usuario.
+     *
+     * @param usuario El nombre de usuario.
+     * @return El empleado, o `null` si no existe.
+     */
+    Empleado buscar(String usuario);
+
+    /**
+     * Método para escribir el reporte de rol de pagos en la salida y con el formato indicados.
+     *
+     * @param salida La salida donde se escribe el reporte.
+     * @param formato El formato de las filas.
+     */
+    void generarReporteRolPagos(SalidaReporte salida, Formato formato);
+}
@@ -0,0 +1,251 @@
+package data;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+
+import data.SalidaReporte.Formato;
+
+/**
+ * Clase que atiende a un fragmento del registro de empleados: un proceso con su propio
+ * {@link GestorEmpleado} (y su propio directorio de datos) que guarda solo los usuarios
+ * que le corresponden según {@link ProtocoloFragmento#fragmento(String, int)}.
+ *
+ * Escucha en la interfaz local (loopback) y atiende a los coordinadores
+ * ({@link GestorFragmentado}) con el protocolo de {@link ProtocoloFragmento}: un hilo por
+ * conexión, y cada conexión atiende solicitudes una tras otra. El gestor es seguro para
+ * varios hilos, así que las conexiones no se esperan entre sí.
+ *
+ * Las altas de usuarios de otro fragmento se rechazan, para que un coordinador mal
+ * configurado (otra cantidad de fragmentos u otro orden) no mezcle los datos.
+ */
+public class ServidorFragmento {
+
+    private final GestorEmpleado gestor;
+    private final int indice;
+    private final int fragmentos;
+    private final ServerSocket servidor;
+    private final ExecutorService conexiones = Executors.newCachedThreadPool(r -> {
+        Thread hilo = new Thread(r, "fragmento-conexion");
+        hilo.setDaemon(true);
+        return hilo;
+    });
+    private Thread aceptador;
+
+    /**
+     * Constructor de la clase ServidorFragmento.
+     *
+     * @param gestor El gestor con los empleados del fragmento.
+     * @param indice El número de este fragmento, de 0 a `fragmentos - 1`.
+     * @param fragmentos La cantidad total de fragmentos.
+     * @param puerto El puerto donde escucha (0 para elegir uno libre).
+     * @throws IOException Si el puerto no se puede abrir.
+     */
+    public ServidorFragmento(GestorEmpleado gestor, int indice, int fragmentos, int puerto) throws IOException {
+        if (fragmentos < 1 || indice < 0 || indice >= fragmentos) {
+            throw new IllegalArgumentException("Fragmento no válido: " + indice + "/" + fragmentos);
+        }
+        this.gestor = gestor;
+        this.indice = indice;
+        this.fragmentos = fragmentos;
+        this.servidor = new ServerSocket();
+        servidor.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), puerto), 256);
+    }
+
+    /**
+     * Método para iniciar el servidor (acepta conexiones en un hilo aparte).
+     */
+    public void iniciar() {
+        aceptador = new Thread(this::aceptar, "fragmento-" + indice);
+        aceptador.start();
+    }
+
+    /**
+     * Método para detener el servidor, esperando como máximo el tiempo indicado a que
+     * terminen las solicitudes en curso.
+     *
+     * @param segundos El tiempo máximo de espera.
+     */
+    public void detener(int segundos) {
+        try {
+            servidor.close();
+        } catch (IOException e) {
+            System.out.println("No se pudo cerrar el fragmento: " + e.getMessage());
+        }
+        conexiones.shutdown();
+        try {
+            conexiones.awaitTermination(segundos, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Método para obtener el puerto donde escucha el servidor.
+     *
+     * @return El puerto.
+     */
+    public int getPuerto() {
+        return servidor.getLocalPort();
+    }
+
+    private void aceptar() {
+        while (!servidor.isClosed()) {
+            try {
+                Socket socket = servidor.accept();
+                socket.setTcpNoDelay(true);
+                conexiones.execute(() -> atender(socket));
+            } catch (IOException e) {
+                if (!servidor.isClosed()) {
+                    System.out.println("Error al aceptar una conexión: " + e.getMessage());
+                }
+            }
+        }
+    }
+
+    /**
+     * Atiende las solicitudes de una conexión hasta que el coordinador la cierra.
+     */
+    private void atender(Socket socket) {
+        try (socket;
+                DataInputStream entrada = new DataInputStream(new BufferedInputStream(socket.getInputStream(), 64 * 1024));
+                DataOutputStream salida = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream(), 64 * 1024))) {
+            if (entrada.readInt() != ProtocoloFragmento.MAGICO || entrada.readInt() != ProtocoloFragmento.VERSION) {
+                return;  // No es un coordinador
+            }
+            salida.writeInt(indice);
+            salida.writeInt(fragmentos);
+            salida.flush();
+            while (true) {
+                int operacion;
+                try {
+                    operacion = entrada.readByte();
+                } catch (EOFException e) {
+                    return;  // El coordinador cerró la conexión
+                }
+                atender(operacion, entrada, salida);
+                salida.flush();
+            }
+        } catch (SocketException | EOFException e) {
+            // Conexión cortada por el coordinador
+        } catch (IOException e) {
+            System.out.println("Error en la conexión con el coordinador: " + e.getMessage());
+        }
+    }
+
+    private void atender(int operacion, DataInputStream entrada, DataOutputStream salida) throws IOException {
+        switch (operacion) {
+            case ProtocoloFragmento.AGREGAR:
+                salida.writeByte(agregar(ProtocoloFragmento.leerEmpleado(entrada)));
+                break;
+
+            case ProtocoloFragmento.AGREGAR_LOTE:
+                agregarLote(entrada, salida);
+                break;
+
+            case ProtocoloFragmento.BUSCAR: {
+                Empleado emp = gestor.buscar(entrada.readUTF());
+                salida.writeBoolean(emp != null);
+                if (emp != null) {
+                    ProtocoloFragmento.escribirEmpleado(salida, emp);
+                }
+                break;
+            }
+
+            case ProtocoloFragmento.CAMBIAR_SALARIO: {
+                Empleado emp = gestor.buscar(entrada.readUTF());
+                long salarioBase = entrada.readLong();
+                if (emp != null) {
+                    emp.setSalarioBaseCentavos(salarioBase);
+                }
+                salida.writeBoolean(emp != null);
+                break;
+            }
+
+            case ProtocoloFragmento.CANTIDAD:
+                salida.writeInt(gestor.getCantidad());
+                break;
+
+            case ProtocoloFragmento.TOTAL_NOMINA:
+                salida.writeLong(gestor.getTotalNominaCentavos());
+                break;
+
+            case ProtocoloFragmento.ESTADISTICAS: {
+                double horas = entrada.readDouble();
+                double bonos = entrada.readDouble();
+                double descuentos = entrada.readDouble();
+                gestor.calcularEstadisticasNomina(horas, bonos, descuentos).escribir(salida);
+                break;
+            }
+
+            case ProtocoloFragmento.REPORTE:
+                reporte(Formato.values()[entrada.readUnsignedByte()], salida);
+                break;
+
+            default:
+                throw new IOException("Operación desconocida: " + operacion);
+        }
+    }
+
+    private byte agregar(Empleado emp) {
+        if (ProtocoloFragmento.fragmento(emp.getUsuario(), fragmentos) != indice) {
+            System.out.println("El usuario '" + emp.getUsuario() + "' no pertenece al fragmento " + indice + ".");
+            return ProtocoloFragmento.OTRO_FRAGMENTO;
+        }
+        return gestor.agregarEmpleado(emp) ? ProtocoloFragmento.REGISTRADO : ProtocoloFragmento.RECHAZADO;
+    }
+
+    private void agregarLote(DataInputStream entrada, DataOutputStream salida) throws IOException {
+        int cantidad = entrada.readInt();
+        List<Empleado> propios = new ArrayList<>(cantidad);
+        byte[] estados = new byte[cantidad];
+        int[] posiciones = new int[cantidad];  // Posición en el lote de cada empleado propio
+        for (int i = 0; i < cantidad; i++) {
+            Empleado emp = ProtocoloFragmento.leerEmpleado(entrada);
+            if (ProtocoloFragmento.fragmento(emp.getUsuario(), fragmentos) != indice) {
+                estados[i] = ProtocoloFragmento.OTRO_FRAGMENTO;
+            } else {
+                posiciones[propios.size()] = i;
+                propios.add(emp);
+            }
+        }
+        boolean[] registrados = gestor.agregarEmpleados(propios);
+        for (int i = 0; i < registrados.length; i++) {
+            estados[posiciones[i]] = registrados[i] ? ProtocoloFragmento.REGISTRADO : ProtocoloFragmento.RECHAZADO;
+        }
+        salida.write(estados);
+    }
+
+    /**
+     * Envía las filas del reporte ordenadas por usuario: por cada fila, `true`, el usuario y
+     * el texto de la fila; al final, `false`.
+     */
+    private void reporte(Formato formato, DataOutputStream salida) throws IOException {
+        Empleado[] empleados = gestor.instantanea().toArray(new Empleado[0]);
+        Arrays.parallelSort(empleados, Comparator.comparing(Empleado::getUsuario));
+        StringBuilder sb = new StringBuilder(128);
+        for (Empleado emp : empleados) {
+            sb.setLength(0);
+            GestorEmpleado.agregarFila(sb, formato, emp, emp.calcularSalarioCentavos(Salario.JORNADA_MENSUAL_CENTESIMAS, 0, 0));
+            salida.writeBoolean(true);
+            salida.writeUTF(emp.getUsuario());
+            salida.writeUTF(sb.toString());
+        }
+        salida.writeBoolean(false);
+    }
+}
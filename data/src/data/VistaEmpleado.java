@@ -0,0 +1,134 @@
+package data;
+
+/**
+ * Clase que representa a un empleado guardado en un {@link RegistroFueraHeap}: una vista
+ * liviana que solo guarda el número de registro y lee cada dato de la memoria nativa cuando
+ * se pide (las cadenas se crean en cada llamada).
+ *
+ * Los cálculos del salario usan las mismas fórmulas que {@link EmpleadoRegular},
+ * {@link Administrativo} y {@link Gerente}, según el tipo del registro. Los cambios de salario
+ * base y de cédula se escriben en el registro, así que todas las vistas del mismo empleado
+ * los ven; el objeto {@link Salario} de {@link #setSalario(Salario)} se guarda solo en la vista.
+ *
+ * Una vista no se puede registrar en un {@link GestorEmpleado} (sus cambios no pasarían por el
+ * gestor); para eso se crea un empleado con
+ * {@link Empleado#crear(String, String, String, String, tipoEmpleado)}.
+ */
+public final class VistaEmpleado extends Empleado {
+
+    private static final Salario SALARIO = new Salario();  // Salario no tiene estado: se comparte entre vistas
+
+    private final RegistroFueraHeap registro;
+    private final int registroFueraHeap;  // Número de registro en el RegistroFueraHeap
+
+    /**
+     * Constructor de la clase VistaEmpleado (lo usa el registro).
+     *
+     * @param registro El registro donde está el empleado.
+     * @param registroFueraHeap El número de registro del empleado.
+     * @param tipo El tipo de empleado del registro.
+     */
+    VistaEmpleado(RegistroFueraHeap registro, int registroFueraHeap, tipoEmpleado tipo) {
+        super(tipo, SALARIO);
+        this.registro = registro;
+        this.registroFueraHeap = registroFueraHeap;
+    }
+
+    /**
+     * Método para obtener el número de registro del empleado.
+     *
+     * @return El número de registro, en orden de registro desde 0.
+     */
+    public int getRegistroFueraHeap() {
+        return registroFueraHeap;
+    }
+
+    @Override
+    public long calcularSalarioCentavos(long horasTrabajadas, long bonos, long descuentos) {
+        return salarioMensual(getTipo(), registro.salarioBase(registroFueraHeap), horasTrabajadas, bonos, descuentos);
+    }
+
+    @Override
+    public double calcularDecimoTercerSueldo() {
+        return Dinero.aDouble(getSalario().decimoTercerSueldoCentavos(registro.salarioBase(registroFueraHeap)));
+    }
+
+    @Override
+    public double calcularUtilidades(int mesesTrabajados) {
+        return Dinero.aDouble(getSalario().utilidadesCentavos(registro.salarioBase(registroFueraHeap), mesesTrabajados));
+    }
+
+    @Override
+    public double calcularHorasExtras(double horasExtras) {
+        return Dinero.aDouble(getSalario().horasExtrasCentavos(registro.salarioBase(registroFueraHeap), Dinero.centesimas(horasExtras)));
+    }
+
+    @Override
+    public double calcularFondosReserva() {
+        return Dinero.aDouble(getSalario().fondosReservaCentavos(registro.salarioBase(registroFueraHeap)));
+    }
+
+    @Override
+    public void calcularRolPagosCentavos(long horasTrabajadas, long bonos, long descuentos, int mesesTrabajados,
+            long horasExtras, RolPagos destino) {
+        long base = registro.salarioBase(registroFueraHeap);
+        Salario salario = getSalario();
+        destino.salarioMensual = salarioMensual(getTipo(), base, horasTrabajadas, bonos, descuentos);
+        destino.decimoTercerSueldo = salario.decimoTercerSueldoCentavos(base);
+        destino.utilidades = salario.utilidadesCentavos(base, mesesTrabajados);
+        destino.horasExtras = salario.horasExtrasCentavos(base, horasExtras);
+        destino.fondosReserva = salario.fondosReservaCentavos(base);
+    }
+
+    @Override
+    public String getNombre() {
+        return registro.nombre(registroFueraHeap);
+    }
+
+    @Override
+    public String getUsuario() {
+        return registro.usuario(registroFueraHeap);
+    }
+
+    @Override
+    public String getClave() {
+        return registro.clave(registroFueraHeap);
+    }
+
+    @Override
+    public String getCedula() {
+        return registro.cedula(registroFueraHeap);
+    }
+
+    /**
+     * Método para cambiar la cédula en el registro.
+     *
+     * @param cedula La nueva cédula.
+     * @throws IllegalArgumentException Si la cédula excede 255 bytes.
+     */
+    @Override
+    public void setCedula(String cedula) {
+        registro.asignarCedula(registroFueraHeap, cedula);
+    }
+
+    @Override
+    public double getSalarioBase() {
+        return Dinero.aDouble(registro.salarioBase(registroFueraHeap));
+    }
+
+    @Override
+    public long getSalarioBaseCentavos() {
+        return registro.salarioBase(registroFueraHeap);
+    }
+
+    @Override
+    public void setSalarioBaseCentavos(long salarioBase) {
+        registro.asignarSalarioBase(registroFueraHeap, salarioBase);
+    }
+
+    @Override
+    public String toString() {
+        return String.format("Nombre: %s | Cédula: %s |Usuario: %s | Tipo: %s | Salario Base: $%s", getNombre(),
+                getCedula(), getUsuario(), getTipo().name(), Dinero.formatear(registro.salarioBase(registroFueraHeap)));
+    }
+}
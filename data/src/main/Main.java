@@ -1,14 +1,322 @@
 package main;
 
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+
 import Interfaz.Menu;
+import Interfaz.ServidorHttp;
+import data.ArchivoEmpleados;
+import data.BitacoraAuditoria;
+import data.GestorEmpleado;
+import data.GestorFragmentado;
+import data.ImagenRegistro;
+import data.RegistroFueraHeap;
+import data.ServicioEmpleados;
+import data.ServidorFragmento;
 
 public class Main {
 
+    /**
+     * Punto de entrada del sistema.
+     *
+     * Argumentos admitidos:
+     *   [directorio]          Directorio donde se guardan los empleados (por defecto "datos").
+     *   --servidor [puerto]   Inicia el servicio HTTP en lugar del menú de consola (puerto 8080 por defecto).
+     *   --fragmento i/N [puerto]
+     *                         Atiende el fragmento i de N del registro, con los datos del directorio
+     *                         (puerto 0 por defecto: elige uno libre y lo muestra).
+     *   --coordinador host:puerto,host:puerto,...
+     *                         Usa los fragmentos indicados (en orden) en lugar de un directorio local;
+     *                         se combina con --servidor.
+     *   --crear-imagen archivo
+     *                         Crea una imagen del registro con los empleados del directorio y termina.
+     *   --imagen archivo      Inicia el servicio HTTP con la imagen del registro, sin cargar los
+     *                         empleados uno por uno (se combina con --servidor). Los empleados nuevos
+     *                         se guardan en el directorio "archivo-altas".
+     *   --fuera-heap archivo  Inicia el servicio HTTP con los empleados de la imagen (o de un archivo
+     *                         binario de empleados) copiados a un registro fuera del heap (se combina
+     *                         con --servidor). Los empleados nuevos se guardan en "archivo-altas".
+     *
+     * Los log in y los cálculos de salarios (del menú o del servicio HTTP) se registran en la
+     * bitácora de auditoría del subdirectorio "auditoria" del directorio de datos.
+     *
+     * @param args Los argumentos de la línea de comandos.
+     */
     public static void main(String[] args) {
-                
-        Menu menu = new Menu();  // Crea una instancia del menú
+        String directorio = "datos";
+        int puerto = -1;  // -1: modo consola
+        String fragmento = null;  // "i/N" si este proceso atiende un fragmento
+        int puertoFragmento = 0;
+        String coordinador = null;  // Direcciones de los fragmentos
+        String crearImagen = null;  // Imagen del registro a crear
+        String imagen = null;  // Imagen del registro a abrir
+        String fueraHeap = null;  // Imagen o archivo a copiar fuera del heap
+        for (int i = 0; i < args.length; i++) {
+            if (args[i].equals("--servidor")) {
+                puerto = 8080;
+                if (i + 1 < args.length && args[i + 1].matches("\\d+")) {
+                    puerto = Integer.parseInt(args[++i]);
+                }
+            } else if (args[i].equals("--fragmento") && i + 1 < args.length) {
+                fragmento = args[++i];
+                if (i + 1 < args.length && args[i + 1].matches("\\d+")) {
+                    puertoFragmento = Integer.parseInt(args[++i]);
+                }
+            } else if (args[i].equals("--coordinador") && i + 1 < args.length) {
+                coordinador = args[++i];
+            } else if (args[i].equals("--crear-imagen") && i + 1 < args.length) {
+                crearImagen = args[++i];
+            } else if (args[i].equals("--imagen") && i + 1 < args.length) {
+                imagen = args[++i];
+            } else if (args[i].equals("--fuera-heap") && i + 1 < args.length) {
+                fueraHeap = args[++i];
+            } else {
+                directorio = args[i];  // Directorio donde se guardan los empleados
+            }
+        }
+
+        if (fragmento != null) {
+            iniciarFragmento(directorio, fragmento, puertoFragmento);
+            return;
+        }
+        if (coordinador != null) {
+            iniciarCoordinador(coordinador, puerto < 0 ? 8080 : puerto, abrirBitacora(directorio));
+            return;
+        }
+        if (imagen != null) {
+            iniciarImagen(imagen, puerto < 0 ? 8080 : puerto, abrirBitacora(directorio));
+            return;
+        }
+        if (fueraHeap != null) {
+            iniciarFueraHeap(fueraHeap, puerto < 0 ? 8080 : puerto, abrirBitacora(directorio));
+            return;
+        }
+
+        GestorEmpleado gestor;
+        try {
+            gestor = new GestorEmpleado(Paths.get(directorio));  // Recupera los empleados guardados
+        } catch (IOException e) {
+            System.out.println("No se pudieron cargar los datos de '" + directorio + "': " + e.getMessage());
+            System.out.println("Se continuará sin guardar los cambios.");
+            gestor = new GestorEmpleado();
+        }
+
+        if (crearImagen != null) {
+            crearImagen(gestor, crearImagen);
+            return;
+        }
+
+        BitacoraAuditoria bitacora = abrirBitacora(directorio);
+        if (puerto >= 0) {
+            iniciarServidor(gestor, puerto, bitacora);
+            return;
+        }
+
+        // Al terminar (también con System.exit) la bitácora escribe los eventos pendientes y el
+        // gestor guarda el historial y una instantánea, para no repetir todo el log al iniciar
+        GestorEmpleado cerrar = gestor;
+        Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+            bitacora.close();
+            try {
+                cerrar.close();
+            } catch (IOException e) {
+                System.out.println("No se pudieron guardar los datos: " + e.getMessage());
+            }
+        }));
+        Menu menu = new Menu(gestor, bitacora);  // Crea una instancia del menú
         System.out.println("\n****************** BIENVENIDO SISTEMA DE GESTIÓN DE EMPLEADOS ******************");  // Muestra un mensaje de bienvenida
-        
+
         menu.menuInicio();  // Llama al método menuInicio() de la clase Menu para iniciar el flujo del programa
     }
+
+    /**
+     * Abre la bitácora de auditoría del directorio de datos; si no se puede, se continúa
+     * sin auditoría.
+     *
+     * @param directorio El directorio de datos.
+     * @return La bitácora (inactiva si no se pudo abrir).
+     */
+    private static BitacoraAuditoria abrirBitacora(String directorio) {
+        Path ruta = Paths.get(directorio, "auditoria");
+        try {
+            return new BitacoraAuditoria(ruta);
+        } catch (IOException e) {
+            System.out.println("No se pudo abrir la bitácora de auditoría en '" + ruta + "': " + e.getMessage());
+            System.out.println("Se continuará sin auditoría.");
+            return BitacoraAuditoria.inactiva();
+        }
+    }
+
+    /**
+     * Inicia el servicio HTTP y lo mantiene activo hasta que se detenga el proceso.
+     *
+     * @param gestor El gestor de empleados (local o fragmentado).
+     * @param puerto El puerto donde escucha el servidor.
+     * @param bitacora La bitácora de auditoría (se cierra al detener el servidor).
+     */
+    private static <T extends ServicioEmpleados & Closeable> void iniciarServidor(T gestor, int puerto,
+            BitacoraAuditoria bitacora) {
+        try {
+            ServidorHttp servidor = new ServidorHttp(gestor, puerto, bitacora);
+            servidor.iniciar();
+            System.out.println("Servidor HTTP escuchando en el puerto " + servidor.getPuerto());
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                servidor.detener(2);
+                bitacora.close();  // Después de las solicitudes en curso
+                try {
+                    gestor.close();
+                } catch (IOException e) {
+                    System.out.println("No se pudieron guardar los datos: " + e.getMessage());
+                }
+            }));
+        } catch (IOException e) {
+            System.out.println("No se pudo iniciar el servidor: " + e.getMessage());
+            bitacora.close();
+        }
+    }
+
+    /**
+     * Crea una imagen del registro con los empleados del gestor y cierra el gestor.
+     *
+     * @param gestor El gestor con los empleados.
+     * @param ruta La ruta de la imagen.
+     */
+    private static void crearImagen(GestorEmpleado gestor, String ruta) {
+        try (gestor) {
+            long inicio = System.nanoTime();
+            gestor.exportarImagen(Paths.get(ruta));
+            System.out.printf("Imagen '%s' creada con %d empleados en %d ms%n", ruta, gestor.getCantidad(),
+                    (System.nanoTime() - inicio) / 1_000_000);
+        } catch (IOException | IllegalArgumentException e) {
+            System.out.println("No se pudo crear la imagen: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Abre una imagen del registro e inicia el servicio HTTP sobre ella.
+     *
+     * @param ruta La ruta de la imagen.
+     * @param puerto El puerto donde escucha el servidor HTTP.
+     * @param bitacora La bitácora de auditoría.
+     */
+    private static void iniciarImagen(String ruta, int puerto, BitacoraAuditoria bitacora) {
+        long inicio = System.nanoTime();
+        try {
+            GestorEmpleado altas = new GestorEmpleado(Paths.get(ruta + "-altas"), false);
+            ImagenRegistro registro;
+            try {
+                registro = ImagenRegistro.abrir(Paths.get(ruta), altas);
+            } catch (IOException e) {
+                altas.close();
+                throw e;
+            }
+            System.out.printf("Imagen '%s' abierta con %d empleados en %d ms%n", ruta, registro.getCantidad(),
+                    (System.nanoTime() - inicio) / 1_000_000);
+            iniciarServidor(registro, puerto, bitacora);
+        } catch (IOException e) {
+            System.out.println("No se pudo abrir la imagen: " + e.getMessage());
+            bitacora.close();
+        }
+    }
+
+    /**
+     * Copia los empleados de una imagen (o de un archivo binario de empleados) a un registro
+     * fuera del heap e inicia el servicio HTTP sobre él.
+     *
+     * @param ruta La ruta de la imagen o del archivo.
+     * @param puerto El puerto donde escucha el servidor HTTP.
+     * @param bitacora La bitácora de auditoría.
+     */
+    private static void iniciarFueraHeap(String ruta, int puerto, BitacoraAuditoria bitacora) {
+        long inicio = System.nanoTime();
+        try {
+            GestorEmpleado altas = new GestorEmpleado(Paths.get(ruta + "-altas"), false);
+            RegistroFueraHeap registro;
+            try (ArchivoEmpleados archivo = ArchivoEmpleados.abrir(Paths.get(ruta))) {
+                registro = RegistroFueraHeap.cargar(archivo, altas);
+            } catch (IOException | IllegalArgumentException e) {
+                altas.close();
+                throw e;
+            }
+            System.out.printf("Registro fuera del heap cargado con %d empleados (%d MB) en %d ms%n",
+                    registro.getCantidad(), registro.getBytesFueraHeap() >> 20, (System.nanoTime() - inicio) / 1_000_000);
+            iniciarServidor(registro, puerto, bitacora);
+        } catch (IOException | IllegalArgumentException e) {
+            System.out.println("No se pudo cargar el registro fuera del heap: " + e.getMessage());
+            bitacora.close();
+        }
+    }
+
+    /**
+     * Inicia un fragmento del registro y lo mantiene activo hasta que se detenga el proceso.
+     *
+     * @param directorio El directorio con los empleados del fragmento.
+     * @param fragmento El número del fragmento y la cantidad de fragmentos ("i/N").
+     * @param puerto El puerto donde escucha el fragmento (0 para elegir uno libre).
+     */
+    private static void iniciarFragmento(String directorio, String fragmento, int puerto) {
+        String[] partes = fragmento.split("/");
+        if (partes.length != 2 || !partes[0].matches("\\d+") || !partes[1].matches("\\d+")) {
+            System.out.println("Fragmento no válido: '" + fragmento + "' (se espera i/N).");
+            return;
+        }
+        int indice = Integer.parseInt(partes[0]);
+        int fragmentos = Integer.parseInt(partes[1]);
+        try {
+            GestorEmpleado gestor = new GestorEmpleado(Paths.get(directorio), false);
+            ServidorFragmento servidor;
+            try {
+                servidor = new ServidorFragmento(gestor, indice, fragmentos, puerto);
+            } catch (IOException | IllegalArgumentException e) {
+                gestor.close();
+                throw e;
+            }
+            servidor.iniciar();
+            System.out.println("Fragmento " + indice + "/" + fragmentos + " escuchando en el puerto " + servidor.getPuerto());
+            Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                servidor.detener(2);
+                try {
+                    gestor.close();
+                } catch (IOException e) {
+                    System.out.println("No se pudieron guardar los datos: " + e.getMessage());
+                }
+            }));
+        } catch (IOException | IllegalArgumentException e) {
+            System.out.println("No se pudo iniciar el fragmento: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Se conecta a los fragmentos indicados e inicia el servicio HTTP sobre ellos.
+     *
+     * @param direcciones Las direcciones de los fragmentos ("host:puerto" separados por comas).
+     * @param puerto El puerto donde escucha el servidor HTTP.
+     * @param bitacora La bitácora de auditoría.
+     */
+    private static void iniciarCoordinador(String direcciones, int puerto, BitacoraAuditoria bitacora) {
+        List<InetSocketAddress> fragmentos = new ArrayList<>();
+        for (String direccion : direcciones.split(",")) {
+            int separador = direccion.lastIndexOf(':');
+            if (separador < 0 || !direccion.substring(separador + 1).matches("\\d+")) {
+                System.out.println("Dirección no válida: '" + direccion + "' (se espera host:puerto).");
+                bitacora.close();
+                return;
+            }
+            fragmentos.add(new InetSocketAddress(direccion.substring(0, separador),
+                    Integer.parseInt(direccion.substring(separador + 1))));
+        }
+        try {
+            GestorFragmentado gestor = new GestorFragmentado(fragmentos);
+            System.out.println("Conectado a " + gestor.getCantidadFragmentos() + " fragmentos.");
+            iniciarServidor(gestor, puerto, bitacora);
+        } catch (IOException e) {
+            System.out.println("No se pudo conectar con los fragmentos: " + e.getMessage());
+            bitacora.close();
+        }
+    }
 }